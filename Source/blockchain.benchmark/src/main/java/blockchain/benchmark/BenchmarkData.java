@@ -0,0 +1,100 @@
+package blockchain.benchmark;
+
+import java.util.ArrayList;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.block.MerkleTree;
+import blockchain.block.Transaction;
+import blockchain.concensus.PoW;
+
+/**
+ * This BenchmarkData object is used to create the transactions, block headers
+ * and blocks which are used as input for the benchmarks. All data is created
+ * with fixed time stamps, so that every benchmark run works on the same data.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BenchmarkData {
+
+	private static final String timeStamp = "2022.01.09.12:00:00";
+
+	/**
+	 * Instantiates a new BenchmarkData object.
+	 */
+	private BenchmarkData() {
+		super();
+	}
+
+	/**
+	 * Returns a list with the input amount of transactions between two wallets.
+	 *
+	 * @param amountOfTransactions
+	 * @return
+	 */
+	public static ArrayList<Transaction> createTransactions(int amountOfTransactions) {
+
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>(amountOfTransactions);
+
+		for (int i = 0; i < amountOfTransactions; i++) {
+
+			Transaction transaction = new Transaction("95f43a460e0135a5f8a26031d663c956f02cf01429b1812bd33769862af7611b",
+					"c9f02ccdf2a04668aa872658d25da28b264140df7a234b9cbdb53380deeaa69b", i + 1);
+			transaction.setTimeStamp(timeStamp);
+			transaction.setTransactionID(transaction.calculateTransactionID());
+
+			transactions.add(transaction);
+		}
+
+		return transactions;
+	}
+
+	/**
+	 * Returns a block header for the input transactions with the default
+	 * difficulty of the consensus algorithm.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public static BlockHeader createBlockHeader(ArrayList<Transaction> transactions) {
+
+		return createBlockHeader(transactions, PoW.getDifficulty());
+	}
+
+	/**
+	 * Returns a block header for the input transactions with the input compact
+	 * difficulty.
+	 *
+	 * @param transactions
+	 * @param difficulty
+	 * @return
+	 */
+	public static BlockHeader createBlockHeader(ArrayList<Transaction> transactions, int difficulty) {
+
+		BlockHeader blockHeader = new BlockHeader(
+				"00003a9c4d0f2b6e1a7c5d8e9f0b1c2d3e4f5a6b7c8d9e0f1a2b3c4d5e6f7a8b",
+				new MerkleTree(transactions).getMerkleRoot(), difficulty);
+		blockHeader.setTimeStamp(timeStamp);
+
+		return blockHeader;
+	}
+
+	/**
+	 * Returns a block containing the input amount of transactions.
+	 *
+	 * @param amountOfTransactions
+	 * @return
+	 */
+	public static Block createBlock(int amountOfTransactions) {
+
+		ArrayList<Transaction> transactions = createTransactions(amountOfTransactions);
+
+		Block block = new Block(1, createBlockHeader(transactions), transactions, transactions.size());
+		block.setTimeStamp(timeStamp + ".000");
+
+		return block;
+	}
+
+}
@@ -0,0 +1,48 @@
+package blockchain.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This BenchmarkRunner object runs all benchmarks of this module and exports
+ * the results as JSON file, so that the results of different releases can be
+ * compared. The first argument is the path of the result file, the optional
+ * second argument a regular expression which selects the benchmarks to run.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BenchmarkRunner {
+
+	private static final String defaultResultFile = "benchmark-results.json";
+	private static final String defaultBenchmarks = "blockchain\\.benchmark\\..*Benchmark";
+
+	/**
+	 * Instantiates a new BenchmarkRunner object.
+	 */
+	private BenchmarkRunner() {
+		super();
+	}
+
+	/**
+	 * Starts the benchmark run.
+	 *
+	 * @param args --> [result file] [benchmark regex]
+	 * @throws RunnerException
+	 */
+	public static void main(String[] args) throws RunnerException {
+
+		String resultFile = args.length > 0 ? args[0] : defaultResultFile;
+		String benchmarks = args.length > 1 ? args[1] : defaultBenchmarks;
+
+		Options options = new OptionsBuilder().include(benchmarks).warmupIterations(3).measurementIterations(5)
+				.forks(1).resultFormat(ResultFormatType.JSON).result(resultFile).build();
+
+		new Runner(options).run();
+	}
+
+}
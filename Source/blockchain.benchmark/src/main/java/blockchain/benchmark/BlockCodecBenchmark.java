@@ -0,0 +1,89 @@
+package blockchain.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import blockchain.block.Block;
+import blockchain.block.BlockCodec;
+import blockchain.block.Transaction;
+
+/**
+ * Measuring the BlockCodec object by encoding the block header and the
+ * transaction list of a block, as done when the block is saved in the database,
+ * and decoding them again. The results can be compared with the
+ * MarshallerBenchmark.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockCodecBenchmark {
+
+	@Param({ "1", "100" })
+	private int amountOfTransactions;
+
+	private Block block;
+	private byte[] encodedTransactions;
+
+	/**
+	 * Creates the block which is encoded in the benchmarks.
+	 */
+	@Setup
+	public void setUp() {
+
+		block = BenchmarkData.createBlock(amountOfTransactions);
+		encodedTransactions = BlockCodec.encodeTransactionList(block.getTransactionList());
+	}
+
+	/**
+	 * Measuring BlockCodec encodeTransactionList() for the transactions of a
+	 * block.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public byte[] encodeTransactionList() {
+
+		return BlockCodec.encodeTransactionList(block.getTransactionList());
+	}
+
+	/**
+	 * Measuring BlockCodec decodeTransactionList() for the encoded transactions of
+	 * a block.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	@Benchmark
+	public ArrayList<Transaction> decodeTransactionList() throws IOException {
+
+		return BlockCodec.decodeTransactionList(encodedTransactions);
+	}
+
+	/**
+	 * Measuring BlockCodec encodeBlockHeader() followed by decodeBlockHeader() for
+	 * the header of a block.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	@Benchmark
+	public Object blockHeaderRoundTrip() throws IOException {
+
+		return BlockCodec.decodeBlockHeader(BlockCodec.encodeBlockHeader(block.getBlockHeader()));
+	}
+
+}
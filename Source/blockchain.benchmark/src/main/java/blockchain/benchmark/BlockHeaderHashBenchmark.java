@@ -0,0 +1,71 @@
+package blockchain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import blockchain.block.BlockController;
+import blockchain.block.BlockHeader;
+import blockchain.block.BlockHeaderHasher;
+
+/**
+ * Measuring the calculation of a block header hash through the BlockController,
+ * which builds the header string, and through the BlockHeaderHasher, which
+ * reuses the midstate of the fixed header fields.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BlockHeaderHashBenchmark {
+
+	private BlockController blockController;
+	private BlockHeader blockHeader;
+	private BlockHeaderHasher blockHeaderHasher;
+	private int nounce;
+
+	/**
+	 * Creates the block header which is hashed in the benchmarks.
+	 */
+	@Setup
+	public void setUp() {
+
+		blockController = new BlockController();
+		blockHeader = BenchmarkData.createBlockHeader(BenchmarkData.createTransactions(100));
+		blockHeader.setNounce(86636);
+		blockHeaderHasher = new BlockHeaderHasher(blockHeader);
+		nounce = 0;
+	}
+
+	/**
+	 * Measuring BlockController calculateBlockHeaderHash().
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public String calculateBlockHeaderHash() {
+
+		return blockController.calculateBlockHeaderHash(blockHeader);
+	}
+
+	/**
+	 * Measuring BlockHeaderHasher calculateHash() for a new nounce on every call.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public byte[] calculateHashWithMidstate() {
+
+		return blockHeaderHasher.calculateHash(nounce++);
+	}
+
+}
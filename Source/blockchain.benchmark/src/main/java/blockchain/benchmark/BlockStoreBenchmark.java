@@ -0,0 +1,154 @@
+package blockchain.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import blockchain.block.Block;
+import blockchain.chain.Blockchain;
+import blockchain.database.BlockStore;
+import blockchain.database.ConnectionManager;
+import blockchain.database.MappedBlockStore;
+import blockchain.database.SQLdelete;
+import blockchain.database.SQLiteBlockStore;
+import blockchain.database.SQLinsert;
+import blockchain.database.SQLselect;
+
+/**
+ * Measuring the storage engines of the blocks by reading the whole chain, as
+ * done when the balance ledger is rebuilt or a node requests the blockchain,
+ * and by reading random blocks, as done by the block verification. Both
+ * engines are filled with the same chain before the measurement.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockStoreBenchmark {
+
+	@Param({ "SQLITE", "MAPPED_FILE" })
+	private String engine;
+
+	@Param({ "2000" })
+	private int amountOfBlocks;
+
+	private File directory;
+	private ConnectionManager connectionManager;
+	private BlockStore blockStore;
+	private Random random;
+
+	/**
+	 * Creates the storage engine and fills it with blocks containing ten
+	 * transactions each.
+	 *
+	 * @throws Exception
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+
+		directory = Files.createTempDirectory("blockStoreBenchmark").toFile();
+		random = new Random(42);
+
+		if (engine.equals("MAPPED_FILE")) {
+
+			blockStore = new MappedBlockStore(directory);
+
+		} else {
+
+			connectionManager = new ConnectionManager(new File("BlockStoreBenchmark.db"), 1);
+			connectionManager.getWriter().getConnection().createStatement()
+					.execute("CREATE TABLE IF NOT EXISTS blockChain (blockIndex INTEGER primary key,"
+							+ "miningTimeStamp varchar(100), blockHeader VARBINARY, transactions VARBINARY,"
+							+ "transactionCounter INTEGER)");
+			connectionManager.getWriter().getConnection().createStatement().execute("DELETE FROM blockChain");
+
+			blockStore = new SQLiteBlockStore(new SQLinsert(connectionManager), new SQLselect(connectionManager),
+					new SQLdelete(connectionManager));
+		}
+
+		Block template = BenchmarkData.createBlock(10);
+		Connection connection = connectionManager == null ? null : connectionManager.getWriter().getConnection();
+
+		if (connection != null)
+			connection.setAutoCommit(false);
+
+		for (int i = 0; i < amountOfBlocks; i++) {
+
+			Block block = new Block(i, template.getBlockHeader(), template.getTransactionList(),
+					template.getTransactionCounter());
+			block.setTimeStamp(template.getTimeStamp());
+
+			blockStore.insertBlock(block);
+		}
+
+		blockStore.commit();
+
+		if (connection != null) {
+
+			connection.commit();
+			connection.setAutoCommit(true);
+		}
+	}
+
+	/**
+	 * Closes the storage engine and deletes its files.
+	 *
+	 * @throws IOException
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+
+		blockStore.close();
+
+		if (connectionManager != null)
+			connectionManager.close();
+
+		for (File file : directory.listFiles()) {
+
+			file.delete();
+		}
+
+		directory.delete();
+		new File("BlockStoreBenchmark.db").delete();
+	}
+
+	/**
+	 * Measuring getAllBlocks() of the storage engine for the whole chain.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public Blockchain readAllBlocks() {
+
+		return blockStore.getAllBlocks();
+	}
+
+	/**
+	 * Measuring getBlock() of the storage engine for a random block index.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public Block readRandomBlock() {
+
+		return blockStore.getBlock(random.nextInt(amountOfBlocks));
+	}
+
+}
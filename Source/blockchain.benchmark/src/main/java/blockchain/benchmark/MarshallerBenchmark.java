@@ -0,0 +1,83 @@
+package blockchain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import blockchain.block.Block;
+import marshaller.Marshaller;
+
+/**
+ * Measuring the Marshaller object by serialising a block, as done when the
+ * block is saved in the database or sent to the network, and deserialising it
+ * again.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarshallerBenchmark {
+
+	@Param({ "1", "100" })
+	private int amountOfTransactions;
+
+	private Marshaller marshaller;
+	private Block block;
+	private byte[] serialisedBlock;
+
+	/**
+	 * Creates the block which is serialised in the benchmarks.
+	 */
+	@Setup
+	public void setUp() {
+
+		marshaller = new Marshaller();
+		block = BenchmarkData.createBlock(amountOfTransactions);
+		serialisedBlock = marshaller.transformObjectToByte(block);
+	}
+
+	/**
+	 * Measuring Marshaller transformObjectToByte() for a block.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public byte[] transformBlockToByte() {
+
+		return marshaller.transformObjectToByte(block);
+	}
+
+	/**
+	 * Measuring Marshaller transformObjectToByte() followed by
+	 * transformByteToObject() for a block.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public Object transformBlockRoundTrip() {
+
+		return marshaller.transformByteToObject(marshaller.transformObjectToByte(block));
+	}
+
+	/**
+	 * Measuring Marshaller transformByteToObject() for a serialised block.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public Object transformByteToBlock() {
+
+		return marshaller.transformByteToObject(serialisedBlock);
+	}
+
+}
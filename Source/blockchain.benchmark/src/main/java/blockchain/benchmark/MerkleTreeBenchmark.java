@@ -0,0 +1,56 @@
+package blockchain.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import blockchain.block.MerkleTree;
+import blockchain.block.Transaction;
+
+/**
+ * Measuring the construction of the MerkleTree object and its merkle root for
+ * blocks with different amounts of transactions.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MerkleTreeBenchmark {
+
+	@Param({ "1", "100", "10000" })
+	private int amountOfTransactions;
+
+	private ArrayList<Transaction> transactions;
+
+	/**
+	 * Creates the transactions which are put into the merkle tree.
+	 */
+	@Setup
+	public void setUp() {
+
+		transactions = BenchmarkData.createTransactions(amountOfTransactions);
+	}
+
+	/**
+	 * Measuring the construction of a MerkleTree and returning its root.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public String buildMerkleTree() {
+
+		return new MerkleTree(transactions).getMerkleRoot();
+	}
+
+}
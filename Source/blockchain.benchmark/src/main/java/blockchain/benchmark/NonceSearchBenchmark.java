@@ -0,0 +1,120 @@
+package blockchain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import blockchain.block.BlockHeader;
+import blockchain.block.BlockHeaderHasher;
+import blockchain.chain.NonceSearchEngine;
+import blockchain.chain.NonceSearchResult;
+import blockchain.concensus.DifficultyTarget;
+import blockchain.concensus.PoW;
+
+/**
+ * Measuring the throughput of the nounce search. The single nounce benchmark
+ * measures one hash and difficulty check as done in the inner loop of a
+ * mining thread, the search benchmark measures a complete search of the
+ * NonceSearchEngine for the default difficulty with different amounts of
+ * worker threads.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+public class NonceSearchBenchmark {
+
+	private PoW consensusAlgorithm;
+	private BlockHeaderHasher blockHeaderHasher;
+	private DifficultyTarget target;
+	private int nounce;
+
+	/**
+	 * Creates the block header whose nounce space is checked in the single nounce
+	 * benchmark.
+	 */
+	@Setup
+	public void setUp() {
+
+		BlockHeader blockHeader = BenchmarkData.createBlockHeader(BenchmarkData.createTransactions(100));
+
+		consensusAlgorithm = new PoW();
+		blockHeaderHasher = new BlockHeaderHasher(blockHeader);
+		target = DifficultyTarget.fromCompact(blockHeader.getDifficulty());
+		nounce = 0;
+	}
+
+	/**
+	 * Measuring the hash calculation and difficulty check for a single nounce.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public boolean checkSingleNounce() {
+
+		return consensusAlgorithm.hasHashTheCorrectDifficulty(blockHeaderHasher.calculateHash(nounce++), target);
+	}
+
+	/**
+	 * Measuring a complete nounce search. Every call searches a header with a new
+	 * time stamp, so that the found nounces differ between the calls.
+	 *
+	 * @return
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public NonceSearchResult searchNounce(SearchState searchState) {
+
+		searchState.blockHeader.setTimeStamp("2022.01.09.12:00:" + (searchState.searchedHeaders++));
+
+		return searchState.nonceSearchEngine.searchNounce(searchState.blockHeader, null);
+	}
+
+	/**
+	 * State of the complete nounce search benchmark, which is run with different
+	 * amounts of worker threads.
+	 */
+	@State(Scope.Thread)
+	public static class SearchState {
+
+		@Param({ "1", "4" })
+		private int numberOfWorkers;
+
+		private BlockHeader blockHeader;
+		private NonceSearchEngine nonceSearchEngine;
+		private int searchedHeaders;
+
+		/**
+		 * Creates the block header and the NonceSearchEngine for the search.
+		 */
+		@Setup
+		public void setUp() {
+
+			blockHeader = BenchmarkData.createBlockHeader(BenchmarkData.createTransactions(100));
+			nonceSearchEngine = new NonceSearchEngine(new PoW(), numberOfWorkers);
+			searchedHeaders = 0;
+		}
+
+		/**
+		 * Stops the worker threads of the NonceSearchEngine.
+		 */
+		@TearDown
+		public void tearDown() {
+
+			nonceSearchEngine.close();
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+package blockchain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * Measuring the SHA256Hasher object by hashing the data of a block header,
+ * which is the string hashed most often by the node.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SHA256HasherBenchmark {
+
+	private String headerData;
+
+	/**
+	 * Creates the header data which is hashed in the benchmark.
+	 */
+	@Setup
+	public void setUp() {
+
+		headerData = BenchmarkData.createBlockHeader(BenchmarkData.createTransactions(1))
+				.getHeaderDataForHashCalculation();
+	}
+
+	/**
+	 * Measuring SHA256Hasher returnSHA256HashStringFromString().
+	 *
+	 * @return
+	 */
+	@Benchmark
+	public String returnSHA256HashStringFromString() {
+
+		return SHA256Hasher.returnSHA256HashStringFromString(headerData);
+	}
+
+}
@@ -9,6 +9,6 @@ package enumerations;
  * @since 2 Dec 2021
  */
 public enum EMessageEndpoint {
-	Transaction, Block, DataRequest, DataResponse, PublicKey;
+	Transaction, Block, DataRequest, DataResponse, PublicKey, MerkleProofRequest, MerkleProofResponse;
 
 }
@@ -0,0 +1,507 @@
+package blockchain.block;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import marshaller.Marshaller;
+
+/**
+ * This BlockCodec object is used to encode the block header and the
+ * transaction list of a block into the compact binary form which is saved in
+ * the blockChain table of the database, and to decode them again. Numbers are
+ * written with fixed width, strings in hex form (hashes, wallet addresses and
+ * signatures) as raw bytes, which halves their size, and a string which was
+ * already written in the same value (e.g. the address of a sender with multiple
+ * transactions) as reference to its first occurrence. Every encoded value
+ * starts with a magic byte and the format version. Values which don´t start
+ * with the magic byte were saved with Java serialization by older versions of
+ * the node and are decoded with the Marshaller object, so both forms can be
+ * read. Version 2 added the fee of the transactions, values of version 1 are
+ * decoded with a fee of zero.
+ *
+ * Block header: | magic | version | present | previousBlockHash |
+ * merkleRootHash | timeStamp | difficulty | nounce |
+ *
+ * Transaction list: | magic | version | count (-1 if null) | transactions |,
+ * transaction: | transactionID | fromAdress | toAdress | amount | fee (since
+ * version 2) | timeStamp | signature |
+ *
+ * String: | type | length or reference (2 bytes) | bytes |
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockCodec {
+
+	public static final byte magic = (byte) 0xB1;
+	public static final byte version = 2;
+	private static final byte firstVersion = 1;
+	private static final byte nullString = 0;
+	private static final byte textString = 1;
+	private static final byte lowerCaseHexString = 2;
+	private static final byte upperCaseHexString = 3;
+	private static final byte referencedString = 4;
+	private static final int maximalLength = 0xffff;
+	private static final char[] lowerCaseHexDigits = "0123456789abcdef".toCharArray();
+	private static final char[] upperCaseHexDigits = "0123456789ABCDEF".toCharArray();
+
+	/**
+	 * Instantiates a new BlockCodec object.
+	 */
+	private BlockCodec() {
+		super();
+	}
+
+	/**
+	 * Encodes the block header, which can be null.
+	 *
+	 * @param blockHeader
+	 * @return
+	 */
+	public static byte[] encodeBlockHeader(BlockHeader blockHeader) {
+
+		Encoder encoder = new Encoder(192);
+
+		encoder.writeByte(magic);
+		encoder.writeByte(version);
+		encoder.writeByte(blockHeader == null ? 0 : 1);
+
+		if (blockHeader != null) {
+
+			encoder.writeString(blockHeader.getPreviousBlockHash());
+			encoder.writeString(blockHeader.getMerkleRootHash());
+			encoder.writeString(blockHeader.getTimeStamp());
+			encoder.writeInt(blockHeader.getDifficulty());
+			encoder.writeInt(blockHeader.getNounce());
+		}
+
+		return encoder.toByteArray();
+	}
+
+	/**
+	 * Decodes the block header from the binary form or, for old rows, from the
+	 * Java serialized form.
+	 *
+	 * @param encodedBlockHeader
+	 * @return
+	 * @throws IOException
+	 */
+	public static BlockHeader decodeBlockHeader(byte[] encodedBlockHeader) throws IOException {
+
+		if (!isEncoded(encodedBlockHeader))
+			return (BlockHeader) new Marshaller().transformByteToObject(encodedBlockHeader);
+
+		try {
+
+			Decoder decoder = new Decoder(encodedBlockHeader);
+
+			if (decoder.readByte() == 0)
+				return null;
+
+			String previousBlockHash = decoder.readString();
+			String merkleRootHash = decoder.readString();
+			String timeStamp = decoder.readString();
+			int difficulty = decoder.readInt();
+			int nounce = decoder.readInt();
+
+			return new BlockHeader(previousBlockHash, merkleRootHash, timeStamp, difficulty, nounce);
+
+		} catch (IndexOutOfBoundsException e) {
+
+			throw new IOException("Encoded block header is truncated", e);
+		}
+	}
+
+	/**
+	 * Encodes the transaction list, which can be null.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public static byte[] encodeTransactionList(ArrayList<Transaction> transactions) {
+
+		int size = transactions == null ? 0 : transactions.size();
+		Encoder encoder = new Encoder(16 + size * 128);
+
+		encoder.writeByte(magic);
+		encoder.writeByte(version);
+		encoder.writeInt(transactions == null ? -1 : size);
+
+		for (int i = 0; i < size; i++) {
+
+			writeTransaction(encoder, transactions.get(i));
+		}
+
+		return encoder.toByteArray();
+	}
+
+	/**
+	 * Returns the amount of bytes the transaction takes at most in an encoded
+	 * transaction list. In a list it can take less, if some of its strings were
+	 * already written by a previous transaction of the list.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	public static int getEncodedTransactionSize(Transaction transaction) {
+
+		Encoder encoder = new Encoder(128);
+
+		writeTransaction(encoder, transaction);
+
+		return encoder.position;
+	}
+
+	/**
+	 * Decodes the transaction list from the binary form or, for old rows, from
+	 * the Java serialized form.
+	 *
+	 * @param encodedTransactions
+	 * @return
+	 * @throws IOException
+	 */
+	@SuppressWarnings("unchecked")
+	public static ArrayList<Transaction> decodeTransactionList(byte[] encodedTransactions) throws IOException {
+
+		if (!isEncoded(encodedTransactions))
+			return (ArrayList<Transaction>) new Marshaller().transformByteToObject(encodedTransactions);
+
+		try {
+
+			Decoder decoder = new Decoder(encodedTransactions);
+			int size = decoder.readInt();
+
+			if (size < 0)
+				return null;
+
+			ArrayList<Transaction> transactions = new ArrayList<Transaction>(size);
+
+			for (int i = 0; i < size; i++) {
+
+				String transactionID = decoder.readString();
+				String fromAdress = decoder.readString();
+				String toAdress = decoder.readString();
+				double amount = Double.longBitsToDouble(decoder.readLong());
+				double fee = decoder.getVersion() >= 2 ? Double.longBitsToDouble(decoder.readLong()) : 0;
+				String timeStamp = decoder.readString();
+				String signature = decoder.readString();
+
+				transactions.add(
+						new Transaction(transactionID, fromAdress, toAdress, amount, fee, timeStamp, signature));
+			}
+
+			return transactions;
+
+		} catch (IndexOutOfBoundsException e) {
+
+			throw new IOException("Encoded transaction list is truncated", e);
+		}
+	}
+
+	/**
+	 * Returns true if the input bytes were encoded by this codec and not by Java
+	 * serialization.
+	 *
+	 * @param encoded
+	 * @return
+	 */
+	public static boolean isEncoded(byte[] encoded) {
+		return encoded != null && encoded.length >= 2 && encoded[0] == magic;
+	}
+
+	/**
+	 * Helper method which returns the value of a hex digit, with bit 4 set for a
+	 * lower case and bit 5 set for a upper case letter, or -1 if the character is
+	 * not a hex digit.
+	 *
+	 * @param hexDigit
+	 * @return
+	 */
+	private static int hexValue(char hexDigit) {
+
+		if (hexDigit >= '0' && hexDigit <= '9')
+			return hexDigit - '0';
+
+		if (hexDigit >= 'a' && hexDigit <= 'f')
+			return (hexDigit - 'a' + 10) | 0x10;
+
+		if (hexDigit >= 'A' && hexDigit <= 'F')
+			return (hexDigit - 'A' + 10) | 0x20;
+
+		return -1;
+	}
+
+	/**
+	 * Helper method which writes the values of the transaction.
+	 *
+	 * @param encoder
+	 * @param transaction
+	 */
+	private static void writeTransaction(Encoder encoder, Transaction transaction) {
+
+		encoder.writeString(transaction.getTransactionID());
+		encoder.writeString(transaction.getFromAdress());
+		encoder.writeString(transaction.getToAdress());
+		encoder.writeLong(Double.doubleToLongBits(transaction.getAmount()));
+		encoder.writeLong(Double.doubleToLongBits(transaction.getFee()));
+		encoder.writeString(transaction.getTimeStamp());
+		encoder.writeString(transaction.getSignature());
+	}
+
+	/**
+	 * Writes the values of one encoded block header or transaction list into a
+	 * growing byte array, without the synchronisation of the java.io streams.
+	 */
+	private static class Encoder {
+
+		private byte[] buffer;
+		private int position;
+		private HashMap<String, Integer> writtenStrings;
+
+		private Encoder(int initialCapacity) {
+			super();
+			this.buffer = new byte[initialCapacity];
+			this.position = 0;
+			this.writtenStrings = new HashMap<String, Integer>();
+		}
+
+		private void writeByte(int value) {
+
+			ensureCapacity(1);
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeShort(int value) {
+
+			ensureCapacity(2);
+			buffer[position++] = (byte) (value >>> 8);
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeInt(int value) {
+
+			ensureCapacity(4);
+
+			for (int shift = 24; shift >= 0; shift -= 8) {
+
+				buffer[position++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void writeLong(long value) {
+
+			ensureCapacity(8);
+
+			for (int shift = 56; shift >= 0; shift -= 8) {
+
+				buffer[position++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void writeString(String value) {
+
+			if (value == null) {
+
+				writeByte(nullString);
+				return;
+			}
+
+			Integer reference = writtenStrings.get(value);
+
+			if (reference != null) {
+
+				writeByte(referencedString);
+				writeShort(reference);
+				return;
+			}
+
+			if (writtenStrings.size() < maximalLength)
+				writtenStrings.put(value, writtenStrings.size());
+
+			if (!writeHex(value)) {
+
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+				if (bytes.length > maximalLength)
+					throw new IllegalArgumentException("String is too long to be encoded in a block");
+
+				writeByte(textString);
+				writeShort(bytes.length);
+				ensureCapacity(bytes.length);
+				System.arraycopy(bytes, 0, buffer, position, bytes.length);
+				position += bytes.length;
+			}
+		}
+
+		/**
+		 * Writes the string as raw bytes in one pass and returns true, or writes
+		 * nothing and returns false if the string is not a lower or upper case hex
+		 * string.
+		 */
+		private boolean writeHex(String value) {
+
+			int length = value.length() / 2;
+
+			if (length == 0 || value.length() % 2 != 0 || length > maximalLength)
+				return false;
+
+			ensureCapacity(3 + length);
+
+			int start = position;
+			int usedLetterCases = 0;
+			position += 3;
+
+			for (int i = 0; i < value.length(); i += 2) {
+
+				int high = hexValue(value.charAt(i));
+				int low = hexValue(value.charAt(i + 1));
+
+				if (high < 0 || low < 0) {
+
+					position = start;
+					return false;
+				}
+
+				usedLetterCases |= (high | low) >> 4;
+				buffer[position++] = (byte) (((high & 0xf) << 4) | (low & 0xf));
+			}
+
+			if (usedLetterCases == 3) {
+
+				position = start;
+				return false;
+			}
+
+			buffer[start] = usedLetterCases == 2 ? upperCaseHexString : lowerCaseHexString;
+			buffer[start + 1] = (byte) (length >>> 8);
+			buffer[start + 2] = (byte) length;
+
+			return true;
+		}
+
+		private void ensureCapacity(int length) {
+
+			if (position + length > buffer.length)
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf(buffer, position);
+		}
+	}
+
+	/**
+	 * Reads the values of one encoded block header or transaction list, beginning
+	 * after the magic byte and the checked version.
+	 */
+	private static class Decoder {
+
+		private byte[] buffer;
+		private int position;
+		private ArrayList<String> readStrings;
+
+		private Decoder(byte[] buffer) throws IOException {
+			super();
+
+			if (buffer[1] < firstVersion || buffer[1] > version)
+				throw new IOException("Unsupported block encoding version " + buffer[1]);
+
+			this.buffer = buffer;
+			this.position = 2;
+			this.readStrings = new ArrayList<String>();
+		}
+
+		private int getVersion() {
+			return buffer[1];
+		}
+
+		private int readByte() {
+			return buffer[position++];
+		}
+
+		private int readShort() {
+			return ((buffer[position++] & 0xff) << 8) | (buffer[position++] & 0xff);
+		}
+
+		private int readInt() {
+
+			int value = 0;
+
+			for (int i = 0; i < 4; i++) {
+
+				value = (value << 8) | (buffer[position++] & 0xff);
+			}
+
+			return value;
+		}
+
+		private long readLong() {
+
+			long value = 0;
+
+			for (int i = 0; i < 8; i++) {
+
+				value = (value << 8) | (buffer[position++] & 0xff);
+			}
+
+			return value;
+		}
+
+		private String readString() throws IOException {
+
+			int type = readByte();
+			String value;
+
+			switch (type) {
+
+			case nullString:
+				return null;
+			case referencedString:
+				return readStrings.get(readShort());
+			case textString:
+				int length = readShort();
+
+				if (position + length > buffer.length)
+					throw new IndexOutOfBoundsException("String exceeds the encoded value");
+
+				value = new String(buffer, position, length, StandardCharsets.UTF_8);
+				position += length;
+				break;
+			case lowerCaseHexString:
+				value = readHex(lowerCaseHexDigits);
+				break;
+			case upperCaseHexString:
+				value = readHex(upperCaseHexDigits);
+				break;
+			default:
+				throw new IOException("Unknown string type " + type);
+			}
+
+			if (readStrings.size() < maximalLength)
+				readStrings.add(value);
+
+			return value;
+		}
+
+		private String readHex(char[] hexDigits) {
+
+			int length = readShort();
+			char[] hexChars = new char[length * 2];
+
+			for (int i = 0; i < length; i++) {
+
+				byte value = buffer[position++];
+
+				hexChars[i * 2] = hexDigits[(value >> 4) & 0xf];
+				hexChars[i * 2 + 1] = hexDigits[value & 0xf];
+			}
+
+			return new String(hexChars);
+		}
+	}
+
+}
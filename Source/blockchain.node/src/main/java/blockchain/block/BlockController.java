@@ -2,7 +2,6 @@ package blockchain.block;
 
 import java.util.ArrayList;
 
-import blockchain.concensus.PoW;
 import blockchain.concensus.SHA256Hasher;
 
 /**
@@ -52,10 +51,12 @@ public class BlockController {
 	 * 
 	 * @param previousBlock
 	 * @param transactionListToBeIncludedInBlock
+	 * @param difficulty                         --> compact difficulty calculated
+	 *                                           by the consensus algorithm.
 	 * @return
 	 */
 	public BlockHeader generateNewBlockHeader(Block previousBlock,
-			ArrayList<Transaction> transactionListToBeIncludedInBlock) {
+			ArrayList<Transaction> transactionListToBeIncludedInBlock, int difficulty) {
 
 		if (previousBlock == null)
 			throw new IllegalArgumentException("Previous block can´t be null");
@@ -63,7 +64,29 @@ public class BlockController {
 		MerkleTree merkleTree = new MerkleTree(transactionListToBeIncludedInBlock);
 
 		return new BlockHeader(calculateBlockHeaderHash(previousBlock.getBlockHeader()), merkleTree.getMerkleRoot(),
-				PoW.getDifficulty());
+				difficulty);
+
+	}
+
+	/**
+	 * Generates a new BlockHeader object to be included in the block object, using
+	 * the merkle root of the input accumulator which already contains all
+	 * transactions of the block.
+	 * 
+	 * @param previousBlock
+	 * @param merkleAccumulator
+	 * @param difficulty        --> compact difficulty calculated by the consensus
+	 *                          algorithm.
+	 * @return
+	 */
+	public BlockHeader generateNewBlockHeader(Block previousBlock, MerkleAccumulator merkleAccumulator,
+			int difficulty) {
+
+		if (previousBlock == null || merkleAccumulator == null)
+			throw new IllegalArgumentException("Previous block and merkle accumulator can´t be null");
+
+		return new BlockHeader(calculateBlockHeaderHash(previousBlock.getBlockHeader()),
+				merkleAccumulator.getMerkleRoot(), difficulty);
 
 	}
 
@@ -12,9 +12,10 @@ import java.util.Date;
  * @version 1.0
  * @since 9 Dec 2021
  */
-@SuppressWarnings("serial")
 public class BlockHeader implements Serializable {
 
+	private static final long serialVersionUID = -5510192085749540800L;
+
 	private String previousBlockHash;
 	private String merkleRootHash;
 	private String timeStamp;
@@ -40,6 +41,25 @@ public class BlockHeader implements Serializable {
 
 	}
 
+	/**
+	 * Instantiates a block header object with all its data, e.g. when it is
+	 * decoded by the BlockCodec object.
+	 * 
+	 * @param previousBlockHash
+	 * @param merkleRootHash
+	 * @param timeStamp
+	 * @param difficulty
+	 * @param nounce
+	 */
+	BlockHeader(String previousBlockHash, String merkleRootHash, String timeStamp, int difficulty, int nounce) {
+		super();
+		this.previousBlockHash = previousBlockHash;
+		this.merkleRootHash = merkleRootHash;
+		this.timeStamp = timeStamp;
+		this.difficulty = difficulty;
+		this.nounce = nounce;
+	}
+
 	/**
 	 * Returns the hash of the prevoius block in chain.
 	 * 
@@ -66,7 +86,19 @@ public class BlockHeader implements Serializable {
 	 */
 	public String getHeaderDataForHashCalculation() {
 
-		return this.previousBlockHash + this.merkleRootHash + this.timeStamp + this.difficulty + this.nounce;
+		return this.getHeaderPrefixForHashCalculation() + this.nounce;
+	}
+
+	/**
+	 * Returns the part of the header data which does not change while the nounce
+	 * is been incremented during the mining process. Appending the nounce to this
+	 * string gives the same result as getHeaderDataForHashCalculation().
+	 * 
+	 * @return
+	 */
+	public String getHeaderPrefixForHashCalculation() {
+
+		return this.previousBlockHash + this.merkleRootHash + this.timeStamp + this.difficulty;
 	}
 
 	/**
@@ -0,0 +1,101 @@
+package blockchain.block;
+
+import java.nio.charset.StandardCharsets;
+
+import blockchain.concensus.SHA256Hasher;
+import blockchain.concensus.SHA256MidstateHasher;
+
+/**
+ * This BlockHeaderHasher object calculates the hash of a block header for
+ * different nounces without rebuilding the header string. The bytes of the
+ * header fields which don't change while mining (previous hash, merkle root,
+ * time stamp and difficulty) are serialised once and their SHA256 midstate is
+ * cached, so that per nounce only the decimal digits of the nounce are written
+ * into a reusable buffer and hashed. The calculated hashes are identical to
+ * the hashes of getHeaderDataForHashCalculation(). The object reuses its
+ * buffers and is therefore not thread safe.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockHeaderHasher {
+
+	private static final int maxNounceDigits = 11;
+	private final SHA256MidstateHasher midstateHasher;
+	private final byte[] nounceBuffer;
+	private final byte[] digest;
+
+	/**
+	 * Instantiates a new BlockHeaderHasher object for the fixed fields of the
+	 * given block header. The parameters must not be null.
+	 *
+	 * @param blockHeader
+	 */
+	public BlockHeaderHasher(BlockHeader blockHeader) {
+		super();
+
+		if (blockHeader == null)
+			throw new IllegalArgumentException("Block header for hashing can´t be null");
+
+		byte[] headerPrefix = blockHeader.getHeaderPrefixForHashCalculation().getBytes(StandardCharsets.UTF_8);
+
+		this.midstateHasher = new SHA256MidstateHasher(headerPrefix, maxNounceDigits);
+		this.nounceBuffer = new byte[maxNounceDigits];
+		this.digest = new byte[32];
+	}
+
+	/**
+	 * Calculates the hash of the block header combined with the given nounce. The
+	 * returned array is reused by the next call of this method.
+	 *
+	 * @param nounce
+	 * @return
+	 */
+	public byte[] calculateHash(int nounce) {
+
+		int digitsStart = writeNounceDigits(nounce);
+
+		midstateHasher.hashWithSuffix(nounceBuffer, digitsStart, maxNounceDigits - digitsStart, digest);
+
+		return digest;
+	}
+
+	/**
+	 * Calculates the hash of the block header combined with the given nounce and
+	 * returns it as a hex string.
+	 *
+	 * @param nounce
+	 * @return
+	 */
+	public String calculateHashString(int nounce) {
+
+		return SHA256Hasher.returnHexStringFromHash(calculateHash(nounce));
+	}
+
+	/**
+	 * Helper method which writes the decimal representation of the nounce to the
+	 * end of the nounce buffer and returns the index of the first digit.
+	 *
+	 * @param nounce
+	 * @return
+	 */
+	private int writeNounceDigits(int nounce) {
+
+		long value = Math.abs((long) nounce);
+		int position = maxNounceDigits;
+
+		do {
+
+			nounceBuffer[--position] = (byte) ('0' + value % 10);
+			value /= 10;
+
+		} while (value != 0);
+
+		if (nounce < 0)
+			nounceBuffer[--position] = '-';
+
+		return position;
+	}
+
+}
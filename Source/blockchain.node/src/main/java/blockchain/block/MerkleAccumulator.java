@@ -0,0 +1,323 @@
+package blockchain.block;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * This MerkleAccumulator object is used to calculate the merkle root of a
+ * transaction list which grows one transaction at a time, as the transaction
+ * pool does. The hashes of all complete subtrees are kept level by level (the
+ * leaf hashes on the lowest level), which are about two hashes per
+ * transaction. The frontier, which is the root of every complete subtree on the
+ * right edge of the tree (at most one per level), is the last hash of every
+ * level with an odd amount of hashes. Adding a transaction therefore hashes at
+ * most log(n) nodes, and the root is calculated from the frontier with at most
+ * log(n) hashes. An accumulator of the first transactions is taken from the
+ * kept hashes without hashing, and when transactions are removed only the
+ * subtrees after the first removed transaction are merged again from the kept
+ * leaf hashes. The roots are identical to the roots calculated by the
+ * MerkleTree object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class MerkleAccumulator {
+
+	private ArrayList<ArrayList<byte[]>> levels;
+	private ArrayList<Transaction> transactions;
+	private HashSet<String> transactionIDs;
+
+	/**
+	 * Instantiates a new empty MerkleAccumulator object.
+	 */
+	public MerkleAccumulator() {
+		super();
+		this.levels = new ArrayList<ArrayList<byte[]>>();
+		this.transactions = new ArrayList<Transaction>();
+		this.transactionIDs = new HashSet<String>();
+	}
+
+	/**
+	 * Instantiates a new MerkleAccumulator object containing the transactions of
+	 * the input list in the order of the list. The parameters must not be null.
+	 *
+	 * @param transactions
+	 */
+	public MerkleAccumulator(ArrayList<Transaction> transactions) {
+		this();
+
+		if (transactions == null)
+			throw new IllegalArgumentException("Transaction list for merkle accumulator can´t be null");
+
+		for (Transaction transaction : transactions) {
+
+			addTransaction(transaction);
+		}
+	}
+
+	/**
+	 * Instantiates a new MerkleAccumulator object as copy of the input
+	 * accumulator, so that transactions (e.g. the coinbase) can be added to the
+	 * copy without changing the original.
+	 *
+	 * @param merkleAccumulator
+	 */
+	public MerkleAccumulator(MerkleAccumulator merkleAccumulator) {
+		this(merkleAccumulator, merkleAccumulator == null ? 0 : merkleAccumulator.size());
+	}
+
+	/**
+	 * Instantiates a new MerkleAccumulator object containing the first
+	 * transactions of the input accumulator, up to the input amount. No hash is
+	 * calculated, the hashes of the complete subtrees are taken from the input
+	 * accumulator.
+	 *
+	 * @param merkleAccumulator
+	 * @param prefixSize
+	 */
+	public MerkleAccumulator(MerkleAccumulator merkleAccumulator, int prefixSize) {
+		this();
+
+		if (merkleAccumulator == null)
+			throw new IllegalArgumentException("Merkle accumulator for copying can´t be null");
+
+		if (prefixSize < 0 || prefixSize > merkleAccumulator.size())
+			throw new IllegalArgumentException("Prefix size must be between 0 and " + merkleAccumulator.size());
+
+		for (int level = 0; (prefixSize >> level) > 0; level++) {
+
+			this.levels.add(new ArrayList<byte[]>(merkleAccumulator.levels.get(level).subList(0, prefixSize >> level)));
+		}
+
+		this.transactions.addAll(merkleAccumulator.transactions.subList(0, prefixSize));
+
+		for (Transaction transaction : this.transactions) {
+
+			this.transactionIDs.add(transaction.getTransactionID());
+		}
+	}
+
+	/**
+	 * Adds the transaction as next leaf of the tree by merging it with the
+	 * frontier nodes of all complete subtrees it completes. Returns false and
+	 * ignores the transaction if a transaction with the same ID was already added.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	public boolean addTransaction(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("Transaction for merkle accumulator can´t be null");
+
+		if (!transactionIDs.add(transaction.getTransactionID()))
+			return false;
+
+		addLeaf(transaction, MerkleRootBuilder.hashLeaf(transaction));
+
+		return true;
+	}
+
+	/**
+	 * Removes the input transactions, which are ignored if they were not added.
+	 * The subtrees before the first removed transaction are kept, the transactions
+	 * after it are merged again from their kept leaf hashes, so no transaction is
+	 * hashed again. Returns the amount of removed transactions.
+	 *
+	 * @param removedTransactions
+	 * @return
+	 */
+	public int removeTransactions(Collection<Transaction> removedTransactions) {
+
+		if (removedTransactions == null)
+			throw new IllegalArgumentException("Removed transactions for merkle accumulator can´t be null");
+
+		HashSet<String> removedIDs = new HashSet<String>();
+
+		for (Transaction transaction : removedTransactions) {
+
+			if (transactionIDs.contains(transaction.getTransactionID()))
+				removedIDs.add(transaction.getTransactionID());
+		}
+
+		if (removedIDs.isEmpty())
+			return 0;
+
+		int firstRemovedPosition = 0;
+
+		while (!removedIDs.contains(transactions.get(firstRemovedPosition).getTransactionID())) {
+
+			firstRemovedPosition++;
+		}
+
+		ArrayList<Transaction> remainingTransactions = new ArrayList<Transaction>(
+				transactions.subList(firstRemovedPosition, transactions.size()));
+		ArrayList<byte[]> remainingLeaves = new ArrayList<byte[]>(
+				levels.get(0).subList(firstRemovedPosition, transactions.size()));
+
+		truncate(firstRemovedPosition);
+
+		for (int i = 0; i < remainingTransactions.size(); i++) {
+
+			Transaction transaction = remainingTransactions.get(i);
+
+			if (!removedIDs.contains(transaction.getTransactionID())) {
+
+				transactionIDs.add(transaction.getTransactionID());
+				addLeaf(transaction, remainingLeaves.get(i));
+			}
+		}
+
+		return removedIDs.size();
+	}
+
+	/**
+	 * Returns true if a transaction with the input ID was added.
+	 *
+	 * @param transactionID
+	 * @return
+	 */
+	public boolean containsTransaction(String transactionID) {
+		return transactionIDs.contains(transactionID);
+	}
+
+	/**
+	 * Calculates the merkle root from the frontier. Beginning with the lowest
+	 * subtree, a subtree which has no right neighbour is hashed with itself until
+	 * it has the size of the next bigger subtree, which is then its left neighbour.
+	 * Returns a empty string if no transaction was added, like the MerkleTree
+	 * object.
+	 *
+	 * @return
+	 */
+	public String getMerkleRoot() {
+
+		if (transactions.isEmpty())
+			return " ";
+
+		int level = 0;
+
+		while (getFrontierNode(level) == null) {
+
+			level++;
+		}
+
+		byte[] node = getFrontierNode(level);
+		long count = transactions.size();
+
+		while (count != (1L << level)) {
+
+			node = MerkleRootBuilder.hashInnerNode(node, node);
+			count += 1L << level;
+			level++;
+
+			while ((count & (1L << level)) == 0) {
+
+				node = MerkleRootBuilder.hashInnerNode(getFrontierNode(level), node);
+				level++;
+			}
+		}
+
+		return SHA256Hasher.returnHexStringFromHash(node);
+	}
+
+	/**
+	 * Returns a copy of the added transactions in the order they were added.
+	 *
+	 * @return
+	 */
+	public ArrayList<Transaction> getTransactions() {
+		return new ArrayList<Transaction>(transactions);
+	}
+
+	/**
+	 * Returns the amount of added transactions.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return transactions.size();
+	}
+
+	/**
+	 * Helper method which appends the leaf hash of the transaction to the lowest
+	 * level and merges every pair of subtrees it completes into the next level.
+	 *
+	 * @param transaction
+	 * @param leafHash
+	 */
+	private void addLeaf(Transaction transaction, byte[] leafHash) {
+
+		transactions.add(transaction);
+
+		byte[] node = leafHash;
+		int level = 0;
+
+		while (true) {
+
+			if (level == levels.size())
+				levels.add(new ArrayList<byte[]>());
+
+			ArrayList<byte[]> levelHashes = levels.get(level);
+			levelHashes.add(node);
+
+			if (levelHashes.size() % 2 != 0)
+				return;
+
+			node = MerkleRootBuilder.hashInnerNode(levelHashes.get(levelHashes.size() - 2), node);
+			level++;
+		}
+	}
+
+	/**
+	 * Helper method which keeps only the first transactions up to the input
+	 * amount and the hashes of their complete subtrees.
+	 *
+	 * @param size
+	 */
+	private void truncate(int size) {
+
+		for (Transaction transaction : transactions.subList(size, transactions.size())) {
+
+			transactionIDs.remove(transaction.getTransactionID());
+		}
+
+		transactions.subList(size, transactions.size()).clear();
+
+		for (int level = levels.size() - 1; level >= 0; level--) {
+
+			ArrayList<byte[]> levelHashes = levels.get(level);
+
+			if ((size >> level) == 0) {
+
+				levels.remove(level);
+
+			} else {
+
+				levelHashes.subList(size >> level, levelHashes.size()).clear();
+			}
+		}
+	}
+
+	/**
+	 * Helper method which returns the root of the complete subtree on the right
+	 * edge of the tree at the input level, or null if the level has none.
+	 *
+	 * @param level
+	 * @return
+	 */
+	private byte[] getFrontierNode(int level) {
+
+		if (level >= levels.size() || ((transactions.size() >> level) & 1) == 0)
+			return null;
+
+		ArrayList<byte[]> levelHashes = levels.get(level);
+
+		return levelHashes.get(levelHashes.size() - 1);
+	}
+
+}
@@ -0,0 +1,142 @@
+package blockchain.block;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * This MerkleProof object is used to prove that a transaction is included in a
+ * block without sending the whole transaction list of that block. It contains
+ * the position of the transaction in the block and the hashes of all siblings
+ * on the path from the transaction to the merkle root, so the proof grows only
+ * with the logarithm of the transaction count.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+@SuppressWarnings("serial")
+public class MerkleProof implements Serializable {
+
+	private String transactionID;
+	private int blockIndex;
+	private int transactionIndex;
+	private ArrayList<String> siblingHashes;
+	private String merkleRoot;
+
+	/**
+	 * Instantiates a new MerkleProof object. The parameters must not be null.
+	 *
+	 * @param transactionID
+	 * @param transactionIndex --> position of the transaction in the block.
+	 * @param siblingHashes    --> sibling hashes starting at the leaf level.
+	 * @param merkleRoot
+	 */
+	public MerkleProof(String transactionID, int transactionIndex, ArrayList<String> siblingHashes,
+			String merkleRoot) {
+		super();
+		this.transactionID = transactionID;
+		this.blockIndex = -1;
+		this.transactionIndex = transactionIndex;
+		this.siblingHashes = siblingHashes;
+		this.merkleRoot = merkleRoot;
+	}
+
+	/**
+	 * Verifies the proof by hashing the input transaction and its siblings up to
+	 * the root and comparing the result with the input merkle root, which has to
+	 * be taken from a trusted block header. Returns false if the proof doesn´t
+	 * belong to the transaction or the calculated root differs.
+	 *
+	 * @param transaction
+	 * @param merkleProof
+	 * @param merkleRoot
+	 * @return
+	 */
+	public static boolean verifyMerkleProof(Transaction transaction, MerkleProof merkleProof, String merkleRoot) {
+
+		if (transaction == null || merkleProof == null || merkleRoot == null)
+			throw new IllegalArgumentException("Transaction, proof and root for proof verification can´t be null");
+
+		if (!transaction.getTransactionID().equals(merkleProof.getTransactionID())
+				|| merkleProof.getTransactionIndex() < 0)
+			return false;
+
+		String hash = SHA256Hasher.returnSHA256HashStringFromString(transaction.getTransactionData());
+		int index = merkleProof.getTransactionIndex();
+
+		for (String siblingHash : merkleProof.getSiblingHashes()) {
+
+			if ((index & 1) == 0) {
+
+				hash = SHA256Hasher.returnSHA256HashStringFromString(hash + siblingHash);
+
+			} else {
+
+				hash = SHA256Hasher.returnSHA256HashStringFromString(siblingHash + hash);
+			}
+
+			index >>= 1;
+		}
+
+		return index == 0 && hash.equals(merkleRoot);
+	}
+
+	/**
+	 * Returns the ID of the proven transaction.
+	 *
+	 * @return
+	 */
+	public String getTransactionID() {
+		return transactionID;
+	}
+
+	/**
+	 * Returns the index of the block which contains the transaction, or -1 if it
+	 * was not set.
+	 *
+	 * @return
+	 */
+	public int getBlockIndex() {
+		return blockIndex;
+	}
+
+	/**
+	 * Sets the index of the block which contains the transaction.
+	 *
+	 * @param blockIndex
+	 */
+	public void setBlockIndex(int blockIndex) {
+		this.blockIndex = blockIndex;
+	}
+
+	/**
+	 * Returns the position of the transaction in the transaction list of the block.
+	 *
+	 * @return
+	 */
+	public int getTransactionIndex() {
+		return transactionIndex;
+	}
+
+	/**
+	 * Returns the sibling hashes on the path from the transaction to the root,
+	 * starting at the leaf level.
+	 *
+	 * @return
+	 */
+	public ArrayList<String> getSiblingHashes() {
+		return siblingHashes;
+	}
+
+	/**
+	 * Returns the merkle root of the block which the proof was created for.
+	 *
+	 * @return
+	 */
+	public String getMerkleRoot() {
+		return merkleRoot;
+	}
+
+}
@@ -0,0 +1,359 @@
+package blockchain.block;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This MerkleRootBuilder object calculates the merkle root of a transaction
+ * list on raw 32 byte digests. Every level of the tree is kept in one byte
+ * array (32 bytes per node) and, above a threshold, the leaves and the nodes of
+ * every level are hashed in parallel on a fork join pool. An inner node is the
+ * SHA256 hash of the hex strings of its two children, and a level with an
+ * uneven number of nodes uses its last node twice, so the roots are identical
+ * to the roots calculated on hex strings.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class MerkleRootBuilder {
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final int hashLength = 32;
+	private static final int parallelThreshold = 128;
+	private static final ForkJoinPool forkJoinPool = new ForkJoinPool();
+
+	/**
+	 * Instantiates a new MerkleRootBuilder object.
+	 */
+	private MerkleRootBuilder() {
+		super();
+	}
+
+	/**
+	 * Returns the merkle root of the transaction list as raw digest, or null if
+	 * the list is empty. If the list contains only one transaction, the hash of
+	 * that transaction is the root.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public static byte[] calculateMerkleRoot(List<Transaction> transactions) {
+
+		if (transactions == null)
+			throw new IllegalArgumentException("Transaction list for root calculation can´t be null");
+
+		if (transactions.isEmpty())
+			return null;
+
+		byte[] level = hashLeaves(transactions);
+		int nodes = transactions.size();
+
+		while (nodes > 1) {
+
+			level = hashNextLevel(level, nodes);
+			nodes = (nodes + 1) / 2;
+		}
+
+		return level;
+	}
+
+	/**
+	 * Returns all levels of the merkle tree as raw digests, starting with the
+	 * leaves and ending with the level which contains only the root. An empty
+	 * transaction list returns an empty list.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public static ArrayList<byte[]> calculateMerkleLevels(List<Transaction> transactions) {
+
+		if (transactions == null)
+			throw new IllegalArgumentException("Transaction list for level calculation can´t be null");
+
+		ArrayList<byte[]> levels = new ArrayList<byte[]>();
+
+		if (transactions.isEmpty())
+			return levels;
+
+		byte[] level = hashLeaves(transactions);
+		int nodes = transactions.size();
+
+		levels.add(level);
+
+		while (nodes > 1) {
+
+			level = hashNextLevel(level, nodes);
+			nodes = (nodes + 1) / 2;
+
+			levels.add(level);
+		}
+
+		return levels;
+	}
+
+	/**
+	 * Returns the hashes of the transaction data of all transactions, 32 bytes
+	 * per transaction in the order of the list.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public static byte[] hashLeaves(List<Transaction> transactions) {
+
+		byte[] leaves = new byte[transactions.size() * hashLength];
+		LeafTask leafTask = new LeafTask(transactions, leaves, 0, transactions.size());
+
+		if (transactions.size() <= parallelThreshold) {
+
+			leafTask.compute();
+
+		} else {
+
+			forkJoinPool.invoke(leafTask);
+		}
+
+		return leaves;
+	}
+
+	/**
+	 * Returns the level above the input level, which contains the input amount of
+	 * nodes. If the amount is uneven the last node is hashed with itself.
+	 *
+	 * @param level
+	 * @param nodes
+	 * @return
+	 */
+	public static byte[] hashNextLevel(byte[] level, int nodes) {
+
+		int parents = (nodes + 1) / 2;
+		byte[] nextLevel = new byte[parents * hashLength];
+		NodeTask nodeTask = new NodeTask(level, nodes, nextLevel, 0, parents);
+
+		if (parents <= parallelThreshold) {
+
+			nodeTask.compute();
+
+		} else {
+
+			forkJoinPool.invoke(nodeTask);
+		}
+
+		return nextLevel;
+	}
+
+	/**
+	 * Returns the hash of the transaction data of the input transaction.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	static byte[] hashLeaf(Transaction transaction) {
+
+		MessageDigest messageDigest = createMessageDigest();
+
+		return messageDigest.digest(transaction.getTransactionData().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the parent node of the input nodes.
+	 *
+	 * @param left
+	 * @param right
+	 * @return
+	 */
+	static byte[] hashInnerNode(byte[] left, byte[] right) {
+
+		MessageDigest messageDigest = createMessageDigest();
+		byte[] hexBuffer = new byte[hashLength * 4];
+
+		writeHex(left, 0, hexBuffer, 0);
+		writeHex(right, 0, hexBuffer, hashLength * 2);
+
+		return messageDigest.digest(hexBuffer);
+	}
+
+	/**
+	 * Returns the amount of 32 byte nodes in the input level.
+	 *
+	 * @param level
+	 * @return
+	 */
+	public static int getNodeCount(byte[] level) {
+		return level.length / hashLength;
+	}
+
+	/**
+	 * Returns a copy of the node at the input position of the level.
+	 *
+	 * @param level
+	 * @param node
+	 * @return
+	 */
+	public static byte[] getNode(byte[] level, int node) {
+
+		byte[] hash = new byte[hashLength];
+		System.arraycopy(level, node * hashLength, hash, 0, hashLength);
+
+		return hash;
+	}
+
+	/**
+	 * Helper method which returns a new SHA256 message digest.
+	 *
+	 * @return
+	 */
+	private static MessageDigest createMessageDigest() {
+
+		try {
+
+			return MessageDigest.getInstance("SHA-256");
+
+		} catch (NoSuchAlgorithmException e) {
+
+			throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+		}
+	}
+
+	/**
+	 * Helper method which finishes the digest and writes it into the output array
+	 * at the input offset.
+	 *
+	 * @param messageDigest
+	 * @param output
+	 * @param offset
+	 */
+	private static void finishDigest(MessageDigest messageDigest, byte[] output, int offset) {
+
+		try {
+
+			messageDigest.digest(output, offset, hashLength);
+
+		} catch (DigestException e) {
+
+			throw new IllegalStateException("SHA-256 digest couldn´t be written", e);
+		}
+	}
+
+	/**
+	 * Helper method which writes the lower case hex characters of the hash at the
+	 * input offset into the buffer.
+	 *
+	 * @param hashes
+	 * @param hashOffset
+	 * @param buffer
+	 * @param bufferOffset
+	 */
+	private static void writeHex(byte[] hashes, int hashOffset, byte[] buffer, int bufferOffset) {
+
+		for (int i = 0; i < hashLength; i++) {
+
+			byte hashByte = hashes[hashOffset + i];
+
+			buffer[bufferOffset + i * 2] = HEX_DIGITS[(hashByte >> 4) & 0xf];
+			buffer[bufferOffset + i * 2 + 1] = HEX_DIGITS[hashByte & 0xf];
+		}
+	}
+
+	/**
+	 * Task which hashes the transactions from start (included) to end (excluded)
+	 * and splits itself while the range is bigger than the threshold.
+	 */
+	@SuppressWarnings("serial")
+	private static class LeafTask extends RecursiveAction {
+
+		private final List<Transaction> transactions;
+		private final byte[] leaves;
+		private final int start;
+		private final int end;
+
+		private LeafTask(List<Transaction> transactions, byte[] leaves, int start, int end) {
+			super();
+			this.transactions = transactions;
+			this.leaves = leaves;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (end - start > parallelThreshold) {
+
+				int middle = (start + end) >>> 1;
+
+				invokeAll(new LeafTask(transactions, leaves, start, middle),
+						new LeafTask(transactions, leaves, middle, end));
+
+				return;
+			}
+
+			MessageDigest messageDigest = createMessageDigest();
+
+			for (int i = start; i < end; i++) {
+
+				messageDigest.update(transactions.get(i).getTransactionData().getBytes(StandardCharsets.UTF_8));
+				finishDigest(messageDigest, leaves, i * hashLength);
+			}
+		}
+	}
+
+	/**
+	 * Task which hashes the parent nodes from start (included) to end (excluded)
+	 * of a level and splits itself while the range is bigger than the threshold.
+	 */
+	@SuppressWarnings("serial")
+	private static class NodeTask extends RecursiveAction {
+
+		private final byte[] level;
+		private final int nodes;
+		private final byte[] nextLevel;
+		private final int start;
+		private final int end;
+
+		private NodeTask(byte[] level, int nodes, byte[] nextLevel, int start, int end) {
+			super();
+			this.level = level;
+			this.nodes = nodes;
+			this.nextLevel = nextLevel;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (end - start > parallelThreshold) {
+
+				int middle = (start + end) >>> 1;
+
+				invokeAll(new NodeTask(level, nodes, nextLevel, start, middle),
+						new NodeTask(level, nodes, nextLevel, middle, end));
+
+				return;
+			}
+
+			MessageDigest messageDigest = createMessageDigest();
+			byte[] hexBuffer = new byte[hashLength * 4];
+
+			for (int parent = start; parent < end; parent++) {
+
+				int left = parent * 2;
+				int right = Math.min(left + 1, nodes - 1);
+
+				writeHex(level, left * hashLength, hexBuffer, 0);
+				writeHex(level, right * hashLength, hexBuffer, hashLength * 2);
+
+				messageDigest.update(hexBuffer);
+				finishDigest(messageDigest, nextLevel, parent * hashLength);
+			}
+		}
+	}
+
+}
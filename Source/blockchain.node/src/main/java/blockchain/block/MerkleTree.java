@@ -16,6 +16,7 @@ import blockchain.concensus.SHA256Hasher;
 public class MerkleTree {
 
 	private ArrayList<Transaction> transactions;
+	private ArrayList<byte[]> levels;
 	private String merkleRoot;
 
 	/**
@@ -29,7 +30,8 @@ public class MerkleTree {
 			throw new IllegalArgumentException("Transaction list for root calculation can´t be null");
 
 		this.transactions = transactions;
-		this.merkleRoot = calculateMerkleRoot(transactions);
+		this.levels = MerkleRootBuilder.calculateMerkleLevels(transactions);
+		this.merkleRoot = calculateMerkleRoot(levels);
 	}
 
 	/**
@@ -40,70 +42,66 @@ public class MerkleTree {
 	 * in the list has a neighbour. If the transaction list is empty, a empty string
 	 * is returned as the merkle root for that list. When the transaction list
 	 * contains only one transaction, the hash of that transaction is returned as
-	 * the merkle root.
+	 * the merkle root. The hashing is done by the MerkleRootBuilder, which hashes
+	 * big transaction lists in parallel, and all levels are retained to create
+	 * merkle proofs.
 	 * 
-	 * @param transactions
+	 * @param levels
 	 * @return
 	 */
-	private String calculateMerkleRoot(ArrayList<Transaction> transactions) {
-
-		ArrayList<String> merkleRootList = createMerkleLeafNodes(transactions);
+	private String calculateMerkleRoot(ArrayList<byte[]> levels) {
 
-		if (merkleRootList.isEmpty()) {
+		if (levels.isEmpty()) {
 
 			return " ";
 		}
 
-		if (merkleRootList.size() == 1) {
-
-			return merkleRootList.get(0);
-		}
-
-		while (merkleRootList.size() > 1) {
-
-			ArrayList<String> merkleNodeList = new ArrayList<String>();
-
-			if (merkleRootList.size() % 2 != 0) {
+		return SHA256Hasher.returnHexStringFromHash(levels.get(levels.size() - 1));
+	}
 
-				merkleRootList.add(merkleRootList.get(merkleRootList.size() - 1));
+	/**
+	 * Creates the merkle proof for the transaction with the input ID by collecting
+	 * the sibling of the transaction on every level of the tree. If the sibling is
+	 * missing on a uneven level, the node itself is the sibling. Returns null if
+	 * the transaction is not part of the tree.
+	 * 
+	 * @param transactionID
+	 * @return
+	 */
+	public MerkleProof generateMerkleProof(String transactionID) {
 
-			}
+		if (transactionID == null)
+			throw new IllegalArgumentException("Transaction ID for merkle proof can´t be null");
 
-			for (int i = 0; i < merkleRootList.size() - 1; i += 2) {
+		int transactionIndex = -1;
 
-				String leftLeaf = merkleRootList.get(i);
-				String rightLeaf = merkleRootList.get(i + 1);
+		for (int i = 0; i < transactions.size(); i++) {
 
-				String node = SHA256Hasher.returnSHA256HashStringFromString(leftLeaf + rightLeaf);
+			if (transactionID.equals(transactions.get(i).getTransactionID())) {
 
-				merkleNodeList.add(node);
+				transactionIndex = i;
+				break;
 			}
-
-			merkleRootList = merkleNodeList;
-
 		}
 
-		return merkleRootList.get(0);
-	}
+		if (transactionIndex < 0)
+			return null;
 
-	/**
-	 * Helper method for the calculation of the merkle root that returns a list of
-	 * hashes for a hand over transaction list. That list is than recursively hashed
-	 * till the merkle root has been found.
-	 * 
-	 * @param transactions
-	 * @return
-	 */
-	private ArrayList<String> createMerkleLeafNodes(ArrayList<Transaction> transactions) {
+		ArrayList<String> siblingHashes = new ArrayList<String>();
+		int index = transactionIndex;
+
+		for (int level = 0; level < levels.size() - 1; level++) {
 
-		ArrayList<String> merkleLeafList = new ArrayList<String>();
+			int nodes = MerkleRootBuilder.getNodeCount(levels.get(level));
+			int sibling = Math.min(index ^ 1, nodes - 1);
 
-		for (Transaction t : transactions) {
+			siblingHashes.add(
+					SHA256Hasher.returnHexStringFromHash(MerkleRootBuilder.getNode(levels.get(level), sibling)));
 
-			merkleLeafList.add(SHA256Hasher.returnSHA256HashStringFromString(t.getTransactionData()));
+			index >>= 1;
 		}
 
-		return merkleLeafList;
+		return new MerkleProof(transactionID, transactionIndex, siblingHashes, merkleRoot);
 	}
 
 	/**
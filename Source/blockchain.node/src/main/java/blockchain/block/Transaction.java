@@ -15,28 +15,49 @@ import blockchain.concensus.SHA256Hasher;
  * @version 1.0
  * @since 9 Dec 2021
  */
-@SuppressWarnings("serial")
 public class Transaction implements Serializable {
 
+	private static final long serialVersionUID = 691155036830678980L;
 	private String transactionID;
 	private String fromAdress;
 	private String toAdress;
 	private double amount;
+	private double fee;
 	private String timeStamp;
 	private String signature;
 
 	/**
-	 * Instantiates a new transaction object. The parameters must not be null.
+	 * Instantiates a new transaction object without a fee. The parameters must not
+	 * be null.
 	 * 
 	 * @param fromAdress
 	 * @param toAdress
 	 * @param amount
 	 */
 	public Transaction(String fromAdress, String toAdress, double amount) {
+		this(fromAdress, toAdress, amount, 0);
+	}
+
+	/**
+	 * Instantiates a new transaction object which pays the input fee to the miner
+	 * of the block it is included in. The parameters must not be null and the fee
+	 * must not be negative.
+	 * 
+	 * @param fromAdress
+	 * @param toAdress
+	 * @param amount
+	 * @param fee
+	 */
+	public Transaction(String fromAdress, String toAdress, double amount, double fee) {
 		super();
+
+		if (fee < 0)
+			throw new IllegalArgumentException("Transaction fee can´t be negative");
+
 		this.fromAdress = fromAdress;
 		this.toAdress = toAdress;
 		this.amount = amount;
+		this.fee = fee;
 
 		SimpleDateFormat date = new SimpleDateFormat("yyyy.MM.dd.HH:mm:ss");
 		this.timeStamp = date.format(new Date());
@@ -45,6 +66,30 @@ public class Transaction implements Serializable {
 
 	}
 
+	/**
+	 * Instantiates a transaction object with all its data, e.g. when it is decoded
+	 * by the BlockCodec object, without calculating the transaction ID again.
+	 * 
+	 * @param transactionID
+	 * @param fromAdress
+	 * @param toAdress
+	 * @param amount
+	 * @param fee
+	 * @param timeStamp
+	 * @param signature
+	 */
+	Transaction(String transactionID, String fromAdress, String toAdress, double amount, double fee,
+			String timeStamp, String signature) {
+		super();
+		this.transactionID = transactionID;
+		this.fromAdress = fromAdress;
+		this.toAdress = toAdress;
+		this.amount = amount;
+		this.fee = fee;
+		this.timeStamp = timeStamp;
+		this.signature = signature;
+	}
+
 	/**
 	 * Calculates the transaction ID by hashing the transaction data using the
 	 * SHA256 hahs function.
@@ -58,13 +103,14 @@ public class Transaction implements Serializable {
 
 	/**
 	 * Helper method that returns transaction data that are hashed to get the
-	 * transaction id.
+	 * transaction id. The fee is only part of the data if it is not zero, so that
+	 * transactions without a fee keep the ID they had before fees existed.
 	 * 
-	 * @return -> fromAdress, toAdress, amount, timeStamp
+	 * @return -> fromAdress, toAdress, amount, timeStamp, fee
 	 */
 	public String getTransactionIdData() {
 
-		return this.fromAdress + this.toAdress + this.amount + this.timeStamp;
+		return this.fromAdress + this.toAdress + this.amount + this.timeStamp + this.getFeeData();
 
 	}
 
@@ -76,7 +122,19 @@ public class Transaction implements Serializable {
 	 */
 	public String getTransactionData() {
 
-		return this.fromAdress + this.toAdress + this.amount + this.timeStamp + this.transactionID + this.signature;
+		return this.fromAdress + this.toAdress + this.amount + this.timeStamp + this.getFeeData() + this.transactionID
+				+ this.signature;
+	}
+
+	/**
+	 * Helper method that returns the fee as part of the hashed data, or an empty
+	 * string if the transaction has no fee.
+	 * 
+	 * @return
+	 */
+	private String getFeeData() {
+
+		return this.fee == 0 ? "" : "fee" + this.fee;
 	}
 
 	/**
@@ -124,6 +182,25 @@ public class Transaction implements Serializable {
 		return amount;
 	}
 
+	/**
+	 * Return the fee which the sender pays to the miner of the block.
+	 * 
+	 * @return
+	 */
+	public double getFee() {
+		return fee;
+	}
+
+	/**
+	 * Return the amount and the fee, which are both taken from the balance of the
+	 * sender.
+	 * 
+	 * @return
+	 */
+	public double getTotalAmount() {
+		return amount + fee;
+	}
+
 	/**
 	 * Return the time and date when this transaction object was created.
 	 * 
@@ -166,8 +243,8 @@ public class Transaction implements Serializable {
 	@Override
 	public String toString() {
 		return "\n\nTransaction [ \n" + "transactionID:" + transactionID + "\n" + "fromAdress:" + fromAdress + "\n"
-				+ "toAdress:" + toAdress + "\n" + "amount:" + amount + "\n" + "timeStamp:" + timeStamp + "\n"
-				+ "signature:" + signature + "]";
+				+ "toAdress:" + toAdress + "\n" + "amount:" + amount + "\n" + "fee:" + fee + "\n" + "timeStamp:"
+				+ timeStamp + "\n" + "signature:" + signature + "]";
 	}
 
 }
@@ -0,0 +1,214 @@
+package blockchain.chain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+
+import blockchain.block.Block;
+import blockchain.block.Transaction;
+
+/**
+ * This BalanceLedger object is used to keep the balance of every wallet address
+ * in the blockchain and the amount of its transactions waiting in the
+ * transaction pool, so that a transaction can be verified without iterating the
+ * whole blockchain and transaction pool. The ledger is updated by the
+ * DriverClass every time a block is inserted or replaced and every time a
+ * transaction enters or leaves the transaction pool. Wallet addresses are
+ * compared case insensitive.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BalanceLedger {
+
+	private static final String balanceForEveryWalletAddress = "balance";
+	private HashMap<String, Double> blockchainBalances;
+	private HashMap<String, Double> pendingAmounts;
+	private HashMap<String, Transaction> pendingTransactions;
+	private HashSet<Integer> appliedBlockIndexes;
+	private double balanceForEveryWallet;
+
+	/**
+	 * Instantiates a new empty BalanceLedger object.
+	 */
+	public BalanceLedger() {
+		super();
+		this.blockchainBalances = new HashMap<String, Double>();
+		this.pendingAmounts = new HashMap<String, Double>();
+		this.pendingTransactions = new HashMap<String, Transaction>();
+		this.appliedBlockIndexes = new HashSet<Integer>();
+		this.balanceForEveryWallet = 0;
+	}
+
+	/**
+	 * Books the transactions of the input block, if no block with the same index
+	 * was booked before (like a insert into the blockchain table, which ignores
+	 * blocks with existing indexes).
+	 *
+	 * @param block
+	 */
+	public synchronized void applyBlock(Block block) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Block for the balance ledger can´t be null");
+
+		if (appliedBlockIndexes.add(block.getIndex()))
+			bookTransactions(block.getTransactionList(), 1);
+	}
+
+	/**
+	 * Reverses the transactions of the replaced block and books the transactions
+	 * of the new block. The replaced block can be null if there was no block with
+	 * the same index.
+	 *
+	 * @param replacedBlock
+	 * @param newBlock
+	 */
+	public synchronized void replaceBlock(Block replacedBlock, Block newBlock) {
+
+		if (newBlock == null)
+			throw new IllegalArgumentException("Block for the balance ledger can´t be null");
+
+		if (replacedBlock != null && appliedBlockIndexes.contains(replacedBlock.getIndex()))
+			bookTransactions(replacedBlock.getTransactionList(), -1);
+
+		appliedBlockIndexes.add(newBlock.getIndex());
+		bookTransactions(newBlock.getTransactionList(), 1);
+	}
+
+	/**
+	 * Reverses the transactions of the input block, if it was booked before.
+	 *
+	 * @param block
+	 */
+	public synchronized void removeBlock(Block block) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Block for the balance ledger can´t be null");
+
+		if (appliedBlockIndexes.remove(block.getIndex()))
+			bookTransactions(block.getTransactionList(), -1);
+	}
+
+	/**
+	 * Adds the amount and fee of the transaction to the pending amount of its
+	 * sender, if the transaction is not already pending.
+	 *
+	 * @param transaction
+	 */
+	public synchronized void addPendingTransaction(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("Pending transaction can´t be null");
+
+		if (pendingTransactions.containsKey(transaction.getTransactionID()))
+			return;
+
+		pendingTransactions.put(transaction.getTransactionID(), transaction);
+		addAmount(pendingAmounts, transaction.getFromAdress(), transaction.getTotalAmount());
+	}
+
+	/**
+	 * Removes the amount and fee of the transaction from the pending amount of its
+	 * sender, if the transaction is pending.
+	 *
+	 * @param transaction
+	 */
+	public synchronized void removePendingTransaction(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("Pending transaction can´t be null");
+
+		Transaction pendingTransaction = pendingTransactions.remove(transaction.getTransactionID());
+
+		if (pendingTransaction != null)
+			addAmount(pendingAmounts, pendingTransaction.getFromAdress(), -pendingTransaction.getTotalAmount());
+	}
+
+	/**
+	 * Returns the balance of the wallet address resulting from all booked blocks.
+	 *
+	 * @param walletAddress
+	 * @return
+	 */
+	public synchronized double getBlockchainBalance(String walletAddress) {
+
+		Double balance = blockchainBalances.get(walletAddress.toLowerCase(Locale.ROOT));
+
+		return balanceForEveryWallet + (balance == null ? 0 : balance);
+	}
+
+	/**
+	 * Returns the amount of all pending transactions send by the wallet address.
+	 *
+	 * @param walletAddress
+	 * @return
+	 */
+	public synchronized double getPendingAmount(String walletAddress) {
+
+		Double pendingAmount = pendingAmounts.get(walletAddress.toLowerCase(Locale.ROOT));
+
+		return pendingAmount == null ? 0 : pendingAmount;
+	}
+
+	/**
+	 * Returns true if the sender of the input transaction can pay its amount and
+	 * fee with its blockchain balance minus the amount of its pending transactions.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	public synchronized boolean hasEnoughBalance(Transaction transaction) {
+
+		return transaction.getTotalAmount() <= getBlockchainBalance(transaction.getFromAdress())
+				- getPendingAmount(transaction.getFromAdress());
+	}
+
+	/**
+	 * Helper method which books (sign 1) or reverses (sign -1) the input
+	 * transactions. The sender pays the amount and the fee, the receiver gets the
+	 * amount. Transactions to the "balance" address increase the balance of every
+	 * wallet address.
+	 *
+	 * @param transactions
+	 * @param sign
+	 */
+	private void bookTransactions(ArrayList<Transaction> transactions, int sign) {
+
+		if (transactions == null)
+			return;
+
+		for (Transaction transaction : transactions) {
+
+			if (transaction.getToAdress().equalsIgnoreCase(balanceForEveryWalletAddress)) {
+
+				balanceForEveryWallet += sign * transaction.getAmount();
+
+			} else {
+
+				addAmount(blockchainBalances, transaction.getToAdress(), sign * transaction.getAmount());
+			}
+
+			addAmount(blockchainBalances, transaction.getFromAdress(), -sign * transaction.getTotalAmount());
+		}
+	}
+
+	/**
+	 * Helper method which adds the amount to the value of the wallet address in
+	 * the input map.
+	 *
+	 * @param amounts
+	 * @param walletAddress
+	 * @param amount
+	 */
+	private static void addAmount(HashMap<String, Double> amounts, String walletAddress, double amount) {
+
+		String key = walletAddress.toLowerCase(Locale.ROOT);
+		Double currentAmount = amounts.get(key);
+
+		amounts.put(key, (currentAmount == null ? 0 : currentAmount) + amount);
+	}
+
+}
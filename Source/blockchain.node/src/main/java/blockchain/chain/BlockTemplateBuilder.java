@@ -0,0 +1,384 @@
+package blockchain.chain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import blockchain.block.BlockCodec;
+import blockchain.block.MerkleAccumulator;
+import blockchain.block.Transaction;
+import blockchain.concensus.PoW;
+
+/**
+ * This BlockTemplateBuilder object is used by the MiningWorker to choose the
+ * transactions of the transaction pool which are put into the next block. The
+ * transactions are chosen by their fee, transactions with the same fee by
+ * their timestamp and transaction ID, so that every node with the same pool
+ * chooses the same transactions. The transactions of one sender are chosen in
+ * the order of their timestamps and only as long as the blockchain balance of
+ * the sender covers them. A template holds at most the maximal amount of
+ * transactions and the maximal amount of bytes of this builder, which can be
+ * lower than the limits of the consensus algorithm to trade the fees of a block
+ * against its propagation time. The time needed to build the templates is
+ * measured and can be read from this object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockTemplateBuilder {
+
+	private static Logger logger = LoggerFactory.getLogger(BlockTemplateBuilder.class);
+	private static final String coinbaseSender = "systemWallet";
+	private final int maxTransactions;
+	private final int maxBlockSizeInBytes;
+	private volatile long lastBuildTimeNanos;
+	private volatile long totalBuildTimeNanos;
+	private volatile int buildCount;
+	private volatile int lastReusedTransactionCount;
+
+	/**
+	 * Instantiates a new BlockTemplateBuilder object which fills the templates up
+	 * to the limits of the consensus algorithm.
+	 */
+	public BlockTemplateBuilder() {
+		this(PoW.getMaxTransactionsPerBlock(), PoW.getMaxBlockSizeInBytes());
+	}
+
+	/**
+	 * Instantiates a new BlockTemplateBuilder object which fills the templates up
+	 * to the input amount of transactions, without the coinbase transaction, and
+	 * the input amount of bytes of the encoded transaction list. The limits must
+	 * be positive and not higher than the limits of the consensus algorithm.
+	 *
+	 * @param maxTransactions
+	 * @param maxBlockSizeInBytes
+	 */
+	public BlockTemplateBuilder(int maxTransactions, int maxBlockSizeInBytes) {
+		super();
+
+		if (maxTransactions <= 0 || maxTransactions > PoW.getMaxTransactionsPerBlock())
+			throw new IllegalArgumentException(
+					"Maximal transactions per block must be between 1 and " + PoW.getMaxTransactionsPerBlock());
+
+		if (maxBlockSizeInBytes <= 0 || maxBlockSizeInBytes > PoW.getMaxBlockSizeInBytes())
+			throw new IllegalArgumentException(
+					"Maximal block size must be between 1 and " + PoW.getMaxBlockSizeInBytes() + " bytes");
+
+		this.maxTransactions = maxTransactions;
+		this.maxBlockSizeInBytes = maxBlockSizeInBytes;
+	}
+
+	/**
+	 * Creates the merkle accumulator containing the transactions which will be
+	 * added to the next block, chosen from the input transactions of the pool,
+	 * and the coinbase transaction paying the mining reward and the fees of the
+	 * chosen transactions to the wallet address of the miner. The accumulator of
+	 * the transaction pool, taken before the pool synchronisation, already
+	 * contains the hashed pool, so the subtrees of its longest prefix of chosen
+	 * transactions are reused and only the remaining chosen transactions are
+	 * hashed. The pool accumulator can be null. The other parameters must not be
+	 * null.
+	 *
+	 * @param transactionPoolAccumulator
+	 * @param transactionsFromTheTransactionPool
+	 * @param balanceLedger
+	 * @param minerWalletAddress
+	 * @return
+	 */
+	public synchronized MerkleAccumulator buildBlockTemplate(MerkleAccumulator transactionPoolAccumulator,
+			List<Transaction> transactionsFromTheTransactionPool, BalanceLedger balanceLedger,
+			String minerWalletAddress) {
+
+		if (transactionsFromTheTransactionPool == null || balanceLedger == null || minerWalletAddress == null)
+			throw new IllegalArgumentException("Parameters for building the block template can´t be null");
+
+		long buildStartTime = System.nanoTime();
+
+		int blockSizeInBytes = BlockCodec.encodeTransactionList(new ArrayList<Transaction>()).length
+				+ BlockCodec.getEncodedTransactionSize(
+						new Transaction(coinbaseSender, minerWalletAddress, PoW.getMiningreward()));
+
+		ArrayList<Transaction> chosenTransactions = new ArrayList<Transaction>();
+		PriorityQueue<SenderTransactions> senders = groupTransactionsBySender(transactionsFromTheTransactionPool,
+				balanceLedger);
+
+		while (!senders.isEmpty() && chosenTransactions.size() < maxTransactions) {
+
+			SenderTransactions sender = senders.poll();
+			Transaction transaction = sender.nextTransaction();
+			int transactionSizeInBytes = BlockCodec.getEncodedTransactionSize(transaction);
+
+			// the later transactions of the sender wait for the next block
+			if (transaction.getTotalAmount() > sender.remainingBalance
+					|| blockSizeInBytes + transactionSizeInBytes > maxBlockSizeInBytes)
+				continue;
+
+			chosenTransactions.add(transaction);
+			blockSizeInBytes += transactionSizeInBytes;
+			sender.remainingBalance -= transaction.getTotalAmount();
+			sender.nextIndex++;
+
+			if (sender.hasNextTransaction())
+				senders.add(sender);
+		}
+
+		MerkleAccumulator blockTemplate = createAccumulator(transactionPoolAccumulator, chosenTransactions);
+
+		double fees = 0;
+
+		for (Transaction transaction : blockTemplate.getTransactions()) {
+
+			fees += transaction.getFee();
+		}
+
+		Transaction coinbaseTransaction = new Transaction(coinbaseSender, minerWalletAddress,
+				PoW.getMiningreward() + fees);
+
+		blockTemplate.addTransaction(coinbaseTransaction);
+
+		this.lastBuildTimeNanos = System.nanoTime() - buildStartTime;
+		this.totalBuildTimeNanos += this.lastBuildTimeNanos;
+		this.buildCount++;
+
+		logger.info("Block template with " + chosenTransactions.size() + " of "
+				+ transactionsFromTheTransactionPool.size() + " transactions and " + blockSizeInBytes
+				+ " bytes built in " + getLastBuildTimeMicros() + " microseconds.");
+
+		return blockTemplate;
+	}
+
+	/**
+	 * Returns the time in microseconds which was needed to build the last
+	 * template.
+	 *
+	 * @return
+	 */
+	public long getLastBuildTimeMicros() {
+		return lastBuildTimeNanos / 1000;
+	}
+
+	/**
+	 * Returns the average time in microseconds which was needed to build a
+	 * template, or 0 if no template was built yet.
+	 *
+	 * @return
+	 */
+	public long getAverageBuildTimeMicros() {
+
+		int builtTemplates = buildCount;
+
+		return builtTemplates == 0 ? 0 : totalBuildTimeNanos / builtTemplates / 1000;
+	}
+
+	/**
+	 * Returns the amount of transactions of the last template which were taken
+	 * from the pool accumulator without hashing.
+	 *
+	 * @return
+	 */
+	public int getLastReusedTransactionCount() {
+		return lastReusedTransactionCount;
+	}
+
+	/**
+	 * Returns the amount of templates which were built.
+	 *
+	 * @return
+	 */
+	public int getBuildCount() {
+		return buildCount;
+	}
+
+	/**
+	 * Returns the maximal amount of transactions in a template, without the
+	 * coinbase transaction.
+	 *
+	 * @return
+	 */
+	public int getMaxTransactions() {
+		return maxTransactions;
+	}
+
+	/**
+	 * Returns the maximal amount of bytes of the encoded transaction list of a
+	 * template.
+	 *
+	 * @return
+	 */
+	public int getMaxBlockSizeInBytes() {
+		return maxBlockSizeInBytes;
+	}
+
+	/**
+	 * Helper method which groups the transactions by their sender, sorts the
+	 * transactions of every sender by their timestamp and returns the senders
+	 * ordered by the next transaction which can be chosen.
+	 *
+	 * @param transactions
+	 * @param balanceLedger
+	 * @return
+	 */
+	private static PriorityQueue<SenderTransactions> groupTransactionsBySender(List<Transaction> transactions,
+			BalanceLedger balanceLedger) {
+
+		HashMap<String, SenderTransactions> transactionsBySender = new HashMap<String, SenderTransactions>();
+
+		for (Transaction transaction : transactions) {
+
+			if (transaction.getFromAdress() == null || transaction.getFromAdress().equals(coinbaseSender))
+				continue;
+
+			SenderTransactions sender = transactionsBySender.get(transaction.getFromAdress());
+
+			if (sender == null) {
+
+				sender = new SenderTransactions(balanceLedger.getBlockchainBalance(transaction.getFromAdress()));
+				transactionsBySender.put(transaction.getFromAdress(), sender);
+			}
+
+			sender.transactions.add(transaction);
+		}
+
+		PriorityQueue<SenderTransactions> senders = new PriorityQueue<SenderTransactions>(
+				Math.max(1, transactionsBySender.size()), new Comparator<SenderTransactions>() {
+
+					@Override
+					public int compare(SenderTransactions first, SenderTransactions second) {
+
+						Transaction firstTransaction = first.transactions.get(first.nextIndex);
+						Transaction secondTransaction = second.transactions.get(second.nextIndex);
+						int feeComparison = Double.compare(secondTransaction.getFee(), firstTransaction.getFee());
+
+						return feeComparison != 0 ? feeComparison
+								: compareByTimestamp(firstTransaction, secondTransaction);
+					}
+				});
+
+		for (SenderTransactions sender : transactionsBySender.values()) {
+
+			Collections.sort(sender.transactions, new Comparator<Transaction>() {
+
+				@Override
+				public int compare(Transaction first, Transaction second) {
+					return compareByTimestamp(first, second);
+				}
+			});
+
+			senders.add(sender);
+		}
+
+		return senders;
+	}
+
+	/**
+	 * Helper method which creates the accumulator of the chosen transactions from
+	 * the longest prefix of the pool accumulator which contains only chosen
+	 * transactions, whose subtrees are taken without hashing, and adds the
+	 * remaining chosen transactions to it.
+	 *
+	 * @param transactionPoolAccumulator
+	 * @param chosenTransactions
+	 * @return
+	 */
+	private MerkleAccumulator createAccumulator(MerkleAccumulator transactionPoolAccumulator,
+			ArrayList<Transaction> chosenTransactions) {
+
+		int prefixSize = 0;
+
+		if (transactionPoolAccumulator != null) {
+
+			HashSet<String> transactionIDs = new HashSet<String>();
+
+			for (Transaction transaction : chosenTransactions) {
+
+				transactionIDs.add(transaction.getTransactionID());
+			}
+
+			for (Transaction transaction : transactionPoolAccumulator.getTransactions()) {
+
+				if (!transactionIDs.contains(transaction.getTransactionID()))
+					break;
+
+				prefixSize++;
+			}
+		}
+
+		MerkleAccumulator blockTemplate = prefixSize == 0 ? new MerkleAccumulator()
+				: new MerkleAccumulator(transactionPoolAccumulator, prefixSize);
+
+		for (Transaction transaction : chosenTransactions) {
+
+			blockTemplate.addTransaction(transaction);
+		}
+
+		this.lastReusedTransactionCount = prefixSize;
+
+		return blockTemplate;
+	}
+
+	/**
+	 * Helper method which orders transactions by their timestamp, transactions
+	 * with the same timestamp by their transaction ID.
+	 *
+	 * @param first
+	 * @param second
+	 * @return
+	 */
+	private static int compareByTimestamp(Transaction first, Transaction second) {
+
+		int timeStampComparison = compareNullable(first.getTimeStamp(), second.getTimeStamp());
+
+		return timeStampComparison != 0 ? timeStampComparison
+				: compareNullable(first.getTransactionID(), second.getTransactionID());
+	}
+
+	/**
+	 * Helper method which compares two strings which can be null, null last.
+	 *
+	 * @param first
+	 * @param second
+	 * @return
+	 */
+	private static int compareNullable(String first, String second) {
+
+		if (first == null || second == null)
+			return first == null ? (second == null ? 0 : 1) : -1;
+
+		return first.compareTo(second);
+	}
+
+	/**
+	 * The transactions of one sender in the order of their timestamps, the index
+	 * of the next transaction which can be chosen and the balance of the sender
+	 * which is not spent by the chosen transactions.
+	 */
+	private static class SenderTransactions {
+
+		private final ArrayList<Transaction> transactions;
+		private double remainingBalance;
+		private int nextIndex;
+
+		private SenderTransactions(double balance) {
+			this.transactions = new ArrayList<Transaction>();
+			this.remainingBalance = balance;
+			this.nextIndex = 0;
+		}
+
+		private Transaction nextTransaction() {
+			return transactions.get(nextIndex);
+		}
+
+		private boolean hasNextTransaction() {
+			return nextIndex < transactions.size();
+		}
+	}
+
+}
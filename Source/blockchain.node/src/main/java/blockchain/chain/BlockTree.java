@@ -0,0 +1,363 @@
+package blockchain.chain;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import blockchain.block.Block;
+import blockchain.concensus.DifficultyTarget;
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * This BlockTree object is used to keep all known blocks of the blockchain and
+ * the competing branches next to it, so that the node follows the branch with
+ * the most cumulative work instead of the block with the earliest mining time.
+ * Every block is linked to its previous block by the block hash and knows the
+ * work of all blocks up to it. The blocks of the main chain are saved in the
+ * database, so only their hash, height and work are kept here, the blocks of
+ * the other branches are kept completely. When a block gives a branch more work
+ * than the main chain, a ChainReorganisation is returned, which is applied to
+ * the tree after it was written to the database. Branches which fall more than
+ * the prune depth behind the chain tip are removed.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockTree {
+
+	private static final BigInteger hashSpace = BigInteger.ONE.shiftLeft(256);
+	private static final int branchPruneDepth = 100;
+	private final HashMap<String, TreeNode> nodesByHash;
+	private final ArrayList<TreeNode> mainChain;
+	private final HashSet<TreeNode> branchNodes;
+	private TreeNode tip;
+
+	/**
+	 * Instantiates a new empty BlockTree object.
+	 */
+	public BlockTree() {
+		super();
+		this.nodesByHash = new HashMap<String, TreeNode>();
+		this.mainChain = new ArrayList<TreeNode>();
+		this.branchNodes = new HashSet<TreeNode>();
+		this.tip = null;
+	}
+
+	/**
+	 * Appends the input block, which is already saved in the database, to the main
+	 * chain. The first block becomes the root of the tree, every other block has
+	 * to follow the chain tip. Returns false if the block doesn´t follow the chain
+	 * tip.
+	 *
+	 * @param block
+	 * @return
+	 */
+	public synchronized boolean appendStoredBlock(Block block) {
+
+		if (block == null || block.getBlockHeader() == null)
+			throw new IllegalArgumentException("Block and block header can´t be null");
+
+		String blockHash = calculateBlockHash(block);
+
+		if (tip != null && (tip.height + 1 != block.getIndex()
+				|| !tip.hash.equals(normaliseHash(block.getBlockHeader().getPreviousBlockHash()))))
+			return false;
+
+		TreeNode node = new TreeNode(blockHash, tip, block.getIndex(),
+				(tip == null ? BigInteger.ZERO : tip.cumulativeWork).add(calculateBlockWork(block)), null);
+
+		nodesByHash.put(blockHash, node);
+		mainChain.add(node);
+		tip = node;
+
+		return true;
+	}
+
+	/**
+	 * Adds the input block to the tree. Returns the ChainReorganisation which
+	 * makes the branch of the block the main chain, if the block gives its branch
+	 * more cumulative work than the main chain has. Returns null if the block
+	 * stays on a side branch, is already known or its previous block is unknown
+	 * (in the last two cases it is not added). The main chain doesn´t change
+	 * until applyReorganisation() is called.
+	 *
+	 * @param block
+	 * @return
+	 */
+	public synchronized ChainReorganisation addBlock(Block block) {
+
+		if (block == null || block.getBlockHeader() == null)
+			throw new IllegalArgumentException("Block and block header can´t be null");
+
+		String blockHash = calculateBlockHash(block);
+		TreeNode parent = nodesByHash.get(normaliseHash(block.getBlockHeader().getPreviousBlockHash()));
+
+		if (nodesByHash.containsKey(blockHash) || parent == null || parent.height + 1 != block.getIndex())
+			return null;
+
+		TreeNode node = new TreeNode(blockHash, parent, block.getIndex(),
+				parent.cumulativeWork.add(calculateBlockWork(block)), block);
+
+		nodesByHash.put(blockHash, node);
+		branchNodes.add(node);
+
+		if (node.cumulativeWork.compareTo(tip.cumulativeWork) <= 0)
+			return null;
+
+		ArrayList<Block> connectedBlocks = new ArrayList<Block>();
+		TreeNode forkNode = node;
+
+		while (!isOnMainChain(forkNode)) {
+
+			connectedBlocks.add(forkNode.block);
+			forkNode = forkNode.parent;
+		}
+
+		Collections.reverse(connectedBlocks);
+
+		return new ChainReorganisation(forkNode.height, tip.height, connectedBlocks, blockHash);
+	}
+
+	/**
+	 * Makes the branch of the input reorganisation the main chain after it was
+	 * written to the database. The input blocks are the disconnected blocks read
+	 * from the database, ordered by their height, which are kept on the side
+	 * branch now.
+	 *
+	 * @param reorganisation
+	 * @param disconnectedBlocks
+	 */
+	public synchronized void applyReorganisation(ChainReorganisation reorganisation, List<Block> disconnectedBlocks) {
+
+		if (reorganisation == null || disconnectedBlocks == null)
+			throw new IllegalArgumentException("Reorganisation and disconnected blocks can´t be null");
+
+		TreeNode newTip = nodesByHash.get(reorganisation.getNewTipHash());
+
+		if (newTip == null || tip.height != reorganisation.getPreviousTipHeight()
+				|| disconnectedBlocks.size() != reorganisation.getDepth())
+			throw new IllegalStateException("Reorganisation doesn´t match the block tree: " + reorganisation);
+
+		int firstDisconnectedPosition = reorganisation.getForkHeight() + 1 - mainChain.get(0).height;
+
+		for (int i = 0; i < disconnectedBlocks.size(); i++) {
+
+			TreeNode disconnectedNode = mainChain.get(firstDisconnectedPosition + i);
+			disconnectedNode.block = disconnectedBlocks.get(i);
+			branchNodes.add(disconnectedNode);
+		}
+
+		mainChain.subList(firstDisconnectedPosition, mainChain.size()).clear();
+
+		ArrayList<TreeNode> connectedNodes = new ArrayList<TreeNode>();
+
+		for (TreeNode node = newTip; node.height > reorganisation.getForkHeight(); node = node.parent) {
+
+			connectedNodes.add(node);
+		}
+
+		Collections.reverse(connectedNodes);
+
+		for (TreeNode node : connectedNodes) {
+
+			node.block = null;
+			branchNodes.remove(node);
+			mainChain.add(node);
+		}
+
+		tip = newTip;
+
+		pruneBranches();
+	}
+
+	/**
+	 * Returns the height of the block with the input hash or -1 if the tree
+	 * doesn´t contain it.
+	 *
+	 * @param blockHash
+	 * @return
+	 */
+	public synchronized int getHeight(String blockHash) {
+
+		TreeNode node = blockHash == null ? null : nodesByHash.get(normaliseHash(blockHash));
+
+		return node == null ? -1 : node.height;
+	}
+
+	/**
+	 * Returns the blocks of the side branch which ends with the block with the
+	 * input hash, from the first block after the main chain up to that block,
+	 * ordered by their height. Returns an empty list if the block is in the main
+	 * chain and null if the tree doesn´t contain it.
+	 *
+	 * @param blockHash
+	 * @return
+	 */
+	public synchronized List<Block> getBranchBlocks(String blockHash) {
+
+		TreeNode node = blockHash == null ? null : nodesByHash.get(normaliseHash(blockHash));
+
+		if (node == null)
+			return null;
+
+		ArrayList<Block> branchBlocks = new ArrayList<Block>();
+
+		while (!isOnMainChain(node)) {
+
+			branchBlocks.add(node.block);
+			node = node.parent;
+		}
+
+		Collections.reverse(branchBlocks);
+
+		return branchBlocks;
+	}
+
+	/**
+	 * Returns true if the block with the input hash is in the main chain.
+	 *
+	 * @param blockHash
+	 * @return
+	 */
+	public synchronized boolean isInMainChain(String blockHash) {
+
+		TreeNode node = blockHash == null ? null : nodesByHash.get(normaliseHash(blockHash));
+
+		return node != null && isOnMainChain(node);
+	}
+
+	/**
+	 * Returns the height of the chain tip or -1 if the tree is empty.
+	 *
+	 * @return
+	 */
+	public synchronized int getTipHeight() {
+		return tip == null ? -1 : tip.height;
+	}
+
+	/**
+	 * Returns the block hash of the chain tip or null if the tree is empty.
+	 *
+	 * @return
+	 */
+	public synchronized String getTipHash() {
+		return tip == null ? null : tip.hash;
+	}
+
+	/**
+	 * Returns the cumulative work of the main chain.
+	 *
+	 * @return
+	 */
+	public synchronized BigInteger getTipCumulativeWork() {
+		return tip == null ? BigInteger.ZERO : tip.cumulativeWork;
+	}
+
+	/**
+	 * Returns the amount of blocks which are kept on side branches.
+	 *
+	 * @return
+	 */
+	public synchronized int getBranchBlockCount() {
+		return branchNodes.size();
+	}
+
+	/**
+	 * Returns the expected amount of hashes which are needed to mine a block with
+	 * the difficulty of the input block, 2^256 / (target + 1).
+	 *
+	 * @param block
+	 * @return
+	 */
+	public static BigInteger calculateBlockWork(Block block) {
+
+		BigInteger target = DifficultyTarget.fromCompact(block.getBlockHeader().getDifficulty()).toBigInteger();
+
+		return hashSpace.divide(target.add(BigInteger.ONE));
+	}
+
+	/**
+	 * Helper method which returns true if the node is the main chain node at its
+	 * height.
+	 *
+	 * @param node
+	 * @return
+	 */
+	private boolean isOnMainChain(TreeNode node) {
+
+		int position = mainChain.isEmpty() ? -1 : node.height - mainChain.get(0).height;
+
+		return position >= 0 && position < mainChain.size() && mainChain.get(position) == node;
+	}
+
+	/**
+	 * Helper method which removes the side branch blocks which are more than the
+	 * prune depth below the chain tip.
+	 */
+	private void pruneBranches() {
+
+		Iterator<TreeNode> iterator = branchNodes.iterator();
+
+		while (iterator.hasNext()) {
+
+			TreeNode node = iterator.next();
+
+			if (node.height < tip.height - branchPruneDepth) {
+
+				nodesByHash.remove(node.hash);
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Helper method which returns the hash of the block header in lower case.
+	 *
+	 * @param block
+	 * @return
+	 */
+	private static String calculateBlockHash(Block block) {
+
+		return normaliseHash(SHA256Hasher
+				.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation()));
+	}
+
+	/**
+	 * Helper method which returns the hash in lower case, or null.
+	 *
+	 * @param blockHash
+	 * @return
+	 */
+	private static String normaliseHash(String blockHash) {
+		return blockHash == null ? null : blockHash.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * A block in the tree with its previous block, its height and the cumulative
+	 * work up to it. The block itself is only kept while it is not in the main
+	 * chain.
+	 */
+	private static class TreeNode {
+
+		private final String hash;
+		private final TreeNode parent;
+		private final int height;
+		private final BigInteger cumulativeWork;
+		private Block block;
+
+		private TreeNode(String hash, TreeNode parent, int height, BigInteger cumulativeWork, Block block) {
+			this.hash = hash;
+			this.parent = parent;
+			this.height = height;
+			this.cumulativeWork = cumulativeWork;
+			this.block = block;
+		}
+	}
+
+}
@@ -1,13 +1,31 @@
 package blockchain.chain;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
 
 import blockchain.block.Block;
+import blockchain.concensus.SHA256Hasher;
 
 /**
- * This Blockchain object is used to store block containing transactions.
- * 
+ * This Blockchain object is used to store block containing transactions. The
+ * blocks are kept in an append only array and indexed by their height (the
+ * block index) and by their block hash, so that a block is found without
+ * iterating the chain. The block array and its size are published together as
+ * one unmodifiable snapshot, which is not changed by blocks added later, so that
+ * readers don´t have to lock the chain while reading or iterating it. The object is serialized as linked list of its
+ * blocks, like by the previous versions of the node, so that nodes and wallets
+ * of both versions can exchange it.
+ *
  * @author Nemanja Srdanovic
  * @version 1.0
  * @since 9 Dec 2021
@@ -15,34 +33,164 @@ import blockchain.block.Block;
 public class Blockchain implements Serializable {
 
 	private static final long serialVersionUID = 1L;
-	private LinkedList<Block> blockChain;
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("blockChain", LinkedList.class) };
+	private transient volatile ChainSnapshot chain;
+	private transient ConcurrentHashMap<Integer, Integer> positionsByHeight;
+	private transient ConcurrentHashMap<String, Integer> heightsByHash;
 
 	/**
 	 * Instantiates a new blockchain object.
 	 */
 	public Blockchain() {
 		super();
-		this.blockChain = new LinkedList<>();
+		this.initialize();
 	}
 
 	/**
-	 * Adds new block to blockchain object.
-	 * 
+	 * Adds new block to blockchain object. If the chain already contains a block
+	 * with the same height, the height refers to the new block.
+	 *
 	 * @param block
 	 */
-	public void addBlockToBlockchain(Block block) {
+	public synchronized void addBlockToBlockchain(Block block) {
 
-		blockChain.add(block);
+		if (block == null)
+			throw new IllegalArgumentException("Block can´t be null");
 
+		int size = chain.size;
+		Block[] blocks = size == chain.blocks.length ? Arrays.copyOf(chain.blocks, size * 2) : chain.blocks;
+
+		blocks[size] = block;
+		chain = new ChainSnapshot(blocks, size + 1);
+
+		positionsByHeight.put(block.getIndex(), size);
+
+		String blockHash = calculateBlockHash(block);
+
+		if (blockHash != null)
+			heightsByHash.put(blockHash, block.getIndex());
+	}
+
+	/**
+	 * Removes the blocks at the end of the chain which have a bigger height (block
+	 * index) than the input height, e.g. the blocks which were disconnected by a
+	 * reorganisation, and returns their amount. The remaining blocks are copied
+	 * into a new array, so the snapshots taken before are not changed by the
+	 * blocks added afterwards. The shorter snapshot is published before the
+	 * indexes are updated, so a reader never gets a removed block by its height.
+	 *
+	 * @param height
+	 * @return
+	 */
+	public synchronized int removeBlocksAfterHeight(int height) {
+
+		Block[] blocks = chain.blocks;
+		int size = chain.size;
+		int remainingSize = size;
+
+		while (remainingSize > 0 && blocks[remainingSize - 1].getIndex() > height) {
+
+			remainingSize--;
+		}
+
+		if (remainingSize == size)
+			return 0;
+
+		Block[] remainingBlocks = new Block[blocks.length];
+		System.arraycopy(blocks, 0, remainingBlocks, 0, remainingSize);
+
+		chain = new ChainSnapshot(remainingBlocks, remainingSize);
+
+		for (int position = remainingSize; position < size; position++) {
+
+			Block block = blocks[position];
+			String blockHash = calculateBlockHash(block);
+
+			positionsByHeight.remove(block.getIndex(), position);
+
+			if (blockHash != null)
+				heightsByHash.remove(blockHash, block.getIndex());
+		}
+
+		return size - remainingSize;
+	}
+
+	/**
+	 * Returns the block with the input height (block index) or null if the chain
+	 * doesn´t contain it.
+	 *
+	 * @param height
+	 * @return
+	 */
+	public Block getBlock(int height) {
+
+		Integer position = positionsByHeight.get(height);
+		ChainSnapshot snapshot = chain;
+
+		if (position == null || position >= snapshot.size)
+			return null;
+
+		Block block = snapshot.blocks[position];
+
+		return block.getIndex() == height ? block : null;
+	}
+
+	/**
+	 * Returns the height (block index) of the block with the input block hash or
+	 * -1 if the chain doesn´t contain it.
+	 *
+	 * @param blockHash
+	 * @return
+	 */
+	public int getHeight(String blockHash) {
+
+		Integer height = blockHash == null ? null : heightsByHash.get(blockHash.toLowerCase(Locale.ROOT));
+
+		return height == null ? -1 : height;
+	}
+
+	/**
+	 * Returns true if the chain contains a block with the input block hash.
+	 *
+	 * @param blockHash
+	 * @return
+	 */
+	public boolean containsBlockHash(String blockHash) {
+
+		return getHeight(blockHash) != -1;
+	}
+
+	/**
+	 * Returns the last added block or null if the chain is empty.
+	 *
+	 * @return
+	 */
+	public Block getLastBlock() {
+
+		ChainSnapshot snapshot = chain;
+
+		return snapshot.size == 0 ? null : snapshot.blocks[snapshot.size - 1];
+	}
+
+	/**
+	 * Returns the amount of blocks in the chain.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return chain.size;
 	}
 
 	/**
-	 * Returnes linked list containing all mined blocks.
-	 * 
+	 * Returnes an unmodifiable snapshot containing all mined blocks in the order
+	 * they were added.
+	 *
 	 * @return
 	 */
-	public LinkedList<Block> getChain() {
-		return blockChain;
+	public List<Block> getChain() {
+
+		return chain;
 	}
 
 	/**
@@ -50,7 +198,100 @@ public class Blockchain implements Serializable {
 	 */
 	@Override
 	public String toString() {
-		return "Blockchain [\n" + blockChain + "\n]";
+		return "Blockchain [\n" + getChain() + "\n]";
+	}
+
+	/**
+	 * Helper method which creates the empty array and indexes of the chain.
+	 */
+	private void initialize() {
+
+		this.chain = new ChainSnapshot(new Block[16], 0);
+		this.positionsByHeight = new ConcurrentHashMap<Integer, Integer>();
+		this.heightsByHash = new ConcurrentHashMap<String, Integer>();
+	}
+
+	/**
+	 * Helper method which returns the hash of the block header in lower case or
+	 * null if the block has no header.
+	 *
+	 * @param block
+	 * @return
+	 */
+	private static String calculateBlockHash(Block block) {
+
+		if (block.getBlockHeader() == null)
+			return null;
+
+		return SHA256Hasher.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation())
+				.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Writes the blocks as linked list, the form of the previous versions.
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("blockChain", new LinkedList<Block>(getChain()));
+		out.writeFields();
+	}
+
+	/**
+	 * Reads the blocks from the linked list and rebuilds the indexes.
+	 *
+	 * @param in
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+
+		ObjectInputStream.GetField fields = in.readFields();
+		LinkedList<Block> blockChain = (LinkedList<Block>) fields.get("blockChain", null);
+
+		this.initialize();
+
+		if (blockChain != null) {
+
+			for (Block block : blockChain) {
+
+				this.addBlockToBlockchain(block);
+			}
+		}
+	}
+
+	/**
+	 * An unmodifiable view of the first blocks of the block array, which is
+	 * published as the current chain. Blocks are only appended behind the size of
+	 * the view or into a new array, so the view never changes.
+	 */
+	private static class ChainSnapshot extends AbstractList<Block> implements RandomAccess {
+
+		private final Block[] blocks;
+		private final int size;
+
+		private ChainSnapshot(Block[] blocks, int size) {
+			this.blocks = blocks;
+			this.size = size;
+		}
+
+		@Override
+		public Block get(int index) {
+
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+			return blocks[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
 	}
 
 }
@@ -1,9 +1,11 @@
 package blockchain.chain;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -19,7 +21,8 @@ import blockchain.block.MerkleTree;
 import blockchain.block.Transaction;
 import blockchain.concensus.PoW;
 import blockchain.controller.NodeController;
-import blockchain.database.DriverClass;
+import blockchain.controller.VerificationController;
+import blockchain.database.NodeDatabase;
 import blockchain.wallet.model.Wallet;
 
 /**
@@ -33,8 +36,9 @@ import blockchain.wallet.model.Wallet;
 public class BlockchainController {
 
 	private static Logger logger = LoggerFactory.getLogger(BlockchainController.class);
+	private static final int blockTreeBatchSize = 500;
 	private NodeController nodeController;
-	private DriverClass database;
+	private NodeDatabase database;
 	private Wallet wallet;
 	private PoW consensusAlgorithm;
 	private Blockchain blockchain;
@@ -42,6 +46,15 @@ public class BlockchainController {
 	private ScheduledExecutorService miningExecutor;
 	private Future<?> minerFuture;
 	private int currentlyMinedBlockIndex;
+	private volatile int chainTipIndex;
+	private volatile BlockTemplateBuilder blockTemplateBuilder;
+	private final NonceSearchEngine nonceSearchEngine;
+	private final BlockTree blockTree;
+	private volatile int reorganisationCount;
+	private volatile int lastReorganisationDepth;
+	private volatile int maxReorganisationDepth;
+	private volatile long lastReorganisationTimeMillis;
+	private final CopyOnWriteArrayList<ChainTipListener> chainTipListeners;
 	private final BlockchainController blockchainController;
 
 	/**
@@ -58,8 +71,13 @@ public class BlockchainController {
 		this.blockchain = new Blockchain();
 		this.consensusAlgorithm = new PoW();
 		this.blockController = new BlockController();
+		this.blockTemplateBuilder = new BlockTemplateBuilder();
+		this.nonceSearchEngine = new NonceSearchEngine(consensusAlgorithm);
+		this.blockTree = new BlockTree();
+		this.chainTipListeners = new CopyOnWriteArrayList<ChainTipListener>();
 		this.addGenesisBlockToChain();
-		this.currentlyMinedBlockIndex = database.getLastBlockFromBlockchain().getIndex() + 1;
+		this.chainTipIndex = database.getLastBlockFromBlockchain().getIndex();
+		this.currentlyMinedBlockIndex = this.chainTipIndex + 1;
 		this.blockchainController = this;
 		this.miningExecutor = Executors.newSingleThreadScheduledExecutor();
 
@@ -88,10 +106,14 @@ public class BlockchainController {
 	}
 
 	/**
-	 * Resolves conflict in which two blocks with the same index arrive at the Node
-	 * by comparing the timestamp, which is set when the block was mined and sets
-	 * the block which was earlier mined as the correct block for the blockchain. If
-	 * there is not any conflict inserts the block in the blockchain.
+	 * Adds the input block to the block tree and resolves conflicts in which
+	 * competing branches arrive at the node by following the branch with the most
+	 * cumulative work. If the block extends the chain it is inserted into the
+	 * blockchain, if it gives a competing branch more work than the chain has the
+	 * blockchain is reorganised to that branch, otherwise the block is only kept
+	 * on its branch. Of two branches with the same work the one which arrived
+	 * first stays the chain. If the database couldn´t be changed the block stays
+	 * on its branch and isn´t broadcasted.
 	 * 
 	 * @param newBlock
 	 */
@@ -101,50 +123,322 @@ public class BlockchainController {
 		if (newBlock == null)
 			throw new IllegalArgumentException("Block for broadcasting and inputing can´t be null");
 
-		Block blockInBlockchain = database.getBlockWithInputIndex(newBlock.getIndex());
-		boolean isNewBlockBeforeExistingBlock = false;
+		this.synchroniseBlockTreeWithDatabase();
 
-		if (blockInBlockchain != null) {
+		ChainReorganisation reorganisation = newBlock.getBlockHeader() == null ? null
+				: blockTree.addBlock(newBlock);
 
-			SimpleDateFormat date = new SimpleDateFormat("yyyy.MM.dd.HH:mm:ss.SSS");
+		if (reorganisation == null) {
 
-			try {
-				isNewBlockBeforeExistingBlock = date.parse(newBlock.getTimeStamp())
-						.before(date.parse(blockInBlockchain.getTimeStamp()));
+			logger.info("Block with index " + newBlock.getIndex()
+					+ " not added to the chain because it is known, its previous block is unknown or its branch has not more work.");
 
-			} catch (ParseException e) {
+			return;
+		}
+
+		if (reorganisation.getDepth() == 0 && reorganisation.getConnectedBlocks().size() == 1) {
+
+			if (!database.insertBlockIntoBlockchainAndMoveMinedTransactions(newBlock)) {
+
+				logger.error("Block with index " + newBlock.getIndex()
+						+ " couldn´t be inserted into the blockchain, it is kept on its branch.");
 
-				logger.error("Exception while comparing block time stamps.", e);
+				return;
 			}
 
-			if (isNewBlockBeforeExistingBlock) {
+			blockTree.applyReorganisation(reorganisation, new ArrayList<Block>());
+
+			this.blockchain.addBlockToBlockchain(newBlock);
+
+			publishBlockAddedToChain(newBlock);
+
+		} else if (!reorganiseChain(reorganisation)) {
+
+			return;
+		}
+
+		if (blockMinedByThisNode) {
+
+			nodeController.broadcastNewlyMinedBlockToTheNetwork(newBlock);
+
+			logger.info("New block with index " + newBlock.getIndex() + " mined.");
+		}
+
+	}
+
+	/**
+	 * Helper method which replaces the blocks after the fork height with the blocks
+	 * of the branch with more work, first in the database and then in the block
+	 * tree and the blockchain, and measures the depth and duration of the
+	 * reorganisation. Returns false if the database couldn´t be reorganised, the
+	 * branch is kept in the block tree in that case.
+	 * 
+	 * @param reorganisation
+	 * @return
+	 */
+	private boolean reorganiseChain(ChainReorganisation reorganisation) {
+
+		long startTime = System.nanoTime();
+
+		ArrayList<Block> disconnectedBlocks = reorganisation.getDepth() == 0 ? new ArrayList<Block>()
+				: database.getBlocksFromBlockchainInIndexRange(reorganisation.getForkHeight() + 1,
+						reorganisation.getPreviousTipHeight());
+
+		if (disconnectedBlocks.size() != reorganisation.getDepth()
+				|| !database.reorganiseBlockchain(disconnectedBlocks, reorganisation.getConnectedBlocks())) {
+
+			logger.error("Blockchain reorganisation at block with index " + reorganisation.getForkHeight()
+					+ " failed.");
+
+			return false;
+		}
+
+		blockTree.applyReorganisation(reorganisation, disconnectedBlocks);
+
+		this.blockchain.removeBlocksAfterHeight(reorganisation.getForkHeight());
+
+		for (Block block : reorganisation.getConnectedBlocks()) {
+
+			this.blockchain.addBlockToBlockchain(block);
+		}
+
+		this.chainTipIndex = reorganisation.getNewTip().getIndex();
+
+		long reorganisationTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+		this.reorganisationCount++;
+		this.lastReorganisationDepth = reorganisation.getDepth();
+		this.maxReorganisationDepth = Math.max(this.maxReorganisationDepth, reorganisation.getDepth());
+		this.lastReorganisationTimeMillis = reorganisationTimeMillis;
+
+		logger.info("Blockchain reorganised at block with index " + reorganisation.getForkHeight() + ": "
+				+ reorganisation.getDepth() + " blocks replaced by " + reorganisation.getConnectedBlocks().size()
+				+ " blocks with more work in " + reorganisationTimeMillis + " ms.");
+
+		publishBlockAddedToChain(reorganisation.getNewTip());
+
+		return true;
+	}
+
+	/**
+	 * Appends the blocks, which were inserted into the database since the block
+	 * tree was last synchronised (e.g. on start), to the main chain of the block
+	 * tree and to the blockchain object, which this way contains the stored blocks
+	 * after the start. The blocks are read in batches. If a block doesn´t follow
+	 * the chain of the tree, the tree is synchronised up to the block before it.
+	 */
+	public synchronized void synchroniseBlockTreeWithDatabase() {
+
+		Block lastBlock = database.getLastBlockFromBlockchain();
+
+		if (lastBlock == null)
+			return;
+
+		int nextBlockIndex = blockTree.getTipHeight() + 1;
+
+		while (nextBlockIndex <= lastBlock.getIndex()) {
+
+			int lastBatchIndex = Math.min(lastBlock.getIndex(), nextBlockIndex + blockTreeBatchSize - 1);
+			ArrayList<Block> blocks = database.getBlocksFromBlockchainInIndexRange(nextBlockIndex, lastBatchIndex);
 
-				database.replaceBlockFromBlockchain(newBlock);
+			if (blocks.isEmpty())
+				return;
 
-				logger.info("Block consensus conflict: Existing block with index " + blockInBlockchain.getIndex()
-						+ " in blockchain replaced because new block was mined before.");
+			for (Block block : blocks) {
 
+				if (block.getIndex() != nextBlockIndex || block.getBlockHeader() == null
+						|| !blockTree.appendStoredBlock(block)) {
+
+					logger.error("Stored block with index " + block.getIndex()
+							+ " doesn´t follow the block tree, block tree synchronised up to block with index "
+							+ blockTree.getTipHeight() + ".");
+
+					return;
+				}
+
+				this.blockchain.addBlockToBlockchain(block);
+
+				nextBlockIndex++;
 			}
+		}
+	}
 
-		} else {
+	/**
+	 * Updates the in memory chain tip after the input block has been inserted into
+	 * the blockchain table or replaced a block in it, and notifies all registered
+	 * listeners. This way the miner doesn't have to query the database to find out
+	 * if the block it is mining became obsolete.
+	 * 
+	 * @param block
+	 */
+	public void publishBlockAddedToChain(Block block) {
 
-			database.insertBlockIntoBlockchain(newBlock);
+		if (block == null)
+			throw new IllegalArgumentException("Block added to the chain can´t be null");
 
-			this.blockchain.addBlockToBlockchain(newBlock);
+		int tipIndex = updateChainTipIndex(block.getIndex());
 
-			database.moveMinedTransactionsFromPool(newBlock);
+		for (ChainTipListener listener : chainTipListeners) {
 
+			listener.onBlockAddedToChain(block, tipIndex);
 		}
+	}
+
+	/**
+	 * Helper method which sets the chain tip to the input index if it is higher
+	 * than the current one and returns the resulting chain tip.
+	 * 
+	 * @param blockIndex
+	 * @return
+	 */
+	private synchronized int updateChainTipIndex(int blockIndex) {
 
-		if (blockMinedByThisNode && (isNewBlockBeforeExistingBlock || blockInBlockchain == null
+		if (blockIndex > chainTipIndex)
+			chainTipIndex = blockIndex;
 
-		)) {
+		return chainTipIndex;
+	}
 
-			nodeController.broadcastNewlyMinedBlockToTheNetwork(newBlock);
+	/**
+	 * Registers a listener which is notified every time a block is added to the
+	 * chain.
+	 * 
+	 * @param listener
+	 */
+	public void addChainTipListener(ChainTipListener listener) {
 
-			logger.info("New block with index " + newBlock.getIndex() + " mined.");
+		if (listener == null)
+			throw new IllegalArgumentException("Chain tip listener can´t be null");
+
+		chainTipListeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener registered with addChainTipListener().
+	 * 
+	 * @param listener
+	 */
+	public void removeChainTipListener(ChainTipListener listener) {
+
+		chainTipListeners.remove(listener);
+	}
+
+	/**
+	 * Verifies the last block which was saved in the database by a previous run of
+	 * the node. While the stored chain tip is not valid (e.g. because the node was
+	 * stopped while the block was written), it is removed and the block before it
+	 * is verified, so that the node continues mining and synchronising from the
+	 * last valid block instead of downloading the whole blockchain again.
+	 * 
+	 * @param verificationController
+	 */
+	public synchronized void validateStoredChainTip(VerificationController verificationController) {
+
+		if (verificationController == null)
+			throw new IllegalArgumentException("Verification controller for the chain tip can´t be null");
+
+		Block chainTip = database.getLastBlockFromBlockchain();
+
+		while (chainTip != null && chainTip.getIndex() > 0 && !verificationController.verifyBlock(chainTip)) {
+
+			logger.info("Stored block with index " + chainTip.getIndex() + " not valid and removed from blockchain.");
+
+			database.removeBlockFromBlockchain(chainTip);
+			chainTip = database.getLastBlockFromBlockchain();
+		}
+
+		if (chainTip != null) {
+
+			this.chainTipIndex = chainTip.getIndex();
+			this.currentlyMinedBlockIndex = this.chainTipIndex + 1;
+
+			logger.info("Blockchain restored up to block with index " + this.chainTipIndex + ".");
+		}
+
+		this.synchroniseBlockTreeWithDatabase();
+	}
+
+	/**
+	 * Calculates the difficulty which the block with the input index has to have
+	 * by passing the last mined blocks before it to the consensus algorithm.
+	 * 
+	 * @param blockIndex
+	 * @return
+	 */
+	public int calculateDifficultyForBlockIndex(int blockIndex) {
+
+		ArrayList<Block> lastBlocks = database.getBlocksFromBlockchainInIndexRange(
+				Math.max(1, blockIndex - PoW.getRetargetWindow()), blockIndex - 1);
+
+		return consensusAlgorithm.calculateNextDifficulty(lastBlocks);
+	}
+
+	/**
+	 * Calculates the difficulty which the input block has to have by passing the
+	 * last mined blocks before it on its own branch to the consensus algorithm.
+	 * The blocks up to the fork height are read from the database, the blocks
+	 * after it from the block tree. A block whose previous block is unknown is
+	 * treated like a block following the chain.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	public int calculateDifficultyForBlock(Block block) {
+
+		List<Block> branchBlocks = getBranchBlocksBeforeBlock(block);
+		int firstBlockIndex = Math.max(1, block.getIndex() - PoW.getRetargetWindow());
+
+		ArrayList<Block> lastBlocks = database.getBlocksFromBlockchainInIndexRange(firstBlockIndex,
+				block.getIndex() - 1 - branchBlocks.size());
+
+		for (Block branchBlock : branchBlocks) {
+
+			if (branchBlock.getIndex() >= firstBlockIndex)
+				lastBlocks.add(branchBlock);
 		}
 
+		return consensusAlgorithm.calculateNextDifficulty(lastBlocks);
+	}
+
+	/**
+	 * Returns the blockchain balance which every input wallet address has before
+	 * the input block on its own branch. The transactions of the chain blocks
+	 * after the fork height are reversed and the transactions of the branch
+	 * blocks before the input block are booked on the balances of the balance
+	 * ledger. A block which is already saved in the chain is reversed as well.
+	 * 
+	 * @param block
+	 * @param walletAddresses
+	 * @return
+	 */
+	public HashMap<String, Double> calculateBalancesBeforeBlock(Block block, Collection<String> walletAddresses) {
+
+		List<Block> branchBlocks = getBranchBlocksBeforeBlock(block);
+		BalanceLedger disconnectedBalances = new BalanceLedger();
+		BalanceLedger branchBalances = new BalanceLedger();
+
+		for (Block chainBlock : database.getBlocksFromBlockchainInIndexRange(
+				block.getIndex() - branchBlocks.size(), Integer.MAX_VALUE)) {
+
+			disconnectedBalances.applyBlock(chainBlock);
+		}
+
+		for (Block branchBlock : branchBlocks) {
+
+			branchBalances.applyBlock(branchBlock);
+		}
+
+		BalanceLedger balanceLedger = database.getBalanceLedger();
+		HashMap<String, Double> balances = new HashMap<String, Double>();
+
+		for (String walletAddress : walletAddresses) {
+
+			balances.put(walletAddress, balanceLedger.getBlockchainBalance(walletAddress)
+					- disconnectedBalances.getBlockchainBalance(walletAddress)
+					+ branchBalances.getBlockchainBalance(walletAddress));
+		}
+
+		return balances;
 	}
 
 	/**
@@ -168,8 +462,6 @@ public class BlockchainController {
 		Block genesisBlock = new Block(0, blockHeader, transactions, transactions.size());
 		genesisBlock.setTimeStamp("2009.01.03.19:15:00");
 
-		blockchain.addBlockToBlockchain(genesisBlock);
-
 		database.insertBlockIntoBlockchain(genesisBlock);
 
 		logger.info("Genesis block with index " + genesisBlock.getIndex() + " added to blockchain");
@@ -178,10 +470,11 @@ public class BlockchainController {
 
 	/**
 	 * Stops the mining executor from starting new MiningWorker objects every fixed
-	 * time rate.
+	 * time rate and the worker threads of the nounce search.
 	 */
 	public void stopMiningExecutor() {
 
+		nonceSearchEngine.close();
 		miningExecutor.shutdown();
 		try {
 			if (!miningExecutor.awaitTermination(800, TimeUnit.MILLISECONDS)) {
@@ -216,7 +509,9 @@ public class BlockchainController {
 	}
 
 	/**
-	 * Returns the blockchain object.
+	 * Returns the blockchain object, which contains the blocks of the main chain
+	 * of the block tree, so that the miner, the verification and the node data
+	 * responses read them without querying the database.
 	 * 
 	 * @return
 	 */
@@ -229,7 +524,7 @@ public class BlockchainController {
 	 * 
 	 * @return
 	 */
-	public DriverClass getDatabase() {
+	public NodeDatabase getDatabase() {
 		return database;
 	}
 
@@ -251,6 +546,88 @@ public class BlockchainController {
 		return blockController;
 	}
 
+	/**
+	 * Returns the builder which chooses the transactions for the blocks mined by
+	 * this node.
+	 * 
+	 * @return
+	 */
+	public BlockTemplateBuilder getBlockTemplateBuilder() {
+		return blockTemplateBuilder;
+	}
+
+	/**
+	 * Sets the builder which chooses the transactions for the blocks mined by this
+	 * node, e.g. to mine smaller blocks than the consensus algorithm allows. The
+	 * builder must not be null.
+	 * 
+	 * @param blockTemplateBuilder
+	 */
+	public void setBlockTemplateBuilder(BlockTemplateBuilder blockTemplateBuilder) {
+
+		if (blockTemplateBuilder == null)
+			throw new IllegalArgumentException("Block template builder can´t be null");
+
+		this.blockTemplateBuilder = blockTemplateBuilder;
+	}
+
+	/**
+	 * Returns the engine which searches the nounces of the blocks mined by this
+	 * node. Its worker threads are reused by every MiningWorker.
+	 * 
+	 * @return
+	 */
+	public NonceSearchEngine getNonceSearchEngine() {
+		return nonceSearchEngine;
+	}
+
+	/**
+	 * Returns the block tree which contains the chain and the competing branches.
+	 * 
+	 * @return
+	 */
+	public BlockTree getBlockTree() {
+		return blockTree;
+	}
+
+	/**
+	 * Returns the amount of reorganisations since the node was started.
+	 * 
+	 * @return
+	 */
+	public int getReorganisationCount() {
+		return reorganisationCount;
+	}
+
+	/**
+	 * Returns the amount of blocks which were disconnected by the last
+	 * reorganisation.
+	 * 
+	 * @return
+	 */
+	public int getLastReorganisationDepth() {
+		return lastReorganisationDepth;
+	}
+
+	/**
+	 * Returns the biggest amount of blocks which were disconnected by one
+	 * reorganisation.
+	 * 
+	 * @return
+	 */
+	public int getMaxReorganisationDepth() {
+		return maxReorganisationDepth;
+	}
+
+	/**
+	 * Returns the duration of the last reorganisation in milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getLastReorganisationTimeMillis() {
+		return lastReorganisationTimeMillis;
+	}
+
 	/**
 	 * Returns the wallet object for this node.
 	 * 
@@ -270,6 +647,16 @@ public class BlockchainController {
 		return currentlyMinedBlockIndex;
 	}
 
+	/**
+	 * Returns the index of the last block in the blockchain, without querying the
+	 * database.
+	 * 
+	 * @return
+	 */
+	public int getChainTipIndex() {
+		return chainTipIndex;
+	}
+
 	/**
 	 * Sets index of the block which is been currently mined by the MiningWorker.
 	 * 
@@ -289,4 +676,20 @@ public class BlockchainController {
 		return miningExecutor;
 	}
 
+	/**
+	 * Helper method which returns the side branch blocks of the block tree which
+	 * the input block follows, or an empty list if it follows a chain block or
+	 * its previous block is unknown.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	private List<Block> getBranchBlocksBeforeBlock(Block block) {
+
+		List<Block> branchBlocks = block.getBlockHeader() == null ? null
+				: blockTree.getBranchBlocks(block.getBlockHeader().getPreviousBlockHash());
+
+		return branchBlocks == null ? new ArrayList<Block>() : branchBlocks;
+	}
+
 }
@@ -0,0 +1,107 @@
+package blockchain.chain;
+
+import java.util.ArrayList;
+
+import blockchain.block.Block;
+
+/**
+ * This ChainReorganisation object is used to describe how the main chain
+ * changes when a block with more cumulative work than the current chain tip is
+ * added to the BlockTree. The blocks after the fork height are disconnected
+ * from the main chain and the blocks of the new branch are connected in their
+ * place. If no block has to be disconnected the new branch extends the chain.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class ChainReorganisation {
+
+	private final int forkHeight;
+	private final int previousTipHeight;
+	private final ArrayList<Block> connectedBlocks;
+	private final String newTipHash;
+
+	/**
+	 * Instantiates a new ChainReorganisation object. The connected blocks must be
+	 * ordered by their height.
+	 *
+	 * @param forkHeight
+	 * @param previousTipHeight
+	 * @param connectedBlocks
+	 * @param newTipHash
+	 */
+	ChainReorganisation(int forkHeight, int previousTipHeight, ArrayList<Block> connectedBlocks,
+			String newTipHash) {
+		super();
+		this.forkHeight = forkHeight;
+		this.previousTipHeight = previousTipHeight;
+		this.connectedBlocks = connectedBlocks;
+		this.newTipHash = newTipHash;
+	}
+
+	/**
+	 * Returns the height of the last block which both branches have in common.
+	 *
+	 * @return
+	 */
+	public int getForkHeight() {
+		return forkHeight;
+	}
+
+	/**
+	 * Returns the height of the chain tip before the reorganisation.
+	 *
+	 * @return
+	 */
+	public int getPreviousTipHeight() {
+		return previousTipHeight;
+	}
+
+	/**
+	 * Returns the amount of blocks which are disconnected from the main chain.
+	 *
+	 * @return
+	 */
+	public int getDepth() {
+		return previousTipHeight - forkHeight;
+	}
+
+	/**
+	 * Returns the blocks of the new branch after the fork height, ordered by their
+	 * height.
+	 *
+	 * @return
+	 */
+	public ArrayList<Block> getConnectedBlocks() {
+		return connectedBlocks;
+	}
+
+	/**
+	 * Returns the last block of the new branch.
+	 *
+	 * @return
+	 */
+	public Block getNewTip() {
+		return connectedBlocks.get(connectedBlocks.size() - 1);
+	}
+
+	/**
+	 * Returns the block hash of the last block of the new branch.
+	 *
+	 * @return
+	 */
+	String getNewTipHash() {
+		return newTipHash;
+	}
+
+	/**
+	 * Implements a working toString method for this object.
+	 */
+	@Override
+	public String toString() {
+		return "ChainReorganisation [forkHeight=" + forkHeight + ", previousTipHeight=" + previousTipHeight
+				+ ", connectedBlocks=" + connectedBlocks.size() + ", newTipHash=" + newTipHash + "]";
+	}
+
+}
@@ -0,0 +1,26 @@
+package blockchain.chain;
+
+import blockchain.block.Block;
+
+/**
+ * This ChainTipListener interface is implemented by objects which have to react
+ * immediately when a block is inserted into the blockchain or replaces a block
+ * in it, for example the MiningWorker which has to stop mining a block with the
+ * same index. The listeners are registered at the BlockchainController.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public interface ChainTipListener {
+
+	/**
+	 * Called after the block has been inserted into the blockchain or replaced a
+	 * block in it. The method is called on the thread which inserted the block and
+	 * therefore has to return quickly.
+	 *
+	 * @param block
+	 * @param chainTipIndex --> index of the last block in the blockchain.
+	 */
+	void onBlockAddedToChain(Block block, int chainTipIndex);
+}
@@ -9,10 +9,12 @@ import org.slf4j.LoggerFactory;
 import blockchain.block.Block;
 import blockchain.block.BlockController;
 import blockchain.block.BlockHeader;
+import blockchain.block.MerkleAccumulator;
 import blockchain.block.Transaction;
 import blockchain.concensus.PoW;
+import blockchain.concensus.SHA256Hasher;
 import blockchain.controller.NodeController;
-import blockchain.database.DriverClass;
+import blockchain.database.NodeDatabase;
 import constraints.Constraints;
 
 /**
@@ -28,9 +30,10 @@ public class MiningWorker extends TimerTask implements Runnable {
 	private static Logger logger = LoggerFactory.getLogger(MiningWorker.class);
 	private BlockchainController blockchainController;
 	private BlockController blockController;
-	private DriverClass database;
+	private NodeDatabase database;
 	private NodeController nodeController;
 	private PoW consensusAlgorithm;
+	private NonceSearchEngine nonceSearchEngine;
 	private ArrayList<Transaction> transactionListToBeIncludedInBlock;
 	private Block previousBlock;
 	private BlockHeader blockHeader;
@@ -53,8 +56,9 @@ public class MiningWorker extends TimerTask implements Runnable {
 			this.database = blockchainController.getDatabase();
 			this.nodeController = blockchainController.getNodeController();
 			this.consensusAlgorithm = blockchainController.getConsensusAlgorithm();
+			this.nonceSearchEngine = blockchainController.getNonceSearchEngine();
 
-			this.previousBlock = database.getLastBlockFromBlockchain();
+			this.previousBlock = blockchainController.getBlockchain().getLastBlock();
 			this.blockIndex = previousBlock.getIndex() + 1;
 			this.blockchainController.setCurrentlyMinedBlockIndex(blockIndex);
 
@@ -77,22 +81,29 @@ public class MiningWorker extends TimerTask implements Runnable {
 		if (this.nodeController.getConnectionHandler().getConnection().getClient().getConnectedIPsPort()
 				.size() >= Constraints.MIN_NODES_CONNECTED_TO_SEND) {
 
+			MerkleAccumulator transactionPoolAccumulator = database.getTransactionPoolAccumulator();
+
 			if (this.nodeController.synchronizeTransactionPoolBeforeMining()) {
 
 				logger.info("Started mining a new block...");
 
-				transactionListToBeIncludedInBlock = addCoinbaseTransactionToTransactionList(
-						database.getAllTransactionsFromTransactionPoolWhereTimestampBefore(
-								this.nodeController.getLastTransactionPoolSynchronisationRequestTime()));
-
 				try {
 
-					blockHeader = this.blockController.generateNewBlockHeader(previousBlock,
-							transactionListToBeIncludedInBlock);
+					MerkleAccumulator blockTemplate = this.blockchainController.getBlockTemplateBuilder()
+							.buildBlockTemplate(transactionPoolAccumulator,
+									database.getAllTransactionsFromTransactionPoolWhereTimestampBefore(
+											this.nodeController.getLastTransactionPoolSynchronisationRequestTime()),
+									database.getBalanceLedger(),
+									this.blockchainController.getWallet().getWalletAddress());
+
+					transactionListToBeIncludedInBlock = blockTemplate.getTransactions();
+
+					blockHeader = this.blockController.generateNewBlockHeader(previousBlock, blockTemplate,
+							this.blockchainController.calculateDifficultyForBlockIndex(blockIndex));
 
-					calculateBlockHash(blockHeader);
+					boolean blockHashCalculated = calculateBlockHash(blockHeader);
 
-					if (database.getLastBlockFromBlockchain().getIndex() < this.blockIndex) {
+					if (blockHashCalculated && !isMinedBlockObsolete()) {
 
 						newBlock = this.blockController.generateNewBlock(blockIndex, blockHeader,
 								transactionListToBeIncludedInBlock);
@@ -115,50 +126,89 @@ public class MiningWorker extends TimerTask implements Runnable {
 	}
 
 	/**
-	 * Receives a list containing all transactions from the transaction pool which
-	 * will be added to the next block. Then adds the coinbase transaction
-	 * containing the wallet address of this node, so that if his block is accepted
-	 * as next block in chain he can receive the mining block reward.
+	 * Searches the nounce space of the block header on all mining threads until a
+	 * hash with the correct difficulty has been hashed, and sets the found nounce
+	 * in the block header object. While searching the worker listens for blocks
+	 * added to the chain and stops the search as soon as the mined block became
+	 * obsolete. Returns true if a nounce has been found.
 	 * 
-	 * @param transactionsFromTheTransactionPool
+	 * @param blockHeader
 	 * @return
 	 */
-	private ArrayList<Transaction> addCoinbaseTransactionToTransactionList(
-			ArrayList<Transaction> transactionsFromTheTransactionPool) {
+	private boolean calculateBlockHash(BlockHeader blockHeader) {
+
+		ChainTipListener obsoleteBlockListener = new ChainTipListener() {
+
+			@Override
+			public void onBlockAddedToChain(Block block, int chainTipIndex) {
+
+				if (isMinedBlockObsolete())
+					nonceSearchEngine.stopSearch();
+			}
+		};
+
+		this.blockchainController.addChainTipListener(obsoleteBlockListener);
+
+		NonceSearchResult result;
+
+		try {
 
-		Transaction coinbaseTransaction = new Transaction("systemWallet",
-				blockchainController.getWallet().getWalletAddress(), PoW.getMiningreward());
+			result = this.nonceSearchEngine.searchNounce(blockHeader, new NonceSearchEngine.AbortCondition() {
 
-		ArrayList<Transaction> transactionListToBeIncludedInBlock = transactionsFromTheTransactionPool;
+				@Override
+				public boolean isSearchObsolete() {
+					return isMinedBlockObsolete();
+				}
+			});
+
+		} finally {
+
+			this.blockchainController.removeChainTipListener(obsoleteBlockListener);
+		}
 
-		transactionListToBeIncludedInBlock.add(coinbaseTransaction);
+		if (result == null)
+			return false;
 
-		return transactionListToBeIncludedInBlock;
+		blockHeader.setNounce(result.getNounce());
 
+		if (!isMinedBlockObsolete())
+			logger.info("Block hash  calculated by mining thread " + result.getWorkerIndex() + ": "
+					+ result.getBlockHash() + " (" + result.getHashrate() + " H/s)");
+
+		return true;
 	}
 
 	/**
-	 * Hashes the block header constantly until a hash with the correct difficulty
-	 * has been hashed. The hash is edited by incrementing the nounce in the block
-	 * header object.
+	 * Helper method which returns true if the block which is mined became
+	 * obsolete, because a block with the same index has been inserted into the
+	 * blockchain or because its previous block is not the chain tip anymore, e.g.
+	 * after a reorganisation to a branch with the same height but more work. The
+	 * block hashes are only compared if the chain tip is another block object.
 	 * 
-	 * @param blockHeader
+	 * @return
 	 */
-	private void calculateBlockHash(BlockHeader blockHeader) {
+	private boolean isMinedBlockObsolete() {
 
-		String blockHash = this.blockController.calculateBlockHeaderHash(blockHeader);
+		if (this.blockchainController.getChainTipIndex() >= this.blockIndex)
+			return true;
 
-		while (!this.consensusAlgorithm.hasHashTheCorrectDifficulty(blockHash)
-				&& database.getLastBlockFromBlockchain().getIndex() < this.blockIndex) {
+		Block chainTip = this.blockchainController.getBlockchain().getLastBlock();
 
-			blockHeader.setNounce(blockHeader.getNounce() + 1);
-			blockHash = this.blockController.calculateBlockHeaderHash(blockHeader);
+		if (chainTip == this.previousBlock)
+			return false;
 
-		}
+		return chainTip == null || !calculateHash(chainTip).equalsIgnoreCase(calculateHash(this.previousBlock));
+	}
 
-		if (database.getLastBlockFromBlockchain().getIndex() < this.blockIndex)
-			logger.info("Block hash  calculated: " + blockHash);
+	/**
+	 * Helper method which returns the hash of the block header of the input block.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	private static String calculateHash(Block block) {
 
+		return SHA256Hasher.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation());
 	}
 
 }
@@ -0,0 +1,294 @@
+package blockchain.chain;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import blockchain.block.BlockHeader;
+import blockchain.block.BlockHeaderHasher;
+import blockchain.concensus.DifficultyTarget;
+import blockchain.concensus.PoW;
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * This NonceSearchEngine object is used by the MiningWorker to search the
+ * nounce space of a block header on multiple threads. The nounce range is split
+ * into equal partitions, one for every worker thread, and all workers are
+ * stopped as soon as one of them calculated a hash with the correct difficulty.
+ * Every worker hashes the header with its own BlockHeaderHasher, so that the
+ * fixed part of the header is only serialised and compressed once per worker,
+ * and compares the raw digest with the target encoded in the block header. The
+ * worker threads are created once per engine and reused by every search, they
+ * are daemon threads, so they don´t keep the JVM running.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class NonceSearchEngine {
+
+	private static Logger logger = LoggerFactory.getLogger(NonceSearchEngine.class);
+	private static final long abortConditionCheckIntervalMillis = 100;
+	private final PoW consensusAlgorithm;
+	private static final AtomicLong engineCounter = new AtomicLong();
+	private final int numberOfWorkers;
+	private final ExecutorService workerPool;
+	private volatile AtomicBoolean searchStopped;
+
+	/**
+	 * Instantiates a new NonceSearchEngine object which uses as many worker
+	 * threads as defined by the consensus algorithm. The parameters must not be
+	 * null.
+	 *
+	 * @param consensusAlgorithm
+	 */
+	public NonceSearchEngine(PoW consensusAlgorithm) {
+		this(consensusAlgorithm, PoW.getMiningThreads());
+	}
+
+	/**
+	 * Instantiates a new NonceSearchEngine object. The parameters must not be
+	 * null.
+	 *
+	 * @param consensusAlgorithm
+	 * @param numberOfWorkers    --> amount of threads searching the nounce space.
+	 */
+	public NonceSearchEngine(PoW consensusAlgorithm, int numberOfWorkers) {
+		super();
+
+		if (consensusAlgorithm == null)
+			throw new IllegalArgumentException("Consensus algorithm for the nounce search can´t be null");
+
+		if (numberOfWorkers < 1)
+			throw new IllegalArgumentException("Nounce search needs at least one worker thread");
+
+		this.consensusAlgorithm = consensusAlgorithm;
+		this.numberOfWorkers = numberOfWorkers;
+		this.searchStopped = new AtomicBoolean(false);
+		this.workerPool = Executors.newFixedThreadPool(numberOfWorkers,
+				new WorkerThreadFactory(engineCounter.incrementAndGet()));
+	}
+
+	/**
+	 * Searches the nounce range from the current nounce of the block header up to
+	 * Integer.MAX_VALUE on all worker threads. Returns the result of the worker
+	 * that first found a hash with the correct difficulty, or null if the search
+	 * was stopped or the abort condition was met before a nounce was found. The
+	 * block header itself is not changed. Searches of the same engine run one
+	 * after the other, a search returns after all of its workers stopped.
+	 *
+	 * @param blockHeader
+	 * @param abortCondition --> checked before the workers are started and
+	 *                       periodically while they are searching, can be null.
+	 * @return
+	 */
+	public synchronized NonceSearchResult searchNounce(final BlockHeader blockHeader,
+			AbortCondition abortCondition) {
+
+		if (blockHeader == null)
+			throw new IllegalArgumentException("Block header for the nounce search can´t be null");
+
+		if (workerPool.isShutdown())
+			throw new IllegalStateException("Nounce search engine is closed");
+
+		final AtomicBoolean stopped = new AtomicBoolean(false);
+		this.searchStopped = stopped;
+
+		if (abortCondition != null && abortCondition.isSearchObsolete())
+			return null;
+
+		final AtomicReference<NonceSearchResult> result = new AtomicReference<NonceSearchResult>();
+		final AtomicLong hashesCalculated = new AtomicLong();
+		final CountDownLatch finishedWorkers = new CountDownLatch(numberOfWorkers);
+		final DifficultyTarget target = DifficultyTarget.fromCompact(blockHeader.getDifficulty());
+		final long searchStartTime = System.currentTimeMillis();
+
+		long firstNounce = blockHeader.getNounce();
+		long partitionSize = (Integer.MAX_VALUE - firstNounce + 1) / numberOfWorkers;
+
+		int startedWorkers = 0;
+
+		try {
+
+			for (int i = 0; i < numberOfWorkers; i++) {
+
+				final int workerIndex = i;
+				final long partitionStart = firstNounce + i * partitionSize;
+				final long partitionEnd = i == numberOfWorkers - 1 ? Integer.MAX_VALUE
+						: partitionStart + partitionSize - 1;
+
+				workerPool.execute(new Runnable() {
+
+					@Override
+					public void run() {
+
+						long hashes = 0;
+
+						try {
+
+							BlockHeaderHasher headerHasher = new BlockHeaderHasher(blockHeader);
+
+							for (long nounce = partitionStart; nounce <= partitionEnd
+									&& !stopped.get(); nounce++) {
+
+								byte[] blockHash = headerHasher.calculateHash((int) nounce);
+								hashes++;
+
+								if (consensusAlgorithm.hasHashTheCorrectDifficulty(blockHash, target)
+										&& stopped.compareAndSet(false, true)) {
+
+									result.set(new NonceSearchResult((int) nounce,
+											SHA256Hasher.returnHexStringFromHash(blockHash), workerIndex, 0, 0));
+								}
+							}
+
+						} finally {
+
+							hashesCalculated.addAndGet(hashes);
+							finishedWorkers.countDown();
+						}
+					}
+				});
+
+				startedWorkers++;
+			}
+
+			while (!finishedWorkers.await(abortConditionCheckIntervalMillis, TimeUnit.MILLISECONDS)) {
+
+				if (abortCondition != null && abortCondition.isSearchObsolete()) {
+
+					stopSearch();
+				}
+			}
+
+		} catch (InterruptedException e) {
+
+			stopSearch();
+			Thread.currentThread().interrupt();
+			logger.info("Nounce search interrupted.");
+
+		} finally {
+
+			stopped.set(true);
+			awaitWorkers(finishedWorkers, numberOfWorkers - startedWorkers);
+		}
+
+		NonceSearchResult winner = result.get();
+
+		if (winner == null)
+			return null;
+
+		return new NonceSearchResult(winner.getNounce(), winner.getBlockHash(), winner.getWorkerIndex(),
+				hashesCalculated.get(), System.currentTimeMillis() - searchStartTime);
+	}
+
+	/**
+	 * Stops all worker threads of the currently running search.
+	 */
+	public void stopSearch() {
+
+		this.searchStopped.set(true);
+	}
+
+	/**
+	 * Stops the running search and the worker threads. The engine can´t be used
+	 * for searching anymore.
+	 */
+	public void close() {
+
+		stopSearch();
+		workerPool.shutdownNow();
+	}
+
+	/**
+	 * Helper method which waits until all started workers of a search stopped, so
+	 * that the next search finds all worker threads free. Workers which were not
+	 * started are counted down directly. If the waiting thread is interrupted the
+	 * interrupt is restored after the workers stopped.
+	 *
+	 * @param finishedWorkers
+	 * @param notStartedWorkers
+	 */
+	private static void awaitWorkers(CountDownLatch finishedWorkers, int notStartedWorkers) {
+
+		for (int i = 0; i < notStartedWorkers; i++) {
+
+			finishedWorkers.countDown();
+		}
+
+		boolean interrupted = false;
+
+		while (true) {
+
+			try {
+
+				finishedWorkers.await();
+				break;
+
+			} catch (InterruptedException e) {
+
+				interrupted = true;
+			}
+		}
+
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * Returns the amount of worker threads used for the nounce search.
+	 *
+	 * @return
+	 */
+	public int getNumberOfWorkers() {
+		return numberOfWorkers;
+	}
+
+	/**
+	 * Creates the named daemon worker threads of an engine.
+	 */
+	private static class WorkerThreadFactory implements ThreadFactory {
+
+		private final long engineNumber;
+		private final AtomicLong threadCounter;
+
+		private WorkerThreadFactory(long engineNumber) {
+			this.engineNumber = engineNumber;
+			this.threadCounter = new AtomicLong();
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable,
+					"nounce-search-" + engineNumber + "-worker-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	/**
+	 * Condition which is checked while the nounce search is running to find out if
+	 * the block which is been mined became obsolete, for example because a block
+	 * with the same index was received from the network.
+	 */
+	public interface AbortCondition {
+
+		/**
+		 * Returns true if the nounce search should be stopped.
+		 *
+		 * @return
+		 */
+		boolean isSearchObsolete();
+	}
+
+}
@@ -0,0 +1,104 @@
+package blockchain.chain;
+
+/**
+ * This NonceSearchResult object is returned by the NonceSearchEngine when one
+ * of its worker threads found a nounce which gives the block header hash the
+ * correct difficulty.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class NonceSearchResult {
+
+	private final int nounce;
+	private final String blockHash;
+	private final int workerIndex;
+	private final long hashesCalculated;
+	private final long searchTimeMillis;
+
+	/**
+	 * Instantiates a new NonceSearchResult object. The parameters must not be null.
+	 *
+	 * @param nounce
+	 * @param blockHash
+	 * @param workerIndex
+	 * @param hashesCalculated
+	 * @param searchTimeMillis
+	 */
+	public NonceSearchResult(int nounce, String blockHash, int workerIndex, long hashesCalculated,
+			long searchTimeMillis) {
+		super();
+		this.nounce = nounce;
+		this.blockHash = blockHash;
+		this.workerIndex = workerIndex;
+		this.hashesCalculated = hashesCalculated;
+		this.searchTimeMillis = searchTimeMillis;
+	}
+
+	/**
+	 * Returns the nounce which in combination with the block header gave the
+	 * correct hash difficulty.
+	 *
+	 * @return
+	 */
+	public int getNounce() {
+		return nounce;
+	}
+
+	/**
+	 * Returns the block header hash calculated with the found nounce.
+	 *
+	 * @return
+	 */
+	public String getBlockHash() {
+		return blockHash;
+	}
+
+	/**
+	 * Returns the index of the worker thread which found the nounce.
+	 *
+	 * @return
+	 */
+	public int getWorkerIndex() {
+		return workerIndex;
+	}
+
+	/**
+	 * Returns the amount of hashes calculated by all worker threads together.
+	 *
+	 * @return
+	 */
+	public long getHashesCalculated() {
+		return hashesCalculated;
+	}
+
+	/**
+	 * Returns the amount of milliseconds the search took.
+	 *
+	 * @return
+	 */
+	public long getSearchTimeMillis() {
+		return searchTimeMillis;
+	}
+
+	/**
+	 * Returns the amount of hashes per second calculated during the search.
+	 *
+	 * @return
+	 */
+	public long getHashrate() {
+
+		return searchTimeMillis == 0 ? hashesCalculated : hashesCalculated * 1000 / searchTimeMillis;
+	}
+
+	/**
+	 * Implements a working toString method for this object.
+	 */
+	@Override
+	public String toString() {
+		return "NonceSearchResult [nounce:" + nounce + ", blockHash:" + blockHash + ", workerIndex:" + workerIndex
+				+ ", hashesCalculated:" + hashesCalculated + ", searchTimeMillis:" + searchTimeMillis + "]";
+	}
+
+}
@@ -0,0 +1,217 @@
+package blockchain.concensus;
+
+import java.math.BigInteger;
+
+/**
+ * This DifficultyTarget object represents the 256 bit number which a block hash
+ * must not exceed to have the correct difficulty. In the block header the
+ * target is saved in the compact "bits" encoding, where the highest byte is
+ * the length of the target in bytes and the lower three bytes are the most
+ * significant bytes of the target. The target is kept as a big endian byte
+ * array, so that a hash can be compared against it without any allocation.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class DifficultyTarget {
+
+	private static final BigInteger MAX_TARGET = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+	private final byte[] target;
+	private final int compactTarget;
+
+	/**
+	 * Instantiates a new DifficultyTarget object. Use the static factory methods
+	 * to create new targets.
+	 *
+	 * @param target
+	 * @param compactTarget
+	 */
+	private DifficultyTarget(byte[] target, int compactTarget) {
+		super();
+		this.target = target;
+		this.compactTarget = compactTarget;
+	}
+
+	/**
+	 * Returns the target for the given compact "bits" encoding. Negative or
+	 * overflowing encodings give a zero target which only the zero hash meets.
+	 *
+	 * @param compactTarget
+	 * @return
+	 */
+	public static DifficultyTarget fromCompact(int compactTarget) {
+
+		int exponent = compactTarget >>> 24;
+		int mantissa = compactTarget & 0x007fffff;
+		boolean negative = (compactTarget & 0x00800000) != 0;
+
+		byte[] target = new byte[32];
+
+		if (negative || mantissa == 0)
+			return new DifficultyTarget(target, compactTarget);
+
+		for (int i = 0; i < 3; i++) {
+
+			int mantissaByte = (mantissa >>> (8 * (2 - i))) & 0xff;
+			int position = 32 - exponent + i;
+
+			if (mantissaByte == 0)
+				continue;
+
+			if (position < 0)
+				return new DifficultyTarget(new byte[32], compactTarget);
+
+			if (position < 32)
+				target[position] = (byte) mantissaByte;
+		}
+
+		return new DifficultyTarget(target, compactTarget);
+	}
+
+	/**
+	 * Returns the target that a hash meets if its first bits (the amount given as
+	 * input) are zero.
+	 *
+	 * @param leadingZeroBits
+	 * @return
+	 */
+	public static DifficultyTarget fromLeadingZeroBits(int leadingZeroBits) {
+
+		if (leadingZeroBits < 0 || leadingZeroBits > 256)
+			throw new IllegalArgumentException("Amount of leading zero bits must be between 0 and 256");
+
+		return fromBigInteger(MAX_TARGET.shiftRight(leadingZeroBits));
+	}
+
+	/**
+	 * Returns the target for the given number, rounded down to the precision of
+	 * the compact encoding. Numbers above the maximal 256 bit value are capped.
+	 *
+	 * @param targetValue
+	 * @return
+	 */
+	public static DifficultyTarget fromBigInteger(BigInteger targetValue) {
+
+		if (targetValue == null || targetValue.signum() < 0)
+			throw new IllegalArgumentException("Target value can´t be null or negative");
+
+		if (targetValue.compareTo(MAX_TARGET) > 0)
+			targetValue = MAX_TARGET;
+
+		return fromCompact(encodeCompact(targetValue));
+	}
+
+	/**
+	 * Helper method which encodes a target number into the compact "bits" format.
+	 *
+	 * @param targetValue
+	 * @return
+	 */
+	private static int encodeCompact(BigInteger targetValue) {
+
+		int size = (targetValue.bitLength() + 7) / 8;
+		int mantissa;
+
+		if (size <= 3) {
+
+			mantissa = targetValue.intValue() << (8 * (3 - size));
+
+		} else {
+
+			mantissa = targetValue.shiftRight(8 * (size - 3)).intValue();
+		}
+
+		if ((mantissa & 0x00800000) != 0) {
+
+			mantissa >>>= 8;
+			size++;
+		}
+
+		return (size << 24) | mantissa;
+	}
+
+	/**
+	 * Returns true if the hash, read as a 256 bit big endian number, is lower or
+	 * equal to this target.
+	 *
+	 * @param hash
+	 * @return
+	 */
+	public boolean isMetBy(byte[] hash) {
+
+		if (hash == null || hash.length != 32)
+			return false;
+
+		for (int i = 0; i < 32; i++) {
+
+			int hashByte = hash[i] & 0xff;
+			int targetByte = target[i] & 0xff;
+
+			if (hashByte != targetByte)
+				return hashByte < targetByte;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if the hash given as hex string is lower or equal to this
+	 * target. A string shorter than 64 characters is read as the beginning of a
+	 * hash followed by zeros.
+	 *
+	 * @param hexHash
+	 * @return
+	 */
+	public boolean isMetBy(String hexHash) {
+
+		if (hexHash == null || hexHash.isEmpty() || hexHash.length() > 64)
+			return false;
+
+		for (int i = 0; i < 32; i++) {
+
+			int high = i * 2 < hexHash.length() ? Character.digit(hexHash.charAt(i * 2), 16) : 0;
+			int low = i * 2 + 1 < hexHash.length() ? Character.digit(hexHash.charAt(i * 2 + 1), 16) : 0;
+
+			if (high < 0 || low < 0)
+				return false;
+
+			int hashByte = (high << 4) | low;
+			int targetByte = target[i] & 0xff;
+
+			if (hashByte != targetByte)
+				return hashByte < targetByte;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the compact "bits" encoding of this target which is saved in the
+	 * block header.
+	 *
+	 * @return
+	 */
+	public int getCompact() {
+		return compactTarget;
+	}
+
+	/**
+	 * Returns this target as a positive number.
+	 *
+	 * @return
+	 */
+	public BigInteger toBigInteger() {
+		return new BigInteger(1, target);
+	}
+
+	/**
+	 * Implements a working toString method for this object.
+	 */
+	@Override
+	public String toString() {
+		return "DifficultyTarget [compact:0x" + Integer.toHexString(compactTarget) + ", target:"
+				+ SHA256Hasher.returnHexStringFromHash(target) + "]";
+	}
+
+}
@@ -1,11 +1,29 @@
 package blockchain.concensus;
 
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import blockchain.block.Block;
+
 public class PoW {
 
-	private final static int difficulty = 4;
+	private static Logger logger = LoggerFactory.getLogger(PoW.class);
+	private final static int difficulty = 0x1f00ffff;
+	private final static int maximalTargetDifficulty = 0x2000ffff;
+	private static final int retargetWindow = 10;
+	private static final int maxRetargetFactor = 4;
 	private static final int miningRate = 60;
 	private static final int minerStartUpTime = 120;
 	private static final double miningReward = 50;
+	private static final int maxTransactionsPerBlock = 1000;
+	private static final int maxBlockSizeInBytes = 28 * 1024;
+	private static final int miningThreads = Runtime.getRuntime().availableProcessors();
+	private static final DifficultyTarget difficultyTarget = DifficultyTarget.fromCompact(difficulty);
 
 	/**
 	 * Instantiates a new PoW object.
@@ -16,22 +34,122 @@ public class PoW {
 	}
 
 	/**
-	 * Returns if the input hash has the correct difficulty by comparing the first
-	 * x(difficulty number) of substrings and comparing if they match the char zero.
+	 * Returns if the input hex hash has the correct difficulty by comparing it as
+	 * a 256 bit number with the target of the default difficulty.
 	 * 
 	 * @param blockHash
 	 * @return
 	 */
 	public boolean hasHashTheCorrectDifficulty(String blockHash) {
 
-		if (blockHash.length() < PoW.difficulty)
-			return false;
+		return difficultyTarget.isMetBy(blockHash);
+	}
+
+	/**
+	 * Returns if the raw input hash is lower or equal to the input target. The
+	 * comparison is done on the digest bytes without any allocation, so it can be
+	 * called for every nounce while mining.
+	 * 
+	 * @param blockHash
+	 * @param target
+	 * @return
+	 */
+	public boolean hasHashTheCorrectDifficulty(byte[] blockHash, DifficultyTarget target) {
+
+		return target.isMetBy(blockHash);
+	}
+
+	/**
+	 * Calculates the difficulty which the next block has to have from the mining
+	 * times of the input blocks, which have to be the last blocks of the chain
+	 * ordered by their index. The mining times are taken from the block headers,
+	 * because only they are covered by the proof of work, the time stamp of the
+	 * block itself can be changed by every node which relays it. The average
+	 * target of the blocks is scaled by the ratio between the actual and the
+	 * expected time needed to mine them, so that a new block is mined about every
+	 * mining rate seconds. The scaling factor is limited to the max retarget
+	 * factor in both directions and the target can´t get easier than the maximal
+	 * target. If the last block was mined before the first one the time span is
+	 * rejected and the difficulty of the last block is kept. If there are not
+	 * enough mined blocks (the genesis block is not taken into account) the
+	 * default difficulty is returned.
+	 * 
+	 * @param lastBlocks
+	 * @return
+	 */
+	public int calculateNextDifficulty(List<Block> lastBlocks) {
+
+		if (lastBlocks == null)
+			return difficulty;
+
+		Block firstBlock = null;
+		Block lastBlock = null;
+		BigInteger targetSum = BigInteger.ZERO;
+		int minedBlocks = 0;
+
+		for (Block block : lastBlocks) {
+
+			if (block.getIndex() < 1)
+				continue;
+
+			if (firstBlock == null)
+				firstBlock = block;
+
+			lastBlock = block;
+			targetSum = targetSum.add(DifficultyTarget.fromCompact(block.getBlockHeader().getDifficulty()).toBigInteger());
+			minedBlocks++;
+		}
+
+		if (minedBlocks < 2)
+			return difficulty;
+
+		if (firstBlock.getBlockHeader().getTimeStamp() == null || lastBlock.getBlockHeader().getTimeStamp() == null)
+			return lastBlock.getBlockHeader().getDifficulty();
+
+		long actualTimespan;
+		long expectedTimespan = (minedBlocks - 1) * miningRate * 1000L;
+
+		try {
+
+			SimpleDateFormat date = new SimpleDateFormat("yyyy.MM.dd.HH:mm:ss");
+			actualTimespan = date.parse(lastBlock.getBlockHeader().getTimeStamp()).getTime()
+					- date.parse(firstBlock.getBlockHeader().getTimeStamp()).getTime();
+
+		} catch (ParseException e) {
+
+			logger.error("Exception while parsing block header time stamps for the difficulty retarget.", e);
+
+			return lastBlock.getBlockHeader().getDifficulty();
+		}
 
-		return blockHash.substring(0, PoW.difficulty).equalsIgnoreCase("0".repeat(PoW.difficulty));
+		if (actualTimespan < 0) {
+
+			logger.info("Negative time span of the blocks " + firstBlock.getIndex() + " to " + lastBlock.getIndex()
+					+ " rejected for the difficulty retarget.");
+
+			return lastBlock.getBlockHeader().getDifficulty();
+		}
+
+		actualTimespan = Math.max(actualTimespan, expectedTimespan / maxRetargetFactor);
+		actualTimespan = Math.min(actualTimespan, expectedTimespan * maxRetargetFactor);
+
+		BigInteger nextTarget = targetSum.divide(BigInteger.valueOf(minedBlocks))
+				.multiply(BigInteger.valueOf(actualTimespan)).divide(BigInteger.valueOf(expectedTimespan));
+		BigInteger maximalTarget = DifficultyTarget.fromCompact(maximalTargetDifficulty).toBigInteger();
+
+		if (nextTarget.compareTo(maximalTarget) > 0)
+			nextTarget = maximalTarget;
+
+		if (nextTarget.signum() == 0)
+			nextTarget = BigInteger.ONE;
+
+		return DifficultyTarget.fromBigInteger(nextTarget).getCompact();
 	}
 
 	/**
-	 * Returns the difficulty which the hash calculated by the node has to have.
+	 * Returns the default difficulty which the hash calculated by the node has to
+	 * have, in the compact "bits" encoding of the DifficultyTarget. It is used
+	 * until enough blocks have been mined to retarget the difficulty.
 	 * 
 	 * @return
 	 */
@@ -39,6 +157,16 @@ public class PoW {
 		return difficulty;
 	}
 
+	/**
+	 * Returns the amount of last blocks whose mining times are used to calculate
+	 * the difficulty of the next block.
+	 * 
+	 * @return
+	 */
+	public static int getRetargetWindow() {
+		return retargetWindow;
+	}
+
 	/**
 	 * Returns the amount of seconds which passes between two mining processes.
 	 * 
@@ -57,6 +185,27 @@ public class PoW {
 		return miningReward;
 	}
 
+	/**
+	 * Returns the maximal amount of transactions a block can contain, without the
+	 * coinbase transaction.
+	 * 
+	 * @return
+	 */
+	public static int getMaxTransactionsPerBlock() {
+		return maxTransactionsPerBlock;
+	}
+
+	/**
+	 * Returns the maximal size of the encoded transaction list of a block in
+	 * bytes, including the coinbase transaction. The limit keeps a block, which is
+	 * sent as java serialized object, within one UDP datagram.
+	 * 
+	 * @return
+	 */
+	public static int getMaxBlockSizeInBytes() {
+		return maxBlockSizeInBytes;
+	}
+
 	/**
 	 * Returns the amount of seconds which passes from moment the node was started
 	 * till the first mining process has been started.
@@ -67,4 +216,14 @@ public class PoW {
 		return minerStartUpTime;
 	}
 
+	/**
+	 * Returns the amount of threads which search the nounce space in parallel
+	 * while a block is been mined.
+	 * 
+	 * @return
+	 */
+	public static int getMiningThreads() {
+		return miningThreads;
+	}
+
 }
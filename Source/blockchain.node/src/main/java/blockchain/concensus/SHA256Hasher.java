@@ -15,6 +15,8 @@ import com.google.common.hash.Hashing;
  */
 public class SHA256Hasher {
 
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
 	private SHA256Hasher() {
 
 	}
@@ -38,4 +40,44 @@ public class SHA256Hasher {
 
 	}
 
+	/**
+	 * Calculates the hash for a given input string and returns the raw 32 byte
+	 * digest.
+	 * 
+	 * @param inputString
+	 * @return
+	 */
+	public static byte[] returnSHA256HashFromString(String inputString) {
+
+		byte[] hash = Hashing.sha256().hashString(inputString, StandardCharsets.UTF_8).asBytes();
+
+		if (hash == null)
+			throw new NullPointerException("Hashing algorithm returned null for given input string.");
+
+		return hash;
+	}
+
+	/**
+	 * Returns the lower case hex string for a given hash, in the same format as the
+	 * strings returned by returnSHA256HashStringFromString().
+	 * 
+	 * @param hash
+	 * @return
+	 */
+	public static String returnHexStringFromHash(byte[] hash) {
+
+		if (hash == null)
+			throw new IllegalArgumentException("Hash for hex encoding can´t be null");
+
+		char[] hexChars = new char[hash.length * 2];
+
+		for (int i = 0; i < hash.length; i++) {
+
+			hexChars[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+			hexChars[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+		}
+
+		return new String(hexChars);
+	}
+
 }
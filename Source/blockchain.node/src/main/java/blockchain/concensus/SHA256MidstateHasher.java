@@ -0,0 +1,194 @@
+package blockchain.concensus;
+
+/**
+ * This SHA256MidstateHasher object calculates SHA256 hashes of messages which
+ * all start with the same prefix. The compression of every complete 64 byte
+ * block of the prefix is done once when the object is created and the saved
+ * state (midstate) is reused for every hash, so that only the rest of the
+ * prefix and the changing suffix are compressed per hash. The object reuses
+ * its buffers and is therefore not thread safe, every thread has to use its
+ * own instance.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class SHA256MidstateHasher {
+
+	private static final int[] K = { 0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1,
+			0x923f82a4, 0xab1c5ed5, 0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe,
+			0x9bdc06a7, 0xc19bf174, 0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa,
+			0x5cb0a9dc, 0x76f988da, 0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147,
+			0x06ca6351, 0x14292967, 0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb,
+			0x81c2c92e, 0x92722c85, 0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624,
+			0xf40e3585, 0x106aa070, 0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a,
+			0x5b9cca4f, 0x682e6ff3, 0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb,
+			0xbef9a3f7, 0xc67178f2 };
+
+	private static final int[] INITIAL_STATE = { 0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f,
+			0x9b05688c, 0x1f83d9ab, 0x5be0cd19 };
+
+	private final int[] midstate;
+	private final int[] state;
+	private final int[] messageSchedule;
+	private final byte[] tailBuffer;
+	private final int prefixTailLength;
+	private final long prefixLength;
+	private final int maxSuffixLength;
+
+	/**
+	 * Instantiates a new SHA256MidstateHasher object for the given prefix. The
+	 * parameters must not be null.
+	 *
+	 * @param prefix
+	 * @param maxSuffixLength --> the maximal amount of bytes which will be
+	 *                        appended to the prefix.
+	 */
+	public SHA256MidstateHasher(byte[] prefix, int maxSuffixLength) {
+		super();
+
+		if (prefix == null)
+			throw new IllegalArgumentException("Prefix for the midstate calculation can´t be null");
+
+		if (maxSuffixLength < 0)
+			throw new IllegalArgumentException("Maximal suffix length can´t be negative");
+
+		this.midstate = INITIAL_STATE.clone();
+		this.state = new int[8];
+		this.messageSchedule = new int[64];
+		this.prefixLength = prefix.length;
+		this.maxSuffixLength = maxSuffixLength;
+
+		int completeBlocks = prefix.length / 64;
+
+		for (int i = 0; i < completeBlocks; i++) {
+
+			compress(midstate, prefix, i * 64);
+		}
+
+		this.prefixTailLength = prefix.length - completeBlocks * 64;
+
+		// prefix tail + suffix + 0x80 + 8 length bytes, rounded up to full blocks
+		int tailBufferLength = ((prefixTailLength + maxSuffixLength + 9 + 63) / 64) * 64;
+		this.tailBuffer = new byte[tailBufferLength];
+
+		System.arraycopy(prefix, completeBlocks * 64, tailBuffer, 0, prefixTailLength);
+	}
+
+	/**
+	 * Calculates the SHA256 hash of the prefix followed by the given suffix and
+	 * writes the 32 byte result into the digest array.
+	 *
+	 * @param suffix
+	 * @param offset
+	 * @param length
+	 * @param digest
+	 */
+	public void hashWithSuffix(byte[] suffix, int offset, int length, byte[] digest) {
+
+		if (length > maxSuffixLength)
+			throw new IllegalArgumentException("Suffix is longer than the maximal suffix length");
+
+		if (digest.length < 32)
+			throw new IllegalArgumentException("Digest array must have at least 32 bytes");
+
+		System.arraycopy(suffix, offset, tailBuffer, prefixTailLength, length);
+
+		int messageEnd = prefixTailLength + length;
+		int paddedLength = ((messageEnd + 9 + 63) / 64) * 64;
+
+		tailBuffer[messageEnd] = (byte) 0x80;
+
+		for (int i = messageEnd + 1; i < paddedLength - 8; i++) {
+
+			tailBuffer[i] = 0;
+		}
+
+		long bitLength = (prefixLength + length) * 8;
+
+		for (int i = 0; i < 8; i++) {
+
+			tailBuffer[paddedLength - 1 - i] = (byte) (bitLength >>> (8 * i));
+		}
+
+		System.arraycopy(midstate, 0, state, 0, 8);
+
+		for (int blockStart = 0; blockStart < paddedLength; blockStart += 64) {
+
+			compress(state, tailBuffer, blockStart);
+		}
+
+		for (int i = 0; i < 8; i++) {
+
+			digest[i * 4] = (byte) (state[i] >>> 24);
+			digest[i * 4 + 1] = (byte) (state[i] >>> 16);
+			digest[i * 4 + 2] = (byte) (state[i] >>> 8);
+			digest[i * 4 + 3] = (byte) state[i];
+		}
+	}
+
+	/**
+	 * Helper method which runs the SHA256 compression function for the 64 byte
+	 * block starting at the offset and updates the hash state.
+	 *
+	 * @param hashState
+	 * @param block
+	 * @param offset
+	 */
+	private void compress(int[] hashState, byte[] block, int offset) {
+
+		int[] w = messageSchedule;
+
+		for (int t = 0; t < 16; t++) {
+
+			int i = offset + t * 4;
+			w[t] = (block[i] << 24) | ((block[i + 1] & 0xff) << 16) | ((block[i + 2] & 0xff) << 8)
+					| (block[i + 3] & 0xff);
+		}
+
+		for (int t = 16; t < 64; t++) {
+
+			int s0 = Integer.rotateRight(w[t - 15], 7) ^ Integer.rotateRight(w[t - 15], 18) ^ (w[t - 15] >>> 3);
+			int s1 = Integer.rotateRight(w[t - 2], 17) ^ Integer.rotateRight(w[t - 2], 19) ^ (w[t - 2] >>> 10);
+			w[t] = w[t - 16] + s0 + w[t - 7] + s1;
+		}
+
+		int a = hashState[0];
+		int b = hashState[1];
+		int c = hashState[2];
+		int d = hashState[3];
+		int e = hashState[4];
+		int f = hashState[5];
+		int g = hashState[6];
+		int h = hashState[7];
+
+		for (int t = 0; t < 64; t++) {
+
+			int s1 = Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25);
+			int ch = (e & f) ^ (~e & g);
+			int temp1 = h + s1 + ch + K[t] + w[t];
+			int s0 = Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22);
+			int maj = (a & b) ^ (a & c) ^ (b & c);
+			int temp2 = s0 + maj;
+
+			h = g;
+			g = f;
+			f = e;
+			e = d + temp1;
+			d = c;
+			c = b;
+			b = a;
+			a = temp1 + temp2;
+		}
+
+		hashState[0] += a;
+		hashState[1] += b;
+		hashState[2] += c;
+		hashState[3] += d;
+		hashState[4] += e;
+		hashState[5] += f;
+		hashState[6] += g;
+		hashState[7] += h;
+	}
+
+}
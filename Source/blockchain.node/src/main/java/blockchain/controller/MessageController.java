@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -17,8 +18,11 @@ import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
 import blockchain.block.Transaction;
+import blockchain.chain.BlockTree;
 import blockchain.chain.Blockchain;
-import blockchain.database.DriverClass;
+import blockchain.chain.BlockchainController;
+import blockchain.concensus.SHA256Hasher;
+import blockchain.database.NodeDatabase;
 import connection.Connection;
 import messageProcessor.MessageProcessor;
 import messages.Message;
@@ -41,7 +45,7 @@ public class MessageController implements MessageProcessor {
 	private ExecutorService threadPool;
 	private Set<String> receivedMessages;
 	private NodeController nodeController;
-	private DriverClass database;
+	private NodeDatabase database;
 
 	/**
 	 * Instantiates a new MessageController object. The parameters must not be null.
@@ -63,7 +67,13 @@ public class MessageController implements MessageProcessor {
 	/**
 	 * Extract data from other nodes about the blockchain, transaction pool etc.
 	 * from the NodeData object and inserts them into the database. Because the
-	 * primary keys are the unique id´s of the data, no data is save double.
+	 * primary keys are the unique id´s of the data, no data is save double. The
+	 * public keys are inserted first, so that the signatures of the received
+	 * transactions and blocks can be verified before they are used. The received
+	 * blocks which are not known yet are verified and added to the block tree one
+	 * by one, so that a chain which diverges from the chain of this node is only
+	 * followed (by reorganising the blockchain) if it has more work. The hard coded
+	 * genesis block and the blocks after the first invalid block are not added.
 	 * 
 	 * @param nodeData
 	 */
@@ -79,14 +89,6 @@ public class MessageController implements MessageProcessor {
 		HashMap<String, String> wallets = nodeData.getWalletsData() == null ? new HashMap<String, String>()
 				: nodeData.getWalletsData();
 
-		if (transactions.size() > 0) {
-
-			for (Transaction t : transactions) {
-
-				database.insertTransactionIntoTransactionPool(t);
-			}
-		}
-
 		if (wallets.size() > 0) {
 
 			for (Map.Entry<String, String> entry : nodeData.getWalletsData().entrySet()) {
@@ -97,19 +99,48 @@ public class MessageController implements MessageProcessor {
 
 			if (blockchain.getChain().size() > 0) {
 
+				BlockchainController blockchainController = nodeController.getBlockchainController();
+				blockchainController.synchroniseBlockTreeWithDatabase();
+
 				for (Block block : blockchain.getChain()) {
 
-					database.insertBlockIntoBlockchain(block);
-					database.moveMinedTransactionsFromPool(block);
+					if (block.getIndex() == 0 || isBlockKnown(blockchainController.getBlockTree(), block))
+						continue;
 
-					// TODO BlockchainController Blockchain object synchronize
+					if (nodeController.getVerificationController().verifyBlock(block)) {
 
+						blockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(block, false);
+
+					} else {
+
+						logger.info("Block with index " + block.getIndex() + " from node data not valid");
+
+						break;
+					}
 				}
 
 			}
 
 		}
 
+		if (transactions.size() > 0) {
+
+			LinkedHashMap<String, Boolean> verificationResults = nodeController.getVerificationController()
+					.verifyTransactionSignatures(transactions);
+
+			for (Transaction t : transactions) {
+
+				if (Boolean.TRUE.equals(verificationResults.get(t.getTransactionID()))) {
+
+					database.insertTransactionIntoTransactionPool(t);
+
+				} else {
+
+					logger.info("Transaction " + t.getTransactionID() + " from node data not valid");
+				}
+			}
+		}
+
 		SimpleDateFormat date = new SimpleDateFormat("yyyy.MM.dd.HH:mm:ss.SSS");
 		nodeController.setLastNodeDataSynchronisationTime(date.format(new Date()));
 
@@ -181,4 +212,18 @@ public class MessageController implements MessageProcessor {
 		return nodeController;
 	}
 
+	/**
+	 * Helper method which returns true if the input block is already contained in
+	 * the block tree, on the chain or on a branch.
+	 * 
+	 * @param blockTree
+	 * @param block
+	 * @return
+	 */
+	private boolean isBlockKnown(BlockTree blockTree, Block block) {
+
+		return block.getBlockHeader() != null && blockTree.getHeight(SHA256Hasher
+				.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation())) >= 0;
+	}
+
 }
@@ -58,7 +58,22 @@ public class MessageWorker implements Runnable {
 		 */
 		case DataRequest:
 
-			messageController.getNodeController().sendCurrentNodeData(receivedMessage.getSenderNode());
+			messageController.getNodeController().sendCurrentNodeData(receivedMessage.getSenderNode(),
+					messageData instanceof NodeDataRequest ? (NodeDataRequest) messageData : null);
+
+			break;
+
+		/**
+		 * Send the merkle proof for the requested transaction ID to the requester
+		 * instead of the whole block.
+		 */
+		case MerkleProofRequest:
+
+			if (messageData instanceof String) {
+
+				messageController.getNodeController().sendMerkleProof(receivedMessage.getSenderNode(),
+						(String) messageData);
+			}
 
 			break;
 
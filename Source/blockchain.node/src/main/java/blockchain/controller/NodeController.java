@@ -5,6 +5,8 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -12,11 +14,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
+import blockchain.block.MerkleProof;
+import blockchain.block.MerkleTree;
 import blockchain.block.Transaction;
 import blockchain.chain.Blockchain;
 import blockchain.chain.BlockchainController;
 import blockchain.concensus.PoW;
+import blockchain.concensus.SHA256Hasher;
+import blockchain.database.NodeDatabase;
 import blockchain.database.DriverClass;
+import blockchain.database.EBlockStorageEngine;
+import blockchain.database.InMemoryDatabase;
 import blockchain.wallet.model.Wallet;
 import controllers.ConnectionHandler;
 import enumerations.EMessageEndpoint;
@@ -40,7 +48,7 @@ public class NodeController {
 	private ConnectionHandler connectionHandler;
 	private MessageController messageController;
 	private BlockchainController blockchainController;
-	private DriverClass database;
+	private NodeDatabase database;
 	private VerificationController verificationController;
 	private ExecutorService threadPool;
 	private final int waitingTimeForTransPoolSynchronisationSeconds = 15;
@@ -49,18 +57,47 @@ public class NodeController {
 	private final String nodeStartTime;
 
 	/**
-	 * Instantiates a new NodeController object.
+	 * Instantiates a new NodeController object which keeps the data saved by a
+	 * previous run of the node.
 	 */
 	public NodeController() {
+		this(false);
+	}
+
+	/**
+	 * Instantiates a new NodeController object which saves the blocks in the
+	 * database. If resetState is true all data saved by a previous run of the node
+	 * is deleted, otherwise the stored chain tip is validated before the mining
+	 * starts.
+	 * 
+	 * @param resetState
+	 */
+	public NodeController(boolean resetState) {
+		this(resetState, EBlockStorageEngine.SQLITE);
+	}
+
+	/**
+	 * Instantiates a new NodeController object which saves the blocks with the
+	 * input storage engine, or all data in memory if the engine is IN_MEMORY. If
+	 * resetState is true all data saved by a previous run of the node is deleted,
+	 * otherwise the stored chain tip is validated before the mining starts.
+	 * 
+	 * @param resetState
+	 * @param blockStorageEngine
+	 */
+	public NodeController(boolean resetState, EBlockStorageEngine blockStorageEngine) {
 		super();
 
 		this.connectionHandler = new ConnectionHandler();
-		this.database = new DriverClass(this.connectionHandler.getConnection().getMyNode().getServerPortNmr());
+		this.database = blockStorageEngine == EBlockStorageEngine.IN_MEMORY ? new InMemoryDatabase()
+				: new DriverClass(this.connectionHandler.getConnection().getMyNode().getServerPortNmr(), resetState,
+						blockStorageEngine);
 		this.wallet = new Wallet();
 
 		this.blockchainController = new BlockchainController(this);
-		this.blockchainController.startMiningExecutor(PoW.getMinerStartupTime());
 		this.verificationController = new VerificationController(this);
+		this.blockchainController.validateStoredChainTip(this.verificationController);
+		this.blockchainController.startMiningExecutor(PoW.getMinerStartupTime());
 		this.messageController = new MessageController(this);
 		this.threadPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
@@ -82,6 +119,18 @@ public class NodeController {
 
 	}
 
+	/**
+	 * Stops the mining, the synchronisation and the signature verification
+	 * threads of this node and releases the resources of the database.
+	 */
+	public void stop() {
+
+		this.blockchainController.stopMiningExecutor();
+		this.verificationController.close();
+		this.threadPool.shutdownNow();
+		this.database.closeDbConnection();
+	}
+
 	/**
 	 * Retrieves the wallet address and its public key from the wallet object and
 	 * broadcasts them to all nodes in the network, to be used when verifying the
@@ -108,12 +157,29 @@ public class NodeController {
 
 	/**
 	 * Broadcasts a message to the network requesting the data (blockchain,
-	 * transaction pool etc) from all nodes in the network.
+	 * transaction pool etc) from all nodes in the network. The request contains
+	 * the chain tip and the transaction pool IDs of this node, so that only the
+	 * missing data is send back.
 	 */
 	public void requestNetworkData() {
 
+		Block chainTip = getDatabase().getLastBlockFromBlockchain();
+		ArrayList<Transaction> transactionPool = getDatabase().getAllTransactionsFromTransactionPool();
+		HashSet<String> transactionPoolIDs = new HashSet<String>();
+
+		if (transactionPool != null) {
+
+			for (Transaction transaction : transactionPool) {
+
+				transactionPoolIDs.add(transaction.getTransactionID());
+			}
+		}
+
+		NodeDataRequest dataRequest = chainTip == null ? new NodeDataRequest(-1, null, transactionPoolIDs)
+				: new NodeDataRequest(chainTip.getIndex(), calculateBlockHash(chainTip), transactionPoolIDs);
+
 		Message dataMessage = new Message("broadcast", getWallet().getWalletAddress(), EMessageEndpoint.DataRequest,
-				null);
+				dataRequest);
 
 		try {
 			getConnectionHandler().getConnection().getClient().addMessage(dataMessage);
@@ -131,17 +197,49 @@ public class NodeController {
 	}
 
 	/**
-	 * Fetching current data about the blockchain, transaction pool etc. from the
-	 * database and sending them as a NodeData object to the node which requested
-	 * this data over the DataRequest endpoint.
+	 * Fetching current data about the transaction pool etc. from the database and
+	 * the blockchain from the blockchain object of the blockchain controller and
+	 * sending them as a NodeData object to the node which requested this data over
+	 * the DataRequest endpoint. If the chain tip of the requester is part of the
+	 * blockchain of this node, only the blocks after it are send,
+	 * otherwise (or if the request is null) the whole blockchain, whose blocks the
+	 * requester adds to its block tree so that it only reorganises to it if it has
+	 * more work. Transactions which are already in the pool of the requester are
+	 * not send.
 	 * 
 	 * @param receiverNode
+	 * @param dataRequest
 	 */
-	public void sendCurrentNodeData(String receiverNode) {
+	public void sendCurrentNodeData(String receiverNode, NodeDataRequest dataRequest) {
 
 		ArrayList<Transaction> transactionPool = getDatabase().getAllTransactionsFromTransactionPool();
 		HashMap<String, String> walletsData = getDatabase().getAllPublicKeysFromRegister();
-		Blockchain blockchain = getDatabase().getAllBlocksFromBlockchain();
+		Blockchain blockchain = getBlockchainController().getBlockchain();
+
+		if (dataRequest != null && isChainTipInBlockchain(blockchain, dataRequest)) {
+
+			List<Block> chain = blockchain.getChain();
+			blockchain = new Blockchain();
+
+			for (Block block : chain.subList(Math.min(dataRequest.getChainTipIndex() + 1, chain.size()),
+					chain.size())) {
+
+				blockchain.addBlockToBlockchain(block);
+			}
+		}
+
+		if (dataRequest != null && transactionPool != null) {
+
+			ArrayList<Transaction> missingTransactions = new ArrayList<Transaction>();
+
+			for (Transaction transaction : transactionPool) {
+
+				if (!dataRequest.getTransactionPoolIDs().contains(transaction.getTransactionID()))
+					missingTransactions.add(transaction);
+			}
+
+			transactionPool = missingTransactions;
+		}
 
 		NodeData nodeData = new NodeData(transactionPool, walletsData, blockchain);
 
@@ -163,6 +261,78 @@ public class NodeController {
 
 	}
 
+	/**
+	 * Helper method which returns true if the chain tip hash of the requester is
+	 * in the input blockchain at the chain tip index of the requester.
+	 * 
+	 * @param blockchain
+	 * @param dataRequest
+	 * @return
+	 */
+	private boolean isChainTipInBlockchain(Blockchain blockchain, NodeDataRequest dataRequest) {
+
+		return dataRequest.getChainTipIndex() >= 0
+				&& blockchain.getHeight(dataRequest.getChainTipHash()) == dataRequest.getChainTipIndex();
+	}
+
+	/**
+	 * Helper method which returns the hash of the block header of the input block.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	private static String calculateBlockHash(Block block) {
+
+		return SHA256Hasher.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation());
+	}
+
+	/**
+	 * Creates the merkle proof for the mined transaction with the input ID and
+	 * sends it to the node/wallet which requested it over the MerkleProofRequest
+	 * endpoint, so that the requester doesn´t need the whole block to verify that
+	 * the transaction is included in it. Nothing is send if the transaction was
+	 * not mined yet.
+	 * 
+	 * @param receiverNode
+	 * @param transactionID
+	 */
+	public void sendMerkleProof(String receiverNode, String transactionID) {
+
+		int blockIndex = getDatabase().getBlockIndexForMinedTransaction(transactionID);
+
+		if (blockIndex < 0)
+			return;
+
+		Block block = getDatabase().getBlockWithInputIndex(blockIndex);
+
+		if (block == null)
+			return;
+
+		MerkleProof merkleProof = new MerkleTree(block.getTransactionList()).generateMerkleProof(transactionID);
+
+		if (merkleProof == null)
+			return;
+
+		merkleProof.setBlockIndex(blockIndex);
+
+		Message proofMessage = new Message(receiverNode, getWallet().getWalletAddress(),
+				EMessageEndpoint.MerkleProofResponse, merkleProof);
+
+		try {
+			getConnectionHandler().getConnection().getClient().addMessage(proofMessage);
+
+			logger.info("Message " + proofMessage.getMessageId() + " containing merkle proof send.");
+
+			getMessageController().getReceivedMessages().add(proofMessage.getMessageId());
+
+		} catch (InterruptedException e) {
+
+			logger.error("Merkle proof sending exception in node controller.", e);
+
+		}
+
+	}
+
 	/**
 	 * Broadcasts newly mined block to all nodes in the network.
 	 * 
@@ -302,11 +472,11 @@ public class NodeController {
 	}
 
 	/**
-	 * Returns the DriverClass/database instantiated in this node controller.
+	 * Returns the database (storage engine) instantiated in this node controller.
 	 * 
 	 * @return
 	 */
-	public synchronized DriverClass getDatabase() {
+	public synchronized NodeDatabase getDatabase() {
 		return database;
 	}
 
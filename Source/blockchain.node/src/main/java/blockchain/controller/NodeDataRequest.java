@@ -0,0 +1,78 @@
+package blockchain.controller;
+
+import java.io.Serializable;
+import java.util.HashSet;
+
+/**
+ * This NodeDataRequest object is used to tell the nodes in the network which
+ * data the requesting node already holds, so that they only send the blocks
+ * after its chain tip and the pool transactions it is missing instead of the
+ * whole blockchain and transaction pool. If the chain tip hash doesn´t match
+ * the block with the same index of the responding node, the whole blockchain is
+ * send.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class NodeDataRequest implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private int chainTipIndex;
+	private String chainTipHash;
+	private HashSet<String> transactionPoolIDs;
+
+	/**
+	 * Instantiates a new NodeDataRequest object. The chain tip index is -1 and the
+	 * hash null if the requesting node has no blocks.
+	 *
+	 * @param chainTipIndex
+	 * @param chainTipHash
+	 * @param transactionPoolIDs
+	 */
+	public NodeDataRequest(int chainTipIndex, String chainTipHash, HashSet<String> transactionPoolIDs) {
+		super();
+		this.chainTipIndex = chainTipIndex;
+		this.chainTipHash = chainTipHash;
+		this.transactionPoolIDs = transactionPoolIDs == null ? new HashSet<String>() : transactionPoolIDs;
+	}
+
+	/**
+	 * Returns the index of the last block of the requesting node.
+	 *
+	 * @return
+	 */
+	public int getChainTipIndex() {
+		return chainTipIndex;
+	}
+
+	/**
+	 * Returns the hash of the block header of the last block of the requesting
+	 * node.
+	 *
+	 * @return
+	 */
+	public String getChainTipHash() {
+		return chainTipHash;
+	}
+
+	/**
+	 * Returns the IDs of the transactions in the transaction pool of the
+	 * requesting node.
+	 *
+	 * @return
+	 */
+	public HashSet<String> getTransactionPoolIDs() {
+		return transactionPoolIDs;
+	}
+
+	/**
+	 * Implements a working toString method for this object.
+	 */
+	@Override
+	public String toString() {
+		return "NodeDataRequest [chainTipIndex=" + chainTipIndex + ", chainTipHash=" + chainTipHash
+				+ ", transactionPoolIDs=" + transactionPoolIDs.size() + "]";
+	}
+
+}
@@ -0,0 +1,254 @@
+package blockchain.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import blockchain.block.Transaction;
+import blockchain.concensus.SHA256Hasher;
+import blockchain.wallet.helper.KeyGenerator;
+
+/**
+ * This TransactionSignatureVerifier object is used to verify the transaction ID
+ * and the ECDSA signature of transactions. Every thread reuses its own
+ * Signature object, so verifications don´t have to be synchronized, and a batch
+ * of transactions (e.g. the transactions of a block or of a received
+ * transaction pool) is verified in parallel on a bounded pool of daemon
+ * threads, which is shut down by close().
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class TransactionSignatureVerifier {
+
+	private static Logger logger = LoggerFactory.getLogger(TransactionSignatureVerifier.class);
+	private static final int minimalParallelBatchSize = 4;
+	private static final AtomicLong verifierCounter = new AtomicLong();
+	private final PublicKeyProvider publicKeyProvider;
+	private final KeyGenerator keyGenerator;
+	private final ExecutorService verificationPool;
+	private final ThreadLocal<Signature> signatures;
+
+	/**
+	 * This interface is implemented to return the public key of a wallet address
+	 * which is used to verify the signatures of its transactions.
+	 */
+	public interface PublicKeyProvider {
+
+		/**
+		 * Returns the public key of the wallet address or null if it is unknown.
+		 *
+		 * @param walletAddress
+		 * @return
+		 */
+		PublicKey getPublicKey(String walletAddress);
+	}
+
+	/**
+	 * Instantiates a new TransactionSignatureVerifier object which verifies the
+	 * batches on as many threads as processors are available. The parameters must
+	 * not be null.
+	 *
+	 * @param publicKeyProvider
+	 * @param keyGenerator
+	 */
+	public TransactionSignatureVerifier(PublicKeyProvider publicKeyProvider, KeyGenerator keyGenerator) {
+		super();
+
+		if (publicKeyProvider == null || keyGenerator == null)
+			throw new IllegalArgumentException("Public key provider and key generator can´t be null");
+
+		this.publicKeyProvider = publicKeyProvider;
+		this.keyGenerator = keyGenerator;
+		this.verificationPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+				new VerificationThreadFactory(verifierCounter.incrementAndGet()));
+		this.signatures = new ThreadLocal<Signature>() {
+
+			@Override
+			protected Signature initialValue() {
+
+				try {
+
+					return Signature.getInstance("SHA256withECDSA", "SunEC");
+
+				} catch (Exception e) {
+
+					logger.error("Signature initialization exception.", e);
+					return null;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Verifies that the transaction ID has been correctly calculated and that the
+	 * signature of the ID belongs to the public key of the transaction sender.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	public boolean verifyTransaction(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("To verify a transaction, it can´t be null");
+
+		return verifyTransactionID(transaction) && verifySignature(transaction);
+	}
+
+	/**
+	 * Verifies all input transactions like verifyTransaction() and returns the
+	 * result for every transaction ID in the order of the list. Batches with at
+	 * least four transactions are verified in parallel.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public LinkedHashMap<String, Boolean> verifyTransactions(List<Transaction> transactions) {
+
+		if (transactions == null)
+			throw new IllegalArgumentException("Transaction list for verification can´t be null");
+
+		LinkedHashMap<String, Boolean> results = new LinkedHashMap<String, Boolean>();
+
+		if (transactions.size() < minimalParallelBatchSize || verificationPool.isShutdown()) {
+
+			for (Transaction transaction : transactions) {
+
+				results.put(transaction.getTransactionID(), verifyTransaction(transaction));
+			}
+
+			return results;
+		}
+
+		ArrayList<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+
+		for (final Transaction transaction : transactions) {
+
+			futures.add(verificationPool.submit(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() {
+					return verifyTransaction(transaction);
+				}
+			}));
+		}
+
+		for (int i = 0; i < transactions.size(); i++) {
+
+			boolean valid = false;
+
+			try {
+
+				valid = futures.get(i).get();
+
+			} catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+
+			} catch (ExecutionException e) {
+
+				logger.error("Exception while verifying transaction " + transactions.get(i).getTransactionID(), e);
+			}
+
+			results.put(transactions.get(i).getTransactionID(), valid);
+		}
+
+		return results;
+	}
+
+	/**
+	 * Stops the threads of the verification pool. Batches are verified on the
+	 * calling thread afterwards.
+	 */
+	public void close() {
+
+		verificationPool.shutdownNow();
+	}
+
+	/**
+	 * Helper method which verifies the signature of the transaction ID with the
+	 * public key of the sender and the Signature object of the current thread.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	private boolean verifySignature(Transaction transaction) {
+
+		Signature signature = signatures.get();
+
+		if (signature == null)
+			return false;
+
+		try {
+
+			PublicKey publicKey = publicKeyProvider.getPublicKey(transaction.getFromAdress());
+
+			if (publicKey == null)
+				return false;
+
+			signature.initVerify(publicKey);
+			signature.update(transaction.getTransactionID().getBytes(StandardCharsets.UTF_8));
+
+			return signature.verify(keyGenerator.hexStringToByteArray(transaction.getSignature()));
+
+		} catch (Exception e) {
+
+			logger.error("Signature verification exception", e);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Helper method which verifies that the transaction ID has been correctly
+	 * calculated by hashing the transaction data again.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	private boolean verifyTransactionID(Transaction transaction) {
+
+		return SHA256Hasher.returnSHA256HashStringFromString(transaction.getTransactionIdData())
+				.equals(transaction.getTransactionID());
+	}
+
+	/**
+	 * Creates the daemon threads of the verification pool, so that the pool
+	 * doesn´t keep the JVM running.
+	 */
+	private static class VerificationThreadFactory implements ThreadFactory {
+
+		private final long verifierNumber;
+		private final AtomicLong threadCounter;
+
+		private VerificationThreadFactory(long verifierNumber) {
+			this.verifierNumber = verifierNumber;
+			this.threadCounter = new AtomicLong();
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable,
+					"signature-verifier-" + verifierNumber + "-worker-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+}
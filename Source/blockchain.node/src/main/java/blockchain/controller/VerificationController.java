@@ -1,17 +1,25 @@
 package blockchain.controller;
 
-import java.security.Signature;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
+import blockchain.block.BlockCodec;
 import blockchain.block.BlockHeader;
 import blockchain.block.MerkleTree;
 import blockchain.block.Transaction;
+import blockchain.chain.BlockchainController;
+import blockchain.chain.ChainTipListener;
+import blockchain.concensus.DifficultyTarget;
 import blockchain.concensus.PoW;
 import blockchain.concensus.SHA256Hasher;
-import blockchain.database.DriverClass;
+import blockchain.database.NodeDatabase;
 import blockchain.wallet.helper.KeyGenerator;
 
 /**
@@ -26,10 +34,16 @@ import blockchain.wallet.helper.KeyGenerator;
 public class VerificationController {
 
 	private static Logger logger = LoggerFactory.getLogger(VerificationController.class);
+	private static final String coinbaseSender = "systemWallet";
+	private static final int verifiedTransactionCacheCapacity = 50000;
+	private static final long verifiedTransactionTimeToLiveMillis = 60 * 60 * 1000;
 	private NodeController nodeController;
 	private PoW consensusAlgorithm;
+	private BlockchainController blockchainController;
 	private KeyGenerator keyGenerator;
-	private DriverClass database;
+	private NodeDatabase database;
+	private TransactionSignatureVerifier transactionSignatureVerifier;
+	private VerifiedTransactionCache verifiedTransactionCache;
 
 	/**
 	 * Instantiates a new VerificationController object. The parameters must not be
@@ -42,21 +56,46 @@ public class VerificationController {
 		this.nodeController = nodeController;
 		this.keyGenerator = nodeController.getWallet().getKeyGenerator();
 		this.database = nodeController.getDatabase();
-		this.consensusAlgorithm = nodeController.getBlockchainController().getConsensusAlgorithm();
+		this.blockchainController = nodeController.getBlockchainController();
+		this.consensusAlgorithm = blockchainController.getConsensusAlgorithm();
+		this.transactionSignatureVerifier = new TransactionSignatureVerifier(
+				new TransactionSignatureVerifier.PublicKeyProvider() {
+
+					@Override
+					public PublicKey getPublicKey(String walletAddress) {
+						return database.getPublicKeyForCorrespondingWalletAddress(walletAddress);
+					}
+				}, keyGenerator);
+		this.verifiedTransactionCache = new VerifiedTransactionCache(verifiedTransactionCacheCapacity,
+				verifiedTransactionTimeToLiveMillis);
+		this.blockchainController.addChainTipListener(new ChainTipListener() {
+
+			@Override
+			public void onBlockAddedToChain(Block block, int chainTipIndex) {
+				verifiedTransactionCache.removeTransactions(block.getTransactionList());
+			}
+		});
 	}
 
 	/**
-	 * Verify that the transaction sender has enough balance and that the
-	 * transactionID and signature are been correctly calculated.
+	 * Verify that the transaction fee is valid, the transaction sender has enough
+	 * balance and that the transactionID and signature are been correctly
+	 * calculated.
 	 * 
 	 * @param transaction
 	 * @return
 	 */
 	public boolean verifyTransaction(Transaction transaction) {
 
+		boolean isFeeValid = hasValidFee(transaction);
 		boolean hasEnoughBalance = transactionSenderHasEnoughBalance(transaction);
 		boolean signatureAndIDCorrect = verifyTransactionSignature(transaction);
 
+		if (!isFeeValid) {
+
+			logger.info("Fee for transaction " + transaction.getTransactionID() + " is negative or not a number.");
+		}
+
 		if (!hasEnoughBalance) {
 
 			logger.info(
@@ -68,24 +107,87 @@ public class VerificationController {
 			logger.info("Signature or ID for transaction " + transaction.getTransactionID() + " corrupted");
 		}
 
-		return hasEnoughBalance && signatureAndIDCorrect;
+		return isFeeValid && hasEnoughBalance && signatureAndIDCorrect;
+	}
+
+	/**
+	 * Verifies the transaction ID and signature of all input transactions in
+	 * parallel and returns the result for every transaction ID, so that invalid
+	 * transactions can be dropped individually. Transactions which have already
+	 * been verified (e.g. when they entered the transaction pool) are skipped.
+	 * 
+	 * @param transactions
+	 * @return
+	 */
+	public LinkedHashMap<String, Boolean> verifyTransactionSignatures(List<Transaction> transactions) {
+
+		if (transactions == null)
+			throw new IllegalArgumentException("Transaction list for verification can´t be null");
+
+		ArrayList<Transaction> unverifiedTransactions = new ArrayList<Transaction>();
+
+		for (Transaction transaction : transactions) {
+
+			if (!verifiedTransactionCache.isVerified(transaction))
+				unverifiedTransactions.add(transaction);
+		}
+
+		LinkedHashMap<String, Boolean> verificationResults = transactionSignatureVerifier
+				.verifyTransactions(unverifiedTransactions);
+
+		for (Transaction transaction : unverifiedTransactions) {
+
+			if (Boolean.TRUE.equals(verificationResults.get(transaction.getTransactionID())))
+				verifiedTransactionCache.addVerifiedTransaction(transaction);
+		}
+
+		LinkedHashMap<String, Boolean> results = new LinkedHashMap<String, Boolean>();
+
+		for (Transaction transaction : transactions) {
+
+			Boolean result = verificationResults.get(transaction.getTransactionID());
+
+			results.put(transaction.getTransactionID(), result == null || result);
+		}
+
+		return results;
 	}
 
 	/**
-	 * Verifies the provided block by validating the block hash, previous block hash
-	 * and merkle root.
+	 * Verifies the provided block by validating the difficulty, block hash,
+	 * previous block hash, merkle root, the signatures of its transactions, the
+	 * amount and fees of its transactions, the amount of its coinbase transaction
+	 * and the balances of its transaction senders.
 	 * 
 	 * @param block
 	 * @return
 	 */
 	public boolean verifyBlock(Block block) {
 
+		boolean isDifficultyValid = validateDifficulty(block);
+
 		boolean isBlockHashValid = validateBlockHash(block.getBlockHeader());
 
 		boolean isPreviousBlockHashValid = validatePreviousBlockHash(block);
 
 		boolean isMerkleRootValid = validateMerkleRoot(block);
 
+		boolean areTransactionSignaturesValid = validateTransactionSignatures(block);
+
+		boolean isBlockSizeValid = validateBlockSize(block);
+
+		boolean areTransactionFeesValid = validateTransactionFees(block);
+
+		boolean isCoinbaseAmountValid = validateCoinbaseAmount(block);
+
+		boolean areSenderBalancesValid = validateSenderBalances(block);
+
+		if (!isDifficultyValid) {
+
+			logger.info("Difficulty for block with index " + block.getIndex() + " mined on the " + block.getTimeStamp()
+					+ " not as expected.");
+		}
+
 		if (!isBlockHashValid) {
 
 			logger.info("Block hash for block with index " + block.getIndex() + " mined on the " + block.getTimeStamp()
@@ -104,187 +206,303 @@ public class VerificationController {
 					+ " corrupted.");
 		}
 
-		return isBlockHashValid && isPreviousBlockHashValid && isMerkleRootValid;
+		if (!areTransactionSignaturesValid) {
+
+			logger.info("Transaction signatures for block with index " + block.getIndex() + " mined on the "
+					+ block.getTimeStamp() + " corrupted.");
+		}
+
+		if (!isBlockSizeValid) {
+
+			logger.info("Block with index " + block.getIndex() + " mined on the " + block.getTimeStamp()
+					+ " contains too many transactions or is too large.");
+		}
+
+		if (!areTransactionFeesValid) {
+
+			logger.info("Transaction fees for block with index " + block.getIndex() + " mined on the "
+					+ block.getTimeStamp() + " are negative or not a number.");
+		}
+
+		if (!isCoinbaseAmountValid) {
+
+			logger.info("Coinbase amount for block with index " + block.getIndex() + " mined on the "
+					+ block.getTimeStamp() + " exceeds the mining reward and the fees.");
+		}
+
+		if (!areSenderBalancesValid) {
+
+			logger.info("Transactions for block with index " + block.getIndex() + " mined on the "
+					+ block.getTimeStamp() + " exceed the balance of their sender.");
+		}
+
+		return isDifficultyValid && isBlockHashValid && isPreviousBlockHashValid && isMerkleRootValid
+				&& areTransactionSignaturesValid && isBlockSizeValid && areTransactionFeesValid
+				&& isCoinbaseAmountValid && areSenderBalancesValid;
 	}
 
 	/**
-	 * Validate the block hash by hashing the block header again and comparing the
-	 * hash to the hash provided in the block.
-	 * 
-	 * @param blockHeader
-	 * @return
+	 * Stops the threads which verify the transaction signatures in parallel.
 	 */
-	private boolean validateBlockHash(BlockHeader blockHeader) {
+	public void close() {
 
-		return consensusAlgorithm.hasHashTheCorrectDifficulty(
-				SHA256Hasher.returnSHA256HashStringFromString(blockHeader.getHeaderDataForHashCalculation()));
+		transactionSignatureVerifier.close();
 	}
 
 	/**
-	 * Validate the previous hash by hashing the block header of the previous block
-	 * in chain and comparing the hash with the hash provided in the block header.
+	 * Validate that the block contains not more than the maximal amount of
+	 * transactions of a block and the coinbase transaction, and that its encoded
+	 * transaction list is not larger than the maximal block size.
 	 * 
-	 * @param blockHeader
+	 * @param block
 	 * @return
 	 */
-	private boolean validatePreviousBlockHash(Block block) {
+	private boolean validateBlockSize(Block block) {
 
-		String previousBlockHash = SHA256Hasher.returnSHA256HashStringFromString(database
-				.getBlockWithInputIndex(block.getIndex() - 1).getBlockHeader().getHeaderDataForHashCalculation());
-
-		return previousBlockHash.equalsIgnoreCase(block.getBlockHeader().getPreviousBlockHash());
+		return block.getTransactionList().size() <= PoW.getMaxTransactionsPerBlock() + 1
+				&& BlockCodec.encodeTransactionList(block.getTransactionList()).length <= PoW.getMaxBlockSizeInBytes();
 	}
 
 	/**
-	 * Validating the merkle root in the block by calculating the merkle root for
-	 * the transaction list provided in the block and comparing it with the provided
-	 * merkle root in the block.
+	 * Validate that every transaction of the block has a valid fee.
 	 * 
 	 * @param block
 	 * @return
 	 */
-	private boolean validateMerkleRoot(Block block) {
+	private boolean validateTransactionFees(Block block) {
 
-		MerkleTree merkleTree = new MerkleTree(block.getTransactionList());
+		for (Transaction transaction : block.getTransactionList()) {
 
-		return merkleTree.getMerkleRoot().equalsIgnoreCase(block.getBlockHeader().getMerkleRootHash());
+			if (!hasValidFee(transaction))
+				return false;
+		}
+
+		return true;
 	}
 
 	/**
-	 * Verify that transaction sender has enough balance to execute this
-	 * transaction.
+	 * Validate that the coinbase transactions of the block pay the miner not more
+	 * than the mining reward and the fees of the other transactions. The genesis
+	 * block is not validated.
 	 * 
-	 * @param transaction
+	 * @param block
 	 * @return
 	 */
-	private boolean transactionSenderHasEnoughBalance(Transaction transaction) {
+	private boolean validateCoinbaseAmount(Block block) {
 
-		return transaction.getAmount() <= (getTransactionSenderBlockchainBalance(transaction)
-				- getTransactionSenderPendingTransactionsAmount(transaction));
+		if (block.getIndex() == 0)
+			return true;
+
+		double coinbaseAmount = 0;
+		double fees = 0;
+
+		for (Transaction transaction : block.getTransactionList()) {
+
+			if (transaction.getFromAdress().equals(coinbaseSender))
+				coinbaseAmount += transaction.getAmount();
+			else
+				fees += transaction.getFee();
+		}
+
+		return coinbaseAmount <= PoW.getMiningreward() + fees;
 	}
 
 	/**
-	 * Returns amount of all transactions for the transaction sender waiting in the
-	 * transaction pool to be added to a block.
+	 * Validate the difficulty saved in the block header by comparing it with the
+	 * difficulty which the consensus algorithm calculates from the mining times of
+	 * the previous blocks on the branch of the block.
 	 * 
-	 * @param transaction
+	 * @param block
 	 * @return
 	 */
-	private double getTransactionSenderPendingTransactionsAmount(Transaction transaction) {
-
-		double pendingAmount = 0;
-
-		for (Transaction t : database.getAllTransactionsFromTransactionPool()) {
+	private boolean validateDifficulty(Block block) {
 
-			if (t.getFromAdress().equalsIgnoreCase(transaction.getFromAdress())) {
-
-				pendingAmount += t.getAmount();
-			}
-		}
-
-		return pendingAmount;
+		return block.getBlockHeader().getDifficulty() == blockchainController.calculateDifficultyForBlock(block);
 	}
 
 	/**
-	 * Returns amount of all transactions for the transaction sender that have been
-	 * added to a block/blockchain.
+	 * Validate that every transaction sender of the block, except the coinbase
+	 * sender, has enough balance on the branch of the block to pay the amounts and
+	 * fees of all its transactions in the block. The genesis block is not
+	 * validated.
 	 * 
-	 * @param transaction
+	 * @param block
 	 * @return
 	 */
-	private double getTransactionSenderBlockchainBalance(Transaction transaction) {
+	private boolean validateSenderBalances(Block block) {
 
-		double senderOut = 0;
-		double senderIn = 0;
+		if (block.getIndex() == 0)
+			return true;
 
-		for (Block block : nodeController.getBlockchainController().getBlockchain().getChain()) {
+		HashMap<String, Double> sentAmounts = new HashMap<String, Double>();
 
-			for (Transaction t : block.getTransactionList()) {
+		for (Transaction transaction : block.getTransactionList()) {
 
-				if (t.getToAdress().equalsIgnoreCase("balance")
-						|| t.getToAdress().equalsIgnoreCase(transaction.getFromAdress())) {
+			String sender = transaction.getFromAdress();
 
-					senderIn += t.getAmount();
-				}
+			if (sender.equals(coinbaseSender))
+				continue;
 
-				if (t.getFromAdress().equalsIgnoreCase(transaction.getFromAdress())) {
+			Double sentAmount = sentAmounts.get(sender);
+			sentAmounts.put(sender, (sentAmount == null ? 0 : sentAmount) + transaction.getTotalAmount());
+		}
 
-					senderOut += t.getAmount();
-				}
-			}
+		if (sentAmounts.isEmpty())
+			return true;
+
+		HashMap<String, Double> balances = blockchainController.calculateBalancesBeforeBlock(block,
+				sentAmounts.keySet());
+
+		for (String sender : sentAmounts.keySet()) {
 
+			if (sentAmounts.get(sender) > balances.get(sender))
+				return false;
 		}
 
-		return senderIn - senderOut;
+		return true;
 	}
 
 	/**
-	 * Verifies the transaction signature by using the transaction sender public key
-	 * from the database and the transactionID which has been signed by the senders
-	 * private key.
+	 * Validate the block hash by hashing the block header again and comparing the
+	 * raw hash with the target encoded in the difficulty of the block header.
 	 * 
-	 * @param transaction
+	 * @param blockHeader
+	 * @return
+	 */
+	private boolean validateBlockHash(BlockHeader blockHeader) {
+
+		return consensusAlgorithm.hasHashTheCorrectDifficulty(
+				SHA256Hasher.returnSHA256HashFromString(blockHeader.getHeaderDataForHashCalculation()),
+				DifficultyTarget.fromCompact(blockHeader.getDifficulty()));
+	}
+
+	/**
+	 * Validate the previous hash by looking it up in the block tree, which also
+	 * contains the blocks of competing branches, or in the hash index of the
+	 * blockchain object, and comparing its height with the height before the
+	 * block.
+	 * 
+	 * @param blockHeader
 	 * @return
 	 */
-	private synchronized boolean verifyTransactionSignature(Transaction transaction) {
+	private boolean validatePreviousBlockHash(Block block) {
 
-		if (transaction == null)
-			throw new RuntimeException("To verify a transaction, it can´t be null");
+		if (blockchainController.getBlockTree()
+				.getHeight(block.getBlockHeader().getPreviousBlockHash()) == block.getIndex() - 1)
+			return true;
 
-		boolean validSignature = false;
+		return blockchainController.getBlockchain()
+				.getHeight(block.getBlockHeader().getPreviousBlockHash()) == block.getIndex() - 1;
+	}
 
-		if (verifyTransactionID(transaction)) {
+	/**
+	 * Validating the merkle root in the block by calculating the merkle root for
+	 * the transaction list provided in the block and comparing it with the provided
+	 * merkle root in the block.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	private boolean validateMerkleRoot(Block block) {
 
-			try {
+		MerkleTree merkleTree = new MerkleTree(block.getTransactionList());
+
+		return merkleTree.getMerkleRoot().equalsIgnoreCase(block.getBlockHeader().getMerkleRootHash());
+	}
 
-				Signature signature = Signature.getInstance("SHA256withECDSA", "SunEC");
+	/**
+	 * Validating the ID and signature of all transactions in the block, except the
+	 * coinbase transaction which is created by the miner without a signature.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	private boolean validateTransactionSignatures(Block block) {
 
-				signature.initVerify(keyGenerator.byteArrayToPublicKey(keyGenerator.hexStringToByteArray(
-						database.getHexStringPublicKeyForCorrespondingWalletAddress(transaction.getFromAdress()))));
+		ArrayList<Transaction> signedTransactions = new ArrayList<Transaction>();
 
-				byte[] stringToVerify = transaction.getTransactionID().getBytes("UTF-8");
-				signature.update(stringToVerify);
+		for (Transaction transaction : block.getTransactionList()) {
 
-				validSignature = signature.verify(keyGenerator.hexStringToByteArray(transaction.getSignature()));
+			if (!transaction.getFromAdress().equals(coinbaseSender))
+				signedTransactions.add(transaction);
+		}
 
-			} catch (Exception e) {
+		return !verifyTransactionSignatures(signedTransactions).containsValue(false);
+	}
 
-				logger.error("Signature verification exception", e);
+	/**
+	 * Verify that the fee of the transaction is a finite number which is not
+	 * negative. The constructor rejects negative fees, but transactions received
+	 * from the network are deserialised or decoded without it, and a negative fee
+	 * would pay the receiver more than the sender pays.
+	 * 
+	 * @param transaction
+	 * @return
+	 */
+	private boolean hasValidFee(Transaction transaction) {
 
-			}
+		double fee = transaction.getFee();
 
-			return validSignature;
+		return !Double.isNaN(fee) && !Double.isInfinite(fee) && fee >= 0;
+	}
 
-		} else
+	/**
+	 * Verify that transaction sender has enough balance to execute this
+	 * transaction and pay its fee.
+	 * 
+	 * @param transaction
+	 * @return
+	 */
+	private boolean transactionSenderHasEnoughBalance(Transaction transaction) {
 
-		{
+		return transaction.getTotalAmount() <= (getTransactionSenderBlockchainBalance(transaction)
+				- getTransactionSenderPendingTransactionsAmount(transaction));
+	}
 
-			return validSignature;
+	/**
+	 * Returns amount of all transactions for the transaction sender waiting in the
+	 * transaction pool to be added to a block, from the balance ledger.
+	 * 
+	 * @param transaction
+	 * @return
+	 */
+	private double getTransactionSenderPendingTransactionsAmount(Transaction transaction) {
 
-		}
+		return database.getBalanceLedger().getPendingAmount(transaction.getFromAdress());
 	}
 
 	/**
-	 * Verify that the transactionID has been correctly calculated by hashing the
-	 * transaction data to generate a transaction ID and comparing it to the
-	 * transaction ID from the transaction object.
+	 * Returns amount of all transactions for the transaction sender that have been
+	 * added to a block/blockchain, from the balance ledger.
 	 * 
 	 * @param transaction
 	 * @return
 	 */
-	private synchronized boolean verifyTransactionID(Transaction transaction) {
+	private double getTransactionSenderBlockchainBalance(Transaction transaction) {
 
-		String recalculatedTransactionID = SHA256Hasher
-				.returnSHA256HashStringFromString(transaction.getTransactionIdData());
+		return database.getBalanceLedger().getBlockchainBalance(transaction.getFromAdress());
+	}
 
-		if (recalculatedTransactionID.equals(transaction.getTransactionID())) {
+	/**
+	 * Verifies the transaction ID and the transaction signature by using the
+	 * transaction sender public key from the public key cache and the
+	 * transactionID which has been signed by the senders private key. Transactions
+	 * which have already been verified are not verified again.
+	 * 
+	 * @param transaction
+	 * @return
+	 */
+	private boolean verifyTransactionSignature(Transaction transaction) {
 
+		if (verifiedTransactionCache.isVerified(transaction))
 			return true;
 
-		} else {
+		boolean validSignature = transactionSignatureVerifier.verifyTransaction(transaction);
 
-			return false;
-		}
+		if (validSignature)
+			verifiedTransactionCache.addVerifiedTransaction(transaction);
+
+		return validSignature;
 	}
 
 }
@@ -0,0 +1,148 @@
+package blockchain.controller;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import blockchain.block.Transaction;
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * This VerifiedTransactionCache object is used to remember which transactions
+ * already passed the transaction ID and signature verification, so that a
+ * transaction from the transaction pool doesn´t have to be verified again when
+ * it arrives in a block. A transaction is identified by its ID and the hash of
+ * all its data, so a changed transaction with the same ID is verified again.
+ * Entries are removed when their transaction is mined, when they expire or, if
+ * the cache is full, in the order they were added.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class VerifiedTransactionCache {
+
+	private final LinkedHashMap<String, VerifiedTransaction> verifiedTransactions;
+	private final long timeToLiveMillis;
+
+	/**
+	 * Instantiates a new VerifiedTransactionCache object which holds at most the
+	 * input amount of transactions for the input time.
+	 *
+	 * @param capacity
+	 * @param timeToLiveMillis
+	 */
+	public VerifiedTransactionCache(final int capacity, long timeToLiveMillis) {
+		super();
+
+		if (capacity < 1 || timeToLiveMillis < 1)
+			throw new IllegalArgumentException("Cache capacity and time to live have to be positive");
+
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.verifiedTransactions = new LinkedHashMap<String, VerifiedTransaction>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, VerifiedTransaction> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Adds the transaction as verified transaction.
+	 *
+	 * @param transaction
+	 */
+	public synchronized void addVerifiedTransaction(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("Verified transaction can´t be null");
+
+		verifiedTransactions.remove(transaction.getTransactionID());
+		verifiedTransactions.put(transaction.getTransactionID(),
+				new VerifiedTransaction(calculateContentHash(transaction), System.currentTimeMillis()));
+	}
+
+	/**
+	 * Returns true if the transaction with the same ID and data has been verified
+	 * and the entry is not expired.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	public synchronized boolean isVerified(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("Transaction for verification lookup can´t be null");
+
+		VerifiedTransaction verifiedTransaction = verifiedTransactions.get(transaction.getTransactionID());
+
+		if (verifiedTransaction == null)
+			return false;
+
+		if (System.currentTimeMillis() - verifiedTransaction.verificationTime > timeToLiveMillis) {
+
+			verifiedTransactions.remove(transaction.getTransactionID());
+			return false;
+		}
+
+		return Arrays.equals(verifiedTransaction.contentHash, calculateContentHash(transaction));
+	}
+
+	/**
+	 * Removes the input transactions, e.g. because they were mined and won´t be
+	 * verified again.
+	 *
+	 * @param transactions
+	 */
+	public synchronized void removeTransactions(List<Transaction> transactions) {
+
+		if (transactions == null)
+			return;
+
+		for (Transaction transaction : transactions) {
+
+			verifiedTransactions.remove(transaction.getTransactionID());
+		}
+	}
+
+	/**
+	 * Returns the amount of cached transactions.
+	 *
+	 * @return
+	 */
+	public synchronized int size() {
+		return verifiedTransactions.size();
+	}
+
+	/**
+	 * Helper method which hashes all data of the transaction, including its ID and
+	 * signature.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	private static byte[] calculateContentHash(Transaction transaction) {
+
+		return SHA256Hasher.returnSHA256HashFromString(transaction.getTransactionData());
+	}
+
+	/**
+	 * Entry which contains the content hash and the time of the verification.
+	 */
+	private static class VerifiedTransaction {
+
+		private final byte[] contentHash;
+		private final long verificationTime;
+
+		private VerifiedTransaction(byte[] contentHash, long verificationTime) {
+			super();
+			this.contentHash = contentHash;
+			this.verificationTime = verificationTime;
+		}
+	}
+
+}
@@ -0,0 +1,236 @@
+package blockchain.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import blockchain.block.Block;
+
+/**
+ * This BlockCache object is used to keep the most recently used blocks by their
+ * index and the last block of the chain in memory, so that the miner, the block
+ * verification and the consensus conflict resolution don´t have to read and
+ * decode the same blocks from the database again and again. If the cache is
+ * full, the least recently used block is removed, the chain tip is pinned and
+ * never removed. Every write into the blockchain table has to be passed to the
+ * cache after it was committed. Blocks read from the database are only cached
+ * if no block was written in the meantime, so that a concurrent replacement
+ * can´t be overwritten by the old block. The hits and misses are counted to
+ * monitor the cache.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockCache {
+
+	private final LinkedHashMap<Integer, Block> blocks;
+	private final AtomicLong hitCount;
+	private final AtomicLong missCount;
+	private Block chainTip;
+	private long generation;
+
+	/**
+	 * Instantiates a new BlockCache object which holds at most the input amount of
+	 * blocks besides the chain tip.
+	 *
+	 * @param capacity
+	 */
+	public BlockCache(final int capacity) {
+		super();
+
+		if (capacity < 1)
+			throw new IllegalArgumentException("Block cache capacity has to be positive");
+
+		this.blocks = new LinkedHashMap<Integer, Block>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Block> eldest) {
+				return size() > capacity;
+			}
+		};
+		this.hitCount = new AtomicLong();
+		this.missCount = new AtomicLong();
+		this.chainTip = null;
+		this.generation = 0;
+	}
+
+	/**
+	 * Returns the cached block with the input index or null if it is not cached.
+	 *
+	 * @param blockIndex
+	 * @return
+	 */
+	public Block getBlock(int blockIndex) {
+
+		Block block;
+
+		synchronized (this) {
+
+			block = chainTip != null && chainTip.getIndex() == blockIndex ? chainTip : blocks.get(blockIndex);
+		}
+
+		countLookup(block);
+
+		return block;
+	}
+
+	/**
+	 * Returns the cached last block of the chain or null if it is not cached.
+	 *
+	 * @return
+	 */
+	public Block getChainTip() {
+
+		Block block;
+
+		synchronized (this) {
+
+			block = chainTip;
+		}
+
+		countLookup(block);
+
+		return block;
+	}
+
+	/**
+	 * Returns the generation of the cache, which has to be read before a block is
+	 * selected from the database and passed to cacheBlock() or cacheChainTip().
+	 *
+	 * @return
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Caches the block which was read from the database, if no block was written
+	 * since the input generation was returned.
+	 *
+	 * @param block
+	 * @param readGeneration
+	 */
+	public synchronized void cacheBlock(Block block, long readGeneration) {
+
+		if (block != null && readGeneration == generation)
+			blocks.put(block.getIndex(), block);
+	}
+
+	/**
+	 * Caches the last block of the chain which was read from the database, if no
+	 * block was written since the input generation was returned.
+	 *
+	 * @param block
+	 * @param readGeneration
+	 */
+	public synchronized void cacheChainTip(Block block, long readGeneration) {
+
+		if (block != null && readGeneration == generation)
+			chainTip = block;
+	}
+
+	/**
+	 * Caches the block which was inserted into the blockchain table or replaced a
+	 * block with the same index, and pins it as chain tip if it is the last block.
+	 *
+	 * @param block
+	 */
+	public synchronized void onBlockWritten(Block block) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Written block for the block cache can´t be null");
+
+		generation++;
+		blocks.put(block.getIndex(), block);
+
+		if (chainTip != null && block.getIndex() >= chainTip.getIndex())
+			chainTip = block;
+	}
+
+	/**
+	 * Removes the block with the input index, which was deleted from the
+	 * blockchain table. If it was the chain tip, the tip has to be read from the
+	 * database again.
+	 *
+	 * @param blockIndex
+	 */
+	public synchronized void onBlockRemoved(int blockIndex) {
+
+		generation++;
+		blocks.remove(blockIndex);
+
+		if (chainTip != null && chainTip.getIndex() == blockIndex)
+			chainTip = null;
+	}
+
+	/**
+	 * Removes all cached blocks, e.g. because the blockchain table was cleared.
+	 */
+	public synchronized void clear() {
+
+		generation++;
+		blocks.clear();
+		chainTip = null;
+	}
+
+	/**
+	 * Returns the amount of cached blocks, without the chain tip.
+	 *
+	 * @return
+	 */
+	public synchronized int size() {
+		return blocks.size();
+	}
+
+	/**
+	 * Returns how often a requested block was cached.
+	 *
+	 * @return
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns how often a requested block was not cached.
+	 *
+	 * @return
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Returns the share of requested blocks which were cached, between 0 and 1.
+	 *
+	 * @return
+	 */
+	public double getHitRate() {
+
+		long hits = hitCount.get();
+		long lookups = hits + missCount.get();
+
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	/**
+	 * Helper method which counts the lookup as hit or miss.
+	 *
+	 * @param block
+	 */
+	private void countLookup(Block block) {
+
+		if (block == null) {
+
+			missCount.incrementAndGet();
+
+		} else {
+
+			hitCount.incrementAndGet();
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package blockchain.database;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import blockchain.block.Block;
+import blockchain.chain.Blockchain;
+
+/**
+ * This BlockStore interface is implemented by the storage engines which save
+ * the blocks of the blockchain. The DriverClass object writes the blocks inside
+ * the database transaction which moves their mined transactions, calls commit()
+ * right before the database transaction is committed, rollback() if it is
+ * rolled back before and revertCommit() if the database commit fails after the
+ * blocks were committed, so that an engine which doesn´t save the blocks in the
+ * database can keep its blocks consistent with the other tables.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public interface BlockStore {
+
+	/**
+	 * Writes the input block, if no block with the same index is saved. Returns
+	 * false if nothing was written.
+	 *
+	 * @param block
+	 * @return
+	 * @throws IOException
+	 */
+	boolean insertBlock(Block block) throws IOException;
+
+	/**
+	 * Writes the input block instead of the saved block with the same index.
+	 *
+	 * @param block
+	 * @throws IOException
+	 */
+	void replaceBlock(Block block) throws IOException;
+
+	/**
+	 * Removes the saved block with the input index.
+	 *
+	 * @param blockIndex
+	 * @throws IOException
+	 */
+	void deleteBlock(int blockIndex) throws IOException;
+
+	/**
+	 * Makes the blocks written since the last commit or rollback durable and
+	 * readable.
+	 *
+	 * @throws IOException
+	 */
+	void commit() throws IOException;
+
+	/**
+	 * Discards the blocks written since the last commit or rollback.
+	 */
+	void rollback();
+
+	/**
+	 * Undoes the last commit, if the database transaction which was committed
+	 * after it failed.
+	 *
+	 * @throws IOException
+	 */
+	void revertCommit() throws IOException;
+
+	/**
+	 * Returns the saved block with the input index or null if it doesn´t exist.
+	 *
+	 * @param blockIndex
+	 * @return
+	 */
+	Block getBlock(int blockIndex);
+
+	/**
+	 * Returns the saved block with the biggest index or null if no block is saved.
+	 *
+	 * @return
+	 */
+	Block getLastBlock();
+
+	/**
+	 * Returns the saved blocks which index is between the input indexes (both
+	 * included), ordered by their index.
+	 *
+	 * @param firstBlockIndex
+	 * @param lastBlockIndex
+	 * @return
+	 */
+	ArrayList<Block> getBlocksInIndexRange(int firstBlockIndex, int lastBlockIndex);
+
+	/**
+	 * Returns all saved blocks ordered by their index.
+	 *
+	 * @return
+	 */
+	Blockchain getAllBlocks();
+
+	/**
+	 * Removes all saved blocks.
+	 *
+	 * @throws IOException
+	 */
+	void clear() throws IOException;
+
+	/**
+	 * Releases the resources of the engine.
+	 */
+	void close();
+}
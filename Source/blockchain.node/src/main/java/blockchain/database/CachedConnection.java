@@ -0,0 +1,90 @@
+package blockchain.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+
+/**
+ * This CachedConnection object wraps a connection to the sqlite database and
+ * keeps every statement prepared on it, so that a query which is executed
+ * again doesn´t have to be parsed and planned again. A CachedConnection object
+ * must only be used by one thread at a time, which is guaranteed by the
+ * ConnectionManager object.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class CachedConnection {
+
+	private final Connection connection;
+	private final HashMap<String, PreparedStatement> preparedStatements;
+
+	/**
+	 * Instantiates a new CachedConnection object. The parameters must not be null.
+	 * 
+	 * @param connection
+	 */
+	public CachedConnection(Connection connection) {
+		super();
+
+		if (connection == null)
+			throw new IllegalArgumentException("Connection for statement caching can´t be null");
+
+		this.connection = connection;
+		this.preparedStatements = new HashMap<String, PreparedStatement>();
+	}
+
+	/**
+	 * Returns the prepared statement for the input sql, which is prepared only the
+	 * first time it is requested. The parameters of a returned statement are
+	 * cleared.
+	 * 
+	 * @param sql
+	 * @return
+	 * @throws SQLException
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+
+		PreparedStatement preparedStatement = preparedStatements.get(sql);
+
+		if (preparedStatement == null) {
+
+			preparedStatement = connection.prepareStatement(sql);
+			preparedStatements.put(sql, preparedStatement);
+
+		} else {
+
+			preparedStatement.clearParameters();
+		}
+
+		return preparedStatement;
+	}
+
+	/**
+	 * Returns the wrapped connection.
+	 * 
+	 * @return
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Closes all cached statements and the connection.
+	 * 
+	 * @throws SQLException
+	 */
+	public void close() throws SQLException {
+
+		for (PreparedStatement preparedStatement : preparedStatements.values()) {
+
+			preparedStatement.close();
+		}
+
+		preparedStatements.clear();
+		connection.close();
+	}
+
+}
@@ -0,0 +1,138 @@
+package blockchain.database;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This ConnectionManager object owns all connections of the node to the sqlite
+ * database: one writer connection, which is used for all inserts, updates and
+ * deletes, and a small pool of reader connections for the selects. The
+ * database runs in WAL mode, so readers see the last committed state and never
+ * block the writer (e.g. the miner inserting a block) or each other.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class ConnectionManager {
+
+	private static Logger logger = LoggerFactory.getLogger(ConnectionManager.class);
+	private static final int busyTimeoutMillis = 5000;
+	private final CachedConnection writer;
+	private final ArrayBlockingQueue<CachedConnection> readers;
+	private final ArrayList<CachedConnection> allReaders;
+
+	/**
+	 * Instantiates a new ConnectionManager object, opens the writer and reader
+	 * connections to the database file and switches the database to WAL mode. The
+	 * parameters must not be null.
+	 * 
+	 * @param databaseFile
+	 * @param readerConnections
+	 * @throws SQLException
+	 */
+	public ConnectionManager(File databaseFile, int readerConnections) throws SQLException {
+		super();
+
+		if (databaseFile == null || readerConnections < 1)
+			throw new IllegalArgumentException("Database can´t be null and at least one reader is needed");
+
+		this.writer = new CachedConnection(openConnection(databaseFile));
+		this.readers = new ArrayBlockingQueue<CachedConnection>(readerConnections);
+		this.allReaders = new ArrayList<CachedConnection>();
+
+		Statement statement = writer.getConnection().createStatement();
+		statement.execute("PRAGMA journal_mode=WAL");
+		statement.execute("PRAGMA synchronous=NORMAL");
+		statement.close();
+
+		for (int i = 0; i < readerConnections; i++) {
+
+			CachedConnection reader = new CachedConnection(openConnection(databaseFile));
+
+			readers.add(reader);
+			allReaders.add(reader);
+		}
+	}
+
+	/**
+	 * Returns the writer connection. All writes have to be done by one thread at a
+	 * time, which the DriverClass object guarantees by synchronising them.
+	 * 
+	 * @return
+	 */
+	public CachedConnection getWriter() {
+		return writer;
+	}
+
+	/**
+	 * Takes a reader connection from the pool and waits if all readers are in
+	 * use. The reader has to be returned with releaseReader().
+	 * 
+	 * @return
+	 * @throws InterruptedException
+	 */
+	public CachedConnection acquireReader() throws InterruptedException {
+		return readers.take();
+	}
+
+	/**
+	 * Returns the reader connection to the pool.
+	 * 
+	 * @param reader
+	 */
+	public void releaseReader(CachedConnection reader) {
+
+		if (reader != null)
+			readers.offer(reader);
+	}
+
+	/**
+	 * Closes the writer and all reader connections.
+	 */
+	public void close() {
+
+		try {
+
+			writer.close();
+
+			for (CachedConnection reader : allReaders) {
+
+				reader.close();
+			}
+
+		} catch (SQLException e) {
+
+			logger.error("Exception while closing the database connections.", e);
+		}
+	}
+
+	/**
+	 * Helper method which opens a new connection to the database file, which
+	 * waits for locks instead of failing immediately. The path of the file is
+	 * formed by the operating system, so it works on every platform.
+	 * 
+	 * @param databaseFile
+	 * @return
+	 * @throws SQLException
+	 */
+	private static Connection openConnection(File databaseFile) throws SQLException {
+
+		Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getPath());
+
+		Statement statement = connection.createStatement();
+		statement.execute("PRAGMA busy_timeout=" + busyTimeoutMillis);
+		statement.close();
+
+		return connection;
+	}
+
+}
@@ -1,17 +1,24 @@
 package blockchain.database;
 
+import java.io.File;
+import java.io.IOException;
+import java.security.PublicKey;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
+import blockchain.block.MerkleAccumulator;
 import blockchain.block.Transaction;
+import blockchain.chain.BalanceLedger;
 import blockchain.chain.Blockchain;
 
 /**
@@ -19,45 +26,117 @@ import blockchain.chain.Blockchain;
  * creates the tables for saving node and network related data and
  * inserts/retrieves/deletes entyties from the database. Prevents using multiple
  * objects (insert/select/delete) to edit data in the database, by encapsulating
- * the methods which those objects provide.
+ * the methods which those objects provide. Writes are synchronized, selects run
+ * on the reader connections and are not blocked by writes. The transaction pool
+ * is read from the in memory TransactionPool, the transactionPool table is
+ * written in the background by the TransactionPoolJournal and only read to
+ * recover the pool on start. This is the SQLite engine of the NodeDatabase
+ * interface.
  * 
  * @author Nemanja Srdanovic
  * @version 1.0
  * @since 10 Dec 2021
  */
-public class DriverClass {
+public class DriverClass implements NodeDatabase {
 
 	private static Logger logger = LoggerFactory.getLogger(DriverClass.class);
-	private Connection connection;
-	private Statement statement;
-	private String database;
+	private static final int publicKeyCacheCapacity = 10000;
+	private static final int transactionPoolCapacity = 50000;
+	private static final int readerConnections = 2;
+	private static final int blockCacheCapacity = 64;
+	private static final String coinbaseSender = "systemWallet";
+	private ConnectionManager connectionManager;
+	private File databaseFile;
 	private SQLinsert insert;
 	private SQLselect select;
 	private SQLdelete delete;
+	private MerkleAccumulator transactionPoolAccumulator;
+	private BalanceLedger balanceLedger;
+	private PublicKeyCache publicKeyCache;
+	private BlockCache blockCache;
+	private BlockStore blockStore;
+	private EBlockStorageEngine blockStorageEngine;
+	private TransactionPool transactionPool;
+	private TransactionPoolJournal transactionPoolJournal;
 
 	/**
 	 * Instantiates a new DriverClass object, sets connection to the database and
-	 * calls a function to create the tables in the database. The parameters must
-	 * not be null.
+	 * calls a function to create the tables in the database. The data saved by a
+	 * previous run of the node is kept and the blocks are saved in the database.
+	 * The parameters must not be null.
 	 * 
 	 * @param port
 	 */
 	public DriverClass(int port) {
+		this(port, false);
+	}
+
+	/**
+	 * Instantiates a new DriverClass object, sets connection to the database and
+	 * calls a function to create the tables in the database. If resetState is true
+	 * all data saved by a previous run of the node is deleted, otherwise it is
+	 * kept. The blocks are saved in the database. The parameters must not be null.
+	 * 
+	 * @param port
+	 * @param resetState
+	 */
+	public DriverClass(int port, boolean resetState) {
+		this(port, resetState, EBlockStorageEngine.SQLITE);
+	}
+
+	/**
+	 * Instantiates a new DriverClass object, sets connection to the database and
+	 * calls a function to create the tables in the database. If resetState is true
+	 * all data saved by a previous run of the node is deleted, otherwise it is
+	 * kept. The blocks are saved by the input storage engine. The parameters must
+	 * not be null.
+	 * 
+	 * @param port
+	 * @param resetState
+	 * @param blockStorageEngine
+	 */
+	public DriverClass(int port, boolean resetState, EBlockStorageEngine blockStorageEngine) {
+
+		if (blockStorageEngine == null || blockStorageEngine == EBlockStorageEngine.IN_MEMORY)
+			throw new IllegalArgumentException("Block storage engine can´t be null or in memory");
+
 		try {
 
 			String portDB = Integer.toString(port);
-			this.database = "Database" + portDB + ".db";
-			this.connection = DriverManager.getConnection("jdbc:sqlite:.\\" + database);
-			this.connection.setAutoCommit(false);
+			this.databaseFile = new File("Database" + portDB + ".db");
+			this.connectionManager = new ConnectionManager(databaseFile, readerConnections);
+			this.blockCache = new BlockCache(blockCacheCapacity);
+
+			this.blockStorageEngine = blockStorageEngine;
 
 			this.createNodeTables();
-			this.clearTables();
 
-			insert = new SQLinsert(database);
-			select = new SQLselect(database);
-			delete = new SQLdelete(database);
+			insert = new SQLinsert(connectionManager);
+			select = new SQLselect(connectionManager);
+			delete = new SQLdelete(connectionManager);
 
-		} catch (SQLException e) {
+			this.transactionPool = new TransactionPool(transactionPoolCapacity);
+			this.transactionPoolJournal = new TransactionPoolJournal(connectionManager, insert, delete, this);
+
+			if (blockStorageEngine == EBlockStorageEngine.MAPPED_FILE) {
+
+				this.blockStore = new MappedBlockStore(new File("Blocks" + portDB));
+
+			} else {
+
+				this.blockStore = new SQLiteBlockStore(insert, select, delete);
+				this.migrateLegacyBlockEncoding();
+			}
+
+			if (resetState)
+				this.clearTables();
+
+			this.loadTransactionPool();
+			this.rebuildTransactionPoolAccumulator();
+			this.rebuildBalanceLedger();
+			this.publicKeyCache = new PublicKeyCache(publicKeyCacheCapacity);
+
+		} catch (SQLException | IOException e) {
 
 			logger.error("Driver class initialization exception.", e);
 		}
@@ -69,14 +148,16 @@ public class DriverClass {
 	 */
 	private void createNodeTables() {
 
+		Connection connection = connectionManager.getWriter().getConnection();
+
 		try {
-			connection = DriverManager.getConnection("jdbc:sqlite:.\\" + database);
 
 			connection.setAutoCommit(false);
-			statement = connection.createStatement();
+			Statement statement = connection.createStatement();
 			statement.execute("CREATE TABLE IF NOT EXISTS transactionPool (" + "transactionId varchar(100) primary key,"
 					+ "timeStamp varchar(100)," + "fromAdress varchar(100)," + "toAdress varchar(100),"
-					+ "amount DOUBLE PRECISION," + "signature varchar(100))");
+					+ "amount DOUBLE PRECISION," + "signature varchar(100)," + "fee DOUBLE PRECISION DEFAULT 0)");
+			addTransactionPoolFeeColumn(statement);
 			statement.execute("CREATE TABLE IF NOT EXISTS publicKeys (" + "walletAdress varchar(100) primary key,"
 					+ "publicKey varchar(100))");
 			statement.execute("CREATE TABLE IF NOT EXISTS blockChain (" + "blockIndex INTEGER primary key,"
@@ -88,6 +169,7 @@ public class DriverClass {
 
 			statement.close();
 			connection.commit();
+			connection.setAutoCommit(true);
 
 		} catch (SQLException e) {
 
@@ -97,7 +179,33 @@ public class DriverClass {
 	}
 
 	/**
-	 * Delets all entries from all tables in the database.
+	 * Helper method which adds the fee column to the transactionPool table of a
+	 * database which was created before the transactions had a fee. The pooled
+	 * transactions of such a database have no fee.
+	 * 
+	 * @param statement
+	 * @throws SQLException
+	 */
+	private static void addTransactionPoolFeeColumn(Statement statement) throws SQLException {
+
+		ResultSet rs = statement.executeQuery("PRAGMA table_info(transactionPool)");
+		boolean feeColumnExists = false;
+
+		while (rs.next()) {
+
+			if ("fee".equalsIgnoreCase(rs.getString("name")))
+				feeColumnExists = true;
+		}
+
+		rs.close();
+
+		if (!feeColumnExists)
+			statement.execute("ALTER TABLE transactionPool ADD COLUMN fee DOUBLE PRECISION DEFAULT 0");
+	}
+
+	/**
+	 * Delets all entries from all tables in the database and all blocks from the
+	 * block store.
 	 */
 	private void clearTables() {
 
@@ -105,34 +213,64 @@ public class DriverClass {
 		String sqlClearPublicKeys = "DELETE FROM publicKeys";
 		String blockChain = "DELETE FROM blockChain";
 		String minedTransactions = "DELETE FROM minedTransactions";
+		Connection connection = connectionManager.getWriter().getConnection();
 
 		try {
 			connection.setAutoCommit(false);
-			statement = connection.createStatement();
+			Statement statement = connection.createStatement();
 			statement.execute(sqlClearTransactionPool);
 			statement.execute(sqlClearPublicKeys);
 			statement.execute(blockChain);
 			statement.execute(minedTransactions);
 			statement.close();
 			connection.commit();
+			connection.setAutoCommit(true);
+			blockStore.clear();
+			blockCache.clear();
 
 		} catch (SQLException e) {
 			e.printStackTrace();
+
+		} catch (IOException e) {
+
+			logger.error("Block store clearing exception.", e);
 		}
 	}
 
 	/**
-	 * Provides possibility to access the functions of the SQLinsert object without
-	 * directly exposing the object to all classes. Calling a function which inserts
-	 * transactions into the transaction pool from which the objects will be taken
-	 * to be inserted into a block.
+	 * Inserts the transaction into the in memory transaction pool from which it
+	 * will be taken to be inserted into a block, and queues its insertion into the
+	 * transactionPool table. Transactions which are already in the pool, or whose
+	 * fee is too low for the full pool, are ignored. Transactions evicted from the
+	 * full pool are removed like mined transactions, but not inserted into the
+	 * mined transactions.
 	 * 
 	 * @param transaction
 	 */
+	@Override
 	public synchronized void insertTransactionIntoTransactionPool(Transaction transaction) {
 
-		this.insert.insertTransactionIntoPool(transaction);
+		ArrayList<Transaction> evictedTransactions = this.transactionPool.addTransaction(transaction);
+
+		if (evictedTransactions == null)
+			return;
 
+		this.transactionPoolJournal.journalInsert(transaction);
+		this.balanceLedger.addPendingTransaction(transaction);
+
+		for (Transaction evictedTransaction : evictedTransactions) {
+
+			this.balanceLedger.removePendingTransaction(evictedTransaction);
+		}
+
+		if (this.transactionPoolAccumulator != null) {
+
+			this.transactionPoolAccumulator.removeTransactions(evictedTransactions);
+			this.transactionPoolAccumulator.addTransaction(transaction);
+		}
+
+		if (!evictedTransactions.isEmpty())
+			this.transactionPoolJournal.journalDelete(evictedTransactions);
 	}
 
 	/**
@@ -143,10 +281,14 @@ public class DriverClass {
 	 * @param walletAdress
 	 * @param walletKeyHexString
 	 */
+	@Override
 	public synchronized void insertWalletKeyIntoDatabase(String walletAdress, String walletKeyHexString) {
 
 		this.insert.insertWalletKeyIntoDatabase(walletAdress, walletKeyHexString);
 
+		this.publicKeyCache.putPublicKey(walletAdress,
+				this.select.getHexStringPublicKeyForCorrespondingWalletAddress(walletAdress));
+
 	}
 
 	/**
@@ -157,57 +299,241 @@ public class DriverClass {
 	 * 
 	 * @param block
 	 */
+	@Override
 	public synchronized void insertBlockIntoBlockchain(Block block) {
 
-		this.insert.insertBlockIntoBlockchain(block);
+		if (this.persistBlock(block, BlockRowWrite.INSERT, false))
+			this.balanceLedger.applyBlock(block);
+
+	}
+
+	/**
+	 * Inserts the newly mined block into the blockchain table, removes its
+	 * transactions from the transaction pool and inserts them into the table which
+	 * contains the mined transactions. All rows are written in one database
+	 * transaction, so the block is either persisted completely or not at all.
+	 * Returns false if nothing was written, because a block with the same index
+	 * exists or a statement failed.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	@Override
+	public synchronized boolean insertBlockIntoBlockchainAndMoveMinedTransactions(Block block) {
+
+		if (!this.persistBlock(block, BlockRowWrite.INSERT, true))
+			return false;
 
+		this.balanceLedger.applyBlock(block);
+		this.removeMinedTransactionsFromPendingState(block);
+
+		return true;
 	}
 
 	/**
 	 * Provides possibility to access the functions of the SQLinsert object without
 	 * directly exposing the object to all classes. Calling a function which
-	 * replaces a existing block from the blockchain table with the block input.
+	 * replaces a existing block from the blockchain table with the block input and
+	 * moves the transactions of the new block from the transaction pool into the
+	 * mined transactions, all in one database transaction.
 	 * 
 	 * @param block
 	 */
+	@Override
 	public synchronized void replaceBlockFromBlockchain(Block block) {
 
+		if (block == null)
+			throw new IllegalArgumentException("Block can´t be null.");
+
+		Block replacedBlock = this.blockStore.getBlock(block.getIndex());
+
+		if (this.persistBlock(block, BlockRowWrite.REPLACE, true)) {
+
+			this.balanceLedger.replaceBlock(replacedBlock, block);
+			this.removeMinedTransactionsFromPendingState(block);
+		}
+	}
+
+	/**
+	 * Removes the input block and its mined transactions from the database in one
+	 * database transaction, e.g. because the stored chain tip is not valid
+	 * anymore. The transactions of the block are not moved back into the
+	 * transaction pool.
+	 * 
+	 * @param block
+	 */
+	@Override
+	public synchronized void removeBlockFromBlockchain(Block block) {
+
+		if (this.persistBlock(block, BlockRowWrite.DELETE, false))
+			this.balanceLedger.removeBlock(block);
+	}
+
+	/**
+	 * Replaces the disconnected blocks at the end of the blockchain table with the
+	 * connected blocks of a branch with more work. The block rows and the mined
+	 * transactions of both branches are written in one database transaction, so
+	 * the blockchain is either reorganised completely or not at all. Afterwards
+	 * the balances are rolled back and re-applied, the transactions of the
+	 * connected blocks are removed from the transaction pool and the transactions
+	 * of the disconnected blocks, which are not mined in a connected block and
+	 * which their sender can still pay on the new chain, are inserted into it
+	 * again.
+	 *
+	 * @param disconnectedBlocks
+	 * @param connectedBlocks
+	 * @return
+	 */
+	@Override
+	public synchronized boolean reorganiseBlockchain(List<Block> disconnectedBlocks, List<Block> connectedBlocks) {
+
+		if (disconnectedBlocks == null || connectedBlocks == null)
+			throw new IllegalArgumentException("Disconnected and connected blocks can´t be null.");
+
+		HashSet<Integer> disconnectedIndexes = new HashSet<Integer>();
+		HashSet<Integer> connectedIndexes = new HashSet<Integer>();
+
+		for (Block block : disconnectedBlocks) {
+
+			disconnectedIndexes.add(block.getIndex());
+		}
+
+		for (Block block : connectedBlocks) {
+
+			connectedIndexes.add(block.getIndex());
+		}
+
+		Connection connection = connectionManager.getWriter().getConnection();
+		boolean blockStoreCommitted = false;
+
 		try {
 
-			this.delete.deleteAllTransactionsFromMinedTransactionsWhereBlockIndex(block.getIndex());
-			this.insert.replaceBlockFromBlockchain(block);
-			this.moveMinedTransactionsFromPool(block);
+			connection.setAutoCommit(false);
+
+			for (Block block : disconnectedBlocks) {
+
+				this.delete.deleteAllTransactionsFromMinedTransactionsWhereBlockIndex(block.getIndex());
+
+				if (!connectedIndexes.contains(block.getIndex()))
+					this.blockStore.deleteBlock(block.getIndex());
+			}
+
+			for (Block block : connectedBlocks) {
+
+				if (disconnectedIndexes.contains(block.getIndex())) {
+
+					this.blockStore.replaceBlock(block);
+
+				} else if (!this.blockStore.insertBlock(block)) {
+
+					throw new IOException("Block " + block.getIndex() + " already exists.");
+				}
+
+				this.insert.insertTransactionsIntoMinedTransactions(block.getIndex(), getTransactions(block));
+			}
+
+			this.blockStore.commit();
+			blockStoreCommitted = true;
+			connection.commit();
 
 		} catch (Exception e) {
 
-			logger.error("Exception while replacing block in blockchain.", e);
+			logger.error("Exception while reorganising the blockchain, rolling back.", e);
+
+			rollbackBlockStore(blockStoreCommitted);
+
+			try {
+
+				connection.rollback();
+
+			} catch (SQLException rollbackException) {
+
+				logger.error("Exception while rolling back the reorganisation.", rollbackException);
+			}
+
+			return false;
+
+		} finally {
+
+			try {
+
+				connection.setAutoCommit(true);
+
+			} catch (SQLException e) {
+
+				logger.error("Exception while resetting auto commit.", e);
+			}
+		}
+
+		for (int i = disconnectedBlocks.size() - 1; i >= 0; i--) {
+
+			this.balanceLedger.removeBlock(disconnectedBlocks.get(i));
+			this.blockCache.onBlockRemoved(disconnectedBlocks.get(i).getIndex());
+		}
+
+		HashSet<String> connectedTransactionIDs = new HashSet<String>();
+
+		for (Block block : connectedBlocks) {
+
+			ArrayList<Transaction> transactions = getTransactions(block);
+
+			this.balanceLedger.applyBlock(block);
+			this.blockCache.onBlockWritten(block);
+			this.transactionPool.removeTransactions(transactions);
+			this.transactionPoolJournal.journalDelete(transactions);
+			this.removeMinedTransactionsFromPendingState(block);
+
+			for (Transaction transaction : transactions) {
+
+				connectedTransactionIDs.add(transaction.getTransactionID());
+			}
 		}
+
+		for (Block block : disconnectedBlocks) {
+
+			for (Transaction transaction : getTransactions(block)) {
+
+				if (coinbaseSender.equals(transaction.getFromAdress())
+						|| connectedTransactionIDs.contains(transaction.getTransactionID()))
+					continue;
+
+				if (this.balanceLedger.hasEnoughBalance(transaction)) {
+
+					this.insertTransactionIntoTransactionPool(transaction);
+
+				} else {
+
+					logger.info("Transaction " + transaction.getTransactionID()
+							+ " of a disconnected block dropped, its sender has not enough balance on the new chain.");
+				}
+			}
+		}
+
+		return true;
 	}
 
 	/**
-	 * Provides possibility to access the functions of the SQLselect object without
-	 * directly exposing the object to all classes. Calling a function which selects
-	 * all transaction from the transaction pool where the creation/sending of that
-	 * transaction was before a specific date/time.
+	 * Returns all transaction from the in memory transaction pool where the
+	 * creation/sending of that transaction was before a specific date/time.
 	 * 
 	 * @return
 	 */
-	public synchronized ArrayList<Transaction> getAllTransactionsFromTransactionPoolWhereTimestampBefore(
-			String inputTime) {
+	@Override
+	public ArrayList<Transaction> getAllTransactionsFromTransactionPoolWhereTimestampBefore(String inputTime) {
 
-		return this.select.getAllTransactionsFromTransactionPoolWhereTimestampBefore(inputTime);
+		return this.transactionPool.getAllTransactionsWhereTimestampBefore(inputTime);
 	}
 
 	/**
-	 * Provides possibility to access the functions of the SQLselect object without
-	 * directly exposing the object to all classes. Calling a function which selects
-	 * all transaction from the transaction pool and returning them in a list.
+	 * Returns all transaction from the in memory transaction pool in the order
+	 * they were inserted.
 	 * 
 	 * @return
 	 */
-	public synchronized ArrayList<Transaction> getAllTransactionsFromTransactionPool() {
+	@Override
+	public ArrayList<Transaction> getAllTransactionsFromTransactionPool() {
 
-		return this.select.getAllTransactionsFromTransactionPool();
+		return this.transactionPool.getAllTransactions();
 	}
 
 	/**
@@ -219,7 +545,8 @@ public class DriverClass {
 	 * 
 	 * @return
 	 */
-	public synchronized HashMap<String, String> getAllPublicKeysFromRegister() {
+	@Override
+	public HashMap<String, String> getAllPublicKeysFromRegister() {
 
 		return this.select.getAllPublicKeysFromRegister();
 	}
@@ -232,35 +559,89 @@ public class DriverClass {
 	 * 
 	 * @return
 	 */
-	public synchronized Blockchain getAllBlocksFromBlockchain() {
+	@Override
+	public Blockchain getAllBlocksFromBlockchain() {
 
-		return this.select.getAllBlocksFromBlockchain();
+		return this.blockStore.getAllBlocks();
 	}
 
 	/**
 	 * Provides possibility to access the functions of the SQLselect object without
-	 * directly exposing the object to all classes. Calling a function which selects
-	 * the block from the blockchain table that has the biggest index (is the last
-	 * block in the chain).
+	 * directly exposing the object to all classes. Returns the block from the
+	 * blockchain table that has the biggest index (is the last block in the
+	 * chain), from the block cache or, if it is not cached, by calling a function
+	 * of the SQLselect object.
+	 * 
+	 * @return
+	 */
+	@Override
+	public Block getLastBlockFromBlockchain() {
+
+		Block chainTip = this.blockCache.getChainTip();
+
+		if (chainTip == null) {
+
+			long generation = this.blockCache.getGeneration();
+			chainTip = this.blockStore.getLastBlock();
+			this.blockCache.cacheChainTip(chainTip, generation);
+		}
+
+		return chainTip;
+	}
+
+	/**
+	 * Provides possibility to access the functions of the SQLselect object without
+	 * directly exposing the object to all classes. Returns the block from the
+	 * blockchain table that has the give input block index, from the block cache
+	 * or, if it is not cached, by calling a function of the SQLselect object.
 	 * 
 	 * @return
 	 */
-	public synchronized Block getLastBlockFromBlockchain() {
+	@Override
+	public Block getBlockWithInputIndex(int blockIndexInput) {
+
+		Block block = this.blockCache.getBlock(blockIndexInput);
+
+		if (block == null) {
+
+			long generation = this.blockCache.getGeneration();
+			block = this.blockStore.getBlock(blockIndexInput);
+			this.blockCache.cacheBlock(block, generation);
+		}
+
+		return block;
 
-		return this.select.getLastBlockFromBlockchain();
 	}
 
 	/**
 	 * Provides possibility to access the functions of the SQLselect object without
 	 * directly exposing the object to all classes. Calling a function which selects
-	 * the block from the blockchain table that has the give input block index.
+	 * the blocks from the blockchain table which index is between the input
+	 * indexes, ordered by their index.
 	 * 
+	 * @param firstBlockIndex
+	 * @param lastBlockIndex
 	 * @return
 	 */
-	public synchronized Block getBlockWithInputIndex(int blockIndexInput) {
+	@Override
+	public ArrayList<Block> getBlocksFromBlockchainInIndexRange(int firstBlockIndex, int lastBlockIndex) {
 
-		return this.select.getBlockWithInputIndex(blockIndexInput);
+		return this.blockStore.getBlocksInIndexRange(firstBlockIndex, lastBlockIndex);
+	}
 
+	/**
+	 * Provides possibility to access the functions of the SQLselect object without
+	 * directly exposing the object to all classes. Calling a function which selects
+	 * the index of the block which includes the mined transaction with the input
+	 * ID, or -1 if the transaction was not mined.
+	 * 
+	 * @param transactionID
+	 * @return
+	 */
+	@Override
+	public int getBlockIndexForMinedTransaction(String transactionID) {
+
+		return this.select.getBlockIndexForMinedTransaction(transactionID);
 	}
 
 	/**
@@ -272,43 +653,412 @@ public class DriverClass {
 	 * @param walletAdress
 	 * @return
 	 */
-	public synchronized String getHexStringPublicKeyForCorrespondingWalletAddress(String walletAdress) {
+	@Override
+	public String getHexStringPublicKeyForCorrespondingWalletAddress(String walletAdress) {
 
 		return this.select.getHexStringPublicKeyForCorrespondingWalletAddress(walletAdress);
 	}
 
+	/**
+	 * Returns the decoded public key for a corresponding wallet address from the
+	 * public key cache. If the key is not cached it is selected from the public
+	 * keys table and cached. Returns null if the wallet address is unknown.
+	 * 
+	 * @param walletAdress
+	 * @return
+	 */
+	@Override
+	public PublicKey getPublicKeyForCorrespondingWalletAddress(String walletAdress) {
+
+		PublicKey publicKey = this.publicKeyCache.getPublicKey(walletAdress);
+
+		if (publicKey != null)
+			return publicKey;
+
+		return this.publicKeyCache.putPublicKey(walletAdress,
+				this.select.getHexStringPublicKeyForCorrespondingWalletAddress(walletAdress));
+	}
+
+	/**
+	 * Returns the cache containing the decoded public keys of the last used wallet
+	 * addresses.
+	 * 
+	 * @return
+	 */
+	public PublicKeyCache getPublicKeyCache() {
+		return publicKeyCache;
+	}
+
 	/**
 	 * Method that receives a newly mined block and removes the transaction that
 	 * this block contains from the transaction pool and inserts them into the table
 	 * which contains transactions that were already mined (included in a
-	 * block/chain).
+	 * block/chain). Both are written as batches in one database transaction.
 	 * 
 	 * @param block
 	 */
+	@Override
 	public synchronized void moveMinedTransactionsFromPool(Block block) {
 
+		if (this.persistBlock(block, BlockRowWrite.NONE, true))
+			this.removeMinedTransactionsFromPendingState(block);
+
+	}
+
+	/**
+	 * Returns a copy of the merkle accumulator which contains all transactions of
+	 * the transaction pool in the order they were inserted, so that the merkle
+	 * root of a new block doesn´t have to be calculated from the whole pool. After
+	 * transactions were removed from the pool the accumulator is recreated here.
+	 * 
+	 * @return
+	 */
+	@Override
+	public synchronized MerkleAccumulator getTransactionPoolAccumulator() {
+
+		if (this.transactionPoolAccumulator == null)
+			this.rebuildTransactionPoolAccumulator();
+
+		return new MerkleAccumulator(this.transactionPoolAccumulator);
+	}
+
+	/**
+	 * Returns the ledger containing the blockchain balance and the pending amount
+	 * of every wallet address, which is kept up to date with the blockchain and
+	 * transaction pool tables.
+	 * 
+	 * @return
+	 */
+	@Override
+	public BalanceLedger getBalanceLedger() {
+		return balanceLedger;
+	}
+
+	/**
+	 * Returns the cache of the recently used blocks, e.g. to monitor its hit rate.
+	 * 
+	 * @return
+	 */
+	public BlockCache getBlockCache() {
+		return blockCache;
+	}
+
+	/**
+	 * Returns the in memory transaction pool, e.g. to select the transactions of
+	 * a sender.
+	 * 
+	 * @return
+	 */
+	public TransactionPool getTransactionPool() {
+		return transactionPool;
+	}
+
+	/**
+	 * Returns the journal which writes the transaction pool into the database.
+	 * 
+	 * @return
+	 */
+	public TransactionPoolJournal getTransactionPoolJournal() {
+		return transactionPoolJournal;
+	}
+
+	/**
+	 * Returns the storage engine which saves the blocks.
+	 * 
+	 * @return
+	 */
+	public EBlockStorageEngine getBlockStorageEngine() {
+		return blockStorageEngine;
+	}
+
+	/**
+	 * Helper method which writes the block into the block store (depending on the
+	 * input BlockRowWrite) and the mined transactions rows of the input block as
+	 * one database transaction on the writer connection. The rows of the mined
+	 * transactions are sent as a batch. The block store is committed right before
+	 * the database. If any statement fails, the database transaction and the block
+	 * store are rolled back, the commit of the block store is reverted if the
+	 * database commit failed, and false is returned. After the commit the written
+	 * block is passed to the block cache and the mined transactions are removed
+	 * from the in memory transaction pool, their deletion from the transactionPool
+	 * table is queued in the journal.
+	 * 
+	 * @param block
+	 * @param blockRowWrite
+	 * @param moveMinedTransactions
+	 * @return
+	 */
+	private boolean persistBlock(Block block, BlockRowWrite blockRowWrite, boolean moveMinedTransactions) {
+
 		if (block == null)
 			throw new IllegalArgumentException("Block can´t be null.");
 
-		for (Transaction transaction : block.getTransactionList()) {
+		ArrayList<Transaction> transactions = block.getTransactionList() == null ? new ArrayList<Transaction>()
+				: block.getTransactionList();
+		Connection connection = connectionManager.getWriter().getConnection();
+		boolean blockRowWritten = blockRowWrite != BlockRowWrite.NONE;
+		boolean blockStoreCommitted = false;
+
+		try {
+
+			connection.setAutoCommit(false);
+
+			if (blockRowWrite == BlockRowWrite.INSERT) {
+
+				blockRowWritten = this.blockStore.insertBlock(block);
+
+				// a block with the same index exists, nothing was written
+				if (!blockRowWritten)
+					return false;
+
+			} else if (blockRowWrite == BlockRowWrite.REPLACE) {
+
+				this.delete.deleteAllTransactionsFromMinedTransactionsWhereBlockIndex(block.getIndex());
+				this.blockStore.replaceBlock(block);
+
+			} else if (blockRowWrite == BlockRowWrite.DELETE) {
+
+				this.delete.deleteAllTransactionsFromMinedTransactionsWhereBlockIndex(block.getIndex());
+				this.blockStore.deleteBlock(block.getIndex());
+			}
+
+			if (moveMinedTransactions)
+				this.insert.insertTransactionsIntoMinedTransactions(block.getIndex(), transactions);
+
+			this.blockStore.commit();
+			blockStoreCommitted = true;
+			connection.commit();
+
+			if (moveMinedTransactions) {
+
+				this.transactionPool.removeTransactions(transactions);
+				this.transactionPoolJournal.journalDelete(transactions);
+			}
+
+			if (blockRowWrite == BlockRowWrite.DELETE) {
 
-			this.delete.deleteTransactionFromTransactionPool(transaction);
-			this.insert.insertTransactionIntoMinedTransactions(block.getIndex(), transaction);
+				this.blockCache.onBlockRemoved(block.getIndex());
+
+			} else if (blockRowWritten) {
+
+				this.blockCache.onBlockWritten(block);
+			}
+
+			return true;
+
+		} catch (Exception e) {
+
+			logger.error("Exception while persisting block " + block.getIndex() + ", rolling back.", e);
+
+			rollbackBlockStore(blockStoreCommitted);
+
+			try {
+
+				connection.rollback();
+
+			} catch (SQLException rollbackException) {
+
+				logger.error("Exception while rolling back block " + block.getIndex() + ".", rollbackException);
+			}
+
+			return false;
+
+		} finally {
+
+			try {
+
+				connection.setAutoCommit(true);
+
+			} catch (SQLException e) {
+
+				logger.error("Exception while resetting auto commit.", e);
+			}
 		}
+	}
+
+	/**
+	 * Helper method which discards the pending blocks of the block store and
+	 * reverts its last commit, if it was committed before the database commit
+	 * failed.
+	 * 
+	 * @param blockStoreCommitted
+	 */
+	private void rollbackBlockStore(boolean blockStoreCommitted) {
 
+		this.blockStore.rollback();
+
+		if (!blockStoreCommitted)
+			return;
+
+		try {
+
+			this.blockStore.revertCommit();
+
+		} catch (IOException e) {
+
+			logger.error("Exception while reverting the block store commit.", e);
+		}
 	}
 
 	/**
-	 * Closes the connection to the database.
+	 * Helper method which returns the transactions of the block or an empty list
+	 * if the block has no transactions.
+	 * 
+	 * @param block
+	 * @return
 	 */
-	public void closeDbConnection() {
+	private static ArrayList<Transaction> getTransactions(Block block) {
+
+		return block.getTransactionList() == null ? new ArrayList<Transaction>() : block.getTransactionList();
+	}
+
+	/**
+	 * Helper method which removes the transactions of the persisted block from the
+	 * pending amounts of the balance ledger and from the transaction pool merkle
+	 * accumulator, which keeps the subtrees of the transactions before the first
+	 * removed one.
+	 * 
+	 * @param block
+	 */
+	private void removeMinedTransactionsFromPendingState(Block block) {
+
+		ArrayList<Transaction> transactions = getTransactions(block);
+
+		for (Transaction transaction : transactions) {
+
+			this.balanceLedger.removePendingTransaction(transaction);
+		}
+
+		if (this.transactionPoolAccumulator != null)
+			this.transactionPoolAccumulator.removeTransactions(transactions);
+	}
+
+	/**
+	 * Helper method which rewrites all blocks which were saved with Java
+	 * serialization by older versions of the node in the encoding of the
+	 * BlockCodec object, in one database transaction. Blocks in both encodings can
+	 * be read, so a failed migration is rolled back and tried again on the next
+	 * start.
+	 */
+	private void migrateLegacyBlockEncoding() {
+
+		ArrayList<Integer> legacyBlockIndexes = this.select.getBlockIndexesWithLegacyEncoding();
+
+		if (legacyBlockIndexes.isEmpty())
+			return;
+
+		Connection connection = connectionManager.getWriter().getConnection();
+
 		try {
-			statement.close();
-			connection.close();
-		} catch (SQLException e) {
 
-			logger.error("Database closing exception.", e);
+			connection.setAutoCommit(false);
+
+			for (int blockIndex : legacyBlockIndexes) {
+
+				Block block = this.select.getBlockWithInputIndex(blockIndex);
+
+				if (block != null)
+					this.insert.replaceBlockFromBlockchain(block);
+			}
+
+			connection.commit();
+			logger.info("Migrated " + legacyBlockIndexes.size() + " blocks to the binary block encoding.");
+
+		} catch (Exception e) {
+
+			logger.error("Exception while migrating the block encoding, rolling back.", e);
+
+			try {
+
+				connection.rollback();
+
+			} catch (SQLException rollbackException) {
+
+				logger.error("Exception while rolling back the block encoding migration.", rollbackException);
+			}
+
+		} finally {
+
+			try {
+
+				connection.setAutoCommit(true);
+
+			} catch (SQLException e) {
+
+				logger.error("Exception while resetting auto commit.", e);
+			}
+		}
+	}
+
+	/**
+	 * Helper method which recreates the balance ledger from the blocks and the
+	 * transaction pool in the database.
+	 */
+	private void rebuildBalanceLedger() {
+
+		this.balanceLedger = new BalanceLedger();
+
+		for (Block block : this.blockStore.getAllBlocks().getChain()) {
+
+			this.balanceLedger.applyBlock(block);
 		}
+
+		for (Transaction transaction : this.transactionPool.getAllTransactions()) {
+
+			this.balanceLedger.addPendingTransaction(transaction);
+		}
+	}
+
+	/**
+	 * Helper method which recovers the in memory transaction pool from the
+	 * transactionPool table. Transactions which were already mined (e.g. because
+	 * the node stopped before their deletion was written by the journal) are not
+	 * loaded and their deletion is queued again.
+	 */
+	private void loadTransactionPool() {
+
+		this.transactionPool.clear();
+
+		ArrayList<Transaction> minedTransactions = new ArrayList<Transaction>();
+
+		for (Transaction transaction : this.select.getAllTransactionsFromTransactionPool()) {
+
+			if (this.select.getBlockIndexForMinedTransaction(transaction.getTransactionID()) >= 0)
+				minedTransactions.add(transaction);
+			else
+				this.transactionPool.addTransaction(transaction);
+		}
+
+		this.transactionPoolJournal.journalDelete(minedTransactions);
+	}
+
+	/**
+	 * Helper method which recreates the transaction pool merkle accumulator from
+	 * the transactions in the pool, after transactions were removed from it.
+	 */
+	private void rebuildTransactionPoolAccumulator() {
+
+		this.transactionPoolAccumulator = new MerkleAccumulator(this.transactionPool.getAllTransactions());
+	}
+
+	/**
+	 * The block row which is written together with the mined transactions of a
+	 * block.
+	 */
+	private enum BlockRowWrite {
+		NONE, INSERT, REPLACE, DELETE
+	}
+
+	/**
+	 * Writes the queued transaction pool changes and closes all connections to the
+	 * database and the block store.
+	 */
+	@Override
+	public void closeDbConnection() {
+
+		transactionPoolJournal.close();
+		blockStore.close();
+		connectionManager.close();
 	}
 
 }
@@ -0,0 +1,29 @@
+package blockchain.database;
+
+/**
+ * This EBlockStorageEngine enumeration is used to choose the storage engine
+ * which saves the blocks of the blockchain in the DriverClass object, or the
+ * InMemoryDatabase object which keeps all data of the node in memory.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public enum EBlockStorageEngine {
+
+	/**
+	 * Blocks are saved as rows of the blockChain table by the SQLiteBlockStore.
+	 */
+	SQLITE,
+
+	/**
+	 * Blocks are saved in append-only segment files by the MappedBlockStore.
+	 */
+	MAPPED_FILE,
+
+	/**
+	 * All data of the node, including the blocks, is kept in memory by the
+	 * InMemoryDatabase.
+	 */
+	IN_MEMORY
+}
@@ -0,0 +1,450 @@
+package blockchain.database;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import blockchain.block.Block;
+import blockchain.block.MerkleAccumulator;
+import blockchain.block.Transaction;
+import blockchain.chain.BalanceLedger;
+import blockchain.chain.Blockchain;
+
+/**
+ * This InMemoryDatabase object is used to keep all data of a node in memory
+ * instead of a sqlite database, so that many nodes can be run in one JVM (e.g.
+ * for simulations and load tests) without any disk I/O. The blocks are kept in
+ * a list in which the position of a block is its index, the public keys and the
+ * mined transactions in concurrent maps and the transaction pool in a
+ * TransactionPool object. Writes are synchronized like the writes of
+ * the DriverClass object, the blocks are read under a read lock. The data is
+ * lost when the node stops.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class InMemoryDatabase implements NodeDatabase {
+
+	private static final int publicKeyCacheCapacity = 10000;
+	private static final int transactionPoolCapacity = 50000;
+	private static final String coinbaseSender = "systemWallet";
+	private final ArrayList<Block> blocks;
+	private final ReentrantReadWriteLock blockLock;
+	private final TransactionPool transactionPool;
+	private final ConcurrentHashMap<String, Integer> minedTransactionBlockIndexes;
+	private final ConcurrentHashMap<String, String> publicKeys;
+	private final PublicKeyCache publicKeyCache;
+	private final BalanceLedger balanceLedger;
+	private MerkleAccumulator transactionPoolAccumulator;
+
+	/**
+	 * Instantiates a new empty InMemoryDatabase object.
+	 */
+	public InMemoryDatabase() {
+		super();
+		this.blocks = new ArrayList<Block>();
+		this.blockLock = new ReentrantReadWriteLock();
+		this.transactionPool = new TransactionPool(transactionPoolCapacity);
+		this.minedTransactionBlockIndexes = new ConcurrentHashMap<String, Integer>();
+		this.publicKeys = new ConcurrentHashMap<String, String>();
+		this.publicKeyCache = new PublicKeyCache(publicKeyCacheCapacity);
+		this.balanceLedger = new BalanceLedger();
+		this.transactionPoolAccumulator = new MerkleAccumulator();
+	}
+
+	@Override
+	public synchronized void insertTransactionIntoTransactionPool(Transaction transaction) {
+
+		if (transaction == null)
+			throw new IllegalArgumentException("Transaction can´t be null.");
+
+		ArrayList<Transaction> evictedTransactions = transactionPool.addTransaction(transaction);
+
+		if (evictedTransactions == null)
+			return;
+
+		this.balanceLedger.addPendingTransaction(transaction);
+
+		for (Transaction evictedTransaction : evictedTransactions) {
+
+			this.balanceLedger.removePendingTransaction(evictedTransaction);
+		}
+
+		if (this.transactionPoolAccumulator != null) {
+
+			this.transactionPoolAccumulator.removeTransactions(evictedTransactions);
+			this.transactionPoolAccumulator.addTransaction(transaction);
+		}
+	}
+
+	@Override
+	public synchronized void insertWalletKeyIntoDatabase(String walletAdress, String walletKeyHexString) {
+
+		if (walletAdress == null || walletKeyHexString == null || publicKeys.containsKey(walletAdress))
+			return;
+
+		publicKeys.put(walletAdress, walletKeyHexString);
+		publicKeyCache.putPublicKey(walletAdress, walletKeyHexString);
+	}
+
+	@Override
+	public synchronized void insertBlockIntoBlockchain(Block block) {
+
+		if (writeBlock(block, false))
+			this.balanceLedger.applyBlock(block);
+	}
+
+	@Override
+	public synchronized boolean insertBlockIntoBlockchainAndMoveMinedTransactions(Block block) {
+
+		if (!writeBlock(block, false))
+			return false;
+
+		this.balanceLedger.applyBlock(block);
+		this.moveTransactions(block);
+
+		return true;
+	}
+
+	@Override
+	public synchronized void replaceBlockFromBlockchain(Block block) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Block can´t be null.");
+
+		Block replacedBlock = getBlockWithInputIndex(block.getIndex());
+
+		removeMinedTransactions(replacedBlock);
+		writeBlock(block, true);
+
+		this.balanceLedger.replaceBlock(replacedBlock, block);
+		this.moveTransactions(block);
+	}
+
+	@Override
+	public synchronized void removeBlockFromBlockchain(Block block) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Block can´t be null.");
+
+		removeMinedTransactions(getBlockWithInputIndex(block.getIndex()));
+
+		blockLock.writeLock().lock();
+
+		try {
+
+			if (block.getIndex() < 0 || block.getIndex() >= blocks.size() || blocks.get(block.getIndex()) == null)
+				return;
+
+			blocks.set(block.getIndex(), null);
+
+			while (!blocks.isEmpty() && blocks.get(blocks.size() - 1) == null) {
+
+				blocks.remove(blocks.size() - 1);
+			}
+
+		} finally {
+
+			blockLock.writeLock().unlock();
+		}
+
+		this.balanceLedger.removeBlock(block);
+	}
+
+	@Override
+	public synchronized boolean reorganiseBlockchain(List<Block> disconnectedBlocks, List<Block> connectedBlocks) {
+
+		if (disconnectedBlocks == null || connectedBlocks == null)
+			throw new IllegalArgumentException("Disconnected and connected blocks can´t be null.");
+
+		HashSet<String> connectedTransactionIDs = new HashSet<String>();
+
+		blockLock.writeLock().lock();
+
+		try {
+
+			for (int i = disconnectedBlocks.size() - 1; i >= 0; i--) {
+
+				removeBlockFromBlockchain(disconnectedBlocks.get(i));
+			}
+
+			for (Block block : connectedBlocks) {
+
+				writeBlock(block, true);
+
+				this.balanceLedger.applyBlock(block);
+				this.moveTransactions(block);
+
+				if (block.getTransactionList() != null) {
+
+					for (Transaction transaction : block.getTransactionList()) {
+
+						connectedTransactionIDs.add(transaction.getTransactionID());
+					}
+				}
+			}
+
+		} finally {
+
+			blockLock.writeLock().unlock();
+		}
+
+		for (Block block : disconnectedBlocks) {
+
+			if (block.getTransactionList() == null)
+				continue;
+
+			for (Transaction transaction : block.getTransactionList()) {
+
+				if (!coinbaseSender.equals(transaction.getFromAdress())
+						&& !connectedTransactionIDs.contains(transaction.getTransactionID())
+						&& balanceLedger.hasEnoughBalance(transaction))
+					insertTransactionIntoTransactionPool(transaction);
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public synchronized void moveMinedTransactionsFromPool(Block block) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Block can´t be null.");
+
+		this.moveTransactions(block);
+	}
+
+	@Override
+	public ArrayList<Transaction> getAllTransactionsFromTransactionPoolWhereTimestampBefore(String inputTime) {
+
+		return transactionPool.getAllTransactionsWhereTimestampBefore(inputTime);
+	}
+
+	@Override
+	public ArrayList<Transaction> getAllTransactionsFromTransactionPool() {
+
+		return transactionPool.getAllTransactions();
+	}
+
+	@Override
+	public HashMap<String, String> getAllPublicKeysFromRegister() {
+
+		return new HashMap<String, String>(publicKeys);
+	}
+
+	@Override
+	public Blockchain getAllBlocksFromBlockchain() {
+
+		Blockchain blockchain = new Blockchain();
+
+		for (Block block : getBlocksFromBlockchainInIndexRange(0, Integer.MAX_VALUE)) {
+
+			blockchain.addBlockToBlockchain(block);
+		}
+
+		return blockchain;
+	}
+
+	@Override
+	public Block getLastBlockFromBlockchain() {
+
+		blockLock.readLock().lock();
+
+		try {
+
+			return blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+
+		} finally {
+
+			blockLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public Block getBlockWithInputIndex(int blockIndexInput) {
+
+		blockLock.readLock().lock();
+
+		try {
+
+			return blockIndexInput < 0 || blockIndexInput >= blocks.size() ? null : blocks.get(blockIndexInput);
+
+		} finally {
+
+			blockLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public ArrayList<Block> getBlocksFromBlockchainInIndexRange(int firstBlockIndex, int lastBlockIndex) {
+
+		ArrayList<Block> blocksInRange = new ArrayList<Block>();
+
+		blockLock.readLock().lock();
+
+		try {
+
+			for (int i = Math.max(0, firstBlockIndex); i <= lastBlockIndex && i < blocks.size(); i++) {
+
+				if (blocks.get(i) != null)
+					blocksInRange.add(blocks.get(i));
+			}
+
+		} finally {
+
+			blockLock.readLock().unlock();
+		}
+
+		return blocksInRange;
+	}
+
+	@Override
+	public int getBlockIndexForMinedTransaction(String transactionID) {
+
+		Integer blockIndex = transactionID == null ? null : minedTransactionBlockIndexes.get(transactionID);
+
+		return blockIndex == null ? -1 : blockIndex;
+	}
+
+	@Override
+	public String getHexStringPublicKeyForCorrespondingWalletAddress(String walletAdress) {
+
+		return walletAdress == null ? null : publicKeys.get(walletAdress);
+	}
+
+	@Override
+	public PublicKey getPublicKeyForCorrespondingWalletAddress(String walletAdress) {
+
+		PublicKey publicKey = this.publicKeyCache.getPublicKey(walletAdress);
+
+		if (publicKey != null)
+			return publicKey;
+
+		return this.publicKeyCache.putPublicKey(walletAdress,
+				getHexStringPublicKeyForCorrespondingWalletAddress(walletAdress));
+	}
+
+	@Override
+	public synchronized MerkleAccumulator getTransactionPoolAccumulator() {
+
+		if (this.transactionPoolAccumulator == null)
+			this.transactionPoolAccumulator = new MerkleAccumulator(transactionPool.getAllTransactions());
+
+		return new MerkleAccumulator(this.transactionPoolAccumulator);
+	}
+
+	@Override
+	public BalanceLedger getBalanceLedger() {
+		return balanceLedger;
+	}
+
+	/**
+	 * Removes all data, because nothing has to be closed.
+	 */
+	@Override
+	public synchronized void closeDbConnection() {
+
+		blockLock.writeLock().lock();
+
+		try {
+
+			blocks.clear();
+
+		} finally {
+
+			blockLock.writeLock().unlock();
+		}
+
+		transactionPool.clear();
+
+		minedTransactionBlockIndexes.clear();
+		publicKeys.clear();
+	}
+
+	/**
+	 * Helper method which puts the block at the position of its index into the
+	 * block list. If replace is false and a block with the same index exists,
+	 * nothing is written and false is returned.
+	 *
+	 * @param block
+	 * @param replace
+	 * @return
+	 */
+	private boolean writeBlock(Block block, boolean replace) {
+
+		if (block == null)
+			throw new IllegalArgumentException("Block can´t be null.");
+
+		if (block.getIndex() < 0)
+			throw new IllegalArgumentException("Block index can´t be negative.");
+
+		blockLock.writeLock().lock();
+
+		try {
+
+			while (blocks.size() <= block.getIndex()) {
+
+				blocks.add(null);
+			}
+
+			if (!replace && blocks.get(block.getIndex()) != null)
+				return false;
+
+			blocks.set(block.getIndex(), block);
+
+			return true;
+
+		} finally {
+
+			blockLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Helper method which moves the transactions of the block from the
+	 * transaction pool into the mined transactions and removes them from the
+	 * pending amounts and the transaction pool merkle accumulator.
+	 *
+	 * @param block
+	 */
+	private void moveTransactions(Block block) {
+
+		if (block.getTransactionList() == null)
+			return;
+
+		for (Transaction transaction : block.getTransactionList()) {
+
+			minedTransactionBlockIndexes.putIfAbsent(transaction.getTransactionID(), block.getIndex());
+			this.balanceLedger.removePendingTransaction(transaction);
+		}
+
+		transactionPool.removeTransactions(block.getTransactionList());
+
+		if (this.transactionPoolAccumulator != null)
+			this.transactionPoolAccumulator.removeTransactions(block.getTransactionList());
+	}
+
+	/**
+	 * Helper method which removes the mined transactions of the stored block,
+	 * which can be null.
+	 *
+	 * @param storedBlock
+	 */
+	private void removeMinedTransactions(Block storedBlock) {
+
+		if (storedBlock == null || storedBlock.getTransactionList() == null)
+			return;
+
+		for (Transaction transaction : storedBlock.getTransactionList()) {
+
+			minedTransactionBlockIndexes.remove(transaction.getTransactionID(), storedBlock.getIndex());
+		}
+	}
+
+}
@@ -0,0 +1,848 @@
+package blockchain.database;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import blockchain.block.Block;
+import blockchain.block.BlockCodec;
+import blockchain.chain.Blockchain;
+
+/**
+ * This MappedBlockStore object is used to save the blocks in append-only
+ * segment files instead of the database. Every inserted, replaced or removed
+ * block is appended as a record to the last segment, a new segment is started
+ * when the last one is full. The offsets of the current version of every block
+ * are kept in an index, which is rebuilt by replaying the records when the
+ * store is opened, and blocks are read through memory mapped views of the
+ * segments. A record which was not completely written (e.g. because the node
+ * was stopped) is detected by its checksum and cut off. Replaced and removed
+ * blocks stay in the segments, they are only dropped from the index. The index
+ * is only updated after all records of a commit were written and forced to the
+ * disk, and the last commit can be reverted by cutting its records off again,
+ * if the database transaction it belongs to fails.
+ *
+ * Record: | payloadLength | type | blockIndex | payload | checksum |
+ *
+ * Payload of a block: | timeStamp | transactionCounter | blockHeader |
+ * transactions |, the block header and transactions encoded by the BlockCodec
+ * object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class MappedBlockStore implements BlockStore {
+
+	private static Logger logger = LoggerFactory.getLogger(MappedBlockStore.class);
+	private static final long defaultSegmentSize = 64L * 1024 * 1024;
+	private static final String segmentPrefix = "segment-";
+	private static final String segmentSuffix = ".blocks";
+	private static final byte blockRecord = 1;
+	private static final byte removalRecord = 2;
+	private static final int recordHeaderLength = 9;
+	private static final int checksumLength = 4;
+	private final File directory;
+	private final long segmentSize;
+	private final ArrayList<Segment> segments;
+	private final TreeMap<Integer, BlockLocation> blockLocations;
+	private final ArrayList<PendingRecord> pendingRecords;
+	private CommittedRecords lastCommit;
+
+	/**
+	 * Instantiates a new MappedBlockStore object which saves its segments in the
+	 * input directory and replays the segments which already exist. The
+	 * parameters must not be null.
+	 *
+	 * @param directory
+	 * @throws IOException
+	 */
+	public MappedBlockStore(File directory) throws IOException {
+		this(directory, defaultSegmentSize);
+	}
+
+	/**
+	 * Instantiates a new MappedBlockStore object which saves its segments with the
+	 * input maximal size in the input directory and replays the segments which
+	 * already exist. The parameters must not be null.
+	 *
+	 * @param directory
+	 * @param segmentSize
+	 * @throws IOException
+	 */
+	public MappedBlockStore(File directory, long segmentSize) throws IOException {
+		super();
+
+		if (directory == null)
+			throw new IllegalArgumentException("Directory of the block store can´t be null");
+
+		if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Segment size has to be positive and at most 2 GB");
+
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Directory " + directory + " of the block store couldn´t be created");
+
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.segments = new ArrayList<Segment>();
+		this.blockLocations = new TreeMap<Integer, BlockLocation>();
+		this.pendingRecords = new ArrayList<PendingRecord>();
+		this.lastCommit = null;
+
+		this.openSegments();
+	}
+
+	@Override
+	public synchronized boolean insertBlock(Block block) throws IOException {
+
+		if (containsBlock(block.getIndex()))
+			return false;
+
+		pendingRecords.add(new PendingRecord(block.getIndex(), encodeRecord(blockRecord, block)));
+
+		return true;
+	}
+
+	@Override
+	public synchronized void replaceBlock(Block block) throws IOException {
+
+		pendingRecords.add(new PendingRecord(block.getIndex(), encodeRecord(blockRecord, block)));
+	}
+
+	@Override
+	public synchronized void deleteBlock(int blockIndex) throws IOException {
+
+		if (containsBlock(blockIndex))
+			pendingRecords.add(new PendingRecord(blockIndex, encodeRecord(removalRecord, blockIndex, new byte[0])));
+	}
+
+	/**
+	 * Appends the pending records to the segments, forces them to the disk and
+	 * updates the index, so that the written blocks can be read. If a record
+	 * can´t be written, the written records are cut off again and the index stays
+	 * unchanged.
+	 */
+	@Override
+	public synchronized void commit() throws IOException {
+
+		this.lastCommit = null;
+
+		if (pendingRecords.isEmpty())
+			return;
+
+		int firstSegmentNumber = segments.size() - 1;
+		CommittedRecords committedRecords = new CommittedRecords(firstSegmentNumber,
+				segments.get(firstSegmentNumber).size);
+
+		try {
+
+			Segment segment = segments.get(firstSegmentNumber);
+			ArrayList<BlockLocation> locations = new ArrayList<BlockLocation>();
+
+			for (PendingRecord pendingRecord : pendingRecords) {
+
+				if (segment.size > 0 && segment.size + pendingRecord.record.length > segmentSize)
+					segment = createSegment(segments.size());
+
+				long offset = segment.append(pendingRecord.record);
+
+				locations.add(new BlockLocation(segments.size() - 1, offset + recordHeaderLength,
+						pendingRecord.record.length - recordHeaderLength - checksumLength));
+			}
+
+			for (int i = firstSegmentNumber; i < segments.size(); i++) {
+
+				segments.get(i).channel.force(false);
+			}
+
+			for (int i = 0; i < pendingRecords.size(); i++) {
+
+				PendingRecord pendingRecord = pendingRecords.get(i);
+
+				committedRecords.blockIndexes.add(pendingRecord.blockIndex);
+				committedRecords.previousLocations.add(blockLocations.get(pendingRecord.blockIndex));
+
+				applyRecord(pendingRecord.record[4], pendingRecord.blockIndex, locations.get(i));
+			}
+
+			this.lastCommit = committedRecords;
+
+		} catch (IOException e) {
+
+			cutOffSegments(committedRecords.firstSegmentNumber, committedRecords.firstSegmentSize);
+			throw e;
+
+		} finally {
+
+			pendingRecords.clear();
+		}
+	}
+
+	/**
+	 * Cuts the records of the last commit off the segments and restores the index
+	 * as it was before the commit, if the database transaction which was committed
+	 * after it failed. Does nothing if the last commit was already reverted or
+	 * wrote nothing.
+	 */
+	@Override
+	public synchronized void revertCommit() throws IOException {
+
+		CommittedRecords committedRecords = this.lastCommit;
+
+		if (committedRecords == null)
+			return;
+
+		this.lastCommit = null;
+
+		for (int i = committedRecords.blockIndexes.size() - 1; i >= 0; i--) {
+
+			BlockLocation previousLocation = committedRecords.previousLocations.get(i);
+
+			if (previousLocation == null) {
+
+				blockLocations.remove(committedRecords.blockIndexes.get(i));
+
+			} else {
+
+				blockLocations.put(committedRecords.blockIndexes.get(i), previousLocation);
+			}
+		}
+
+		cutOffSegments(committedRecords.firstSegmentNumber, committedRecords.firstSegmentSize);
+	}
+
+	@Override
+	public synchronized void rollback() {
+
+		pendingRecords.clear();
+	}
+
+	@Override
+	public Block getBlock(int blockIndex) {
+
+		byte[] payload;
+
+		synchronized (this) {
+
+			payload = readPayload(blockLocations.get(blockIndex));
+		}
+
+		return decodeBlock(blockIndex, payload);
+	}
+
+	@Override
+	public Block getLastBlock() {
+
+		int blockIndex;
+		byte[] payload;
+
+		synchronized (this) {
+
+			if (blockLocations.isEmpty())
+				return null;
+
+			blockIndex = blockLocations.lastKey();
+			payload = readPayload(blockLocations.get(blockIndex));
+		}
+
+		return decodeBlock(blockIndex, payload);
+	}
+
+	@Override
+	public ArrayList<Block> getBlocksInIndexRange(int firstBlockIndex, int lastBlockIndex) {
+
+		ArrayList<Block> blocks = new ArrayList<Block>();
+
+		if (firstBlockIndex > lastBlockIndex)
+			return blocks;
+
+		for (Map.Entry<Integer, byte[]> entry : readPayloads(firstBlockIndex, lastBlockIndex).entrySet()) {
+
+			Block block = decodeBlock(entry.getKey(), entry.getValue());
+
+			if (block != null)
+				blocks.add(block);
+		}
+
+		return blocks;
+	}
+
+	@Override
+	public Blockchain getAllBlocks() {
+
+		Blockchain blockchain = new Blockchain();
+
+		for (Map.Entry<Integer, byte[]> entry : readPayloads(Integer.MIN_VALUE, Integer.MAX_VALUE).entrySet()) {
+
+			Block block = decodeBlock(entry.getKey(), entry.getValue());
+
+			if (block != null)
+				blockchain.addBlockToBlockchain(block);
+		}
+
+		return blockchain;
+	}
+
+	/**
+	 * Deletes all segments and starts with an empty one. The memory mapped views
+	 * of the segments are released first, because a mapped file can´t be deleted
+	 * on every operating system.
+	 */
+	@Override
+	public synchronized void clear() throws IOException {
+
+		pendingRecords.clear();
+		blockLocations.clear();
+		this.lastCommit = null;
+
+		for (Segment segment : segments) {
+
+			segment.close();
+
+			if (!segment.file.delete())
+				throw new IOException("Segment " + segment.file + " of the block store couldn´t be deleted");
+		}
+
+		segments.clear();
+		createSegment(0);
+	}
+
+	@Override
+	public synchronized void close() {
+
+		for (Segment segment : segments) {
+
+			segment.close();
+		}
+	}
+
+	/**
+	 * Returns the amount of blocks in the index.
+	 *
+	 * @return
+	 */
+	public synchronized int size() {
+		return blockLocations.size();
+	}
+
+	/**
+	 * Returns the amount of segment files.
+	 *
+	 * @return
+	 */
+	public synchronized int getSegmentCount() {
+		return segments.size();
+	}
+
+	/**
+	 * Helper method which opens the existing segments in the order of their
+	 * numbers and replays their records, or creates the first segment if none
+	 * exists.
+	 *
+	 * @throws IOException
+	 */
+	private void openSegments() throws IOException {
+
+		String[] segmentNames = directory.list(new FilenameFilter() {
+
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.startsWith(segmentPrefix) && name.endsWith(segmentSuffix);
+			}
+		});
+
+		Arrays.sort(segmentNames);
+
+		for (int i = 0; i < segmentNames.length; i++) {
+
+			Segment segment = new Segment(new File(directory, segmentNames[i]));
+			segments.add(segment);
+
+			replaySegment(segment, i);
+		}
+
+		if (segments.isEmpty())
+			createSegment(0);
+	}
+
+	/**
+	 * Helper method which reads all records of the segment through a memory
+	 * mapped view and applies them to the index. The segment is cut off at the
+	 * first record which is incomplete or has a wrong checksum.
+	 *
+	 * @param segment
+	 * @param segmentNumber
+	 * @throws IOException
+	 */
+	private void replaySegment(Segment segment, int segmentNumber) throws IOException {
+
+		long fileSize = segment.channel.size();
+
+		if (fileSize > Integer.MAX_VALUE)
+			throw new IOException("Segment " + segment.file + " of the block store is too large");
+
+		MappedByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+		CRC32 checksum = new CRC32();
+		int position = 0;
+
+		while (position + recordHeaderLength + checksumLength <= fileSize) {
+
+			int payloadLength = buffer.getInt(position);
+			int recordLength = recordHeaderLength + payloadLength + checksumLength;
+
+			if (payloadLength < 0 || position + (long) recordLength > fileSize)
+				break;
+
+			byte[] checkedBytes = new byte[recordLength - checksumLength - 4];
+			ByteBuffer view = buffer.duplicate();
+			view.position(position + 4);
+			view.get(checkedBytes);
+
+			checksum.reset();
+			checksum.update(checkedBytes, 0, checkedBytes.length);
+
+			byte type = checkedBytes[0];
+
+			if ((int) checksum.getValue() != view.getInt() || (type != blockRecord && type != removalRecord))
+				break;
+
+			applyRecord(type, buffer.getInt(position + 5),
+					new BlockLocation(segmentNumber, position + recordHeaderLength, payloadLength));
+
+			position += recordLength;
+		}
+
+		segment.size = position;
+
+		if (position < fileSize) {
+
+			logger.warn("Segment " + segment.file + " cut off after " + position + " of " + fileSize
+					+ " bytes because of an incomplete record.");
+
+			unmap(buffer);
+			segment.channel.truncate(position);
+
+		} else {
+
+			segment.mapped = buffer;
+		}
+	}
+
+	/**
+	 * Helper method which applies a record to the index.
+	 *
+	 * @param type
+	 * @param blockIndex
+	 * @param location
+	 */
+	private void applyRecord(byte type, int blockIndex, BlockLocation location) {
+
+		if (type == blockRecord) {
+
+			blockLocations.put(blockIndex, location);
+
+		} else {
+
+			blockLocations.remove(blockIndex);
+		}
+	}
+
+	/**
+	 * Helper method which cuts the segments off after the input size of the
+	 * segment with the input number and deletes the segments after it.
+	 *
+	 * @param segmentNumber
+	 * @param segmentSize
+	 * @throws IOException
+	 */
+	private void cutOffSegments(int segmentNumber, long segmentSize) throws IOException {
+
+		while (segments.size() > segmentNumber + 1) {
+
+			Segment segment = segments.remove(segments.size() - 1);
+			segment.close();
+
+			if (!segment.file.delete())
+				throw new IOException("Segment " + segment.file + " of the block store couldn´t be deleted");
+		}
+
+		segments.get(segmentNumber).truncate(segmentSize);
+	}
+
+	/**
+	 * Helper method which creates a new empty segment with the input number.
+	 *
+	 * @param segmentNumber
+	 * @return
+	 * @throws IOException
+	 */
+	private Segment createSegment(int segmentNumber) throws IOException {
+
+		Segment segment = new Segment(
+				new File(directory, segmentPrefix + String.format("%06d", segmentNumber) + segmentSuffix));
+		segments.add(segment);
+
+		return segment;
+	}
+
+	/**
+	 * Helper method which returns true if the block with the input index is saved,
+	 * including the pending records.
+	 *
+	 * @param blockIndex
+	 * @return
+	 */
+	private boolean containsBlock(int blockIndex) {
+
+		for (int i = pendingRecords.size() - 1; i >= 0; i--) {
+
+			PendingRecord pendingRecord = pendingRecords.get(i);
+
+			if (pendingRecord.blockIndex == blockIndex)
+				return pendingRecord.record[4] == blockRecord;
+		}
+
+		return blockLocations.containsKey(blockIndex);
+	}
+
+	/**
+	 * Helper method which copies the payloads of the blocks with an index between
+	 * the input indexes out of the segments, ordered by the index.
+	 *
+	 * @param firstBlockIndex
+	 * @param lastBlockIndex
+	 * @return
+	 */
+	private synchronized TreeMap<Integer, byte[]> readPayloads(int firstBlockIndex, int lastBlockIndex) {
+
+		TreeMap<Integer, byte[]> payloads = new TreeMap<Integer, byte[]>();
+
+		for (Map.Entry<Integer, BlockLocation> entry : blockLocations.subMap(firstBlockIndex, true, lastBlockIndex, true)
+				.entrySet()) {
+
+			byte[] payload = readPayload(entry.getValue());
+
+			if (payload != null)
+				payloads.put(entry.getKey(), payload);
+		}
+
+		return payloads;
+	}
+
+	/**
+	 * Helper method which copies the payload at the input location out of its
+	 * segment, or returns null if the location is null or couldn´t be read.
+	 *
+	 * @param location
+	 * @return
+	 */
+	private byte[] readPayload(BlockLocation location) {
+
+		if (location == null)
+			return null;
+
+		try {
+
+			return segments.get(location.segmentNumber).read(location.payloadOffset, location.payloadLength);
+
+		} catch (IOException e) {
+
+			logger.error("Exception while reading block from segment " + location.segmentNumber + ".", e);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Helper method which encodes the block as record.
+	 *
+	 * @param type
+	 * @param block
+	 * @return
+	 */
+	private static byte[] encodeRecord(byte type, Block block) {
+
+		byte[] timeStamp = block.getTimeStamp() == null ? null : block.getTimeStamp().getBytes(StandardCharsets.UTF_8);
+		byte[] blockHeader = BlockCodec.encodeBlockHeader(block.getBlockHeader());
+		byte[] transactions = BlockCodec.encodeTransactionList(block.getTransactionList());
+
+		ByteBuffer payload = ByteBuffer
+				.allocate(16 + (timeStamp == null ? 0 : timeStamp.length) + blockHeader.length + transactions.length);
+
+		payload.putInt(timeStamp == null ? -1 : timeStamp.length);
+
+		if (timeStamp != null)
+			payload.put(timeStamp);
+
+		payload.putInt(block.getTransactionCounter());
+		payload.putInt(blockHeader.length);
+		payload.put(blockHeader);
+		payload.putInt(transactions.length);
+		payload.put(transactions);
+
+		return encodeRecord(type, block.getIndex(), payload.array());
+	}
+
+	/**
+	 * Helper method which frames the payload with the record header and checksum.
+	 *
+	 * @param type
+	 * @param blockIndex
+	 * @param payload
+	 * @return
+	 */
+	private static byte[] encodeRecord(byte type, int blockIndex, byte[] payload) {
+
+		ByteBuffer record = ByteBuffer.allocate(recordHeaderLength + payload.length + checksumLength);
+
+		record.putInt(payload.length);
+		record.put(type);
+		record.putInt(blockIndex);
+		record.put(payload);
+
+		CRC32 checksum = new CRC32();
+		checksum.update(record.array(), 4, recordHeaderLength - 4 + payload.length);
+		record.putInt((int) checksum.getValue());
+
+		return record.array();
+	}
+
+	/**
+	 * Helper method which decodes the block with the input index from its payload,
+	 * or returns null if the payload is null or corrupted.
+	 *
+	 * @param blockIndex
+	 * @param payload
+	 * @return
+	 */
+	private static Block decodeBlock(int blockIndex, byte[] payload) {
+
+		if (payload == null)
+			return null;
+
+		try {
+
+			ByteBuffer buffer = ByteBuffer.wrap(payload);
+
+			int timeStampLength = buffer.getInt();
+			String timeStamp = null;
+
+			if (timeStampLength >= 0) {
+
+				timeStamp = new String(payload, buffer.position(), timeStampLength, StandardCharsets.UTF_8);
+				buffer.position(buffer.position() + timeStampLength);
+			}
+
+			int transactionCounter = buffer.getInt();
+			byte[] blockHeader = new byte[buffer.getInt()];
+			buffer.get(blockHeader);
+			byte[] transactions = new byte[buffer.getInt()];
+			buffer.get(transactions);
+
+			Block block = new Block(blockIndex, BlockCodec.decodeBlockHeader(blockHeader),
+					BlockCodec.decodeTransactionList(transactions), transactionCounter);
+			block.setTimeStamp(timeStamp);
+
+			return block;
+
+		} catch (Exception e) {
+
+			logger.error("Exception while decoding block " + blockIndex + " from the block store.", e);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Helper method which releases the memory mapped view right away instead of
+	 * when it is garbage collected, so that its segment file can be truncated and
+	 * deleted. The buffer must not be read afterwards. Nothing is done if the
+	 * buffer is null or the JVM doesn´t allow to release it.
+	 *
+	 * @param buffer
+	 */
+	private static void unmap(MappedByteBuffer buffer) {
+
+		if (buffer == null)
+			return;
+
+		try {
+
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+			unsafeField.setAccessible(true);
+
+			invokeCleaner.invoke(unsafeField.get(null), buffer);
+
+		} catch (NoSuchMethodException e) {
+
+			try {
+
+				// Java 8 and older have no invokeCleaner() method
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				Method cleanMethod = cleaner.getClass().getMethod("clean");
+				cleanMethod.setAccessible(true);
+				cleanMethod.invoke(cleaner);
+
+			} catch (Exception cleanerException) {
+
+				logger.warn("Memory mapped segment view couldn´t be released.", cleanerException);
+			}
+
+		} catch (Exception e) {
+
+			logger.warn("Memory mapped segment view couldn´t be released.", e);
+		}
+	}
+
+	/**
+	 * Segment file to which records are appended and which is read through a
+	 * memory mapped view. The view is mapped again when a record behind its end
+	 * is read.
+	 */
+	private static class Segment {
+
+		private final File file;
+		private final RandomAccessFile randomAccessFile;
+		private final FileChannel channel;
+		private long size;
+		private MappedByteBuffer mapped;
+
+		private Segment(File file) throws IOException {
+			super();
+			this.file = file;
+			this.randomAccessFile = new RandomAccessFile(file, "rw");
+			this.channel = randomAccessFile.getChannel();
+			this.size = channel.size();
+			this.mapped = null;
+		}
+
+		private long append(byte[] record) throws IOException {
+
+			long offset = size;
+			ByteBuffer buffer = ByteBuffer.wrap(record);
+
+			while (buffer.hasRemaining()) {
+
+				channel.write(buffer, offset + buffer.position());
+			}
+
+			size += record.length;
+
+			return offset;
+		}
+
+		private byte[] read(long offset, int length) throws IOException {
+
+			if (mapped == null || offset + length > mapped.capacity()) {
+
+				unmap(mapped);
+				mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+
+			byte[] bytes = new byte[length];
+			ByteBuffer view = mapped.duplicate();
+			view.position((int) offset);
+			view.get(bytes);
+
+			return bytes;
+		}
+
+		private void truncate(long truncatedSize) throws IOException {
+
+			unmap(mapped);
+			mapped = null;
+
+			channel.truncate(truncatedSize);
+			channel.force(false);
+			size = truncatedSize;
+		}
+
+		private void close() {
+
+			unmap(mapped);
+			mapped = null;
+
+			try {
+
+				channel.close();
+				randomAccessFile.close();
+
+			} catch (IOException e) {
+
+				logger.error("Exception while closing segment " + file + ".", e);
+			}
+		}
+	}
+
+	/**
+	 * Location of the payload of the current version of a block.
+	 */
+	private static class BlockLocation {
+
+		private final int segmentNumber;
+		private final long payloadOffset;
+		private final int payloadLength;
+
+		private BlockLocation(int segmentNumber, long payloadOffset, int payloadLength) {
+			super();
+			this.segmentNumber = segmentNumber;
+			this.payloadOffset = payloadOffset;
+			this.payloadLength = payloadLength;
+		}
+	}
+
+	/**
+	 * Size of the segments before the last commit and the index entries which
+	 * were replaced by it, so that the commit can be reverted.
+	 */
+	private static class CommittedRecords {
+
+		private final int firstSegmentNumber;
+		private final long firstSegmentSize;
+		private final ArrayList<Integer> blockIndexes;
+		private final ArrayList<BlockLocation> previousLocations;
+
+		private CommittedRecords(int firstSegmentNumber, long firstSegmentSize) {
+			super();
+			this.firstSegmentNumber = firstSegmentNumber;
+			this.firstSegmentSize = firstSegmentSize;
+			this.blockIndexes = new ArrayList<Integer>();
+			this.previousLocations = new ArrayList<BlockLocation>();
+		}
+	}
+
+	/**
+	 * Record which is appended to the segments on the next commit.
+	 */
+	private static class PendingRecord {
+
+		private final int blockIndex;
+		private final byte[] record;
+
+		private PendingRecord(int blockIndex, byte[] record) {
+			super();
+			this.blockIndex = blockIndex;
+			this.record = record;
+		}
+	}
+
+}
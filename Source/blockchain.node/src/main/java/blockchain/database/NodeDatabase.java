@@ -0,0 +1,206 @@
+package blockchain.database;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import blockchain.block.Block;
+import blockchain.block.MerkleAccumulator;
+import blockchain.block.Transaction;
+import blockchain.chain.BalanceLedger;
+import blockchain.chain.Blockchain;
+
+/**
+ * This NodeDatabase interface is implemented by the storage engines which save
+ * the blockchain, the transaction pool, the mined transactions and the public
+ * keys of a node. The controllers only use this interface, so the SQLite engine
+ * (DriverClass) can be exchanged, e.g. with the InMemoryDatabase to run many
+ * nodes in one JVM without any disk I/O.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public interface NodeDatabase {
+
+	/**
+	 * Inserts the transaction into the transaction pool from which it will be
+	 * taken to be inserted into a block.
+	 *
+	 * @param transaction
+	 */
+	void insertTransactionIntoTransactionPool(Transaction transaction);
+
+	/**
+	 * Inserts the wallet address and links its public key to it.
+	 *
+	 * @param walletAdress
+	 * @param walletKeyHexString
+	 */
+	void insertWalletKeyIntoDatabase(String walletAdress, String walletKeyHexString);
+
+	/**
+	 * Inserts the block into the blockchain, if no block with the same index
+	 * exists.
+	 *
+	 * @param block
+	 */
+	void insertBlockIntoBlockchain(Block block);
+
+	/**
+	 * Inserts the block into the blockchain and moves its transactions from the
+	 * transaction pool into the mined transactions, completely or not at all.
+	 * Returns false if the block wasn´t inserted, e.g. because a block with the
+	 * same index exists.
+	 *
+	 * @param block
+	 * @return
+	 */
+	boolean insertBlockIntoBlockchainAndMoveMinedTransactions(Block block);
+
+	/**
+	 * Replaces the block with the same index and moves the transactions of the
+	 * new block from the transaction pool into the mined transactions.
+	 *
+	 * @param block
+	 */
+	void replaceBlockFromBlockchain(Block block);
+
+	/**
+	 * Removes the block and its mined transactions. The transactions are not
+	 * moved back into the transaction pool.
+	 *
+	 * @param block
+	 */
+	void removeBlockFromBlockchain(Block block);
+
+	/**
+	 * Replaces the disconnected blocks at the end of the blockchain with the
+	 * connected blocks of a branch with more work, completely or not at all. Both
+	 * lists are ordered by the block index. The mined transactions of the
+	 * disconnected blocks are moved back into the transaction pool, if they are
+	 * not mined in a connected block and their sender can still pay them on the
+	 * new chain, and the transactions of the connected blocks
+	 * are moved from the transaction pool into the mined transactions. Returns
+	 * false if the blockchain wasn´t changed.
+	 *
+	 * @param disconnectedBlocks
+	 * @param connectedBlocks
+	 * @return
+	 */
+	boolean reorganiseBlockchain(List<Block> disconnectedBlocks, List<Block> connectedBlocks);
+
+	/**
+	 * Moves the transactions of the block from the transaction pool into the
+	 * mined transactions.
+	 *
+	 * @param block
+	 */
+	void moveMinedTransactionsFromPool(Block block);
+
+	/**
+	 * Returns all transactions from the transaction pool which were created before
+	 * the input time.
+	 *
+	 * @param inputTime
+	 * @return
+	 */
+	ArrayList<Transaction> getAllTransactionsFromTransactionPoolWhereTimestampBefore(String inputTime);
+
+	/**
+	 * Returns all transactions from the transaction pool in the order they were
+	 * inserted.
+	 *
+	 * @return
+	 */
+	ArrayList<Transaction> getAllTransactionsFromTransactionPool();
+
+	/**
+	 * Returns all wallet addresses with their public keys in hex string form.
+	 *
+	 * @return
+	 */
+	HashMap<String, String> getAllPublicKeysFromRegister();
+
+	/**
+	 * Returns all blocks ordered by their index.
+	 *
+	 * @return
+	 */
+	Blockchain getAllBlocksFromBlockchain();
+
+	/**
+	 * Returns the block with the biggest index or null if the blockchain is
+	 * empty.
+	 *
+	 * @return
+	 */
+	Block getLastBlockFromBlockchain();
+
+	/**
+	 * Returns the block with the input index or null if it doesn´t exist.
+	 *
+	 * @param blockIndexInput
+	 * @return
+	 */
+	Block getBlockWithInputIndex(int blockIndexInput);
+
+	/**
+	 * Returns the blocks which index is between the input indexes (both
+	 * included), ordered by their index.
+	 *
+	 * @param firstBlockIndex
+	 * @param lastBlockIndex
+	 * @return
+	 */
+	ArrayList<Block> getBlocksFromBlockchainInIndexRange(int firstBlockIndex, int lastBlockIndex);
+
+	/**
+	 * Returns the index of the block which includes the mined transaction with the
+	 * input ID, or -1 if the transaction was not mined.
+	 *
+	 * @param transactionID
+	 * @return
+	 */
+	int getBlockIndexForMinedTransaction(String transactionID);
+
+	/**
+	 * Returns the public key in hex string form for the wallet address, or null if
+	 * the wallet address is unknown.
+	 *
+	 * @param walletAdress
+	 * @return
+	 */
+	String getHexStringPublicKeyForCorrespondingWalletAddress(String walletAdress);
+
+	/**
+	 * Returns the decoded public key for the wallet address, or null if the
+	 * wallet address is unknown.
+	 *
+	 * @param walletAdress
+	 * @return
+	 */
+	PublicKey getPublicKeyForCorrespondingWalletAddress(String walletAdress);
+
+	/**
+	 * Returns a copy of the merkle accumulator which contains all transactions of
+	 * the transaction pool in the order they were inserted.
+	 *
+	 * @return
+	 */
+	MerkleAccumulator getTransactionPoolAccumulator();
+
+	/**
+	 * Returns the ledger containing the blockchain balance and the pending amount
+	 * of every wallet address.
+	 *
+	 * @return
+	 */
+	BalanceLedger getBalanceLedger();
+
+	/**
+	 * Releases all resources of the storage engine.
+	 */
+	void closeDbConnection();
+}
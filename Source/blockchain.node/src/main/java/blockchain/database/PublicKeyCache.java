@@ -0,0 +1,169 @@
+package blockchain.database;
+
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This PublicKeyCache object is used to keep the decoded public keys of the
+ * last used wallet addresses in memory, so that the verification of a
+ * transaction signature doesn´t have to read the key from the database and
+ * decode it every time. If the cache is full, the least recently used key is
+ * removed. The hits and misses are counted to monitor the cache.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class PublicKeyCache {
+
+	private static Logger logger = LoggerFactory.getLogger(PublicKeyCache.class);
+	private final LinkedHashMap<String, PublicKey> publicKeys;
+	private final AtomicLong hitCount;
+	private final AtomicLong missCount;
+
+	/**
+	 * Instantiates a new PublicKeyCache object which holds at most the input
+	 * amount of public keys.
+	 *
+	 * @param capacity
+	 */
+	public PublicKeyCache(final int capacity) {
+		super();
+
+		if (capacity < 1)
+			throw new IllegalArgumentException("Public key cache capacity has to be positive");
+
+		this.publicKeys = new LinkedHashMap<String, PublicKey>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PublicKey> eldest) {
+				return size() > capacity;
+			}
+		};
+		this.hitCount = new AtomicLong();
+		this.missCount = new AtomicLong();
+	}
+
+	/**
+	 * Returns the cached public key of the wallet address or null if it is not
+	 * cached.
+	 *
+	 * @param walletAddress
+	 * @return
+	 */
+	public PublicKey getPublicKey(String walletAddress) {
+
+		PublicKey publicKey;
+
+		synchronized (publicKeys) {
+
+			publicKey = publicKeys.get(walletAddress);
+		}
+
+		if (publicKey == null) {
+
+			missCount.incrementAndGet();
+
+		} else {
+
+			hitCount.incrementAndGet();
+		}
+
+		return publicKey;
+	}
+
+	/**
+	 * Decodes the public key in hex string form and caches it for the wallet
+	 * address. Returns the decoded key or null if the key couldn´t be decoded.
+	 *
+	 * @param walletAddress
+	 * @param hexStringPublicKey
+	 * @return
+	 */
+	public PublicKey putPublicKey(String walletAddress, String hexStringPublicKey) {
+
+		if (walletAddress == null || hexStringPublicKey == null)
+			return null;
+
+		PublicKey publicKey = decodePublicKey(hexStringPublicKey);
+
+		if (publicKey != null) {
+
+			synchronized (publicKeys) {
+
+				publicKeys.put(walletAddress, publicKey);
+			}
+		}
+
+		return publicKey;
+	}
+
+	/**
+	 * Returns the amount of cached public keys.
+	 *
+	 * @return
+	 */
+	public int size() {
+
+		synchronized (publicKeys) {
+
+			return publicKeys.size();
+		}
+	}
+
+	/**
+	 * Returns how often a requested public key was cached.
+	 *
+	 * @return
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns how often a requested public key was not cached.
+	 *
+	 * @return
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Helper method which decodes the X.509 encoded elliptic curve public key in
+	 * hex string form.
+	 *
+	 * @param hexStringPublicKey
+	 * @return
+	 */
+	private static PublicKey decodePublicKey(String hexStringPublicKey) {
+
+		try {
+
+			byte[] encodedKey = new byte[hexStringPublicKey.length() / 2];
+
+			for (int i = 0; i < encodedKey.length; i++) {
+
+				encodedKey[i] = (byte) Integer.parseInt(hexStringPublicKey.substring(i * 2, i * 2 + 2), 16);
+			}
+
+			return KeyFactory.getInstance("EC", "SunEC").generatePublic(new X509EncodedKeySpec(encodedKey));
+
+		} catch (Exception e) {
+
+			logger.error("Public key decoding exception.", e);
+		}
+
+		return null;
+	}
+
+}
@@ -1,19 +1,15 @@
 
 package blockchain.database;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.List;
 
 import blockchain.block.Transaction;
 
 /**
- * This SQLdelete object establishes the connection to the sqlite database and
- * deletes data from tables in the database.
+ * This SQLdelete object deletes data from tables in the database, using the
+ * cached prepared statements of the writer connection.
  * 
  * @author Nemanja Srdanovic
  * @version 1.0
@@ -21,69 +17,85 @@ import blockchain.block.Transaction;
  */
 public class SQLdelete {
 
-	private static Logger logger = LoggerFactory.getLogger(SQLselect.class);
-	private Connection connection;
-	private String database;
+	private ConnectionManager connectionManager;
 
 	/**
 	 * Instantiates a new SQLdelete object. The parameters must not be null.
 	 * 
-	 * @param base
+	 * @param connectionManager
 	 */
-	public SQLdelete(String base) {
-		try {
+	public SQLdelete(ConnectionManager connectionManager) {
 
-			this.database = base;
-			connection = DriverManager.getConnection("jdbc:sqlite:.\\" + database);
+		if (connectionManager == null)
+			throw new IllegalArgumentException("Connection manager for SQLdelete can´t be null");
 
-		} catch (SQLException e) {
-
-			logger.error("SQLdelete initialization exception.", e);
-		}
+		this.connectionManager = connectionManager;
 	}
 
 	/**
-	 * Removes the input transaction from the table transactionPool by comparing the
-	 * transactionId´s of the input transaction and input transaction.
+	 * Removes the input transactions from the table transactionPool as one batch
+	 * by comparing their transactionId´s. Exceptions are thrown, so that the caller
+	 * can roll back the database transaction the batch belongs to.
 	 * 
-	 * @param transaction
+	 * @param transactions
+	 * @throws SQLException
 	 */
-	public void deleteTransactionFromTransactionPool(Transaction transaction) {
+	public void deleteTransactionsFromTransactionPool(List<Transaction> transactions) throws SQLException {
+
+		PreparedStatement stmt = connectionManager.getWriter()
+				.prepareStatement("DELETE FROM transactionPool WHERE transactionId=?");
 
 		try {
 
-			PreparedStatement stmt = connection.prepareStatement(
-					"DELETE FROM transactionPool WHERE transactionId=" + "'" + transaction.getTransactionID() + "'");
+			for (Transaction transaction : transactions) {
+
+				stmt.setString(1, transaction.getTransactionID());
+				stmt.addBatch();
+			}
 
-			stmt.executeUpdate();
+			stmt.executeBatch();
 
-		} catch (Exception e) {
+		} finally {
 
-			logger.error("Exception while deleting transaction from transaction pool sql delete.", e);
+			stmt.clearBatch();
 		}
 	}
 
 	/**
 	 * Removes all transactions from the table minedTransactions where the
-	 * includedInBlockWithIndex matches the inputBlockIndex.
+	 * includedInBlockWithIndex matches the inputBlockIndex. Exceptions are thrown,
+	 * so that the caller can roll back the database transaction the delete belongs
+	 * to.
 	 * 
 	 * @param inputBlockIndex
+	 * @throws SQLException
 	 */
-	public void deleteAllTransactionsFromMinedTransactionsWhereBlockIndex(int inputBlockIndex) {
+	public void deleteAllTransactionsFromMinedTransactionsWhereBlockIndex(int inputBlockIndex) throws SQLException {
 
-		try {
+		PreparedStatement stmt = connectionManager.getWriter()
+				.prepareStatement("DELETE FROM minedTransactions WHERE includedInBlockWithIndex=?");
+		stmt.setInt(1, inputBlockIndex);
 
-			PreparedStatement stmt = connection
-					.prepareStatement("DELETE FROM minedTransactions WHERE includedInBlockWithIndex=" + "'"
-							+ String.valueOf(inputBlockIndex) + "'");
+		stmt.executeUpdate();
 
-			stmt.executeUpdate();
+	}
+
+	/**
+	 * Removes the block with the input index from the table blockChain. Exceptions
+	 * are thrown, so that the caller can roll back the database transaction the
+	 * delete belongs to.
+	 * 
+	 * @param blockIndex
+	 * @throws SQLException
+	 */
+	public void deleteBlockFromBlockchain(int blockIndex) throws SQLException {
 
-		} catch (Exception e) {
+		PreparedStatement stmt = connectionManager.getWriter()
+				.prepareStatement("DELETE FROM blockChain WHERE blockIndex=?");
+		stmt.setInt(1, blockIndex);
 
-			logger.error("Exception while deleting transaction from minedTransactions pool sql delete.", e);
-		}
+		stmt.executeUpdate();
 
 	}
 
-}
\ No newline at end of file
+}
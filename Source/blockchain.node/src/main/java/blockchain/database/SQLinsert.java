@@ -1,20 +1,19 @@
 package blockchain.database;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
+import blockchain.block.BlockCodec;
 import blockchain.block.Transaction;
-import marshaller.Marshaller;
 
 /**
- * This SQLinsert object establishes the connection to the sqlite database and
- * inserts data into the tables created by the DriverClass object.
+ * This SQLinsert object inserts data into the tables created by the DriverClass
+ * object, using the cached prepared statements of the writer connection.
  * 
  * @author Nemanja Srdanovic
  * @version 1.0
@@ -23,43 +22,40 @@ import marshaller.Marshaller;
 public class SQLinsert {
 
 	private static Logger logger = LoggerFactory.getLogger(SQLinsert.class);
-	private Connection connection;
-	private String database;
+	private ConnectionManager connectionManager;
 
 	/**
 	 * Instantiates a new SQLinsert object. The parameters must not be null.
 	 * 
-	 * @param base
+	 * @param connectionManager
 	 */
-	public SQLinsert(String base) {
-		try {
-
-			this.database = base;
-			connection = DriverManager.getConnection("jdbc:sqlite:.\\" + database);
+	public SQLinsert(ConnectionManager connectionManager) {
 
-		} catch (SQLException e) {
+		if (connectionManager == null)
+			throw new IllegalArgumentException("Connection manager for SQLinsert can´t be null");
 
-			logger.error("SQLinsert initialization exception.", e);
-		}
+		this.connectionManager = connectionManager;
 	}
 
 	/**
 	 * Inserts the input transaction into the transactionPool Table that contains: |
-	 * TransactionID | TimeStamp | FromAdress | ToAdress | Amount | Signature |
+	 * TransactionID | TimeStamp | FromAdress | ToAdress | Amount | Signature | Fee |
 	 * 
 	 * @param transaction
 	 */
 	public void insertTransactionIntoPool(Transaction transaction) {
 
 		try {
-			PreparedStatement stmt = connection
-					.prepareStatement("INSERT OR IGNORE INTO transactionPool values(?,?,?,?,?,?)");
+			PreparedStatement stmt = connectionManager.getWriter().prepareStatement(
+					"INSERT OR IGNORE INTO transactionPool (transactionId, timeStamp, fromAdress, toAdress, amount,"
+							+ " signature, fee) values(?,?,?,?,?,?,?)");
 			stmt.setString(1, transaction.getTransactionID());
 			stmt.setString(2, transaction.getTimeStamp());
 			stmt.setString(3, transaction.getFromAdress());
 			stmt.setString(4, transaction.getToAdress());
 			stmt.setDouble(5, transaction.getAmount());
 			stmt.setString(6, transaction.getSignature());
+			stmt.setDouble(7, transaction.getFee());
 
 			stmt.executeUpdate();
 
@@ -72,33 +68,78 @@ public class SQLinsert {
 	}
 
 	/**
-	 * Inserts the input transaction into the minedTransactions Table and connects
-	 * int with the index of the block in which this transaction is contained. The
-	 * table receives: | BlockIndex | TransactionID |TimeStamp |FromAdress |ToAdress
-	 * | Amount |Signature|
+	 * Inserts the input transactions into the transactionPool Table as one batch.
+	 * Transactions which are already in the table are ignored. Exceptions are
+	 * thrown, so that the caller can roll back the database transaction the batch
+	 * belongs to.
+	 * 
+	 * @param transactions
+	 * @throws SQLException
+	 */
+	public void insertTransactionsIntoPool(List<Transaction> transactions) throws SQLException {
+
+		PreparedStatement stmt = connectionManager.getWriter().prepareStatement(
+				"INSERT OR IGNORE INTO transactionPool (transactionId, timeStamp, fromAdress, toAdress, amount,"
+						+ " signature, fee) values(?,?,?,?,?,?,?)");
+
+		try {
+
+			for (Transaction transaction : transactions) {
+
+				stmt.setString(1, transaction.getTransactionID());
+				stmt.setString(2, transaction.getTimeStamp());
+				stmt.setString(3, transaction.getFromAdress());
+				stmt.setString(4, transaction.getToAdress());
+				stmt.setDouble(5, transaction.getAmount());
+				stmt.setString(6, transaction.getSignature());
+				stmt.setDouble(7, transaction.getFee());
+				stmt.addBatch();
+			}
+
+			stmt.executeBatch();
+
+		} finally {
+
+			stmt.clearBatch();
+		}
+	}
+
+	/**
+	 * Inserts the input transactions into the minedTransactions Table as one batch
+	 * and connects them with the index of the block in which they are contained.
+	 * The table receives: | BlockIndex | TransactionID |TimeStamp |FromAdress
+	 * |ToAdress | Amount |Signature|. Exceptions are thrown, so that the caller
+	 * can roll back the database transaction the batch belongs to.
 	 * 
 	 * @param blockIndex
-	 * @param transaction
+	 * @param transactions
+	 * @throws SQLException
 	 */
-	public void insertTransactionIntoMinedTransactions(int blockIndex, Transaction transaction) {
+	public void insertTransactionsIntoMinedTransactions(int blockIndex, List<Transaction> transactions)
+			throws SQLException {
+
+		PreparedStatement stmt = connectionManager.getWriter()
+				.prepareStatement("INSERT OR IGNORE INTO minedTransactions values(?,?,?,?,?,?,?)");
 
 		try {
-			PreparedStatement stmt = connection
-					.prepareStatement("INSERT OR IGNORE INTO minedTransactions values(?,?,?,?,?,?,?)");
-			stmt.setInt(1, blockIndex);
-			stmt.setString(2, transaction.getTransactionID());
-			stmt.setString(3, transaction.getTimeStamp());
-			stmt.setString(4, transaction.getFromAdress());
-			stmt.setString(5, transaction.getToAdress());
-			stmt.setDouble(6, transaction.getAmount());
-			stmt.setString(7, transaction.getSignature());
 
-			stmt.executeUpdate();
+			for (Transaction transaction : transactions) {
 
-		} catch (Exception e) {
+				stmt.setInt(1, blockIndex);
+				stmt.setString(2, transaction.getTransactionID());
+				stmt.setString(3, transaction.getTimeStamp());
+				stmt.setString(4, transaction.getFromAdress());
+				stmt.setString(5, transaction.getToAdress());
+				stmt.setDouble(6, transaction.getAmount());
+				stmt.setString(7, transaction.getSignature());
+				stmt.addBatch();
+			}
+
+			stmt.executeBatch();
 
-			logger.error("Transaction insert into mined transactions exception.", e);
+		} finally {
 
+			stmt.clearBatch();
 		}
 
 	}
@@ -114,7 +155,8 @@ public class SQLinsert {
 
 		try {
 
-			PreparedStatement stmt = connection.prepareStatement("INSERT OR IGNORE INTO publicKeys values(?,?)");
+			PreparedStatement stmt = connectionManager.getWriter()
+					.prepareStatement("INSERT OR IGNORE INTO publicKeys values(?,?)");
 			stmt.setString(1, walletAdress);
 			stmt.setString(2, walletKeyHexString);
 
@@ -130,65 +172,57 @@ public class SQLinsert {
 
 	/**
 	 * Insert the input block into the blockChain Table which receives following
-	 * data: | BlockIndex | BlockHeader | TransactionList | TransactionCounter |
+	 * data: | BlockIndex | BlockHeader | TransactionList | TransactionCounter |.
+	 * The block header and transaction list are encoded by the BlockCodec object.
+	 * Returns false if a block with the same index already exists and nothing was
+	 * inserted. Exceptions are thrown, so that the caller can roll back the
+	 * database transaction the insert belongs to.
 	 * 
 	 * @param block
+	 * @return
+	 * @throws SQLException
 	 */
-	public void insertBlockIntoBlockchain(Block block) {
-
-		try {
+	public boolean insertBlockIntoBlockchain(Block block) throws SQLException {
 
-			Marshaller marshaller = new Marshaller();
-			byte[] transformedBlockHeader = marshaller.transformObjectToByte(block.getBlockHeader());
-			byte[] transformedTransactionList = marshaller.transformObjectToByte(block.getTransactionList());
+		byte[] transformedBlockHeader = BlockCodec.encodeBlockHeader(block.getBlockHeader());
+		byte[] transformedTransactionList = BlockCodec.encodeTransactionList(block.getTransactionList());
 
-			PreparedStatement stmt = connection.prepareStatement("INSERT OR IGNORE INTO blockChain values(?,?,?,?,?)");
-			stmt.setInt(1, block.getIndex());
-			stmt.setString(2, block.getTimeStamp());
-			stmt.setBytes(3, transformedBlockHeader);
-			stmt.setBytes(4, transformedTransactionList);
-			stmt.setInt(5, block.getTransactionCounter());
+		PreparedStatement stmt = connectionManager.getWriter()
+				.prepareStatement("INSERT OR IGNORE INTO blockChain values(?,?,?,?,?)");
+		stmt.setInt(1, block.getIndex());
+		stmt.setString(2, block.getTimeStamp());
+		stmt.setBytes(3, transformedBlockHeader);
+		stmt.setBytes(4, transformedTransactionList);
+		stmt.setInt(5, block.getTransactionCounter());
 
-			stmt.executeUpdate();
-
-		} catch (Exception e) {
-
-			logger.error("Block insertion exception.", e);
-
-		}
+		return stmt.executeUpdate() > 0;
 
 	}
 
 	/**
 	 * Replaces existing block from the blockchain table with the input block. Data:
-	 * | BlockIndex | BlockHeader | TransactionList | TransactionCounter |
+	 * | BlockIndex | BlockHeader | TransactionList | TransactionCounter |.
+	 * Exceptions are thrown, so that the caller can roll back the database
+	 * transaction the replacement belongs to.
 	 * 
 	 * @param block
+	 * @throws SQLException
 	 */
-	public void replaceBlockFromBlockchain(Block block) {
-
-		try {
+	public void replaceBlockFromBlockchain(Block block) throws SQLException {
 
-			Marshaller marshaller = new Marshaller();
-			byte[] transformedBlockHeader = marshaller.transformObjectToByte(block.getBlockHeader());
-			byte[] transformedTransactionList = marshaller.transformObjectToByte(block.getTransactionList());
+		byte[] transformedBlockHeader = BlockCodec.encodeBlockHeader(block.getBlockHeader());
+		byte[] transformedTransactionList = BlockCodec.encodeTransactionList(block.getTransactionList());
 
-			PreparedStatement stmt = connection.prepareStatement(
-					"REPLACE INTO blockChain (blockIndex, miningTimeStamp, blockHeader, transactions, transactionCounter) values(?,?,?,?,?)");
+		PreparedStatement stmt = connectionManager.getWriter().prepareStatement(
+				"REPLACE INTO blockChain (blockIndex, miningTimeStamp, blockHeader, transactions, transactionCounter) values(?,?,?,?,?)");
 
-			stmt.setInt(1, block.getIndex());
-			stmt.setString(2, block.getTimeStamp());
-			stmt.setBytes(3, transformedBlockHeader);
-			stmt.setBytes(4, transformedTransactionList);
-			stmt.setInt(5, block.getTransactionCounter());
-
-			stmt.executeUpdate();
+		stmt.setInt(1, block.getIndex());
+		stmt.setString(2, block.getTimeStamp());
+		stmt.setBytes(3, transformedBlockHeader);
+		stmt.setBytes(4, transformedTransactionList);
+		stmt.setInt(5, block.getTransactionCounter());
 
-		} catch (Exception e) {
-
-			logger.error("Block replacement exception.", e);
-
-		}
+		stmt.executeUpdate();
 
 	}
 }
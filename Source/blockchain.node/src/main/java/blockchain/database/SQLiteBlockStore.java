@@ -0,0 +1,131 @@
+package blockchain.database;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import blockchain.block.Block;
+import blockchain.chain.Blockchain;
+
+/**
+ * This SQLiteBlockStore object is used to save the blocks as rows of the
+ * blockChain table, by using the SQLinsert, SQLselect and SQLdelete objects.
+ * The rows are written on the writer connection and therefore belong to the
+ * database transaction of the DriverClass object, so commit(), rollback() and
+ * revertCommit() don´t have to do anything.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class SQLiteBlockStore implements BlockStore {
+
+	private SQLinsert insert;
+	private SQLselect select;
+	private SQLdelete delete;
+
+	/**
+	 * Instantiates a new SQLiteBlockStore object. The parameters must not be null.
+	 *
+	 * @param insert
+	 * @param select
+	 * @param delete
+	 */
+	public SQLiteBlockStore(SQLinsert insert, SQLselect select, SQLdelete delete) {
+		super();
+
+		if (insert == null || select == null || delete == null)
+			throw new IllegalArgumentException("SQL objects for the block store can´t be null");
+
+		this.insert = insert;
+		this.select = select;
+		this.delete = delete;
+	}
+
+	@Override
+	public boolean insertBlock(Block block) throws IOException {
+
+		try {
+
+			return insert.insertBlockIntoBlockchain(block);
+
+		} catch (SQLException e) {
+
+			throw new IOException("Block " + block.getIndex() + " couldn´t be inserted into the blockChain table", e);
+		}
+	}
+
+	@Override
+	public void replaceBlock(Block block) throws IOException {
+
+		try {
+
+			insert.replaceBlockFromBlockchain(block);
+
+		} catch (SQLException e) {
+
+			throw new IOException("Block " + block.getIndex() + " couldn´t be replaced in the blockChain table", e);
+		}
+	}
+
+	@Override
+	public void deleteBlock(int blockIndex) throws IOException {
+
+		try {
+
+			delete.deleteBlockFromBlockchain(blockIndex);
+
+		} catch (SQLException e) {
+
+			throw new IOException("Block " + blockIndex + " couldn´t be deleted from the blockChain table", e);
+		}
+	}
+
+	@Override
+	public void commit() {
+	}
+
+	@Override
+	public void rollback() {
+	}
+
+	@Override
+	public void revertCommit() {
+	}
+
+	@Override
+	public Block getBlock(int blockIndex) {
+		return select.getBlockWithInputIndex(blockIndex);
+	}
+
+	@Override
+	public Block getLastBlock() {
+		return select.getLastBlockFromBlockchain();
+	}
+
+	@Override
+	public ArrayList<Block> getBlocksInIndexRange(int firstBlockIndex, int lastBlockIndex) {
+		return select.getBlocksFromBlockchainInIndexRange(firstBlockIndex, lastBlockIndex);
+	}
+
+	@Override
+	public Blockchain getAllBlocks() {
+		return select.getAllBlocksFromBlockchain();
+	}
+
+	/**
+	 * The blockChain table is cleared together with the other tables by the
+	 * DriverClass object.
+	 */
+	@Override
+	public void clear() {
+	}
+
+	/**
+	 * The connections are closed by the DriverClass object.
+	 */
+	@Override
+	public void close() {
+	}
+
+}
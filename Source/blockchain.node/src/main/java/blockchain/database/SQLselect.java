@@ -1,10 +1,9 @@
 package blockchain.database;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -12,15 +11,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
-import blockchain.block.BlockHeader;
+import blockchain.block.BlockCodec;
 import blockchain.block.Transaction;
 import blockchain.chain.Blockchain;
-import marshaller.Marshaller;
 
 /**
- * This SQLselect object establishes the connection to the sqlite database and
- * fetches and returns data from the tables created by the DriverClass object
- * and filled by the SQLinsert object.
+ * This SQLselect object fetches and returns data from the tables created by the
+ * DriverClass object and filled by the SQLinsert object. Every select is
+ * executed as cached prepared statement on a reader connection from the pool
+ * of the ConnectionManager object, so that selects don´t wait for each other or
+ * for the writer connection.
  * 
  * @author Nemanja Srdanovic
  * @version 1.0
@@ -29,23 +29,19 @@ import marshaller.Marshaller;
 public class SQLselect {
 
 	private static Logger logger = LoggerFactory.getLogger(SQLselect.class);
-	private Connection connection;
-	private String database;
+	private ConnectionManager connectionManager;
 
 	/**
 	 * Instantiates a new SQLselect object. The parameters must not be null.
 	 * 
-	 * @param base
+	 * @param connectionManager
 	 */
-	public SQLselect(String base) {
-		try {
+	public SQLselect(ConnectionManager connectionManager) {
 
-			this.database = base;
-			connection = DriverManager.getConnection("jdbc:sqlite:.\\" + database);
-		} catch (SQLException e) {
+		if (connectionManager == null)
+			throw new IllegalArgumentException("Connection manager for SQLselect can´t be null");
 
-			logger.error("SQLselect initialization exception.", e);
-		}
+		this.connectionManager = connectionManager;
 	}
 
 	/**
@@ -57,39 +53,31 @@ public class SQLselect {
 	public ArrayList<Transaction> getAllTransactionsFromTransactionPoolWhereTimestampBefore(String inputTime) {
 
 		ArrayList<Transaction> transactionsFromTransactionPool = new ArrayList<Transaction>();
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
-
-			ResultSet rs = statement
-					.executeQuery("SELECT * FROM transactionPool WHERE timeStamp <" + "'" + inputTime + "'");
-
-			while (rs.next()) {
+			reader = connectionManager.acquireReader();
 
-				String transactionId = rs.getString("transactionId");
-				String timeStamp = rs.getString("timeStamp");
-				String fromAdress = rs.getString("fromAdress");
-				String toAdress = rs.getString("toAdress");
-				double amount = rs.getDouble("amount");
-				String signature = rs.getString("signature");
+			PreparedStatement statement = reader.prepareStatement("SELECT * FROM transactionPool WHERE timeStamp <?");
+			statement.setString(1, inputTime);
 
-				Transaction transaction = new Transaction(fromAdress, toAdress, amount);
+			ResultSet rs = statement.executeQuery();
 
-				transaction.setTransactionID(transactionId);
-				transaction.setTimeStamp(timeStamp);
-				transaction.setSignature(signature);
-
-				transactionsFromTransactionPool.add(transaction);
+			while (rs.next()) {
 
+				transactionsFromTransactionPool.add(readTransaction(rs));
 			}
 
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching transaction pool data in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
 		return transactionsFromTransactionPool;
@@ -105,38 +93,28 @@ public class SQLselect {
 	public ArrayList<Transaction> getAllTransactionsFromTransactionPool() {
 
 		ArrayList<Transaction> transactionsFromTransactionPool = new ArrayList<Transaction>();
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
+			reader = connectionManager.acquireReader();
 
-			ResultSet rs = statement.executeQuery("SELECT * FROM transactionPool");
+			ResultSet rs = reader.prepareStatement("SELECT * FROM transactionPool").executeQuery();
 
 			while (rs.next()) {
 
-				String transactionId = rs.getString("transactionId");
-				String timeStamp = rs.getString("timeStamp");
-				String fromAdress = rs.getString("fromAdress");
-				String toAdress = rs.getString("toAdress");
-				double amount = rs.getDouble("amount");
-				String signature = rs.getString("signature");
-
-				Transaction transaction = new Transaction(fromAdress, toAdress, amount);
-
-				transaction.setTransactionID(transactionId);
-				transaction.setTimeStamp(timeStamp);
-				transaction.setSignature(signature);
-
-				transactionsFromTransactionPool.add(transaction);
-
+				transactionsFromTransactionPool.add(readTransaction(rs));
 			}
 
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching transaction pool data in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
 		return transactionsFromTransactionPool;
@@ -153,12 +131,13 @@ public class SQLselect {
 	public HashMap<String, String> getAllPublicKeysFromRegister() {
 
 		HashMap<String, String> allPublicKeysFromRegister = new HashMap<String, String>();
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
+			reader = connectionManager.acquireReader();
 
-			ResultSet rs = statement.executeQuery("SELECT * FROM publicKeys");
+			ResultSet rs = reader.prepareStatement("SELECT * FROM publicKeys").executeQuery();
 
 			while (rs.next()) {
 
@@ -170,11 +149,14 @@ public class SQLselect {
 			}
 
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching public keys in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
 		return allPublicKeysFromRegister;
@@ -184,7 +166,8 @@ public class SQLselect {
 	/**
 	 * Fetching the public key entry from database table publicKeys which primary
 	 * key matches the input wallet address hand over to the function. The public
-	 * key is returned as a string in a hex format.
+	 * key is returned as a string in a hex format, or null if the wallet address is
+	 * unknown.
 	 * 
 	 * @param walletAdress
 	 * @return
@@ -192,25 +175,34 @@ public class SQLselect {
 	public String getHexStringPublicKeyForCorrespondingWalletAddress(String walletAdress) {
 
 		String publicKeyForWalletAdress = null;
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
+			reader = connectionManager.acquireReader();
 
-			ResultSet rs = statement
-					.executeQuery("SELECT publicKey FROM publicKeys WHERE walletAdress=" + "'" + walletAdress + "'");
+			PreparedStatement statement = reader
+					.prepareStatement("SELECT publicKey FROM publicKeys WHERE walletAdress=?");
+			statement.setString(1, walletAdress);
 
-			publicKeyForWalletAdress = rs.getString("publicKey");
+			ResultSet rs = statement.executeQuery();
+
+			if (rs.next()) {
+
+				publicKeyForWalletAdress = rs.getString("publicKey");
+			}
 
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching coresponding public key", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
-		// TODO can be null
 		return publicKeyForWalletAdress;
 
 	}
@@ -224,39 +216,28 @@ public class SQLselect {
 	public Blockchain getAllBlocksFromBlockchain() {
 
 		Blockchain blockchain = new Blockchain();
-		Marshaller marshaller = new Marshaller();
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
+			reader = connectionManager.acquireReader();
 
-			ResultSet rs = statement.executeQuery("SELECT * FROM blockChain");
+			ResultSet rs = reader.prepareStatement("SELECT * FROM blockChain ORDER BY blockIndex").executeQuery();
 
 			while (rs.next()) {
 
-				int blockIndex = rs.getInt("blockIndex");
-				String blockMiningTime = rs.getString("miningTimeStamp");
-				byte[] byteBlockHeader = (byte[]) rs.getBytes("blockHeader");
-				byte[] byteTransactionsList = (byte[]) rs.getBytes("transactions");
-				int transactionCounter = rs.getInt("transactionCounter");
-
-				Object transformedBlockHeader = marshaller.transformByteToObject(byteBlockHeader);
-				Object transformedTransactionsList = marshaller.transformByteToObject(byteTransactionsList);
-
-				@SuppressWarnings("unchecked")
-				Block block = new Block(blockIndex, (BlockHeader) transformedBlockHeader,
-						(ArrayList<Transaction>) transformedTransactionsList, transactionCounter);
-				block.setTimeStamp(blockMiningTime);
-
-				blockchain.addBlockToBlockchain(block);
+				blockchain.addBlockToBlockchain(readBlock(rs));
 			}
 
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching blockchain in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
 		return blockchain;
@@ -269,41 +250,32 @@ public class SQLselect {
 	 * 
 	 * @return
 	 */
-	@SuppressWarnings("unchecked")
 	public Block getLastBlockFromBlockchain() {
 
-		Marshaller marshaller = new Marshaller();
 		Block block = null;
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
+			reader = connectionManager.acquireReader();
 
-			ResultSet rs = statement.executeQuery(
-					"SELECT * FROM blockChain WHERE blockIndex = (SELECT MAX(blockIndex) FROM blockChain)");
+			ResultSet rs = reader.prepareStatement("SELECT * FROM blockChain ORDER BY blockIndex DESC LIMIT 1")
+					.executeQuery();
 
 			if (rs.next()) {
 
-				int blockIndex = rs.getInt("blockIndex");
-				String blockMiningTime = rs.getString("miningTimeStamp");
-				byte[] byteBlockHeader = (byte[]) rs.getBytes("blockHeader");
-				byte[] byteTransactionsList = (byte[]) rs.getBytes("transactions");
-				int transactionCounter = rs.getInt("transactionCounter");
-
-				Object transformedBlockHeader = marshaller.transformByteToObject(byteBlockHeader);
-				Object transformedTransactionsList = marshaller.transformByteToObject(byteTransactionsList);
-
-				block = new Block(blockIndex, (BlockHeader) transformedBlockHeader,
-						(ArrayList<Transaction>) transformedTransactionsList, transactionCounter);
-				block.setTimeStamp(blockMiningTime);
-
+				block = readBlock(rs);
 			}
+
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching blockchain in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
 		// CAN BE NULL CATCH
@@ -317,40 +289,34 @@ public class SQLselect {
 	 * 
 	 * @return
 	 */
-	@SuppressWarnings("unchecked")
 	public Block getBlockWithInputIndex(int blockIndexInput) {
 
-		Marshaller marshaller = new Marshaller();
 		Block block = null;
+		CachedConnection reader = null;
 
 		try {
 
-			Statement statement = connection.createStatement();
+			reader = connectionManager.acquireReader();
 
-			ResultSet rs = statement.executeQuery(
-					"SELECT * FROM blockChain WHERE blockIndex=" + "'" + String.valueOf(blockIndexInput) + "'");
+			PreparedStatement statement = reader.prepareStatement("SELECT * FROM blockChain WHERE blockIndex=?");
+			statement.setInt(1, blockIndexInput);
 
-			if (rs.next()) {
+			ResultSet rs = statement.executeQuery();
 
-				int blockIndex = rs.getInt("blockIndex");
-				String blockMiningTime = rs.getString("miningTimeStamp");
-				byte[] byteBlockHeader = (byte[]) rs.getBytes("blockHeader");
-				byte[] byteTransactionsList = (byte[]) rs.getBytes("transactions");
-				int transactionCounter = rs.getInt("transactionCounter");
-
-				Object transformedBlockHeader = marshaller.transformByteToObject(byteBlockHeader);
-				Object transformedTransactionsList = marshaller.transformByteToObject(byteTransactionsList);
+			if (rs.next()) {
 
-				block = new Block(blockIndex, (BlockHeader) transformedBlockHeader,
-						(ArrayList<Transaction>) transformedTransactionsList, transactionCounter);
-				block.setTimeStamp(blockMiningTime);
+				block = readBlock(rs);
 			}
+
 			rs.close();
-			statement.close();
 
 		} catch (Exception e) {
 
 			logger.error("Exception while fetching blockchain in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
 		}
 
 		// CAN BE NULL CATCH
@@ -358,4 +324,187 @@ public class SQLselect {
 
 	}
 
+	/**
+	 * Fetching all block entries from database table blockChain which blockIndex
+	 * is between the input values (both included) and returning them ordered by
+	 * their index.
+	 * 
+	 * @param firstBlockIndex
+	 * @param lastBlockIndex
+	 * @return
+	 */
+	public ArrayList<Block> getBlocksFromBlockchainInIndexRange(int firstBlockIndex, int lastBlockIndex) {
+
+		ArrayList<Block> blocks = new ArrayList<Block>();
+		CachedConnection reader = null;
+
+		try {
+
+			reader = connectionManager.acquireReader();
+
+			PreparedStatement statement = reader
+					.prepareStatement("SELECT * FROM blockChain WHERE blockIndex BETWEEN ? AND ? ORDER BY blockIndex");
+			statement.setInt(1, firstBlockIndex);
+			statement.setInt(2, lastBlockIndex);
+
+			ResultSet rs = statement.executeQuery();
+
+			while (rs.next()) {
+
+				blocks.add(readBlock(rs));
+			}
+
+			rs.close();
+
+		} catch (Exception e) {
+
+			logger.error("Exception while fetching block range in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
+		}
+
+		return blocks;
+
+	}
+
+	/**
+	 * Fetching the index of the block which includes the transaction with the
+	 * input ID from the database table minedTransactions. Returns -1 if the
+	 * transaction was not mined.
+	 * 
+	 * @param transactionID
+	 * @return
+	 */
+	public int getBlockIndexForMinedTransaction(String transactionID) {
+
+		int blockIndex = -1;
+		CachedConnection reader = null;
+
+		try {
+
+			reader = connectionManager.acquireReader();
+
+			PreparedStatement statement = reader
+					.prepareStatement("SELECT includedInBlockWithIndex FROM minedTransactions WHERE transactionId=?");
+			statement.setString(1, transactionID);
+
+			ResultSet rs = statement.executeQuery();
+
+			if (rs.next()) {
+
+				blockIndex = rs.getInt("includedInBlockWithIndex");
+			}
+
+			rs.close();
+
+		} catch (Exception e) {
+
+			logger.error("Exception while fetching block index of mined transaction in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
+		}
+
+		return blockIndex;
+
+	}
+
+	/**
+	 * Fetching the indexes of all blocks from database table blockChain which
+	 * block header or transaction list is not encoded by the BlockCodec object,
+	 * but serialized by older versions of the node.
+	 * 
+	 * @return
+	 */
+	public ArrayList<Integer> getBlockIndexesWithLegacyEncoding() {
+
+		ArrayList<Integer> blockIndexes = new ArrayList<Integer>();
+		CachedConnection reader = null;
+
+		try {
+
+			reader = connectionManager.acquireReader();
+
+			PreparedStatement statement = reader.prepareStatement("SELECT blockIndex FROM blockChain"
+					+ " WHERE substr(blockHeader, 1, 1) <> ? OR substr(transactions, 1, 1) <> ?");
+			statement.setBytes(1, new byte[] { BlockCodec.magic });
+			statement.setBytes(2, new byte[] { BlockCodec.magic });
+
+			ResultSet rs = statement.executeQuery();
+
+			while (rs.next()) {
+
+				blockIndexes.add(rs.getInt("blockIndex"));
+			}
+
+			rs.close();
+
+		} catch (Exception e) {
+
+			logger.error("Exception while fetching legacy encoded blocks in sql select.", e);
+
+		} finally {
+
+			connectionManager.releaseReader(reader);
+		}
+
+		return blockIndexes;
+
+	}
+
+	/**
+	 * Helper method which creates a transaction from the current row of a result
+	 * set of the transactionPool table.
+	 * 
+	 * @param rs
+	 * @return
+	 * @throws SQLException
+	 */
+	private static Transaction readTransaction(ResultSet rs) throws SQLException {
+
+		String transactionId = rs.getString("transactionId");
+		String timeStamp = rs.getString("timeStamp");
+		String fromAdress = rs.getString("fromAdress");
+		String toAdress = rs.getString("toAdress");
+		double amount = rs.getDouble("amount");
+		String signature = rs.getString("signature");
+		double fee = rs.getDouble("fee");
+
+		Transaction transaction = new Transaction(fromAdress, toAdress, amount, fee);
+
+		transaction.setTransactionID(transactionId);
+		transaction.setTimeStamp(timeStamp);
+		transaction.setSignature(signature);
+
+		return transaction;
+	}
+
+	/**
+	 * Helper method which creates a block from the current row of a result set of
+	 * the blockChain table. The block header and transaction list are decoded by
+	 * the BlockCodec object.
+	 * 
+	 * @param rs
+	 * @return
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	private static Block readBlock(ResultSet rs) throws SQLException, IOException {
+
+		int blockIndex = rs.getInt("blockIndex");
+		String blockMiningTime = rs.getString("miningTimeStamp");
+		byte[] byteBlockHeader = (byte[]) rs.getBytes("blockHeader");
+		byte[] byteTransactionsList = (byte[]) rs.getBytes("transactions");
+		int transactionCounter = rs.getInt("transactionCounter");
+
+		Block block = new Block(blockIndex, BlockCodec.decodeBlockHeader(byteBlockHeader),
+				BlockCodec.decodeTransactionList(byteTransactionsList), transactionCounter);
+		block.setTimeStamp(blockMiningTime);
+
+		return block;
+	}
+
 }
@@ -0,0 +1,247 @@
+package blockchain.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import blockchain.block.Transaction;
+
+/**
+ * This TransactionPool object is used to keep the transactions which were not
+ * mined yet in memory, so that the transaction pool doesn´t have to be selected
+ * from the database for every read. The transactions are indexed by their
+ * transaction ID, by their arrival, so that they are returned in the order they
+ * were inserted, and by their fee. The pool holds at most its capacity of
+ * transactions, if it is full the transaction with the lowest fee is evicted
+ * for a transaction with a higher fee. Writes are synchronized,
+ * reads are not blocked by them and see a weakly consistent state of the pool.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class TransactionPool {
+
+	private final int capacity;
+	private final ConcurrentHashMap<String, Long> arrivalNumbers;
+	private final ConcurrentSkipListMap<Long, Transaction> transactionsByArrival;
+	private final ConcurrentSkipListMap<FeeRank, Transaction> transactionsByFee;
+	private long nextArrivalNumber;
+
+	/**
+	 * Instantiates a new empty TransactionPool object without a capacity limit.
+	 */
+	public TransactionPool() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Instantiates a new empty TransactionPool object which holds at most the
+	 * input amount of transactions. The capacity must be positive.
+	 *
+	 * @param capacity
+	 */
+	public TransactionPool(int capacity) {
+		super();
+
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Transaction pool capacity must be positive");
+
+		this.capacity = capacity;
+		this.arrivalNumbers = new ConcurrentHashMap<String, Long>();
+		this.transactionsByArrival = new ConcurrentSkipListMap<Long, Transaction>();
+		this.transactionsByFee = new ConcurrentSkipListMap<FeeRank, Transaction>();
+		this.nextArrivalNumber = 0;
+	}
+
+	/**
+	 * Inserts the transaction at the end of the pool and returns the transactions
+	 * which were evicted to make room for it, which is an empty list if the pool
+	 * was not full. Returns null and inserts nothing if a transaction with the
+	 * same ID is already in the pool or if the pool is full and the fee of the
+	 * transaction is not higher than the lowest fee in the pool.
+	 *
+	 * @param transaction
+	 * @return
+	 */
+	public synchronized ArrayList<Transaction> addTransaction(Transaction transaction) {
+
+		if (transaction == null || transaction.getTransactionID() == null)
+			throw new IllegalArgumentException("Transaction can´t be null.");
+
+		if (arrivalNumbers.containsKey(transaction.getTransactionID()))
+			return null;
+
+		ArrayList<Transaction> evictedTransactions = new ArrayList<Transaction>();
+
+		if (arrivalNumbers.size() >= capacity) {
+
+			Transaction lowestFeeTransaction = transactionsByFee.lastEntry().getValue();
+
+			if (lowestFeeTransaction.getFee() >= transaction.getFee())
+				return null;
+
+			evictedTransactions = removeTransactions(Collections.singletonList(lowestFeeTransaction));
+		}
+
+		long arrivalNumber = nextArrivalNumber++;
+
+		transactionsByArrival.put(arrivalNumber, transaction);
+		transactionsByFee.put(new FeeRank(transaction.getFee(), arrivalNumber), transaction);
+		arrivalNumbers.put(transaction.getTransactionID(), arrivalNumber);
+
+		return evictedTransactions;
+	}
+
+	/**
+	 * Removes the transactions with the IDs of the input transactions from the
+	 * pool and returns the removed transactions.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	public synchronized ArrayList<Transaction> removeTransactions(List<Transaction> transactions) {
+
+		ArrayList<Transaction> removedTransactions = new ArrayList<Transaction>();
+
+		if (transactions == null)
+			return removedTransactions;
+
+		for (Transaction transaction : transactions) {
+
+			Long arrivalNumber = arrivalNumbers.remove(transaction.getTransactionID());
+
+			if (arrivalNumber == null)
+				continue;
+
+			Transaction removedTransaction = transactionsByArrival.remove(arrivalNumber);
+			transactionsByFee.remove(new FeeRank(removedTransaction.getFee(), arrivalNumber));
+
+			removedTransactions.add(removedTransaction);
+		}
+
+		return removedTransactions;
+	}
+
+	/**
+	 * Returns true if a transaction with the input ID is in the pool.
+	 *
+	 * @param transactionID
+	 * @return
+	 */
+	public boolean containsTransaction(String transactionID) {
+
+		return transactionID != null && arrivalNumbers.containsKey(transactionID);
+	}
+
+	/**
+	 * Returns the transaction with the input ID or null if it is not in the pool.
+	 *
+	 * @param transactionID
+	 * @return
+	 */
+	public Transaction getTransaction(String transactionID) {
+
+		Long arrivalNumber = transactionID == null ? null : arrivalNumbers.get(transactionID);
+
+		return arrivalNumber == null ? null : transactionsByArrival.get(arrivalNumber);
+	}
+
+	/**
+	 * Returns all transactions of the pool in the order they were inserted.
+	 *
+	 * @return
+	 */
+	public ArrayList<Transaction> getAllTransactions() {
+
+		return new ArrayList<Transaction>(transactionsByArrival.values());
+	}
+
+	/**
+	 * Returns all transactions of the pool which were created before the input
+	 * time, in the order they were inserted.
+	 *
+	 * @param inputTime
+	 * @return
+	 */
+	public ArrayList<Transaction> getAllTransactionsWhereTimestampBefore(String inputTime) {
+
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+
+		if (inputTime == null)
+			return transactions;
+
+		for (Transaction transaction : transactionsByArrival.values()) {
+
+			if (transaction.getTimeStamp() != null && transaction.getTimeStamp().compareTo(inputTime) < 0)
+				transactions.add(transaction);
+		}
+
+		return transactions;
+	}
+
+	/**
+	 * Returns the amount of transactions in the pool.
+	 *
+	 * @return
+	 */
+	public int size() {
+
+		return arrivalNumbers.size();
+	}
+
+	/**
+	 * Returns the maximal amount of transactions in the pool.
+	 *
+	 * @return
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Removes all transactions from the pool.
+	 */
+	public synchronized void clear() {
+
+		arrivalNumbers.clear();
+		transactionsByArrival.clear();
+		transactionsByFee.clear();
+	}
+
+	/**
+	 * The position of a transaction in the fee index, the highest fee first and
+	 * transactions with the same fee in the order they were inserted.
+	 */
+	private static class FeeRank implements Comparable<FeeRank> {
+
+		private final double fee;
+		private final long arrivalNumber;
+
+		private FeeRank(double fee, long arrivalNumber) {
+			this.fee = fee;
+			this.arrivalNumber = arrivalNumber;
+		}
+
+		@Override
+		public int compareTo(FeeRank other) {
+
+			int feeComparison = Double.compare(other.fee, fee);
+
+			return feeComparison != 0 ? feeComparison : Long.compare(arrivalNumber, other.arrivalNumber);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof FeeRank && compareTo((FeeRank) other) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (arrivalNumber ^ (arrivalNumber >>> 32));
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+package blockchain.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import blockchain.block.Transaction;
+
+/**
+ * This TransactionPoolJournal object is used to write the changes of the in
+ * memory transaction pool into the transactionPool table in the background, so
+ * that the table is only needed to recover the pool after a restart. The changes
+ * are queued in the order they were made and written by one thread as batches
+ * in one database transaction. The writes lock the input writer lock, so that
+ * they don´t interleave with the other writes on the writer connection.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class TransactionPoolJournal {
+
+	private static Logger logger = LoggerFactory.getLogger(TransactionPoolJournal.class);
+	private final ConnectionManager connectionManager;
+	private final SQLinsert insert;
+	private final SQLdelete delete;
+	private final Object writerLock;
+	private final ConcurrentLinkedQueue<JournalEntry> pendingEntries;
+	private final ExecutorService journalExecutor;
+
+	/**
+	 * Instantiates a new TransactionPoolJournal object which writes the changes
+	 * with the input objects while holding the writer lock. The parameters must
+	 * not be null.
+	 *
+	 * @param connectionManager
+	 * @param insert
+	 * @param delete
+	 * @param writerLock
+	 */
+	public TransactionPoolJournal(ConnectionManager connectionManager, SQLinsert insert, SQLdelete delete,
+			Object writerLock) {
+
+		if (connectionManager == null || insert == null || delete == null || writerLock == null)
+			throw new IllegalArgumentException("Parameters for TransactionPoolJournal can´t be null");
+
+		this.connectionManager = connectionManager;
+		this.insert = insert;
+		this.delete = delete;
+		this.writerLock = writerLock;
+		this.pendingEntries = new ConcurrentLinkedQueue<JournalEntry>();
+		this.journalExecutor = Executors.newSingleThreadExecutor();
+	}
+
+	/**
+	 * Queues the insertion of the transaction into the transactionPool table.
+	 *
+	 * @param transaction
+	 */
+	public void journalInsert(Transaction transaction) {
+
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+		transactions.add(transaction);
+
+		this.queue(new JournalEntry(true, transactions));
+	}
+
+	/**
+	 * Queues the deletion of the transactions from the transactionPool table.
+	 *
+	 * @param transactions
+	 */
+	public void journalDelete(List<Transaction> transactions) {
+
+		if (transactions == null || transactions.isEmpty())
+			return;
+
+		this.queue(new JournalEntry(false, new ArrayList<Transaction>(transactions)));
+	}
+
+	/**
+	 * Waits until all changes queued before this call are written.
+	 */
+	public void flush() {
+
+		try {
+
+			this.journalExecutor.submit(new Runnable() {
+
+				@Override
+				public void run() {
+
+					writePendingEntries();
+				}
+			}).get();
+
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+
+		} catch (ExecutionException | RejectedExecutionException e) {
+
+			logger.error("Transaction pool journal flush exception.", e);
+		}
+	}
+
+	/**
+	 * Writes all queued changes and stops the journal thread.
+	 */
+	public void close() {
+
+		this.flush();
+		this.journalExecutor.shutdown();
+
+		try {
+
+			if (!this.journalExecutor.awaitTermination(800, TimeUnit.MILLISECONDS))
+				this.journalExecutor.shutdownNow();
+
+		} catch (InterruptedException e) {
+
+			this.journalExecutor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the amount of changes which are not written yet.
+	 *
+	 * @return
+	 */
+	public int getPendingEntryCount() {
+
+		return this.pendingEntries.size();
+	}
+
+	/**
+	 * Helper method which queues the entry and lets the journal thread write it.
+	 * After the journal was closed the entry is written by the calling thread.
+	 *
+	 * @param entry
+	 */
+	private void queue(JournalEntry entry) {
+
+		this.pendingEntries.add(entry);
+
+		try {
+
+			this.journalExecutor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+
+					writePendingEntries();
+				}
+			});
+
+		} catch (RejectedExecutionException e) {
+
+			this.writePendingEntries();
+		}
+	}
+
+	/**
+	 * Helper method which writes all queued changes in the order they were queued
+	 * as one database transaction. If writing fails, the database transaction is
+	 * rolled back and the changes are lost for the table, the in memory pool is
+	 * not affected.
+	 */
+	private void writePendingEntries() {
+
+		synchronized (this.writerLock) {
+
+			if (this.pendingEntries.isEmpty())
+				return;
+
+			Connection connection = this.connectionManager.getWriter().getConnection();
+			int writtenEntries = 0;
+
+			try {
+
+				connection.setAutoCommit(false);
+
+				JournalEntry entry;
+
+				while ((entry = this.pendingEntries.poll()) != null) {
+
+					if (entry.insert)
+						this.insert.insertTransactionsIntoPool(entry.transactions);
+					else
+						this.delete.deleteTransactionsFromTransactionPool(entry.transactions);
+
+					writtenEntries++;
+				}
+
+				connection.commit();
+
+			} catch (SQLException e) {
+
+				logger.error("Exception while writing " + writtenEntries + " transaction pool changes, rolling back.",
+						e);
+
+				try {
+
+					connection.rollback();
+
+				} catch (SQLException rollbackException) {
+
+					logger.error("Exception while rolling back the transaction pool changes.", rollbackException);
+				}
+
+			} finally {
+
+				try {
+
+					connection.setAutoCommit(true);
+
+				} catch (SQLException e) {
+
+					logger.error("Exception while resetting auto commit.", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A queued insertion or deletion of transactions.
+	 */
+	private static class JournalEntry {
+
+		private final boolean insert;
+		private final ArrayList<Transaction> transactions;
+
+		private JournalEntry(boolean insert, ArrayList<Transaction> transactions) {
+			this.insert = insert;
+			this.transactions = transactions;
+		}
+	}
+
+}
@@ -3,10 +3,21 @@ package blockchain.node;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import blockchain.chain.BlockTemplateBuilder;
+import blockchain.concensus.PoW;
 import blockchain.controller.NodeController;
+import blockchain.database.EBlockStorageEngine;
 
 /**
- * Starts a new blockchian node.
+ * Starts a new blockchian node. The data saved by a previous run of the node is
+ * kept, unless the node is started with the argument --reset-state. With the
+ * argument --block-store=mapped the blocks are saved in memory mapped segment
+ * files instead of the database, with --block-store=memory all data is only
+ * kept in memory. With the arguments --max-block-transactions=n and
+ * --max-block-bytes=n the blocks mined by the node are kept smaller than the
+ * consensus algorithm allows, so that they propagate faster. When the node
+ * stops, the queued writes of the database are written and its connections are
+ * closed.
  *
  */
 public class NodeApp {
@@ -17,8 +28,45 @@ public class NodeApp {
 
 		logger.info("Starting blockchain node...");
 
-		NodeController nodeController = new NodeController();
+		boolean resetState = false;
+		EBlockStorageEngine blockStorageEngine = EBlockStorageEngine.SQLITE;
+		int maxBlockTransactions = PoW.getMaxTransactionsPerBlock();
+		int maxBlockSizeInBytes = PoW.getMaxBlockSizeInBytes();
+
+		for (String arg : args) {
+
+			if (arg.equals("--reset-state"))
+				resetState = true;
+
+			if (arg.equals("--block-store=mapped"))
+				blockStorageEngine = EBlockStorageEngine.MAPPED_FILE;
+
+			if (arg.equals("--block-store=memory"))
+				blockStorageEngine = EBlockStorageEngine.IN_MEMORY;
+
+			if (arg.startsWith("--max-block-transactions="))
+				maxBlockTransactions = Integer.parseInt(arg.substring("--max-block-transactions=".length()));
+
+			if (arg.startsWith("--max-block-bytes="))
+				maxBlockSizeInBytes = Integer.parseInt(arg.substring("--max-block-bytes=".length()));
+		}
+
+		BlockTemplateBuilder blockTemplateBuilder = new BlockTemplateBuilder(maxBlockTransactions,
+				maxBlockSizeInBytes);
+
+		final NodeController nodeController = new NodeController(resetState, blockStorageEngine);
+		nodeController.getBlockchainController().setBlockTemplateBuilder(blockTemplateBuilder);
 		nodeController.start();
 
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+
+			@Override
+			public void run() {
+
+				logger.info("Stopping blockchain node...");
+				nodeController.stop();
+			}
+		});
+
 	}
 }
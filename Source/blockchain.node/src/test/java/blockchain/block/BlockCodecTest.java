@@ -0,0 +1,141 @@
+package blockchain.block;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.wallet.model.Wallet;
+import marshaller.Marshaller;
+
+/**
+ * Testing the functionalities of the BlockCodec object by mocking
+ * corresponding objects.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockCodecTest {
+
+	private static final String legacySerializedBlockHeader = "aced00057372001c626c6f636b636861696e2e626c6f636b2e"
+			+ "426c6f636b486561646572"
+			+ "b387dd7e04bad84002000549000a646966666963756c74794900066e6f756e63654c000e"
+			+ "6d65726b6c65526f6f74486173687400124c6a6176612f6c616e672f537472696e673b4c"
+			+ "001170726576696f7573426c6f636b4861736871007e00014c000974696d655374616d70"
+			+ "71007e0001787000000004000030397400106c65676163794d65726b6c65526f6f747400"
+			+ "0130740013323032322e30312e30392e31323a30303a3030";
+	private static ArrayList<Transaction> testTransactions;
+	private static BlockHeader testBlockHeader;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		Wallet testWallet = new Wallet();
+		testTransactions = new ArrayList<Transaction>();
+
+		for (int i = 0; i < 10; i++) {
+
+			Transaction transaction = new Transaction(testWallet.getWalletAddress(), "to" + i, i + 0.5);
+			transaction.setSignature(testWallet.signTransaction(transaction.getTransactionID()));
+
+			testTransactions.add(transaction);
+		}
+
+		testTransactions.add(new Transaction("systemWallet", testWallet.getWalletAddress(), 5));
+
+		testBlockHeader = new BlockHeader("0", new MerkleTree(testTransactions).getMerkleRoot(), 4);
+		testBlockHeader.setNounce(12345);
+	}
+
+	/**
+	 * Testing the BlockCodec object by encoding and decoding the mocked block
+	 * header and transactions. The decoded objects must contain the same data and
+	 * the encoded transactions must be smaller than the serialized ones.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void encodeAndDecode_BlockHeaderAndTransactions_SameDataAndSmallerThanSerialized() throws Exception {
+
+		BlockHeader decodedBlockHeader = BlockCodec.decodeBlockHeader(BlockCodec.encodeBlockHeader(testBlockHeader));
+
+		assertTrue(decodedBlockHeader.getHeaderDataForHashCalculation()
+				.equals(testBlockHeader.getHeaderDataForHashCalculation()));
+		assertTrue(decodedBlockHeader.getNounce() == 12345);
+
+		byte[] encodedTransactions = BlockCodec.encodeTransactionList(testTransactions);
+		ArrayList<Transaction> decodedTransactions = BlockCodec.decodeTransactionList(encodedTransactions);
+
+		assertTrue(decodedTransactions.size() == testTransactions.size());
+
+		for (int i = 0; i < testTransactions.size(); i++) {
+
+			assertTrue(decodedTransactions.get(i).getTransactionData()
+					.equals(testTransactions.get(i).getTransactionData()));
+		}
+
+		assertTrue(encodedTransactions.length < new Marshaller().transformObjectToByte(testTransactions).length);
+		assertTrue(BlockCodec.decodeBlockHeader(BlockCodec.encodeBlockHeader(null)) == null);
+		assertTrue(BlockCodec.decodeTransactionList(BlockCodec.encodeTransactionList(null)) == null);
+	}
+
+	/**
+	 * Testing the BlockCodec object by decoding a block header and transactions
+	 * which were serialized by the Marshaller object, as saved by older versions
+	 * of the node. The decoded objects must contain the same data.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void decodeSerializedData_LegacyEncoding_SameData() throws Exception {
+
+		Marshaller marshaller = new Marshaller();
+
+		byte[] serializedBlockHeader = marshaller.transformObjectToByte(testBlockHeader);
+		byte[] serializedTransactions = marshaller.transformObjectToByte(testTransactions);
+
+		assertTrue(!BlockCodec.isEncoded(serializedBlockHeader) && !BlockCodec.isEncoded(serializedTransactions));
+		assertTrue(BlockCodec.decodeBlockHeader(serializedBlockHeader).getHeaderDataForHashCalculation()
+				.equals(testBlockHeader.getHeaderDataForHashCalculation()));
+		assertTrue(BlockCodec.decodeTransactionList(serializedTransactions).get(0).getTransactionData()
+				.equals(testTransactions.get(0).getTransactionData()));
+	}
+
+	/**
+	 * Testing the BlockCodec object by decoding a block header which was
+	 * serialized by the first version of the node, before the block header got
+	 * its constructor for decoding. The serial version UID must still match, so
+	 * the decoded header must contain the serialized data.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void decodeSerializedBlockHeader_FirstNodeVersion_SameData() throws Exception {
+
+		byte[] serializedBlockHeader = new byte[legacySerializedBlockHeader.length() / 2];
+
+		for (int i = 0; i < serializedBlockHeader.length; i++) {
+
+			serializedBlockHeader[i] = (byte) Integer.parseInt(legacySerializedBlockHeader.substring(2 * i, 2 * i + 2),
+					16);
+		}
+
+		BlockHeader decodedBlockHeader = BlockCodec.decodeBlockHeader(serializedBlockHeader);
+
+		assertTrue(decodedBlockHeader.getPreviousBlockHash().equals("0")
+				&& decodedBlockHeader.getMerkleRootHash().equals("legacyMerkleRoot"));
+		assertTrue(decodedBlockHeader.getTimeStamp().equals("2022.01.09.12:00:00")
+				&& decodedBlockHeader.getDifficulty() == 4 && decodedBlockHeader.getNounce() == 12345);
+	}
+
+}
@@ -0,0 +1,63 @@
+package blockchain.block;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * Testing the functionalities of the BlockHeaderHasher object by mocking
+ * corresponding objects.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockHeaderHasherTest {
+
+	private static BlockHeader testBlockHeader;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		testBlockHeader = new BlockHeader(
+				"764cc0ebb447fdefcabcd14ba9eabdf9e1c6c89f7ea24e735e376a1f0b2c9d11",
+				"c9f02ccdf2a04668aa872658d25da28b264140df7a234b9cbdb53380deeaa69b", 4);
+		testBlockHeader.setTimeStamp("2022.01.09.12:00:00");
+	}
+
+	/**
+	 * Testing the BlockHeaderHasher calculateHashString() method by hashing the
+	 * mocked block header with different nounces. Every hash has to be equal to
+	 * the hash of the header data string used by the rest of the node.
+	 */
+	@Test
+	public void hashBlockHeaderWithDifferentNounces_CompareWithHeaderDataHash_HashesEqual() {
+
+		BlockHeaderHasher testHasher = new BlockHeaderHasher(testBlockHeader);
+
+		int[] testNounces = { 0, 9, 10, 99, 12345, 86636, Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+
+		for (int nounce : testNounces) {
+
+			testBlockHeader.setNounce(nounce);
+
+			String expectedHash = SHA256Hasher
+					.returnSHA256HashStringFromString(testBlockHeader.getHeaderDataForHashCalculation());
+
+			assertTrue(testHasher.calculateHashString(nounce).equals(expectedHash));
+		}
+
+		testBlockHeader.setNounce(0);
+	}
+
+}
@@ -0,0 +1,119 @@
+package blockchain.block;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Testing the functionalities of the MerkleAccumulator object by mocking
+ * corresponding objects.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class MerkleAccumulatorTest {
+
+	private static ArrayList<Transaction> testTransactions;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 * 
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		testTransactions = new ArrayList<Transaction>();
+
+		for (int i = 0; i < 33; i++) {
+
+			testTransactions.add(new Transaction("from" + i, "to" + i, i + 1));
+		}
+	}
+
+	/**
+	 * Testing the MerkleAccumulator object getMerkleRoot() method by adding the
+	 * mocked transactions one by one. After every added transaction the root has to
+	 * be the same as the root calculated by the MerkleTree object for the added
+	 * transactions.
+	 */
+	@Test
+	public void addTransactionsOneByOne_CallGetMerkleRoot_RootTheSameAsMerkleTreeRoot() {
+
+		MerkleAccumulator testAccumulator = new MerkleAccumulator();
+
+		assertTrue(testAccumulator.getMerkleRoot().equals(new MerkleTree(new ArrayList<Transaction>()).getMerkleRoot()));
+
+		for (int i = 0; i < testTransactions.size(); i++) {
+
+			testAccumulator.addTransaction(testTransactions.get(i));
+
+			assertTrue(testAccumulator.getMerkleRoot().equals(
+					new MerkleTree(new ArrayList<Transaction>(testTransactions.subList(0, i + 1))).getMerkleRoot()));
+		}
+	}
+
+	/**
+	 * Testing the MerkleAccumulator object copy constructor and addTransaction()
+	 * method by adding a transaction to a copy and the same transaction twice. The
+	 * original accumulator doesn´t change and a transaction is only added once.
+	 */
+	@Test
+	public void copyAccumulatorAndAddTransactions_CompareWithOriginal_OriginalUnchangedAndNoDuplicates() {
+
+		MerkleAccumulator testAccumulator = new MerkleAccumulator(
+				new ArrayList<Transaction>(testTransactions.subList(0, 5)));
+		String originalRoot = testAccumulator.getMerkleRoot();
+
+		MerkleAccumulator copiedAccumulator = new MerkleAccumulator(testAccumulator);
+
+		assertTrue(copiedAccumulator.addTransaction(testTransactions.get(5)));
+		assertFalse(copiedAccumulator.addTransaction(testTransactions.get(5)));
+
+		assertTrue(testAccumulator.getMerkleRoot().equals(originalRoot) && testAccumulator.size() == 5);
+		assertTrue(copiedAccumulator.size() == 6 && copiedAccumulator.getMerkleRoot()
+				.equals(new MerkleTree(new ArrayList<Transaction>(testTransactions.subList(0, 6))).getMerkleRoot()));
+	}
+
+	/**
+	 * Testing the MerkleAccumulator object removeTransactions() method and prefix
+	 * constructor by removing transactions from the middle and the end and taking
+	 * the first transactions of the remaining ones. The roots have to be the same
+	 * as the roots calculated by the MerkleTree object for the remaining
+	 * transactions.
+	 */
+	@Test
+	public void removeTransactionsAndTakePrefix_CallGetMerkleRoot_RootTheSameAsMerkleTreeRoot() {
+
+		MerkleAccumulator testAccumulator = new MerkleAccumulator(testTransactions);
+		ArrayList<Transaction> remainingTransactions = new ArrayList<Transaction>(testTransactions);
+		ArrayList<Transaction> removedTransactions = new ArrayList<Transaction>(
+				Arrays.asList(testTransactions.get(5), testTransactions.get(17), testTransactions.get(32)));
+
+		remainingTransactions.removeAll(removedTransactions);
+
+		assertTrue(testAccumulator.removeTransactions(removedTransactions) == 3);
+		assertTrue(testAccumulator.removeTransactions(removedTransactions) == 0);
+		assertTrue(testAccumulator.size() == 30 && !testAccumulator.containsTransaction(
+				testTransactions.get(17).getTransactionID()));
+		assertTrue(testAccumulator.getMerkleRoot()
+				.equals(new MerkleTree(remainingTransactions).getMerkleRoot()));
+
+		for (int prefixSize = 0; prefixSize <= remainingTransactions.size(); prefixSize++) {
+
+			MerkleAccumulator prefixAccumulator = new MerkleAccumulator(testAccumulator, prefixSize);
+
+			assertTrue(prefixAccumulator.getMerkleRoot().equals(new MerkleTree(
+					new ArrayList<Transaction>(remainingTransactions.subList(0, prefixSize))).getMerkleRoot()));
+		}
+	}
+
+}
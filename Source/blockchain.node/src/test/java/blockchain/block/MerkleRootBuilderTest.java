@@ -0,0 +1,89 @@
+package blockchain.block;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * Testing the functionalities of the MerkleRootBuilder object by comparing its
+ * roots with roots calculated on hex strings.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class MerkleRootBuilderTest {
+
+	/**
+	 * Testing the MerkleRootBuilder calculateMerkleRoot() method with transaction
+	 * lists of different sizes, below and above the parallel threshold and with an
+	 * even and uneven amount of transactions. Every root has to be equal to the
+	 * root calculated level by level on hex strings.
+	 */
+	@Test
+	public void calculateMerkleRootOfDifferentSizes_CompareWithHexStringRoot_RootsEqual() {
+
+		int[] amountsOfTransactions = { 1, 2, 3, 4, 5, 7, 8, 9, 127, 128, 129, 255, 256, 257, 1000, 1025 };
+
+		for (int amountOfTransactions : amountsOfTransactions) {
+
+			ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+
+			for (int i = 0; i < amountOfTransactions; i++) {
+
+				Transaction transaction = new Transaction("xy", "xz", i);
+				transaction.setTimeStamp("2022.01.09.12:00:00");
+				transaction.setTransactionID(transaction.calculateTransactionID());
+				transactions.add(transaction);
+			}
+
+			String calculatedRoot = SHA256Hasher
+					.returnHexStringFromHash(MerkleRootBuilder.calculateMerkleRoot(transactions));
+
+			assertTrue(calculatedRoot.equals(calculateHexStringRoot(transactions)));
+			assertTrue(new MerkleTree(transactions).getMerkleRoot().equals(calculatedRoot));
+		}
+
+		assertTrue(MerkleRootBuilder.calculateMerkleRoot(new ArrayList<Transaction>()) == null);
+		assertTrue(new MerkleTree(new ArrayList<Transaction>()).getMerkleRoot().equals(" "));
+	}
+
+	/**
+	 * Helper method which calculates the merkle root on hex strings, copying the
+	 * last node of every uneven level.
+	 *
+	 * @param transactions
+	 * @return
+	 */
+	private static String calculateHexStringRoot(ArrayList<Transaction> transactions) {
+
+		ArrayList<String> level = new ArrayList<String>();
+
+		for (Transaction transaction : transactions) {
+
+			level.add(SHA256Hasher.returnSHA256HashStringFromString(transaction.getTransactionData()));
+		}
+
+		while (level.size() > 1) {
+
+			if (level.size() % 2 != 0)
+				level.add(level.get(level.size() - 1));
+
+			ArrayList<String> nextLevel = new ArrayList<String>();
+
+			for (int i = 0; i < level.size(); i += 2) {
+
+				nextLevel.add(SHA256Hasher.returnSHA256HashStringFromString(level.get(i) + level.get(i + 1)));
+			}
+
+			level = nextLevel;
+		}
+
+		return level.get(0);
+	}
+
+}
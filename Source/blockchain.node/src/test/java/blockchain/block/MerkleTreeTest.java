@@ -1,5 +1,6 @@
 package blockchain.block;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -61,4 +62,47 @@ public class MerkleTreeTest {
 
 		assertTrue(testTree.getMerkleRoot().equals(testRoot));
 	}
+
+	/**
+	 * Testing the MerkleTree object generateMerkleProof() method by creating the
+	 * proof for every transaction of trees with different sizes. Every proof has to
+	 * be verified against the root of the tree, a proof with a changed sibling or
+	 * for another transaction has to fail and no proof is created for a unknown
+	 * transaction.
+	 */
+	@Test
+	public void generateMerkleProofForEveryTransaction_VerifyProofAgainstRoot_OnlyUnchangedProofsValid() {
+
+		for (int size = 1; size <= 9; size++) {
+
+			ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+
+			for (int i = 0; i < size; i++) {
+
+				transactions.add(new Transaction("from" + i, "to" + i, i + 1));
+			}
+
+			MerkleTree testTree = new MerkleTree(transactions);
+
+			for (int i = 0; i < size; i++) {
+
+				Transaction transaction = transactions.get(i);
+				MerkleProof proof = testTree.generateMerkleProof(transaction.getTransactionID());
+
+				assertTrue(MerkleProof.verifyMerkleProof(transaction, proof, testTree.getMerkleRoot()));
+				if (size > 1)
+					assertFalse(MerkleProof.verifyMerkleProof(transactions.get((i + 1) % size), proof,
+							testTree.getMerkleRoot()));
+
+				if (!proof.getSiblingHashes().isEmpty()) {
+
+					proof.getSiblingHashes().set(0, SHA256Hasher.returnSHA256HashStringFromString("tampered"));
+
+					assertFalse(MerkleProof.verifyMerkleProof(transaction, proof, testTree.getMerkleRoot()));
+				}
+			}
+		}
+
+		assertTrue(new MerkleTree(testTransactions).generateMerkleProof("unknown") == null);
+	}
 }
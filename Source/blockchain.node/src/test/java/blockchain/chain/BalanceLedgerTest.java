@@ -0,0 +1,96 @@
+package blockchain.chain;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the BalanceLedger object by mocking
+ * corresponding objects.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BalanceLedgerTest {
+
+	private static Block genesisBlock;
+	private static Block firstBlock;
+	private static Block replacingBlock;
+	private static Transaction pendingTransaction;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 * 
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		genesisBlock = new Block(0, new BlockHeader("0", "0", 0),
+				new ArrayList<Transaction>(Arrays.asList(new Transaction("systemWallet", "balance", 1000))), 1);
+		firstBlock = new Block(1, new BlockHeader("0", "0", 0),
+				new ArrayList<Transaction>(Arrays.asList(new Transaction("xy", "XZ", 200))), 1);
+		replacingBlock = new Block(1, new BlockHeader("0", "0", 0),
+				new ArrayList<Transaction>(Arrays.asList(new Transaction("xy", "xv", 50))), 1);
+		pendingTransaction = new Transaction("xy", "xz", 100);
+	}
+
+	/**
+	 * Testing the BalanceLedger object applyBlock() and replaceBlock() methods by
+	 * booking mocked blocks. The balance of every wallet has to contain the
+	 * genesis balance, a block with a already booked index is ignored and a
+	 * replaced block is reversed.
+	 */
+	@Test
+	public void applyAndReplaceBlocks_CallGetBlockchainBalance_BalancesOfCurrentBlocksReturned() {
+
+		BalanceLedger testLedger = new BalanceLedger();
+
+		testLedger.applyBlock(genesisBlock);
+		testLedger.applyBlock(firstBlock);
+		testLedger.applyBlock(replacingBlock);
+
+		assertTrue(testLedger.getBlockchainBalance("xy") == 800);
+		assertTrue(testLedger.getBlockchainBalance("xz") == 1200);
+		assertTrue(testLedger.getBlockchainBalance("unknown") == 1000);
+
+		testLedger.replaceBlock(firstBlock, replacingBlock);
+
+		assertTrue(testLedger.getBlockchainBalance("xy") == 950);
+		assertTrue(testLedger.getBlockchainBalance("XZ") == 1000);
+		assertTrue(testLedger.getBlockchainBalance("xv") == 1050);
+	}
+
+	/**
+	 * Testing the BalanceLedger object pending transaction methods by adding a
+	 * mocked transaction twice and removing it. The pending amount contains the
+	 * transaction only once and is zero after the removal.
+	 */
+	@Test
+	public void addAndRemovePendingTransaction_CallGetPendingAmount_AmountCountedOnce() {
+
+		BalanceLedger testLedger = new BalanceLedger();
+
+		testLedger.addPendingTransaction(pendingTransaction);
+		testLedger.addPendingTransaction(pendingTransaction);
+
+		assertTrue(testLedger.getPendingAmount("xy") == 100);
+		assertTrue(testLedger.getPendingAmount("xz") == 0);
+
+		testLedger.removePendingTransaction(pendingTransaction);
+
+		assertTrue(testLedger.getPendingAmount("xy") == 0);
+	}
+
+}
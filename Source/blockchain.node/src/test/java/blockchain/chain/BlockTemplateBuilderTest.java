@@ -0,0 +1,165 @@
+package blockchain.chain;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockCodec;
+import blockchain.block.BlockHeader;
+import blockchain.block.MerkleAccumulator;
+import blockchain.block.Transaction;
+import blockchain.block.MerkleTree;
+import blockchain.concensus.PoW;
+import blockchain.database.InMemoryDatabase;
+
+/**
+ * Testing the functionalities of the BlockTemplateBuilder object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockTemplateBuilderTest {
+
+	private static BalanceLedger testBalanceLedger;
+	private static Transaction firstSenderTransaction;
+	private static Transaction firstSenderHighFeeTransaction;
+	private static Transaction secondSenderTransaction;
+	private static Transaction uncoveredTransaction;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		Transaction balanceTransaction = new Transaction("systemWallet", "balance", 10);
+		testBalanceLedger = new BalanceLedger();
+		testBalanceLedger.applyBlock(new Block(0, new BlockHeader("0", "0", 4),
+				new ArrayList<Transaction>(Arrays.asList(balanceTransaction)), 1));
+
+		firstSenderTransaction = createTransaction("first", 8, 0.1, "2026.10.17.10:00:00");
+		firstSenderHighFeeTransaction = createTransaction("first", 2, 0.9, "2026.10.17.10:00:01");
+		secondSenderTransaction = createTransaction("second", 1, 0.5, "2026.10.17.10:00:00");
+		uncoveredTransaction = createTransaction("third", 20, 1, "2026.10.17.10:00:00");
+	}
+
+	/**
+	 * Testing the BlockTemplateBuilder object by building templates from the same
+	 * transactions in different orders. The transactions must be chosen by their
+	 * fee, the transactions of a sender in the order of their timestamps and only
+	 * while the balance of the sender covers them, and the coinbase transaction
+	 * must pay the mining reward and the fees.
+	 */
+	@Test
+	public void buildBlockTemplate_TransactionsInDifferentOrder_SameTransactionsChosen() {
+
+		BlockTemplateBuilder testBuilder = new BlockTemplateBuilder();
+		ArrayList<Transaction> poolTransactions = new ArrayList<Transaction>(Arrays.asList(firstSenderTransaction,
+				firstSenderHighFeeTransaction, secondSenderTransaction, uncoveredTransaction));
+
+		MerkleAccumulator firstTemplate = testBuilder.buildBlockTemplate(null, poolTransactions, testBalanceLedger,
+				"miner");
+
+		Collections.reverse(poolTransactions);
+
+		MerkleAccumulator secondTemplate = testBuilder.buildBlockTemplate(null, poolTransactions, testBalanceLedger,
+				"miner");
+
+		ArrayList<Transaction> chosenTransactions = firstTemplate.getTransactions();
+
+		assertTrue(chosenTransactions.size() == 3);
+		assertTrue(chosenTransactions.get(0) == secondSenderTransaction);
+		assertTrue(chosenTransactions.get(1) == firstSenderTransaction);
+		assertTrue(chosenTransactions.get(2).getAmount() == PoW.getMiningreward() + 0.6);
+		assertTrue(secondTemplate.getTransactions().subList(0, 2).equals(chosenTransactions.subList(0, 2)));
+		assertTrue(testBuilder.getBuildCount() == 2);
+	}
+
+	/**
+	 * Testing the BlockTemplateBuilder object by building templates with a
+	 * maximal amount of transactions and a maximal block size which allow only
+	 * one transaction. The templates must contain one transaction and the
+	 * coinbase transaction.
+	 */
+	@Test
+	public void buildBlockTemplate_LimitsReached_TemplateLimited() {
+
+		ArrayList<Transaction> poolTransactions = new ArrayList<Transaction>(
+				Arrays.asList(firstSenderTransaction, secondSenderTransaction));
+
+		int maxBlockSizeInBytes = BlockCodec.encodeTransactionList(new ArrayList<Transaction>()).length
+				+ BlockCodec.getEncodedTransactionSize(new Transaction("systemWallet", "miner", 1))
+				+ BlockCodec.getEncodedTransactionSize(secondSenderTransaction);
+
+		MerkleAccumulator countLimitedTemplate = new BlockTemplateBuilder(1, PoW.getMaxBlockSizeInBytes())
+				.buildBlockTemplate(null, poolTransactions, testBalanceLedger, "miner");
+		MerkleAccumulator sizeLimitedTemplate = new BlockTemplateBuilder(10, maxBlockSizeInBytes)
+				.buildBlockTemplate(null, poolTransactions, testBalanceLedger, "miner");
+
+		assertTrue(countLimitedTemplate.size() == 2);
+		assertTrue(countLimitedTemplate.getTransactions().get(0) == secondSenderTransaction);
+		assertTrue(sizeLimitedTemplate.size() == 2);
+		assertTrue(BlockCodec.encodeTransactionList(sizeLimitedTemplate.getTransactions())
+				.length <= maxBlockSizeInBytes);
+	}
+
+	/**
+	 * Testing the BlockTemplateBuilder object by building a template after a block
+	 * with the first pool transaction was mined. The pool accumulator must be kept
+	 * without the mined transaction, so that its remaining transactions are reused
+	 * and the root of the template is the root of its transactions.
+	 */
+	@Test
+	public void buildBlockTemplate_BlockMined_PoolAccumulatorReused() {
+
+		InMemoryDatabase testDatabase = new InMemoryDatabase();
+		BlockTemplateBuilder testBuilder = new BlockTemplateBuilder();
+
+		testDatabase.insertBlockIntoBlockchain(new Block(0, new BlockHeader("0", "0", 4),
+				new ArrayList<Transaction>(Arrays.asList(new Transaction("systemWallet", "first", 10),
+						new Transaction("systemWallet", "second", 10))), 1));
+		testDatabase.insertTransactionIntoTransactionPool(uncoveredTransaction);
+		testDatabase.insertTransactionIntoTransactionPool(firstSenderHighFeeTransaction);
+		testDatabase.insertTransactionIntoTransactionPool(secondSenderTransaction);
+		testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(new Block(1, new BlockHeader("1", "1", 4),
+				new ArrayList<Transaction>(Arrays.asList(uncoveredTransaction)), 1));
+
+		MerkleAccumulator template = testBuilder.buildBlockTemplate(testDatabase.getTransactionPoolAccumulator(),
+				testDatabase.getAllTransactionsFromTransactionPool(), testDatabase.getBalanceLedger(), "miner");
+
+		assertTrue(testBuilder.getLastReusedTransactionCount() == 2 && template.size() == 3);
+		assertTrue(template.getMerkleRoot().equals(new MerkleTree(template.getTransactions()).getMerkleRoot()));
+
+		testDatabase.closeDbConnection();
+	}
+
+	/**
+	 * Helper method which creates a transaction with the input values.
+	 *
+	 * @param fromAdress
+	 * @param amount
+	 * @param fee
+	 * @param timeStamp
+	 * @return
+	 */
+	private static Transaction createTransaction(String fromAdress, double amount, double fee, String timeStamp) {
+
+		Transaction transaction = new Transaction(fromAdress, "to", amount, fee);
+		transaction.setTimeStamp(timeStamp);
+		transaction.setTransactionID(transaction.calculateTransactionID());
+
+		return transaction;
+	}
+
+}
@@ -0,0 +1,172 @@
+package blockchain.chain;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.concensus.DifficultyTarget;
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * Testing the functionalities of the BlockTree object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockTreeTest {
+
+	private static int easyDifficulty;
+	private static int hardDifficulty;
+	private static Block genesisBlock;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		easyDifficulty = DifficultyTarget.fromLeadingZeroBits(8).getCompact();
+		hardDifficulty = DifficultyTarget.fromLeadingZeroBits(12).getCompact();
+		genesisBlock = new Block(0, new BlockHeader("0", "genesisRoot", easyDifficulty), null, 1);
+	}
+
+	/**
+	 * Testing the BlockTree object by adding a competing branch to a chain of two
+	 * blocks. The branch must become the chain only when it has more work than
+	 * the chain, and the disconnected blocks must be kept, so that the old chain
+	 * becomes the chain again when it gets more work than the branch.
+	 */
+	@Test
+	public void addBlocks_CompetingBranchWithMoreWork_ChainReorganised() {
+
+		BlockTree testBlockTree = new BlockTree();
+		Block firstChainBlock = createBlock(1, genesisBlock, "firstChainRoot", easyDifficulty);
+		Block secondChainBlock = createBlock(2, firstChainBlock, "secondChainRoot", easyDifficulty);
+		Block firstBranchBlock = createBlock(1, genesisBlock, "firstBranchRoot", easyDifficulty);
+		Block secondBranchBlock = createBlock(2, firstBranchBlock, "secondBranchRoot", easyDifficulty);
+		Block thirdBranchBlock = createBlock(3, secondBranchBlock, "thirdBranchRoot", easyDifficulty);
+
+		testBlockTree.appendStoredBlock(genesisBlock);
+		testBlockTree.appendStoredBlock(firstChainBlock);
+		testBlockTree.appendStoredBlock(secondChainBlock);
+
+		assertTrue(testBlockTree.addBlock(firstBranchBlock) == null);
+		assertTrue(testBlockTree.addBlock(secondBranchBlock) == null);
+
+		ChainReorganisation reorganisation = testBlockTree.addBlock(thirdBranchBlock);
+
+		assertTrue(reorganisation.getForkHeight() == 0 && reorganisation.getDepth() == 2);
+		assertTrue(reorganisation.getConnectedBlocks()
+				.equals(Arrays.asList(firstBranchBlock, secondBranchBlock, thirdBranchBlock)));
+		assertTrue(testBlockTree.getTipHeight() == 2);
+
+		testBlockTree.applyReorganisation(reorganisation, Arrays.asList(firstChainBlock, secondChainBlock));
+
+		assertTrue(testBlockTree.getTipHeight() == 3);
+		assertTrue(testBlockTree.isInMainChain(calculateBlockHash(secondBranchBlock)));
+		assertTrue(!testBlockTree.isInMainChain(calculateBlockHash(secondChainBlock)));
+		assertTrue(testBlockTree.getBranchBlockCount() == 2);
+
+		Block thirdChainBlock = createBlock(3, secondChainBlock, "thirdChainRoot", easyDifficulty);
+		Block fourthChainBlock = createBlock(4, thirdChainBlock, "fourthChainRoot", easyDifficulty);
+
+		assertTrue(testBlockTree.addBlock(thirdChainBlock) == null);
+
+		ChainReorganisation reorganisationBack = testBlockTree.addBlock(fourthChainBlock);
+
+		assertTrue(reorganisationBack.getDepth() == 3);
+		assertTrue(reorganisationBack.getConnectedBlocks()
+				.equals(Arrays.asList(firstChainBlock, secondChainBlock, thirdChainBlock, fourthChainBlock)));
+	}
+
+	/**
+	 * Testing the BlockTree object by adding a shorter branch whose blocks have a
+	 * higher difficulty. The branch must become the chain because it has more
+	 * cumulative work although it has less blocks.
+	 */
+	@Test
+	public void addBlock_ShorterBranchWithHigherDifficulty_ChainReorganised() {
+
+		BlockTree testBlockTree = new BlockTree();
+		Block firstChainBlock = createBlock(1, genesisBlock, "firstChainRoot", easyDifficulty);
+		Block secondChainBlock = createBlock(2, firstChainBlock, "secondChainRoot", easyDifficulty);
+		Block hardBranchBlock = createBlock(1, genesisBlock, "hardBranchRoot", hardDifficulty);
+
+		testBlockTree.appendStoredBlock(genesisBlock);
+		testBlockTree.appendStoredBlock(firstChainBlock);
+		testBlockTree.appendStoredBlock(secondChainBlock);
+
+		ChainReorganisation reorganisation = testBlockTree.addBlock(hardBranchBlock);
+
+		testBlockTree.applyReorganisation(reorganisation, Arrays.asList(firstChainBlock, secondChainBlock));
+
+		assertTrue(reorganisation.getDepth() == 2 && reorganisation.getNewTip() == hardBranchBlock);
+		assertTrue(testBlockTree.getTipHeight() == 1);
+		assertTrue(testBlockTree.getTipCumulativeWork().equals(BlockTree.calculateBlockWork(genesisBlock)
+				.add(BlockTree.calculateBlockWork(hardBranchBlock))));
+	}
+
+	/**
+	 * Testing the BlockTree object by adding a block which is already known, a
+	 * block whose previous block is unknown and a stored block which doesn´t
+	 * follow the chain tip. None of them must be added.
+	 */
+	@Test
+	public void addBlocks_KnownOrUnknownPreviousBlock_BlocksNotAdded() {
+
+		BlockTree testBlockTree = new BlockTree();
+		Block firstChainBlock = createBlock(1, genesisBlock, "firstChainRoot", easyDifficulty);
+		Block unknownParentBlock = new Block(2, new BlockHeader("unknownHash", "unknownRoot", easyDifficulty), null,
+				1);
+
+		testBlockTree.appendStoredBlock(genesisBlock);
+
+		ChainReorganisation reorganisation = testBlockTree.addBlock(firstChainBlock);
+		testBlockTree.applyReorganisation(reorganisation, new ArrayList<Block>());
+
+		assertTrue(testBlockTree.addBlock(firstChainBlock) == null);
+		assertTrue(testBlockTree.addBlock(unknownParentBlock) == null);
+		assertTrue(!testBlockTree.appendStoredBlock(unknownParentBlock));
+		assertTrue(testBlockTree.getHeight("unknownHash") == -1);
+		assertTrue(testBlockTree.getTipHeight() == 1 && testBlockTree.getBranchBlockCount() == 0);
+	}
+
+	/**
+	 * Helper method which creates a block with the input index, merkle root and
+	 * difficulty following the input block.
+	 *
+	 * @param index
+	 * @param previousBlock
+	 * @param merkleRoot
+	 * @param difficulty
+	 * @return
+	 */
+	private static Block createBlock(int index, Block previousBlock, String merkleRoot, int difficulty) {
+
+		return new Block(index, new BlockHeader(calculateBlockHash(previousBlock), merkleRoot, difficulty), null, 1);
+	}
+
+	/**
+	 * Helper method which returns the hash of the block header.
+	 *
+	 * @param block
+	 * @return
+	 */
+	private static String calculateBlockHash(Block block) {
+
+		return SHA256Hasher
+				.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation());
+	}
+
+}
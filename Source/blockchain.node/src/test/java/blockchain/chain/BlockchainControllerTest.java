@@ -2,6 +2,11 @@ package blockchain.chain;
 
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.times;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -9,6 +14,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.block.Transaction;
+import blockchain.concensus.DifficultyTarget;
+import blockchain.concensus.PoW;
+import blockchain.concensus.SHA256Hasher;
 import blockchain.controller.NodeController;
 import blockchain.database.DriverClass;
 
@@ -25,8 +35,9 @@ public class BlockchainControllerTest {
 	private static NodeController testNodeController;
 	private static DriverClass testDatabase;
 	private static BlockchainController testBlockchainController;
+	private static Block genesisBlock;
 	private static Block newBlockToBeAdded;
-	private static Block oldBlockInDatabase;
+	private static int testDifficulty;
 
 	/**
 	 * Running exactly once during the test run - at the very beginning before
@@ -38,19 +49,20 @@ public class BlockchainControllerTest {
 	@BeforeClass
 	public static void setUpBeforeClass() throws Exception {
 
-		Block genesisBlock = new Block(0, null, null, 1);
-
-		newBlockToBeAdded = new Block(1, null, null, 5);
-		Thread.sleep(1);
-		oldBlockInDatabase = new Block(1, null, null, 5);
+		testDifficulty = DifficultyTarget.fromLeadingZeroBits(8).getCompact();
+		genesisBlock = new Block(0, new BlockHeader("0", "genesisRoot", testDifficulty), null, 1);
+		newBlockToBeAdded = createBlock(1, genesisBlock, "newRoot");
 
 		testNodeController = Mockito.mock(NodeController.class);
 		testDatabase = Mockito.mock(DriverClass.class);
 
 		Mockito.when(testDatabase.getLastBlockFromBlockchain()).thenReturn(genesisBlock);
+		Mockito.when(testDatabase.getBlocksFromBlockchainInIndexRange(0, 0))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(genesisBlock)));
 		Mockito.when(testNodeController.getDatabase()).thenReturn(testDatabase);
 		Mockito.doNothing().when(testDatabase).insertBlockIntoBlockchain(Mockito.any(Block.class));
-		Mockito.doNothing().when(testDatabase).moveMinedTransactionsFromPool(Mockito.any(Block.class));
+		Mockito.when(testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(Mockito.any(Block.class)))
+				.thenReturn(true);
 		Mockito.doNothing().when(testNodeController).broadcastNewlyMinedBlockToTheNetwork(Mockito.any(Block.class));
 
 		testBlockchainController = new BlockchainController(testNodeController);
@@ -60,26 +72,83 @@ public class BlockchainControllerTest {
 	/**
 	 * Testing the BlockchainController
 	 * resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(..) method by
-	 * mocking a block object with the same index as the block which is already
-	 * saved in the blockchain.The new block has a mining times stamp which is
-	 * before the mining time stamp of the block already in the blockchain. This
-	 * results in the old block being replaced by the new one.
-	 * 
-	 * @throws InterruptedException
+	 * adding a block to the chain and a competing block with the same index, which
+	 * is only kept on its branch because it has the same work. When a block
+	 * following the competing block arrives, its branch has more work and the
+	 * blockchain is reorganised to it.
 	 */
 	@Test
-	public void mockBlockWithSameIndex_CallResolveBlockConsensusConflict_BlockReplacedWithNew()
-			throws InterruptedException {
+	public void mockCompetingBranchWithMoreWork_CallResolveBlockConsensusConflict_BlockchainReorganised() {
+
+		DriverClass reorganisedDatabase = Mockito.mock(DriverClass.class);
+		NodeController reorganisedNodeController = Mockito.mock(NodeController.class);
 
-		Mockito.when(testDatabase.getBlockWithInputIndex(Mockito.anyInt())).thenReturn(oldBlockInDatabase);
+		Mockito.when(reorganisedDatabase.getLastBlockFromBlockchain()).thenReturn(genesisBlock);
+		Mockito.when(reorganisedDatabase.getBlocksFromBlockchainInIndexRange(0, 0))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(genesisBlock)));
+		Mockito.when(reorganisedNodeController.getDatabase()).thenReturn(reorganisedDatabase);
 
-		testBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(newBlockToBeAdded, false);
+		BlockchainController reorganisedBlockchainController = new BlockchainController(reorganisedNodeController);
 
-		ArgumentCaptor<Block> capturedBlock = ArgumentCaptor.forClass(Block.class);
+		Block chainBlock = createBlock(1, genesisBlock, "chainRoot");
+		Block branchBlock = createBlock(1, genesisBlock, "branchRoot");
+		Block branchTip = createBlock(2, branchBlock, "branchTipRoot");
 
-		Mockito.verify(testDatabase).replaceBlockFromBlockchain(capturedBlock.capture());
+		Mockito.when(reorganisedDatabase.getBlocksFromBlockchainInIndexRange(1, 1))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(chainBlock)));
+		Mockito.when(reorganisedDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(Mockito.any(Block.class)))
+				.thenReturn(true);
+		Mockito.when(reorganisedDatabase.reorganiseBlockchain(Mockito.<Block>anyList(), Mockito.<Block>anyList()))
+				.thenReturn(true);
 
-		assertTrue(capturedBlock.getValue().equals(newBlockToBeAdded));
+		reorganisedBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(chainBlock, false);
+		reorganisedBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(branchBlock, false);
+
+		assertTrue(reorganisedBlockchainController.getReorganisationCount() == 0);
+
+		reorganisedBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(branchTip, false);
+
+		Mockito.verify(reorganisedDatabase, times(1)).insertBlockIntoBlockchainAndMoveMinedTransactions(chainBlock);
+		Mockito.verify(reorganisedDatabase).reorganiseBlockchain(Arrays.asList(chainBlock),
+				Arrays.asList(branchBlock, branchTip));
+
+		assertTrue(reorganisedBlockchainController.getReorganisationCount() == 1);
+		assertTrue(reorganisedBlockchainController.getLastReorganisationDepth() == 1);
+		assertTrue(reorganisedBlockchainController.getChainTipIndex() == 2);
+		assertTrue(reorganisedBlockchainController.getBlockchain().getBlock(1) == branchBlock);
+		assertTrue(!reorganisedBlockchainController.getBlockchain().containsBlockHash(calculateBlockHash(chainBlock)));
+		assertTrue(reorganisedBlockchainController.getBlockTree().getTipHash()
+				.equalsIgnoreCase(calculateBlockHash(branchTip)));
+	}
+
+	/**
+	 * Testing the BlockchainController
+	 * resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(..) method by
+	 * mining a block which the database fails to insert. The chain tip must stay
+	 * at the previous block and the block must not be broadcasted.
+	 */
+	@Test
+	public void mockFailingBlockInsert_CallResolveBlockConsensusConflict_ChainTipUnchanged() {
+
+		DriverClass failingDatabase = Mockito.mock(DriverClass.class);
+		NodeController failingNodeController = Mockito.mock(NodeController.class);
+
+		Mockito.when(failingDatabase.getLastBlockFromBlockchain()).thenReturn(genesisBlock);
+		Mockito.when(failingDatabase.getBlocksFromBlockchainInIndexRange(0, 0))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(genesisBlock)));
+		Mockito.when(failingNodeController.getDatabase()).thenReturn(failingDatabase);
+		Mockito.when(failingDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(Mockito.any(Block.class)))
+				.thenReturn(false);
+
+		BlockchainController failingBlockchainController = new BlockchainController(failingNodeController);
+
+		failingBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(
+				createBlock(1, genesisBlock, "failingRoot"), true);
+
+		Mockito.verify(failingNodeController, times(0)).broadcastNewlyMinedBlockToTheNetwork(Mockito.any(Block.class));
+
+		assertTrue(failingBlockchainController.getBlockTree().getTipHeight() == 0);
+		assertTrue(failingBlockchainController.getBlockchain().getChain().size() == 1);
 	}
 
 	/**
@@ -95,18 +164,189 @@ public class BlockchainControllerTest {
 	public void mockNewlyMinedBlock_CallResolveBlockConsensusConflict_NewBlockInsertedIntoDBAndBroadcasted()
 			throws InterruptedException {
 
-		Mockito.when(testDatabase.getBlockWithInputIndex(Mockito.anyInt())).thenReturn(null);
-
 		testBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(newBlockToBeAdded, true);
 
 		ArgumentCaptor<Block> broadcastCapturedBlock = ArgumentCaptor.forClass(Block.class);
 		ArgumentCaptor<Block> databaseCapturedBlock = ArgumentCaptor.forClass(Block.class);
 
-		Mockito.verify(testDatabase, atLeast(1)).insertBlockIntoBlockchain(databaseCapturedBlock.capture());
+		Mockito.verify(testDatabase, atLeast(1))
+				.insertBlockIntoBlockchainAndMoveMinedTransactions(databaseCapturedBlock.capture());
 		Mockito.verify(testNodeController).broadcastNewlyMinedBlockToTheNetwork(broadcastCapturedBlock.capture());
 
 		assertTrue(broadcastCapturedBlock.getValue().equals(databaseCapturedBlock.getValue()));
 		assertTrue(broadcastCapturedBlock.getValue().equals(newBlockToBeAdded));
 	}
 
+	/**
+	 * Testing the BlockchainController publishBlockAddedToChain(..) method by
+	 * registering a listener and inserting a new block with a higher index than the
+	 * current chain tip. The listener has to be notified with the new chain tip and
+	 * must not be notified anymore after it has been removed.
+	 */
+	@Test
+	public void registerChainTipListener_InsertNewBlock_ListenerNotifiedWithNewTip() {
+
+		final ArrayList<Integer> notifiedChainTips = new ArrayList<Integer>();
+
+		ChainTipListener testListener = new ChainTipListener() {
+
+			@Override
+			public void onBlockAddedToChain(Block block, int chainTipIndex) {
+				notifiedChainTips.add(chainTipIndex);
+			}
+		};
+
+		testBlockchainController.addChainTipListener(testListener);
+		testBlockchainController.publishBlockAddedToChain(new Block(7, null, null, 1));
+		testBlockchainController.removeChainTipListener(testListener);
+		testBlockchainController.publishBlockAddedToChain(new Block(8, null, null, 1));
+
+		assertTrue(notifiedChainTips.size() == 1 && notifiedChainTips.get(0) == 7);
+		assertTrue(testBlockchainController.getChainTipIndex() == 8);
+	}
+
+	/**
+	 * Testing the BlockchainController methods calculateDifficultyForBlock(..) and
+	 * calculateBalancesBeforeBlock(..) by adding a side branch with less work next
+	 * to the chain. A block following the branch tip is validated against the
+	 * difficulties and transactions of the branch instead of the chain blocks with
+	 * the same indexes, a block following the chain tip against the chain blocks.
+	 */
+	@Test
+	public void mockSideBranch_CalculateDifficultyAndBalancesForBranchBlock_BranchAncestryUsed() {
+
+		DriverClass branchDatabase = Mockito.mock(DriverClass.class);
+		NodeController branchNodeController = Mockito.mock(NodeController.class);
+
+		Mockito.when(branchDatabase.getLastBlockFromBlockchain()).thenReturn(genesisBlock);
+		Mockito.when(branchDatabase.getBlocksFromBlockchainInIndexRange(0, 0))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(genesisBlock)));
+		Mockito.when(branchNodeController.getDatabase()).thenReturn(branchDatabase);
+		Mockito.when(branchDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(Mockito.any(Block.class)))
+				.thenReturn(true);
+
+		BlockchainController branchBlockchainController = new BlockchainController(branchNodeController);
+
+		int branchDifficulty = DifficultyTarget.fromLeadingZeroBits(4).getCompact();
+
+		Block chainBlock = createBlock(1, genesisBlock, "chainRoot", testDifficulty,
+				new ArrayList<Transaction>(Arrays.asList(new Transaction("systemWallet", "xy", 500))));
+		Block chainTip = createBlock(2, chainBlock, "chainTipRoot", testDifficulty, new ArrayList<Transaction>());
+		Block branchBlock = createBlock(1, genesisBlock, "branchRoot", branchDifficulty,
+				new ArrayList<Transaction>(Arrays.asList(new Transaction("xy", "xz", 100))));
+		Block branchTip = createBlock(2, branchBlock, "branchTipRoot", branchDifficulty, new ArrayList<Transaction>());
+
+		BalanceLedger chainBalanceLedger = new BalanceLedger();
+		chainBalanceLedger.applyBlock(chainBlock);
+		chainBalanceLedger.applyBlock(chainTip);
+
+		Mockito.when(branchDatabase.getBalanceLedger()).thenReturn(chainBalanceLedger);
+		Mockito.when(branchDatabase.getBlocksFromBlockchainInIndexRange(1, 1))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(chainBlock)));
+		Mockito.when(branchDatabase.getBlocksFromBlockchainInIndexRange(1, 2))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(chainBlock, chainTip)));
+		Mockito.when(branchDatabase.getBlocksFromBlockchainInIndexRange(1, Integer.MAX_VALUE))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(chainBlock, chainTip)));
+
+		branchBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(chainBlock, false);
+		branchBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(chainTip, false);
+		branchBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(branchBlock, false);
+		branchBlockchainController.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(branchTip, false);
+
+		assertTrue(branchBlockchainController.getReorganisationCount() == 0);
+
+		Block nextBranchBlock = createBlock(3, branchTip, "nextBranchRoot", branchDifficulty, null);
+		Block nextChainBlock = createBlock(3, chainTip, "nextChainRoot", testDifficulty, null);
+		PoW consensusAlgorithm = branchBlockchainController.getConsensusAlgorithm();
+
+		assertTrue(branchBlockchainController.calculateDifficultyForBlock(nextBranchBlock) == consensusAlgorithm
+				.calculateNextDifficulty(Arrays.asList(branchBlock, branchTip)));
+		assertTrue(branchBlockchainController.calculateDifficultyForBlock(nextChainBlock) == consensusAlgorithm
+				.calculateNextDifficulty(Arrays.asList(chainBlock, chainTip)));
+
+		HashMap<String, Double> branchBalances = branchBlockchainController
+				.calculateBalancesBeforeBlock(nextBranchBlock, Arrays.asList("xy", "xz"));
+		HashMap<String, Double> chainBalances = branchBlockchainController.calculateBalancesBeforeBlock(nextChainBlock,
+				Arrays.asList("xy", "xz"));
+
+		assertTrue(branchBalances.get("xy") == -100 && branchBalances.get("xz") == 100);
+		assertTrue(chainBalances.get("xy") == 500 && chainBalances.get("xz") == 0);
+	}
+
+	/**
+	 * Testing the BlockchainController method synchroniseBlockTreeWithDatabase(),
+	 * which is called on start, with blocks stored by a previous run of the node.
+	 * The stored blocks must be loaded into the blockchain object.
+	 */
+	@Test
+	public void mockStoredBlocks_CallSynchroniseBlockTreeWithDatabase_BlocksLoadedIntoBlockchain() {
+
+		DriverClass storedDatabase = Mockito.mock(DriverClass.class);
+		NodeController storedNodeController = Mockito.mock(NodeController.class);
+		Block storedBlock = createBlock(1, genesisBlock, "storedRoot");
+
+		Mockito.when(storedDatabase.getLastBlockFromBlockchain()).thenReturn(storedBlock);
+		Mockito.when(storedDatabase.getBlocksFromBlockchainInIndexRange(0, 1))
+				.thenReturn(new ArrayList<Block>(Arrays.asList(genesisBlock, storedBlock)));
+		Mockito.when(storedNodeController.getDatabase()).thenReturn(storedDatabase);
+
+		BlockchainController storedBlockchainController = new BlockchainController(storedNodeController);
+
+		assertTrue(storedBlockchainController.getBlockchain().size() == 0);
+
+		storedBlockchainController.synchroniseBlockTreeWithDatabase();
+
+		assertTrue(storedBlockchainController.getBlockchain().size() == 2);
+		assertTrue(storedBlockchainController.getBlockchain().getBlock(1) == storedBlock);
+		assertTrue(storedBlockchainController.getBlockchain().getLastBlock() == storedBlock);
+	}
+
+	/**
+	 * Helper method which creates a block with the input index and merkle root
+	 * following the input block.
+	 * 
+	 * @param index
+	 * @param previousBlock
+	 * @param merkleRoot
+	 * @return
+	 */
+	private static Block createBlock(int index, Block previousBlock, String merkleRoot) {
+
+		return new Block(index, new BlockHeader(calculateBlockHash(previousBlock), merkleRoot, testDifficulty), null,
+				1);
+	}
+
+	/**
+	 * Helper method which creates a block with the input index, merkle root,
+	 * difficulty and transactions following the input block. The block header time
+	 * stamp is set to one minute per block index.
+	 * 
+	 * @param index
+	 * @param previousBlock
+	 * @param merkleRoot
+	 * @param difficulty
+	 * @param transactions
+	 * @return
+	 */
+	private static Block createBlock(int index, Block previousBlock, String merkleRoot, int difficulty,
+			ArrayList<Transaction> transactions) {
+
+		BlockHeader blockHeader = new BlockHeader(calculateBlockHash(previousBlock), merkleRoot, difficulty);
+		blockHeader.setTimeStamp("2022.01.09.12:0" + index + ":00");
+
+		return new Block(index, blockHeader, transactions, 1);
+	}
+
+	/**
+	 * Helper method which returns the hash of the block header.
+	 * 
+	 * @param block
+	 * @return
+	 */
+	private static String calculateBlockHash(Block block) {
+
+		return SHA256Hasher
+				.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation());
+	}
+
 }
@@ -0,0 +1,190 @@
+package blockchain.chain;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * Testing the functionalities of the Blockchain object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockchainTest {
+
+	private static Block firstTestBlock;
+	private static Block secondTestBlock;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		firstTestBlock = new Block(5, new BlockHeader("0", "firstRoot", 4), null, 0);
+		secondTestBlock = new Block(6, new BlockHeader(calculateBlockHash(firstTestBlock), "secondRoot", 4), null, 0);
+	}
+
+	/**
+	 * Testing the Blockchain object by removing the blocks after the height of the
+	 * first block, as after a reorganisation, and adding a competing block. The
+	 * removed block must not be found anymore and the snapshot taken before must
+	 * still contain it.
+	 */
+	@Test
+	public void removeBlocksAfterHeight_CompetingBlockAdded_RemovedBlockNotIndexed() {
+
+		Blockchain testBlockchain = new Blockchain();
+		Block competingTestBlock = new Block(6,
+				new BlockHeader(calculateBlockHash(firstTestBlock), "competingRoot", 4), null, 0);
+
+		testBlockchain.addBlockToBlockchain(firstTestBlock);
+		testBlockchain.addBlockToBlockchain(secondTestBlock);
+
+		List<Block> snapshot = testBlockchain.getChain();
+
+		assertTrue(testBlockchain.removeBlocksAfterHeight(5) == 1);
+		assertTrue(testBlockchain.removeBlocksAfterHeight(5) == 0);
+
+		testBlockchain.addBlockToBlockchain(competingTestBlock);
+
+		assertTrue(testBlockchain.size() == 2 && testBlockchain.getBlock(6) == competingTestBlock);
+		assertTrue(!testBlockchain.containsBlockHash(calculateBlockHash(secondTestBlock)));
+		assertTrue(testBlockchain.getHeight(calculateBlockHash(competingTestBlock)) == 6);
+		assertTrue(snapshot.size() == 2 && snapshot.get(1) == secondTestBlock);
+	}
+
+	/**
+	 * Testing the Blockchain object by reading the chain while another thread
+	 * appends blocks, which grows the block array, and removes them again like a
+	 * reorganisation. A non empty chain must never return a missing block.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void readChain_BlocksAddedAndRemovedConcurrently_NoMissingBlocks() throws Exception {
+
+		final Blockchain testBlockchain = new Blockchain();
+		testBlockchain.addBlockToBlockchain(firstTestBlock);
+
+		Thread writer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+
+				for (int i = 0; i < 2000; i++) {
+
+					for (int height = 6; height < 40; height++) {
+
+						testBlockchain.addBlockToBlockchain(new Block(height, null, null, 0));
+					}
+
+					testBlockchain.removeBlocksAfterHeight(5);
+				}
+			}
+		});
+
+		writer.start();
+
+		boolean missingBlock = false;
+
+		while (writer.isAlive()) {
+
+			missingBlock |= testBlockchain.getLastBlock() == null || testBlockchain.getChain().contains(null);
+		}
+
+		writer.join();
+
+		assertTrue(!missingBlock);
+		assertTrue(testBlockchain.size() == 1 && testBlockchain.getLastBlock() == firstTestBlock);
+	}
+
+	/**
+	 * Testing the Blockchain object by adding two blocks after taking a snapshot
+	 * of the chain. The blocks must be found by their height and hash and the
+	 * snapshot must not contain the blocks added after it was taken.
+	 */
+	@Test
+	public void addBlocks_SnapshotTaken_BlocksIndexedSnapshotUnchanged() {
+
+		Blockchain testBlockchain = new Blockchain();
+
+		testBlockchain.addBlockToBlockchain(firstTestBlock);
+
+		List<Block> snapshot = testBlockchain.getChain();
+
+		testBlockchain.addBlockToBlockchain(secondTestBlock);
+
+		assertTrue(snapshot.size() == 1 && snapshot.get(0) == firstTestBlock);
+		assertTrue(testBlockchain.getChain().size() == 2);
+		assertTrue(testBlockchain.getBlock(6) == secondTestBlock);
+		assertTrue(testBlockchain.getBlock(4) == null);
+		assertTrue(testBlockchain.getHeight(secondTestBlock.getBlockHeader().getPreviousBlockHash()) == 5);
+		assertTrue(!testBlockchain.containsBlockHash("unknownHash"));
+		assertTrue(testBlockchain.getLastBlock() == secondTestBlock);
+	}
+
+	/**
+	 * Testing the Blockchain object by serializing and deserializing it. The
+	 * deserialized chain must contain the blocks in the same order and find them
+	 * by their height and hash.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void serializeBlockchain_BlocksAdded_IndexesRebuilt() throws Exception {
+
+		Blockchain testBlockchain = new Blockchain();
+		testBlockchain.addBlockToBlockchain(firstTestBlock);
+		testBlockchain.addBlockToBlockchain(secondTestBlock);
+
+		ByteArrayOutputStream serializedBlockchain = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(serializedBlockchain)) {
+
+			out.writeObject(testBlockchain);
+		}
+
+		Blockchain deserializedBlockchain;
+
+		try (ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(serializedBlockchain.toByteArray()))) {
+
+			deserializedBlockchain = (Blockchain) in.readObject();
+		}
+
+		assertTrue(deserializedBlockchain.size() == 2);
+		assertTrue(deserializedBlockchain.getChain().get(1).getIndex() == 6);
+		assertTrue(deserializedBlockchain.getBlock(5).getBlockHeader().getMerkleRootHash().equals("firstRoot"));
+		assertTrue(deserializedBlockchain.getHeight(calculateBlockHash(secondTestBlock)) == 6);
+	}
+
+	/**
+	 * Helper method which returns the hash of the block header.
+	 *
+	 * @param block
+	 * @return
+	 */
+	private static String calculateBlockHash(Block block) {
+
+		return SHA256Hasher
+				.returnSHA256HashStringFromString(block.getBlockHeader().getHeaderDataForHashCalculation());
+	}
+
+}
@@ -10,12 +10,14 @@ import java.util.Set;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
 
 import blockchain.block.Block;
 import blockchain.block.BlockController;
 import blockchain.block.BlockHeader;
 import blockchain.block.Transaction;
+import blockchain.concensus.DifficultyTarget;
 import blockchain.concensus.PoW;
 import blockchain.concensus.SHA256Hasher;
 import blockchain.controller.NodeController;
@@ -47,6 +49,7 @@ public class MiningWorkerTest {
 	private static Wallet testWallet;
 	private static Transaction t1;
 	private static Block genesisBlock;
+	private static Blockchain testBlockchain;
 
 	/**
 	 * Running exactly once during the test run - at the very beginning before
@@ -72,6 +75,8 @@ public class MiningWorkerTest {
 		Mockito.when(testBlockchainController.getNodeController()).thenReturn(testNodeController);
 		Mockito.when(testBlockchainController.getConsensusAlgorithm()).thenReturn(testConsensusAlgorithm);
 		Mockito.when(testBlockchainController.getBlockController()).thenReturn(testBlockController);
+		Mockito.when(testBlockchainController.getNonceSearchEngine())
+				.thenReturn(new NonceSearchEngine(testConsensusAlgorithm));
 
 		t1 = new Transaction("xy", "xz", 1000);
 		ArrayList<Transaction> testTransactions = new ArrayList<>(Arrays.asList(t1));
@@ -79,10 +84,24 @@ public class MiningWorkerTest {
 		Mockito.when(testDatabase.getAllTransactionsFromTransactionPoolWhereTimestampBefore(null))
 				.thenReturn(testTransactions);
 
+		Transaction balanceTransaction = new Transaction("systemWallet", "balance", 1000);
+		BalanceLedger testBalanceLedger = new BalanceLedger();
+		testBalanceLedger.applyBlock(new Block(0, new BlockHeader("0", "0", 4),
+				new ArrayList<>(Arrays.asList(balanceTransaction)), 1));
+
+		Mockito.when(testDatabase.getBalanceLedger()).thenReturn(testBalanceLedger);
+		Mockito.when(testBlockchainController.getBlockTemplateBuilder()).thenReturn(new BlockTemplateBuilder());
+
 		genesisBlock = new Block(0, new BlockHeader("null", "null", 4), null, 1);
 
+		testBlockchain = new Blockchain();
+		testBlockchain.addBlockToBlockchain(genesisBlock);
+
 		Mockito.when(testDatabase.getLastBlockFromBlockchain()).thenReturn(genesisBlock);
+		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(testBlockchain);
 		Mockito.doNothing().when(testBlockchainController).setCurrentlyMinedBlockIndex(Mockito.anyInt());
+		Mockito.when(testBlockchainController.calculateDifficultyForBlockIndex(Mockito.anyInt()))
+				.thenReturn(PoW.getDifficulty());
 
 		Set<String> testConnectedIPsPort = new HashSet<String>(Arrays.asList("192.2.2.1", "192.2.2.2"));
 
@@ -95,6 +114,8 @@ public class MiningWorkerTest {
 		Mockito.when(testWallet.getWalletAddress()).thenReturn("xy");
 
 		Mockito.when(testConsensusAlgorithm.hasHashTheCorrectDifficulty(Mockito.anyString())).thenCallRealMethod();
+		Mockito.when(testConsensusAlgorithm.hasHashTheCorrectDifficulty(Mockito.any(byte[].class),
+				Mockito.any(DifficultyTarget.class))).thenCallRealMethod();
 
 		testMiningWorker = new MiningWorker(testBlockchainController);
 	}
@@ -130,4 +151,41 @@ public class MiningWorkerTest {
 
 	}
 
+	/**
+	 * Testing the MiningWorker run() method by replacing the previous block of the
+	 * mined block with a competing block of the same height, like a
+	 * reorganisation, before the mining process. The search must be aborted and
+	 * no block following the replaced block resolved.
+	 */
+	@Test
+	public void startMiningWorker_PreviousBlockReplacedWithSameHeight_NoBlockMined() {
+
+		final Block replacedBlock = new Block(0, new BlockHeader("replaced", "replaced", 4), null, 1);
+		Blockchain replacedBlockchain = new Blockchain();
+		replacedBlockchain.addBlockToBlockchain(replacedBlock);
+
+		Mockito.when(testNodeController.synchronizeTransactionPoolBeforeMining()).thenReturn(true);
+		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(replacedBlockchain);
+
+		MiningWorker staleMiningWorker = new MiningWorker(testBlockchainController);
+
+		replacedBlockchain.removeBlocksAfterHeight(-1);
+		replacedBlockchain.addBlockToBlockchain(new Block(0, new BlockHeader("competing", "competing", 4), null, 1));
+
+		staleMiningWorker.run();
+
+		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(testBlockchain);
+
+		Mockito.verify(testBlockchainController, Mockito.never())
+				.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(Mockito.argThat(new ArgumentMatcher<Block>() {
+
+					@Override
+					public boolean matches(Block block) {
+						return block.getBlockHeader().getPreviousBlockHash().equals(SHA256Hasher
+								.returnSHA256HashStringFromString(replacedBlock.getBlockHeader()
+										.getHeaderDataForHashCalculation()));
+					}
+				}), Mockito.anyBoolean());
+	}
+
 }
@@ -0,0 +1,137 @@
+package blockchain.chain;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.BlockHeader;
+import blockchain.concensus.DifficultyTarget;
+import blockchain.concensus.PoW;
+import blockchain.concensus.SHA256Hasher;
+
+/**
+ * Testing the functionalities of the NonceSearchEngine object by mocking
+ * corresponding objects.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class NonceSearchEngineTest {
+
+	private static PoW testConsensusAlgorithm;
+	private static BlockHeader testBlockHeader;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		testConsensusAlgorithm = new PoW();
+		testBlockHeader = new BlockHeader("previousHash", "merkleRoot", PoW.getDifficulty());
+		testBlockHeader.setTimeStamp("2022.01.09.12:00:00");
+	}
+
+	/**
+	 * Testing the NonceSearchEngine searchNounce() method by searching the nounce
+	 * space of a mocked block header on multiple worker threads. The returned
+	 * nounce combined with the block header has to give a hash with the correct
+	 * difficulty and the block header itself must not be changed.
+	 */
+	@Test
+	public void searchNounceWithMultipleWorkers_HashTheBlockHeaderWithFoundNounce_DifficultyCorrect() {
+
+		NonceSearchEngine testEngine = new NonceSearchEngine(testConsensusAlgorithm, 4);
+
+		NonceSearchResult result = testEngine.searchNounce(testBlockHeader, null);
+
+		assertTrue(result != null);
+		assertTrue(result.getWorkerIndex() >= 0 && result.getWorkerIndex() < 4);
+		assertTrue(testBlockHeader.getNounce() == 0);
+
+		String recalculatedHash = SHA256Hasher
+				.returnSHA256HashStringFromString(testBlockHeader.getHeaderPrefixForHashCalculation() + result.getNounce());
+
+		assertTrue(recalculatedHash.equals(result.getBlockHash()));
+		assertTrue(testConsensusAlgorithm.hasHashTheCorrectDifficulty(recalculatedHash));
+	}
+
+	/**
+	 * Testing the NonceSearchEngine searchNounce() method by passing a abort
+	 * condition which is met immediately. The search has to stop without a result.
+	 */
+	@Test
+	public void searchNounceWithAbortConditionMet_AllWorkersStopped_NullReturned() {
+
+		PoW neverSatisfied = new PoW() {
+
+			@Override
+			public boolean hasHashTheCorrectDifficulty(byte[] blockHash, DifficultyTarget target) {
+				return false;
+			}
+		};
+
+		NonceSearchEngine testEngine = new NonceSearchEngine(neverSatisfied, 2);
+
+		NonceSearchResult result = testEngine.searchNounce(testBlockHeader, new NonceSearchEngine.AbortCondition() {
+
+			@Override
+			public boolean isSearchObsolete() {
+				return true;
+			}
+		});
+
+		assertNull(result);
+	}
+
+	/**
+	 * Testing the NonceSearchEngine searchNounce() method by searching three
+	 * block headers with the same engine. Every search has to find a nounce, the
+	 * engine must not start more threads than it has workers.
+	 */
+	@Test
+	public void searchNounceThreeTimes_SameEngine_WorkerThreadsReused() {
+
+		NonceSearchEngine testEngine = new NonceSearchEngine(testConsensusAlgorithm, 2);
+		int threadsBeforeSearch = countNounceSearchThreads();
+
+		for (int i = 0; i < 3; i++) {
+
+			BlockHeader blockHeader = new BlockHeader("previousHash", "merkleRoot" + i, PoW.getDifficulty());
+			blockHeader.setTimeStamp("2022.01.09.12:00:00");
+
+			assertTrue(testEngine.searchNounce(blockHeader, null) != null);
+		}
+
+		assertTrue(countNounceSearchThreads() - threadsBeforeSearch <= 2);
+
+		testEngine.close();
+	}
+
+	/**
+	 * Helper method which counts the living worker threads of all nounce search
+	 * engines.
+	 *
+	 * @return
+	 */
+	private static int countNounceSearchThreads() {
+
+		int nounceSearchThreads = 0;
+
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+
+			if (thread.getName().startsWith("nounce-search-"))
+				nounceSearchThreads++;
+		}
+
+		return nounceSearchThreads;
+	}
+
+}
@@ -0,0 +1,96 @@
+package blockchain.concensus;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+/**
+ * Testing the functionalities of the DifficultyTarget object by comparing its
+ * results with the corresponding BigInteger calculations.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class DifficultyTargetTest {
+
+	/**
+	 * Testing the DifficultyTarget fromCompact() method by decoding the compact
+	 * encoding of the consensus algorithm. The target has to be the expected 256
+	 * bit number and encoding it again has to give the same compact value.
+	 */
+	@Test
+	public void decodeCompactDifficulty_CompareWithExpectedTarget_TargetAndCompactEqual() {
+
+		DifficultyTarget testTarget = DifficultyTarget.fromCompact(0x1f00ffff);
+
+		BigInteger expectedTarget = BigInteger.valueOf(0xffff).shiftLeft(8 * (0x1f - 3));
+
+		assertTrue(testTarget.toBigInteger().equals(expectedTarget));
+		assertTrue(DifficultyTarget.fromBigInteger(expectedTarget).getCompact() == 0x1f00ffff);
+		assertTrue(DifficultyTarget.fromLeadingZeroBits(16).getCompact() == 0x1f00ffff);
+	}
+
+	/**
+	 * Testing the DifficultyTarget isMetBy() methods by comparing hashes around
+	 * the target. The raw and the hex string comparison have to give the same
+	 * result as the comparison of the numbers.
+	 */
+	@Test
+	public void compareHashesAroundTarget_CompareWithBigInteger_ResultsEqual() {
+
+		DifficultyTarget testTarget = DifficultyTarget.fromCompact(0x1f00ffff);
+		BigInteger targetValue = testTarget.toBigInteger();
+
+		BigInteger[] testHashes = { BigInteger.ZERO, targetValue.subtract(BigInteger.ONE), targetValue,
+				targetValue.add(BigInteger.ONE), BigInteger.ONE.shiftLeft(255) };
+
+		for (BigInteger testHash : testHashes) {
+
+			byte[] hashBytes = toHashBytes(testHash);
+			boolean expectedResult = testHash.compareTo(targetValue) <= 0;
+
+			assertTrue(testTarget.isMetBy(hashBytes) == expectedResult);
+			assertTrue(testTarget.isMetBy(SHA256Hasher.returnHexStringFromHash(hashBytes)) == expectedResult);
+		}
+	}
+
+	/**
+	 * Testing the DifficultyTarget fromCompact() method by decoding negative and
+	 * overflowing encodings. The returned target must be zero and not be met by any
+	 * hash above zero.
+	 */
+	@Test
+	public void decodeInvalidCompactDifficulty_CompareWithSmallestHash_TargetNotMet() {
+
+		byte[] smallestHash = new byte[32];
+		smallestHash[31] = 1;
+
+		assertFalse(DifficultyTarget.fromCompact(0x1f80ffff).isMetBy(smallestHash));
+		assertTrue(DifficultyTarget.fromCompact(0x1f80ffff).toBigInteger().signum() == 0);
+		assertTrue(DifficultyTarget.fromCompact(0x2300ffff).toBigInteger().signum() == 0);
+		assertFalse(DifficultyTarget.fromCompact(0x1f00ffff).isMetBy("zz"));
+		assertFalse(DifficultyTarget.fromCompact(0x1f00ffff).isMetBy(new byte[31]));
+	}
+
+	/**
+	 * Helper method which writes the number as 32 byte big endian hash.
+	 *
+	 * @param value
+	 * @return
+	 */
+	private static byte[] toHashBytes(BigInteger value) {
+
+		byte[] valueBytes = value.toByteArray();
+		byte[] hash = new byte[32];
+		int length = Math.min(valueBytes.length, 32);
+
+		System.arraycopy(valueBytes, valueBytes.length - length, hash, 32 - length, length);
+
+		return hash;
+	}
+
+}
@@ -3,10 +3,17 @@ package blockchain.concensus;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+
 /**
  * Testing the functionalities of the PoW object by mocking corresponding
  * objects.
@@ -72,4 +79,102 @@ public class PoWTest {
 		assertFalse(testConcensusAlg.hasHashTheCorrectDifficulty(wrongHash));
 	}
 
+	/**
+	 * Testing the PoW object calculateNextDifficulty() method by passing blocks
+	 * which were mined faster than the mining rate. The target of the returned
+	 * difficulty has to be lower (harder) than the target of the blocks.
+	 */
+	@Test
+	public void mockFastMinedBlocks_CallCalculateNextDifficulty_TargetLower() {
+
+		ArrayList<Block> lastBlocks = mockMinedBlocks(PoW.getDifficulty(), PoW.getMiningRate() / 2);
+
+		int nextDifficulty = testConcensusAlg.calculateNextDifficulty(lastBlocks);
+
+		assertTrue(DifficultyTarget.fromCompact(nextDifficulty).toBigInteger()
+				.compareTo(DifficultyTarget.fromCompact(PoW.getDifficulty()).toBigInteger()) < 0);
+	}
+
+	/**
+	 * Testing the PoW object calculateNextDifficulty() method by passing blocks
+	 * which were mined much slower than the mining rate. The target of the
+	 * returned difficulty has to be higher (easier), but at most four times the
+	 * target of the blocks. The time stamps of the blocks themselves, which are
+	 * not covered by the proof of work, must not be taken into account.
+	 */
+	@Test
+	public void mockSlowMinedBlocks_CallCalculateNextDifficulty_TargetHigherAndLimited() {
+
+		ArrayList<Block> lastBlocks = mockMinedBlocks(PoW.getDifficulty(), PoW.getMiningRate() * 10);
+
+		BigInteger blockTarget = DifficultyTarget.fromCompact(PoW.getDifficulty()).toBigInteger();
+		BigInteger nextTarget = DifficultyTarget.fromCompact(testConcensusAlg.calculateNextDifficulty(lastBlocks))
+				.toBigInteger();
+
+		assertTrue(nextTarget.compareTo(blockTarget) > 0);
+		assertTrue(nextTarget.compareTo(blockTarget.multiply(BigInteger.valueOf(4))) <= 0);
+	}
+
+	/**
+	 * Testing the PoW object calculateNextDifficulty() method by passing blocks
+	 * which were mined exactly at the mining rate and by passing only the genesis
+	 * block. The difficulty of the blocks and the default difficulty have to be
+	 * returned.
+	 */
+	@Test
+	public void mockBlocksMinedAtMiningRate_CallCalculateNextDifficulty_DifficultyUnchanged() {
+
+		ArrayList<Block> lastBlocks = mockMinedBlocks(PoW.getDifficulty(), PoW.getMiningRate());
+
+		assertTrue(testConcensusAlg.calculateNextDifficulty(lastBlocks) == PoW.getDifficulty());
+		assertTrue(testConcensusAlg.calculateNextDifficulty(
+				new ArrayList<Block>(Arrays.asList(new Block(0, new BlockHeader("0", "0", 0), null, 1)))) == PoW
+						.getDifficulty());
+	}
+
+	/**
+	 * Testing the PoW object calculateNextDifficulty() method by passing blocks
+	 * whose block header time stamps are in reverse order. The negative time span
+	 * has to be rejected and the difficulty of the last block returned.
+	 */
+	@Test
+	public void mockBlocksWithNegativeTimespan_CallCalculateNextDifficulty_DifficultyOfLastBlock() {
+
+		ArrayList<Block> lastBlocks = mockMinedBlocks(PoW.getDifficulty(), PoW.getMiningRate() / 2);
+
+		lastBlocks.get(lastBlocks.size() - 1).getBlockHeader().setTimeStamp("2022.01.08.00:00:00");
+
+		assertTrue(testConcensusAlg.calculateNextDifficulty(lastBlocks) == PoW.getDifficulty());
+	}
+
+	/**
+	 * Helper method which mocks a retarget window of blocks with the input
+	 * difficulty, where every block was mined the input amount of seconds after
+	 * the block before.
+	 * 
+	 * @param difficulty
+	 * @param secondsBetweenBlocks
+	 * @return
+	 */
+	private static ArrayList<Block> mockMinedBlocks(int difficulty, int secondsBetweenBlocks) {
+
+		ArrayList<Block> blocks = new ArrayList<Block>();
+
+		for (int i = 1; i <= PoW.getRetargetWindow(); i++) {
+
+			int seconds = (i - 1) * secondsBetweenBlocks;
+
+			BlockHeader blockHeader = new BlockHeader("previousHash", "merkleRoot", difficulty);
+			blockHeader.setTimeStamp(String.format("2022.01.09.%02d:%02d:%02d", seconds / 3600, (seconds / 60) % 60,
+					seconds % 60));
+
+			Block block = new Block(i, blockHeader, null, 1);
+			block.setTimeStamp("2022.01.09.00:00:00.000");
+
+			blocks.add(block);
+		}
+
+		return blocks;
+	}
+
 }
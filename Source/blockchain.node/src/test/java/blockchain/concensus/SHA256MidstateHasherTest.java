@@ -0,0 +1,55 @@
+package blockchain.concensus;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Testing the functionalities of the SHA256MidstateHasher object by comparing
+ * its hashes with the hashes of the Guava SHA256 function.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class SHA256MidstateHasherTest {
+
+	/**
+	 * Testing the SHA256MidstateHasher hashWithSuffix() method by hashing prefixes
+	 * of every length around the 64 byte block borders with suffixes of different
+	 * lengths. Every hash has to be equal to the hash of the concatenated message
+	 * calculated by Guava.
+	 */
+	@Test
+	public void hashPrefixesOfDifferentLengthsWithSuffix_CompareWithGuavaHash_HashesEqual() {
+
+		StringBuilder prefixBuilder = new StringBuilder();
+		byte[] digest = new byte[32];
+
+		for (int prefixLength = 0; prefixLength <= 200; prefixLength++) {
+
+			String prefix = prefixBuilder.toString();
+			SHA256MidstateHasher testHasher = new SHA256MidstateHasher(prefix.getBytes(StandardCharsets.UTF_8), 70);
+
+			for (int suffixLength = 0; suffixLength <= 70; suffixLength += 7) {
+
+				String suffix = "0123456789abcdefghijklmnopqrstuvwxyz0123456789abcdefghijklmnopqrstuvwxyz"
+						.substring(0, suffixLength);
+				byte[] suffixBytes = suffix.getBytes(StandardCharsets.UTF_8);
+
+				testHasher.hashWithSuffix(suffixBytes, 0, suffixBytes.length, digest);
+
+				String expectedHash = Hashing.sha256().hashString(prefix + suffix, StandardCharsets.UTF_8).toString();
+
+				assertTrue(SHA256Hasher.returnHexStringFromHash(digest).equals(expectedHash));
+			}
+
+			prefixBuilder.append((char) ('a' + prefixLength % 26));
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -13,8 +14,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import blockchain.block.Block;
+import blockchain.block.BlockHeader;
 import blockchain.block.Transaction;
+import blockchain.chain.BlockTree;
 import blockchain.chain.Blockchain;
+import blockchain.chain.BlockchainController;
 import blockchain.database.DriverClass;
 import connection.Connection;
 import controllers.ConnectionHandler;
@@ -35,6 +39,8 @@ public class MessageControllerTest {
 	private static NodeController testNodeController;
 	private static ConnectionHandler testConnectionHandler;
 	private static DriverClass testDatabase;
+	private static BlockchainController testBlockchainController;
+	private static VerificationController testVerificationController;
 	private static MessageController testMessageController;
 	private static Block testBlock;
 	private static Transaction testTransaction;
@@ -55,19 +61,26 @@ public class MessageControllerTest {
 		testConnection = Mockito.mock(Connection.class);
 		testConnectionHandler = Mockito.mock(ConnectionHandler.class);
 		testDatabase = Mockito.mock(DriverClass.class);
+		testBlockchainController = Mockito.mock(BlockchainController.class);
+		testVerificationController = Mockito.mock(VerificationController.class);
 
 		Mockito.when(testNodeController.getConnectionHandler()).thenReturn(testConnectionHandler);
 		Mockito.when(testConnectionHandler.getConnection()).thenReturn(testConnection);
 		Mockito.when(testNodeController.getDatabase()).thenReturn(testDatabase);
+		Mockito.when(testNodeController.getBlockchainController()).thenReturn(testBlockchainController);
+		Mockito.when(testNodeController.getVerificationController()).thenReturn(testVerificationController);
+		Mockito.when(testBlockchainController.getBlockTree()).thenReturn(new BlockTree());
+		Mockito.when(testVerificationController.verifyBlock(Mockito.any(Block.class))).thenReturn(true);
 
 		Mockito.doNothing().when(testDatabase).insertTransactionIntoTransactionPool(Mockito.any(Transaction.class));
 		Mockito.doNothing().when(testDatabase).insertWalletKeyIntoDatabase(Mockito.anyString(), Mockito.anyString());
 		Mockito.doNothing().when(testDatabase).insertBlockIntoBlockchain(Mockito.any(Block.class));
-		Mockito.doNothing().when(testDatabase).moveMinedTransactionsFromPool(Mockito.any(Block.class));
+		Mockito.when(testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(Mockito.any(Block.class)))
+				.thenReturn(true);
 		Mockito.doNothing().when(testNodeController).setLastNodeDataSynchronisationTime(Mockito.anyString());
 
 		testTransaction = new Transaction("xy", "xz", 1000);
-		testBlock = new Block(3, null, null, 1);
+		testBlock = new Block(3, new BlockHeader("previousHash", "merkleRoot", 4), null, 1);
 		testWalletKey = "xy";
 		testWalletValue = "ab472madk249586bad22hflk3h5a";
 
@@ -79,6 +92,11 @@ public class MessageControllerTest {
 
 		fullNodeData = new NodeData(transactionPool, walletsData, blockchain);
 
+		LinkedHashMap<String, Boolean> verificationResults = new LinkedHashMap<String, Boolean>();
+		verificationResults.put(testTransaction.getTransactionID(), true);
+		Mockito.when(testVerificationController.verifyTransactionSignatures(transactionPool))
+				.thenReturn(verificationResults);
+
 		testMessageController = new MessageController(testNodeController);
 
 	}
@@ -100,7 +118,8 @@ public class MessageControllerTest {
 	 * Testing the MessageController object method insertResponseNodeData(..) by
 	 * passing a mocked NodeData object to the method and verifying that all methods
 	 * corresponding to that methods are called and the passed data from the
-	 * NodeData object used for that methods.
+	 * NodeData object used for that methods. The received block is added through
+	 * the block tree instead of being inserted into the database directly.
 	 */
 	@Test
 	public void mockNodeData_callInsertResponseNodeData_AllDataExtracted() {
@@ -115,7 +134,10 @@ public class MessageControllerTest {
 		Mockito.verify(testDatabase).insertTransactionIntoTransactionPool(capturedTransaction.capture());
 		Mockito.verify(testDatabase).insertWalletKeyIntoDatabase(capturedWalletKey.capture(),
 				capturedWalletValue.capture());
-		Mockito.verify(testDatabase).insertBlockIntoBlockchain(capturedBlock.capture());
+		Mockito.verify(testBlockchainController)
+				.resolveBlockConsensusConflictOrInsertNewBlockIntoBlockchain(capturedBlock.capture(), Mockito.eq(false));
+		Mockito.verify(testDatabase, Mockito.never())
+				.insertBlockIntoBlockchainAndMoveMinedTransactions(Mockito.any(Block.class));
 
 		assertTrue(capturedBlock.getValue().equals(testBlock));
 		assertTrue(capturedTransaction.getValue().equals(testTransaction));
@@ -66,7 +66,8 @@ public class MessageWorkerTest {
 
 		Mockito.when(testMessageController.getNodeController()).thenReturn(testNodeController);
 
-		Mockito.doNothing().when(testNodeController).sendCurrentNodeData(Mockito.anyString());
+		Mockito.doNothing().when(testNodeController).sendCurrentNodeData(Mockito.anyString(),
+				Mockito.nullable(NodeDataRequest.class));
 		Mockito.when(testMessageController.getConnection()).thenReturn(testConnection);
 		Mockito.when(testConnection.getClient()).thenReturn(testUDPClient);
 
@@ -105,7 +106,8 @@ public class MessageWorkerTest {
 	@Test
 	public void mockDataRequestMessage_runMessageWorker_sendCurrentNodeDataCalled() {
 
-		Message dataRequestMessage = new Message("xy", "xz", EMessageEndpoint.DataRequest, null);
+		NodeDataRequest dataRequest = new NodeDataRequest(0, "ab", null);
+		Message dataRequestMessage = new Message("xy", "xz", EMessageEndpoint.DataRequest, dataRequest);
 
 		testMessages.add(dataRequestMessage);
 
@@ -115,9 +117,13 @@ public class MessageWorkerTest {
 
 		ArgumentCaptor<String> capturedSenderNode = ArgumentCaptor.forClass(String.class);
 
-		Mockito.verify(testNodeController).sendCurrentNodeData(capturedSenderNode.capture());
+		ArgumentCaptor<NodeDataRequest> capturedDataRequest = ArgumentCaptor.forClass(NodeDataRequest.class);
+
+		Mockito.verify(testNodeController).sendCurrentNodeData(capturedSenderNode.capture(),
+				capturedDataRequest.capture());
 
 		assertTrue(capturedSenderNode.getValue().equals(dataRequestMessage.getSenderNode()));
+		assertTrue(capturedDataRequest.getValue().getChainTipHash().equals("ab"));
 
 	}
 
@@ -13,12 +13,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.chain.Blockchain;
+import blockchain.chain.BlockchainController;
+import blockchain.concensus.SHA256Hasher;
 import blockchain.database.DriverClass;
 import blockchain.wallet.model.Wallet;
 import connection.Connection;
 import controllers.ConnectionHandler;
 import enumerations.EMessageEndpoint;
 import messages.Message;
+import node.NodeData;
 import udp_connection.UDP_Client;
 
 /**
@@ -39,6 +44,7 @@ public class NodeControllerTest {
 	private static Wallet testWallet;
 	private static Set<String> testReceivedMessages;
 	private static DriverClass testDatabase;
+	private static BlockchainController testBlockchainController;
 
 	/**
 	 * Running exactly once during the test run - at the very beginning before
@@ -58,6 +64,7 @@ public class NodeControllerTest {
 		testWallet = Mockito.mock(Wallet.class);
 		testReceivedMessages = new HashSet<String>();
 		testDatabase = Mockito.mock(DriverClass.class);
+		testBlockchainController = Mockito.mock(BlockchainController.class);
 
 		Mockito.when(testNodeController.getWallet()).thenReturn(testWallet);
 		Mockito.when(testWallet.getWalletAddress()).thenReturn("xy");
@@ -74,11 +81,14 @@ public class NodeControllerTest {
 		Mockito.when(testNodeController.getDatabase()).thenReturn(testDatabase);
 		Mockito.when(testDatabase.getAllTransactionsFromTransactionPool()).thenReturn(null);
 		Mockito.when(testDatabase.getAllBlocksFromBlockchain()).thenReturn(null);
+		Mockito.when(testNodeController.getBlockchainController()).thenReturn(testBlockchainController);
+		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(new Blockchain());
 		Mockito.when(testDatabase.getAllPublicKeysFromRegister()).thenReturn(null);
 
 		Mockito.doCallRealMethod().when(testNodeController).sendWalletData();
 		Mockito.doCallRealMethod().when(testNodeController).requestNetworkData();
-		Mockito.doCallRealMethod().when(testNodeController).sendCurrentNodeData(Mockito.anyString());
+		Mockito.doCallRealMethod().when(testNodeController).sendCurrentNodeData(Mockito.anyString(),
+				Mockito.nullable(NodeDataRequest.class));
 		Mockito.doCallRealMethod().when(testNodeController)
 				.broadcastNewlyMinedBlockToTheNetwork(Mockito.any(Block.class));
 		Mockito.doCallRealMethod().when(testNodeController).isSecondDateAfterFirstDate(Mockito.anyString(),
@@ -131,6 +141,7 @@ public class NodeControllerTest {
 		testReceivedMessages.clear();
 
 		assertTrue(capturedMessage.getValue().getEndpoint().equals(EMessageEndpoint.DataRequest));
+		assertTrue(((NodeDataRequest) capturedMessage.getValue().getData()).getChainTipIndex() == -1);
 	}
 
 	/**
@@ -144,7 +155,7 @@ public class NodeControllerTest {
 	@Test
 	public void sendCurrentNodeDataCalled_MessageContainingDataResponseSend() throws InterruptedException {
 
-		testNodeController.sendCurrentNodeData("xz");
+		testNodeController.sendCurrentNodeData("xz", null);
 
 		ArgumentCaptor<Message> capturedMessage = ArgumentCaptor.forClass(Message.class);
 		Mockito.verify(testUDPClient, atLeast(1)).addMessage(capturedMessage.capture());
@@ -157,6 +168,41 @@ public class NodeControllerTest {
 
 	}
 
+	/**
+	 * Testing the NodeController object method sendCurrentNodeData(..) by passing
+	 * a request whose chain tip is the first block of the blockchain. Only the
+	 * blocks after it must be send from the blockchain of the blockchain
+	 * controller.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void sendCurrentNodeDataCalled_ChainTipOfRequesterKnown_OnlyFollowingBlocksSend()
+			throws InterruptedException {
+
+		Block firstBlock = new Block(0, new BlockHeader("0", "firstRoot", 4), null, 1);
+		String firstBlockHash = SHA256Hasher
+				.returnSHA256HashStringFromString(firstBlock.getBlockHeader().getHeaderDataForHashCalculation());
+		Block secondBlock = new Block(1, new BlockHeader(firstBlockHash, "secondRoot", 4), null, 1);
+
+		Blockchain testBlockchain = new Blockchain();
+		testBlockchain.addBlockToBlockchain(firstBlock);
+		testBlockchain.addBlockToBlockchain(secondBlock);
+		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(testBlockchain);
+
+		testNodeController.sendCurrentNodeData("xz", new NodeDataRequest(0, firstBlockHash, new HashSet<String>()));
+
+		ArgumentCaptor<Message> capturedMessage = ArgumentCaptor.forClass(Message.class);
+		Mockito.verify(testUDPClient, atLeast(1)).addMessage(capturedMessage.capture());
+
+		testReceivedMessages.clear();
+		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(new Blockchain());
+
+		Blockchain sentBlockchain = (Blockchain) ((NodeData) capturedMessage.getValue().getData()).getBlockchain();
+
+		assertTrue(sentBlockchain.size() == 1 && sentBlockchain.getLastBlock() == secondBlock);
+	}
+
 	/**
 	 * Testing the NodeController object method
 	 * broadcastNewlyMinedBlockToTheNetwork(..) by catching the generated Message
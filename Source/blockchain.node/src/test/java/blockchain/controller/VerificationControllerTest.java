@@ -3,20 +3,32 @@ package blockchain.controller;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import blockchain.block.Block;
+import blockchain.block.BlockCodec;
 import blockchain.block.BlockHeader;
 import blockchain.block.MerkleTree;
 import blockchain.block.Transaction;
+import blockchain.chain.BalanceLedger;
+import blockchain.chain.BlockTree;
 import blockchain.chain.Blockchain;
 import blockchain.chain.BlockchainController;
+import blockchain.chain.NonceSearchEngine;
+import blockchain.chain.NonceSearchResult;
+import blockchain.concensus.DifficultyTarget;
 import blockchain.concensus.PoW;
 import blockchain.concensus.SHA256Hasher;
 import blockchain.database.DriverClass;
@@ -44,6 +56,8 @@ public class VerificationControllerTest {
 	private static Blockchain testBlockchain;
 	private static BlockHeader testHeader;
 	private static ArrayList<Transaction> blockTransactions;
+	private static int validNounce;
+	private static int invalidNounce;
 
 	/**
 	 * Running exactly once during the test run - at the very beginning before
@@ -75,14 +89,25 @@ public class VerificationControllerTest {
 		Transaction t2 = new Transaction("xy", "xz", 200);
 		t2.setTimeStamp("2022.01.09.12:00:00");
 		t2.setTransactionID(t2.calculateTransactionID());
+		t2.setSignature(testWallet.signTransaction(t2.getTransactionID()));
 		blockTransactions = new ArrayList<>(Arrays.asList(t2));
 		MerkleTree testTree = new MerkleTree(blockTransactions);
 		testHeader = new BlockHeader(
 				SHA256Hasher.returnSHA256HashStringFromString(
 						testGenesisBlock.getBlockHeader().getHeaderDataForHashCalculation()),
-				testTree.getMerkleRoot(), 4);
+				testTree.getMerkleRoot(), PoW.getDifficulty());
 		testHeader.setTimeStamp("2022.01.09.12:00:00");
 
+		validNounce = new NonceSearchEngine(new PoW(), 1).searchNounce(testHeader, null).getNounce();
+		invalidNounce = validNounce + 1;
+		testHeader.setNounce(invalidNounce);
+
+		while (new PoW().hasHashTheCorrectDifficulty(
+				SHA256Hasher.returnSHA256HashStringFromString(testHeader.getHeaderDataForHashCalculation()))) {
+
+			testHeader.setNounce(++invalidNounce);
+		}
+
 		testChain = new LinkedList<Block>();
 		testChain.add(testGenesisBlock);
 		testBlockchain = new Blockchain();
@@ -92,12 +117,35 @@ public class VerificationControllerTest {
 		Mockito.when(testNodeController.getBlockchainController()).thenReturn(testBlockchainController);
 		Mockito.when(testBlockchainController.getConsensusAlgorithm()).thenReturn(testConcensusAlg);
 		Mockito.when(testConcensusAlg.hasHashTheCorrectDifficulty(Mockito.anyString())).thenCallRealMethod();
+		Mockito.when(testConcensusAlg.hasHashTheCorrectDifficulty(Mockito.any(byte[].class),
+				Mockito.any(DifficultyTarget.class))).thenCallRealMethod();
 
 		Mockito.when(testBlockchainController.getBlockchain()).thenReturn(testBlockchain);
+		Mockito.when(testBlockchainController.getBlockTree()).thenReturn(new BlockTree());
+		Mockito.when(testBlockchainController.calculateDifficultyForBlock(Mockito.any(Block.class)))
+				.thenReturn(PoW.getDifficulty());
 
 		Mockito.when(testDatabase.getAllTransactionsFromTransactionPool()).thenReturn(new ArrayList<Transaction>());
-		Mockito.when(testDatabase.getHexStringPublicKeyForCorrespondingWalletAddress(Mockito.anyString()))
-				.thenReturn(testWallet.getHexStringPublicKey());
+
+		final BalanceLedger testBalanceLedger = new BalanceLedger();
+		testBalanceLedger.applyBlock(testGenesisBlock);
+		Mockito.when(testDatabase.getBalanceLedger()).thenReturn(testBalanceLedger);
+		Mockito.when(testBlockchainController.calculateBalancesBeforeBlock(Mockito.any(Block.class),
+				Mockito.<String>anyCollection())).thenAnswer(new Answer<HashMap<String, Double>>() {
+
+					@Override
+					public HashMap<String, Double> answer(InvocationOnMock invocation) {
+
+						HashMap<String, Double> balances = new HashMap<String, Double>();
+
+						for (String walletAddress : invocation.<Collection<String>>getArgument(1))
+							balances.put(walletAddress, testBalanceLedger.getBlockchainBalance(walletAddress));
+
+						return balances;
+					}
+				});
+		Mockito.when(testDatabase.getPublicKeyForCorrespondingWalletAddress(Mockito.anyString()))
+				.thenReturn(testWallet.getKeyGenerator().getPublicKey());
 
 		Mockito.when(testDatabase.getBlockWithInputIndex(Mockito.anyInt())).thenReturn(testGenesisBlock);
 
@@ -157,9 +205,7 @@ public class VerificationControllerTest {
 	@Test
 	public void callVerifyBlock_InsertCorrectBlock_ReturnedTrue() {
 
-		// 9058 long
-
-		testHeader.setNounce(86636);
+		testHeader.setNounce(validNounce);
 
 		Block validBlock = new Block(1, testHeader, blockTransactions, 1);
 
@@ -175,13 +221,34 @@ public class VerificationControllerTest {
 	@Test
 	public void callVerifyBlock_isBlockHashValidFalse_ReturnedFalse() {
 
-		testHeader.setNounce(86635);
+		testHeader.setNounce(invalidNounce);
 
 		Block validBlock = new Block(1, testHeader, blockTransactions, 1);
 
 		assertFalse(testVerificationController.verifyBlock(validBlock));
 	}
 
+	/**
+	 * Testing the VerificationController method verifyBlock() by providing a mocked
+	 * Block object which has a valid hash for its block header, but the difficulty
+	 * in the block header is easier than the difficulty expected for its index. The
+	 * verification should be executed without any exception and return false.
+	 */
+	@Test
+	public void callVerifyBlock_isDifficultyValidFalse_ReturnedFalse() {
+
+		BlockHeader easierHeader = new BlockHeader(testHeader.getPreviousBlockHash(), testHeader.getMerkleRootHash(),
+				0x2000ffff);
+		easierHeader.setTimeStamp("2022.01.09.12:00:00");
+
+		NonceSearchResult result = new NonceSearchEngine(new PoW(), 1).searchNounce(easierHeader, null);
+		easierHeader.setNounce(result.getNounce());
+
+		Block easierBlock = new Block(1, easierHeader, blockTransactions, 1);
+
+		assertFalse(testVerificationController.verifyBlock(easierBlock));
+	}
+
 	/**
 	 * Testing the VerificationController method verifyBlock() by providing a mocked
 	 * Block object which has saved a previousBlockHash that does't match with the
@@ -191,10 +258,10 @@ public class VerificationControllerTest {
 	@Test
 	public void callVerifyBlock_isPreviousBlockHashValidFalse_ReturnedFalse() {
 
-		testHeader.setNounce(86636);
+		testHeader.setNounce(validNounce);
 
 		BlockHeader wrongHeader = new BlockHeader("wrongPreviousHahs",
-				new MerkleTree(blockTransactions).getMerkleRoot(), 4);
+				new MerkleTree(blockTransactions).getMerkleRoot(), PoW.getDifficulty());
 
 		Block validBlock = new Block(1, wrongHeader, blockTransactions, 1);
 
@@ -211,13 +278,201 @@ public class VerificationControllerTest {
 	@Test
 	public void callVerifyBlock_isMerkleRootValidFalse_ReturnedFalse() {
 
-		testHeader.setNounce(86636);
+		testHeader.setNounce(validNounce);
 
 		BlockHeader wrongHeader = new BlockHeader(SHA256Hasher.returnSHA256HashStringFromString(
-				testGenesisBlock.getBlockHeader().getHeaderDataForHashCalculation()), "wrongRoot", 4);
+				testGenesisBlock.getBlockHeader().getHeaderDataForHashCalculation()), "wrongRoot", PoW.getDifficulty());
 
 		Block validBlock = new Block(1, wrongHeader, blockTransactions, 1);
 
 		assertFalse(testVerificationController.verifyBlock(validBlock));
 	}
+
+	/**
+	 * Testing the VerificationController method verifyBlock() by providing a mocked
+	 * Block object which contains a transaction with a corrupted signature next to
+	 * the unsigned coinbase transaction. The verification should be executed
+	 * without any exception and return false.
+	 */
+	@Test
+	public void callVerifyBlock_areTransactionSignaturesValidFalse_ReturnedFalse() {
+
+		Transaction unsignedTransaction = new Transaction("xy", "xz", 50);
+		Transaction coinbaseTransaction = new Transaction("systemWallet", "xy", PoW.getMiningreward());
+		ArrayList<Transaction> transactions = new ArrayList<>(
+				Arrays.asList(unsignedTransaction, coinbaseTransaction));
+
+		BlockHeader unsignedHeader = new BlockHeader(testHeader.getPreviousBlockHash(),
+				new MerkleTree(transactions).getMerkleRoot(), PoW.getDifficulty());
+		unsignedHeader.setTimeStamp("2022.01.09.12:00:00");
+		unsignedHeader.setNounce(new NonceSearchEngine(new PoW(), 1).searchNounce(unsignedHeader, null).getNounce());
+
+		assertFalse(testVerificationController.verifyBlock(new Block(1, unsignedHeader, transactions, 2)));
+	}
+
+	/**
+	 * Testing the VerificationController method verifyBlock() by providing a mocked
+	 * Block object whose coinbase transaction pays the miner more than the mining
+	 * reward and the fees of the other transactions. The verification should be
+	 * executed without any exception and return false.
+	 */
+	@Test
+	public void callVerifyBlock_isCoinbaseAmountValidFalse_ReturnedFalse() {
+
+		Transaction coinbaseTransaction = new Transaction("systemWallet", "xy", PoW.getMiningreward() + 1);
+		ArrayList<Transaction> transactions = new ArrayList<>(
+				Arrays.asList(blockTransactions.get(0), coinbaseTransaction));
+
+		BlockHeader overpayingHeader = new BlockHeader(testHeader.getPreviousBlockHash(),
+				new MerkleTree(transactions).getMerkleRoot(), PoW.getDifficulty());
+		overpayingHeader.setTimeStamp("2022.01.09.12:00:00");
+		overpayingHeader
+				.setNounce(new NonceSearchEngine(new PoW(), 1).searchNounce(overpayingHeader, null).getNounce());
+
+		assertFalse(testVerificationController.verifyBlock(new Block(1, overpayingHeader, transactions, 2)));
+	}
+
+	/**
+	 * Testing the VerificationController method verifyBlock() by providing a Block
+	 * object with a transaction whose amount exceeds the balance of its sender
+	 * before the block. The verification should be executed without any exception
+	 * and return false.
+	 */
+	@Test
+	public void callVerifyBlock_areSenderBalancesValidFalse_ReturnedFalse() {
+
+		Transaction overspendingTransaction = new Transaction("xy", "xz", 1001);
+		overspendingTransaction.setTimeStamp("2022.01.09.12:00:00");
+		overspendingTransaction.setTransactionID(overspendingTransaction.calculateTransactionID());
+		overspendingTransaction.setSignature(testWallet.signTransaction(overspendingTransaction.getTransactionID()));
+		ArrayList<Transaction> transactions = new ArrayList<>(Arrays.asList(overspendingTransaction));
+
+		BlockHeader overspendingHeader = new BlockHeader(testHeader.getPreviousBlockHash(),
+				new MerkleTree(transactions).getMerkleRoot(), PoW.getDifficulty());
+		overspendingHeader.setTimeStamp("2022.01.09.12:00:00");
+		overspendingHeader
+				.setNounce(new NonceSearchEngine(new PoW(), 1).searchNounce(overspendingHeader, null).getNounce());
+
+		assertFalse(testVerificationController.verifyBlock(new Block(1, overspendingHeader, transactions, 1)));
+	}
+
+	/**
+	 * Testing the VerificationController method verifyTransactionSignatures() by
+	 * providing a batch of correctly signed transactions and one transaction with
+	 * a corrupted signature. Only the corrupted transaction is marked invalid.
+	 */
+	@Test
+	public void callVerifyTransactionSignatures_OneSignatureCorrupted_OnlyCorruptedTransactionInvalid() {
+
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+
+		for (int i = 0; i < 8; i++) {
+
+			Transaction transaction = new Transaction("xy", "xz", i + 1);
+			transaction.setSignature(testWallet.signTransaction(transaction.getTransactionID()));
+			transactions.add(transaction);
+		}
+
+		transactions.get(3).setSignature(testWallet.signTransaction("wrongSignature"));
+
+		LinkedHashMap<String, Boolean> results = testVerificationController.verifyTransactionSignatures(transactions);
+
+		for (int i = 0; i < transactions.size(); i++) {
+
+			assertTrue(results.get(transactions.get(i).getTransactionID()) == (i != 3));
+		}
+	}
+
+	/**
+	 * Testing the VerificationController method close() by verifying a batch of
+	 * transactions before and after closing a new controller. The verification
+	 * threads must be daemon threads and the batch must still be verified after
+	 * the threads were stopped.
+	 */
+	@Test
+	public void callClose_VerifyBatchBeforeAndAfter_DaemonThreadsAndBatchVerified() {
+
+		VerificationController closedVerificationController = new VerificationController(testNodeController);
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+
+		for (int i = 0; i < 4; i++) {
+
+			Transaction transaction = new Transaction("xy", "xz", i + 1);
+			transaction.setSignature(testWallet.signTransaction(transaction.getTransactionID()));
+			transactions.add(transaction);
+		}
+
+		assertFalse(closedVerificationController.verifyTransactionSignatures(transactions).containsValue(false));
+
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+
+			if (thread.getName().startsWith("signature-verifier-"))
+				assertTrue(thread.isDaemon());
+		}
+
+		closedVerificationController.close();
+
+		assertFalse(closedVerificationController.verifyTransactionSignatures(transactions).containsValue(false));
+	}
+
+	/**
+	 * Testing the VerificationController method verifyTransaction() by providing a
+	 * correctly signed transaction with a negative fee, decoded like a transaction
+	 * received from the network. The verification should be executed without any
+	 * exception and return false.
+	 */
+	@Test
+	public void callVerifyTransaction_NegativeFee_ReturnedFalse() throws Exception {
+
+		assertFalse(testVerificationController.verifyTransaction(decodeTransactionWithFee(-5)));
+	}
+
+	/**
+	 * Testing the VerificationController method verifyBlock() by providing a Block
+	 * object with a correctly signed transaction whose fee is not a number. The
+	 * verification should be executed without any exception and return false.
+	 */
+	@Test
+	public void callVerifyBlock_areTransactionFeesValidFalse_ReturnedFalse() throws Exception {
+
+		ArrayList<Transaction> transactions = new ArrayList<>(Arrays.asList(decodeTransactionWithFee(Double.NaN)));
+
+		BlockHeader invalidFeeHeader = new BlockHeader(testHeader.getPreviousBlockHash(),
+				new MerkleTree(transactions).getMerkleRoot(), PoW.getDifficulty());
+		invalidFeeHeader.setTimeStamp("2022.01.09.12:00:00");
+		invalidFeeHeader
+				.setNounce(new NonceSearchEngine(new PoW(), 1).searchNounce(invalidFeeHeader, null).getNounce());
+
+		assertFalse(testVerificationController.verifyBlock(new Block(1, invalidFeeHeader, transactions, 1)));
+	}
+
+	/**
+	 * Helper method which encodes a transaction with a fee, replaces the encoded
+	 * fee with the input fee, which the constructor would reject, and decodes it
+	 * again. The decoded transaction is signed with its new transaction ID.
+	 * 
+	 * @param fee
+	 * @return
+	 * @throws Exception
+	 */
+	private static Transaction decodeTransactionWithFee(double fee) throws Exception {
+
+		Transaction transaction = new Transaction("xy", "xz", 200, 1.5);
+		byte[] encodedTransactions = BlockCodec
+				.encodeTransactionList(new ArrayList<Transaction>(Arrays.asList(transaction)));
+		byte[] encodedFee = ByteBuffer.allocate(8).putDouble(1.5).array();
+		byte[] replacedFee = ByteBuffer.allocate(8).putDouble(fee).array();
+
+		for (int i = 0; i + 8 <= encodedTransactions.length; i++) {
+
+			if (Arrays.equals(Arrays.copyOfRange(encodedTransactions, i, i + 8), encodedFee))
+				System.arraycopy(replacedFee, 0, encodedTransactions, i, 8);
+		}
+
+		Transaction decodedTransaction = BlockCodec.decodeTransactionList(encodedTransactions).get(0);
+		decodedTransaction.setTransactionID(decodedTransaction.calculateTransactionID());
+		decodedTransaction.setSignature(testWallet.signTransaction(decodedTransaction.getTransactionID()));
+
+		return decodedTransaction;
+	}
 }
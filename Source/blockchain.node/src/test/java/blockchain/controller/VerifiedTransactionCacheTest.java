@@ -0,0 +1,87 @@
+package blockchain.controller;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the VerifiedTransactionCache object by mocking
+ * corresponding objects.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class VerifiedTransactionCacheTest {
+
+	private static Transaction testTransaction;
+	private static Transaction changedTestTransaction;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 * 
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		testTransaction = new Transaction("xy", "xz", 100);
+		testTransaction.setSignature("validSignature");
+
+		changedTestTransaction = new Transaction("xy", "xz", 100);
+		changedTestTransaction.setTransactionID(testTransaction.getTransactionID());
+		changedTestTransaction.setTimeStamp(testTransaction.getTimeStamp());
+		changedTestTransaction.setSignature("otherSignature");
+	}
+
+	/**
+	 * Testing the VerifiedTransactionCache object by adding a mocked transaction.
+	 * The same transaction is verified, a transaction with the same ID but other
+	 * data is not verified and after the removal of the mined transaction it is not
+	 * verified anymore.
+	 */
+	@Test
+	public void addVerifiedTransaction_CallIsVerifiedForSameChangedAndMinedTransaction_OnlySameTransactionVerified() {
+
+		VerifiedTransactionCache testCache = new VerifiedTransactionCache(10, 60000);
+
+		testCache.addVerifiedTransaction(testTransaction);
+
+		assertTrue(testCache.isVerified(testTransaction));
+		assertFalse(testCache.isVerified(changedTestTransaction));
+
+		testCache.removeTransactions(new ArrayList<Transaction>(Arrays.asList(testTransaction)));
+
+		assertFalse(testCache.isVerified(testTransaction));
+	}
+
+	/**
+	 * Testing the VerifiedTransactionCache object expiration by adding a mocked
+	 * transaction into a cache with a very short time to live. After the time to
+	 * live the transaction is not verified anymore and removed from the cache.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void addVerifiedTransaction_WaitLongerThanTimeToLive_TransactionExpired() throws InterruptedException {
+
+		VerifiedTransactionCache testCache = new VerifiedTransactionCache(10, 1);
+
+		testCache.addVerifiedTransaction(testTransaction);
+
+		Thread.sleep(20);
+
+		assertFalse(testCache.isVerified(testTransaction));
+		assertTrue(testCache.size() == 0);
+	}
+
+}
@@ -0,0 +1,77 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the BlockCache object by mocking
+ * corresponding objects.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class BlockCacheTest {
+
+	private static Block firstTestBlock;
+	private static Block secondTestBlock;
+	private static Block replacingTestBlock;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		firstTestBlock = new Block(1, new BlockHeader("0", "a", 4), new ArrayList<Transaction>(), 0);
+		secondTestBlock = new Block(2, new BlockHeader("a", "b", 4), new ArrayList<Transaction>(), 0);
+		replacingTestBlock = new Block(2, new BlockHeader("a", "c", 4), new ArrayList<Transaction>(), 0);
+	}
+
+	/**
+	 * Testing the BlockCache object by caching a chain tip and a block, writing a
+	 * block which replaces the tip and removing it again. The replacing block has
+	 * to be returned as tip, a block read before the replacement must not be
+	 * cached, the removed tip must not be returned and every request has to be
+	 * counted.
+	 */
+	@Test
+	public void cacheTipAndReplaceIt_GetBlocks_ReplacedBlockReturnedAndHitsCounted() {
+
+		BlockCache testCache = new BlockCache(2);
+
+		long readGeneration = testCache.getGeneration();
+
+		testCache.cacheChainTip(secondTestBlock, readGeneration);
+		testCache.cacheBlock(firstTestBlock, readGeneration);
+
+		assertTrue(testCache.getChainTip() == secondTestBlock);
+		assertTrue(testCache.getBlock(1) == firstTestBlock);
+
+		testCache.onBlockWritten(replacingTestBlock);
+		testCache.cacheChainTip(secondTestBlock, readGeneration);
+
+		assertTrue(testCache.getChainTip() == replacingTestBlock);
+		assertTrue(testCache.getBlock(2) == replacingTestBlock);
+
+		testCache.onBlockRemoved(2);
+
+		assertTrue(testCache.getChainTip() == null);
+		assertTrue(testCache.getBlock(2) == null);
+		assertTrue(testCache.getHitCount() == 4 && testCache.getMissCount() == 2);
+		assertTrue(testCache.getHitRate() > 0.66 && testCache.getHitRate() < 0.67);
+	}
+
+}
@@ -0,0 +1,73 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.sql.ResultSet;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Testing the functionalities of the ConnectionManager object.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class ConnectionManagerTest {
+
+	private static ConnectionManager connectionManager;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 * 
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		connectionManager = new ConnectionManager(new File("Database3071.db"), 2);
+	}
+
+	/**
+	 * Closing the connections after all tests were run.
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+
+		connectionManager.close();
+	}
+
+	/**
+	 * Testing that the database runs in WAL mode and that a reader connection
+	 * returns the same cached statement for the same query after it was released
+	 * into the pool.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void acquireReader_WalModeAndSameQuery_StatementCached() throws Exception {
+
+		CachedConnection reader = connectionManager.acquireReader();
+
+		ResultSet rs = reader.prepareStatement("PRAGMA journal_mode").executeQuery();
+		assertTrue(rs.next() && rs.getString(1).equalsIgnoreCase("wal"));
+		rs.close();
+
+		assertTrue(reader.prepareStatement("SELECT 1") == reader.prepareStatement("SELECT 1"));
+
+		connectionManager.releaseReader(reader);
+		CachedConnection firstReader = connectionManager.acquireReader();
+		CachedConnection secondReader = connectionManager.acquireReader();
+
+		assertTrue(firstReader != secondReader && (firstReader == reader || secondReader == reader));
+
+		connectionManager.releaseReader(firstReader);
+		connectionManager.releaseReader(secondReader);
+	}
+
+}
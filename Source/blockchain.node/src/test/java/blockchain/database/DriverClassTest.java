@@ -80,7 +80,7 @@ public class DriverClassTest {
 	@Before
 	public void setUp() {
 
-		testDatabase = new DriverClass(3070);
+		testDatabase = new DriverClass(3070, true);
 
 	}
 
@@ -97,13 +97,44 @@ public class DriverClassTest {
 		testDatabase.insertTransactionIntoTransactionPool(testTransaction);
 		testDatabase.insertWalletKeyIntoDatabase(testWallet.getWalletAddress(), testWallet.getHexStringPublicKey());
 
-		testDatabase = new DriverClass(3070);
+		testDatabase = new DriverClass(3070, true);
 
 		assertTrue(testDatabase.getLastBlockFromBlockchain() == null);
 		assertTrue(testDatabase.getAllTransactionsFromTransactionPool().size() == 0);
 		assertTrue(testDatabase.getAllPublicKeysFromRegister().size() == 0);
 	}
 
+	/**
+	 * Testing the DriverClass object by inserting data into the DB, recreating the
+	 * DriverClass object without resetting the state and removing the last block.
+	 * The data must still be selectable after the restart and the removed block and
+	 * its balance must not be selectable anymore.
+	 */
+	@Test
+	public void insertDataIntoExistingTables_RecreateDriverClassWithoutResetAndRemoveLastBlock_DataKept() {
+
+		testDatabase.insertBlockIntoBlockchain(testBlock);
+		testDatabase.insertBlockIntoBlockchain(secondTestBlock);
+		testDatabase.insertTransactionIntoTransactionPool(testTransaction);
+		testDatabase.insertWalletKeyIntoDatabase(testWallet.getWalletAddress(), testWallet.getHexStringPublicKey());
+
+		testDatabase.closeDbConnection();
+		testDatabase = new DriverClass(3070);
+
+		assertTrue(testDatabase.getLastBlockFromBlockchain().getIndex() == secondTestBlock.getIndex());
+		assertTrue(testDatabase.getAllTransactionsFromTransactionPool().size() == 1);
+		assertTrue(testDatabase.getAllPublicKeysFromRegister().size() == 1);
+
+		double balanceWithSecondBlock = testDatabase.getBalanceLedger()
+				.getBlockchainBalance(secoundTestTransaction.getToAdress());
+
+		testDatabase.removeBlockFromBlockchain(secondTestBlock);
+
+		assertTrue(testDatabase.getLastBlockFromBlockchain().getIndex() == testBlock.getIndex());
+		assertTrue(testDatabase.getBalanceLedger().getBlockchainBalance(
+				secoundTestTransaction.getToAdress()) == balanceWithSecondBlock - secoundTestTransaction.getAmount());
+	}
+
 	/**
 	 * Testing the DriverClass object method
 	 * getAllTransactionsFromTransactionPoolWhereTimestampBefore() by inserting two
@@ -199,4 +230,128 @@ public class DriverClassTest {
 				.equals(thirdTestBlock.getTimeStamp()));
 
 	}
+
+	/**
+	 * Testing the DriverClass object getTransactionPoolAccumulator() method by
+	 * inserting two transactions into the transaction pool. The merkle root of the
+	 * accumulator must be the same as the root of a merkle tree built from the
+	 * transactions of the pool.
+	 */
+	@Test
+	public void insertTransactionsIntoPool_CalculateAccumulatorMerkleRoot_SameAsMerkleTreeRoot() {
+
+		testDatabase.insertTransactionIntoTransactionPool(testTransaction);
+		testDatabase.insertTransactionIntoTransactionPool(secoundTestTransaction);
+
+		assertTrue(testDatabase.getTransactionPoolAccumulator().getMerkleRoot()
+				.equals(new MerkleTree(testDatabase.getAllTransactionsFromTransactionPool()).getMerkleRoot()));
+	}
+
+	/**
+	 * Testing the DriverClass object getBlocksFromBlockchainInIndexRange(..) method
+	 * by inserting two blocks. The blocks in the index range must be returned
+	 * ordered by their index and a range reaching past the last block must only
+	 * return the existing blocks.
+	 */
+	@Test
+	public void insertMultipleBlocksIntoExistingTable_SelectBlocksInIndexRange_BlocksOrderedByIndex() {
+
+		testDatabase.insertBlockIntoBlockchain(testBlock);
+		testDatabase.insertBlockIntoBlockchain(secondTestBlock);
+
+		ArrayList<Block> selectedBlocks = testDatabase.getBlocksFromBlockchainInIndexRange(0, 1);
+
+		assertTrue(selectedBlocks.size() == 2 && selectedBlocks.get(0).getIndex() == testBlock.getIndex()
+				&& selectedBlocks.get(1).getIndex() == secondTestBlock.getIndex());
+		assertTrue(testDatabase.getBlocksFromBlockchainInIndexRange(1, 10).size() == 1);
+	}
+
+	/**
+	 * Testing the DriverClass object getPublicKeyForCorrespondingWalletAddress(..)
+	 * method by inserting a wallet key and selecting the public key. The public key
+	 * must match the wallet key, be read from the public key cache and no key must
+	 * be returned for an unknown wallet address.
+	 */
+	@Test
+	public void insertWalletKeyIntoExistingTable_SelectPublicKeyForWalletAddress_PublicKeyFromCache() {
+
+		testDatabase.insertWalletKeyIntoDatabase(testWallet.getWalletAddress(), testWallet.getHexStringPublicKey());
+
+		assertTrue(testDatabase.getPublicKeyForCorrespondingWalletAddress(testWallet.getWalletAddress())
+				.equals(testWallet.getKeyGenerator().getPublicKey()));
+		assertTrue(testDatabase.getPublicKeyCache().getHitCount() == 1);
+		assertTrue(testDatabase.getPublicKeyForCorrespondingWalletAddress("unknown") == null);
+	}
+
+	/**
+	 * Testing the DriverClass object getBlockIndexForMinedTransaction(..) method by
+	 * moving the transaction of a block from the pool into the mined transactions.
+	 * The index of the block must be returned for the mined transaction and -1 for
+	 * a transaction which was not mined.
+	 */
+	@Test
+	public void moveMinedTransactionsFromPool_SelectBlockIndexForMinedTransaction_IndexOfMiningBlock() {
+
+		testDatabase.insertTransactionIntoTransactionPool(testTransaction);
+		testDatabase.insertBlockIntoBlockchain(testBlock);
+		testDatabase.moveMinedTransactionsFromPool(testBlock);
+
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(testTransaction.getTransactionID()) == testBlock
+				.getIndex());
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(secoundTestTransaction.getTransactionID()) == -1);
+	}
+
+	/**
+	 * Testing DriverClass object insertBlockIntoBlockchainAndMoveMinedTransactions(..)
+	 * method by inserting a transaction into the pool and a block containing it.
+	 * The block has to be in the blockchain, the transaction in the mined
+	 * transactions and the pool has to be empty.
+	 */
+	@Test
+	public void insertBlockAndMoveMinedTransactions_TransactionInPool_BlockPersistedAndPoolEmpty() {
+
+		testDatabase.insertTransactionIntoTransactionPool(testTransaction);
+		testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(testBlock);
+
+		assertTrue(testDatabase.getBlockWithInputIndex(testBlock.getIndex()) != null);
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(testTransaction.getTransactionID()) == testBlock
+				.getIndex());
+		assertTrue(testDatabase.getAllTransactionsFromTransactionPool().isEmpty());
+		assertTrue(testDatabase.getTransactionPoolAccumulator().size() == 0);
+	}
+
+	/**
+	 * Testing the DriverClass method reorganiseBlockchain(..) by replacing a block
+	 * with a competing block in which the sender of a disconnected transaction
+	 * spends most of its balance. Only the disconnected transaction which its
+	 * sender can still pay on the new chain must be moved back into the pool.
+	 */
+	@Test
+	public void reorganiseBlockchain_DisconnectedTransactionExceedsNewBalance_OnlyPayableTransactionPooled() {
+
+		Transaction balanceTransaction = new Transaction("systemWallet", "balance", 1000);
+		Block genesisBlock = new Block(0, new BlockHeader("0", "genesisRoot", 4),
+				new ArrayList<>(Arrays.asList(balanceTransaction)), 1);
+
+		Transaction spentTransaction = new Transaction("xy", "xz", 600);
+		Transaction payableTransaction = new Transaction("xz", "xy", 100);
+		Transaction conflictingTransaction = new Transaction("xy", "xw", 700);
+
+		Block disconnectedBlock = new Block(1, new BlockHeader("genesisHash", "disconnectedRoot", 4),
+				new ArrayList<>(Arrays.asList(spentTransaction, payableTransaction)), 2);
+		Block connectedBlock = new Block(1, new BlockHeader("genesisHash", "connectedRoot", 4),
+				new ArrayList<>(Arrays.asList(conflictingTransaction)), 1);
+
+		testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(genesisBlock);
+		testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(disconnectedBlock);
+
+		assertTrue(testDatabase.reorganiseBlockchain(Arrays.asList(disconnectedBlock), Arrays.asList(connectedBlock)));
+
+		ArrayList<Transaction> transactionPool = testDatabase.getAllTransactionsFromTransactionPool();
+
+		assertTrue(transactionPool.size() == 1);
+		assertTrue(transactionPool.get(0).getTransactionID().equals(payableTransaction.getTransactionID()));
+		assertTrue(testDatabase.getBalanceLedger().getPendingAmount("xy") == 0);
+		assertTrue(testDatabase.getBalanceLedger().getBlockchainBalance("xy") == 300);
+	}
 }
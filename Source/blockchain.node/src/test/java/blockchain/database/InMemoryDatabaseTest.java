@@ -0,0 +1,105 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.block.MerkleTree;
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the InMemoryDatabase object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class InMemoryDatabaseTest {
+
+	private static Transaction testTransaction;
+	private static Transaction testPoolTransaction;
+	private static Block testBlock;
+	private static Block replacingTestBlock;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		testTransaction = new Transaction("xy", "to", 5);
+		testPoolTransaction = new Transaction("xy", "pool", 2);
+
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+		transactions.add(testTransaction);
+
+		testBlock = new Block(0, new BlockHeader("0", new MerkleTree(transactions).getMerkleRoot(), 4), transactions,
+				transactions.size());
+
+		ArrayList<Transaction> replacingTransactions = new ArrayList<Transaction>();
+		replacingTransactions.add(testPoolTransaction);
+
+		replacingTestBlock = new Block(0,
+				new BlockHeader("0", new MerkleTree(replacingTransactions).getMerkleRoot(), 4), replacingTransactions,
+				replacingTransactions.size());
+	}
+
+	/**
+	 * Testing the InMemoryDatabase object by inserting a block whose transaction
+	 * is in the transaction pool. The transaction must be moved from the pool into
+	 * the mined transactions and a second block with the same index must be
+	 * ignored.
+	 */
+	@Test
+	public void insertBlockAndMoveTransactions_TransactionInPool_TransactionMined() {
+
+		InMemoryDatabase testDatabase = new InMemoryDatabase();
+
+		testDatabase.insertTransactionIntoTransactionPool(testTransaction);
+		testDatabase.insertTransactionIntoTransactionPool(testPoolTransaction);
+		testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(testBlock);
+		testDatabase.insertBlockIntoBlockchain(replacingTestBlock);
+
+		assertTrue(testDatabase.getAllTransactionsFromTransactionPool().size() == 1);
+		assertTrue(testDatabase.getAllTransactionsFromTransactionPool().get(0).getTransactionID()
+				.equals(testPoolTransaction.getTransactionID()));
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(testTransaction.getTransactionID()) == 0);
+		assertTrue(testDatabase.getLastBlockFromBlockchain() == testBlock);
+		assertTrue(testDatabase.getAllBlocksFromBlockchain().getChain().size() == 1);
+		assertTrue(testDatabase.getBalanceLedger().getBlockchainBalance("to") == 5);
+	}
+
+	/**
+	 * Testing the InMemoryDatabase object by replacing and then removing a block.
+	 * The mined transactions of the replaced block must be removed and the
+	 * blockchain must be empty after the removal.
+	 */
+	@Test
+	public void replaceAndRemoveBlock_BlockStored_MinedTransactionsUpdated() {
+
+		InMemoryDatabase testDatabase = new InMemoryDatabase();
+
+		testDatabase.insertBlockIntoBlockchainAndMoveMinedTransactions(testBlock);
+		testDatabase.replaceBlockFromBlockchain(replacingTestBlock);
+
+		assertTrue(testDatabase.getBlockWithInputIndex(0) == replacingTestBlock);
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(testTransaction.getTransactionID()) == -1);
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(testPoolTransaction.getTransactionID()) == 0);
+
+		testDatabase.removeBlockFromBlockchain(replacingTestBlock);
+
+		assertTrue(testDatabase.getLastBlockFromBlockchain() == null);
+		assertTrue(testDatabase.getBlocksFromBlockchainInIndexRange(0, 10).isEmpty());
+		assertTrue(testDatabase.getBlockIndexForMinedTransaction(testPoolTransaction.getTransactionID()) == -1);
+	}
+
+}
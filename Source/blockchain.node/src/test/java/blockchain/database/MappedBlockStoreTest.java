@@ -0,0 +1,263 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.block.MerkleTree;
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the MappedBlockStore object by mocking
+ * corresponding objects.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class MappedBlockStoreTest {
+
+	private static ArrayList<Block> testBlocks;
+	private static Block replacingTestBlock;
+	private File testDirectory;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		testBlocks = new ArrayList<Block>();
+
+		for (int i = 0; i < 10; i++) {
+
+			testBlocks.add(createTestBlock(i, "to" + i));
+		}
+
+		replacingTestBlock = createTestBlock(9, "replaced");
+	}
+
+	/**
+	 * Executed before each tests in this class to prepare dependencies
+	 *
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+
+		testDirectory = Files.createTempDirectory("blockStore").toFile();
+	}
+
+	/**
+	 * Executed after each tests in this class to delete the segment files.
+	 */
+	@After
+	public void tearDown() {
+
+		for (File file : testDirectory.listFiles()) {
+
+			file.delete();
+		}
+
+		testDirectory.delete();
+	}
+
+	/**
+	 * Testing the MappedBlockStore object by committing blocks into small
+	 * segments, rolling back a replacement, replacing and removing a block and
+	 * reopening the store. The reopened store must contain the same blocks, the
+	 * replacing block and not the removed block.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void commitBlocksAndReplaceAndRemove_ReopenStore_SameBlocksReplayed() throws Exception {
+
+		MappedBlockStore testStore = new MappedBlockStore(testDirectory, 1024);
+
+		for (Block block : testBlocks) {
+
+			assertTrue(testStore.insertBlock(block));
+		}
+
+		assertTrue(!testStore.insertBlock(testBlocks.get(0)));
+		testStore.commit();
+
+		testStore.replaceBlock(replacingTestBlock);
+		testStore.rollback();
+
+		assertTrue(testStore.getLastBlock().getTransactionList().get(0).getToAdress().equals("to9"));
+
+		testStore.replaceBlock(replacingTestBlock);
+		testStore.deleteBlock(5);
+		testStore.commit();
+		testStore.close();
+
+		testStore = new MappedBlockStore(testDirectory, 1024);
+
+		assertTrue(testStore.getSegmentCount() > 1);
+		assertTrue(testStore.size() == 9);
+		assertTrue(testStore.getBlock(5) == null);
+		assertTrue(testStore.getLastBlock().getTransactionList().get(0).getToAdress().equals("replaced"));
+		assertTrue(testStore.getBlocksInIndexRange(3, 6).size() == 3);
+		assertTrue(testStore.getAllBlocks().getChain().get(0).getBlockHeader().getHeaderDataForHashCalculation()
+				.equals(testBlocks.get(0).getBlockHeader().getHeaderDataForHashCalculation()));
+		assertTrue(testStore.getBlock(2).getTimeStamp().equals(testBlocks.get(2).getTimeStamp()));
+
+		testStore.close();
+	}
+
+	/**
+	 * Testing the MappedBlockStore object by cutting off the last bytes of the
+	 * segment, as if the node was stopped while writing a block, and reopening the
+	 * store. The incomplete block must be dropped and new blocks must be written
+	 * after the last complete one.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void writeBlocksAndCutOffSegment_ReopenStore_IncompleteBlockDropped() throws Exception {
+
+		MappedBlockStore testStore = new MappedBlockStore(testDirectory);
+
+		testStore.insertBlock(testBlocks.get(0));
+		testStore.insertBlock(testBlocks.get(1));
+		testStore.commit();
+		testStore.close();
+
+		File segment = testDirectory.listFiles()[0];
+
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+
+			file.setLength(file.length() - 3);
+		}
+
+		testStore = new MappedBlockStore(testDirectory);
+
+		assertTrue(testStore.size() == 1);
+		assertTrue(testStore.getLastBlock().getIndex() == 0);
+
+		testStore.insertBlock(testBlocks.get(1));
+		testStore.commit();
+		testStore.close();
+
+		testStore = new MappedBlockStore(testDirectory);
+
+		assertTrue(testStore.size() == 2);
+		assertTrue(testStore.getLastBlock().getTransactionList().get(0).getToAdress().equals("to1"));
+
+		testStore.close();
+	}
+
+	/**
+	 * Testing the MappedBlockStore object by reverting a commit which replaced a
+	 * block and inserted blocks into new segments, as if the database commit
+	 * after it failed, and reopening the store. The replaced block must be read
+	 * again and the inserted blocks and their segments must be gone.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void commitBlocksAndRevertCommit_ReopenStore_RevertedBlocksDropped() throws Exception {
+
+		MappedBlockStore testStore = new MappedBlockStore(testDirectory, 1024);
+
+		testStore.insertBlock(testBlocks.get(8));
+		testStore.insertBlock(testBlocks.get(9));
+		testStore.commit();
+
+		int segmentCount = testStore.getSegmentCount();
+
+		testStore.replaceBlock(replacingTestBlock);
+
+		for (int i = 0; i < 8; i++) {
+
+			testStore.insertBlock(testBlocks.get(i));
+		}
+
+		testStore.commit();
+
+		assertTrue(testStore.size() == 10 && testStore.getSegmentCount() > segmentCount);
+
+		testStore.revertCommit();
+		testStore.revertCommit();
+
+		assertTrue(testStore.size() == 2 && testStore.getSegmentCount() == segmentCount);
+		assertTrue(testStore.getLastBlock().getTransactionList().get(0).getToAdress().equals("to9"));
+
+		testStore.close();
+		testStore = new MappedBlockStore(testDirectory, 1024);
+
+		assertTrue(testStore.size() == 2 && testStore.getBlock(0) == null);
+		assertTrue(testStore.getLastBlock().getTransactionList().get(0).getToAdress().equals("to9"));
+
+		testStore.close();
+	}
+
+	/**
+	 * Testing the MappedBlockStore object by clearing a store whose segments were
+	 * read through memory mapped views. All segments must be deleted and new
+	 * blocks must be written into a new empty segment.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void readBlocksAndClear_InsertBlock_OnlyNewBlockSaved() throws Exception {
+
+		MappedBlockStore testStore = new MappedBlockStore(testDirectory, 1024);
+
+		for (Block block : testBlocks) {
+
+			testStore.insertBlock(block);
+		}
+
+		testStore.commit();
+
+		assertTrue(testStore.getAllBlocks().getChain().size() == 10);
+
+		testStore.clear();
+
+		assertTrue(testStore.size() == 0 && testStore.getSegmentCount() == 1);
+		assertTrue(testDirectory.listFiles().length == 1);
+
+		testStore.insertBlock(testBlocks.get(3));
+		testStore.commit();
+
+		assertTrue(testStore.getAllBlocks().getChain().size() == 1);
+
+		testStore.close();
+	}
+
+	/**
+	 * Helper method which creates a block with one transaction to the input
+	 * address.
+	 *
+	 * @param index
+	 * @param toAdress
+	 * @return
+	 */
+	private static Block createTestBlock(int index, String toAdress) {
+
+		ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+		transactions.add(new Transaction("xy", toAdress, index + 1));
+
+		BlockHeader blockHeader = new BlockHeader("0", new MerkleTree(transactions).getMerkleRoot(), 4);
+
+		return new Block(index, blockHeader, transactions, transactions.size());
+	}
+
+}
@@ -0,0 +1,64 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.wallet.model.Wallet;
+
+/**
+ * Testing the functionalities of the PublicKeyCache object by mocking
+ * corresponding objects.
+ * 
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class PublicKeyCacheTest {
+
+	private static Wallet firstTestWallet;
+	private static Wallet secondTestWallet;
+	private static Wallet thirdTestWallet;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 * 
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		firstTestWallet = new Wallet();
+		secondTestWallet = new Wallet();
+		thirdTestWallet = new Wallet();
+	}
+
+	/**
+	 * Testing the PublicKeyCache object by caching three keys in a cache with the
+	 * capacity of two, after the first key has been used. The second key is the
+	 * least recently used one and has to be removed, the decoded keys have to match
+	 * the wallet keys and every request has to be counted.
+	 */
+	@Test
+	public void putThreeKeysIntoCacheForTwoKeys_GetAllKeys_LeastRecentlyUsedKeyRemoved() {
+
+		PublicKeyCache testCache = new PublicKeyCache(2);
+
+		testCache.putPublicKey("first", firstTestWallet.getHexStringPublicKey());
+		testCache.putPublicKey("second", secondTestWallet.getHexStringPublicKey());
+
+		assertTrue(testCache.getPublicKey("first").equals(firstTestWallet.getKeyGenerator().getPublicKey()));
+
+		testCache.putPublicKey("third", thirdTestWallet.getHexStringPublicKey());
+
+		assertTrue(testCache.size() == 2);
+		assertTrue(testCache.getPublicKey("second") == null);
+		assertTrue(testCache.getPublicKey("third").equals(thirdTestWallet.getKeyGenerator().getPublicKey()));
+		assertTrue(testCache.getHitCount() == 2 && testCache.getMissCount() == 1);
+		assertTrue(testCache.putPublicKey("corrupted", "xyz") == null);
+	}
+
+}
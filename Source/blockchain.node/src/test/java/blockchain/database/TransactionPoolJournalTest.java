@@ -0,0 +1,112 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the TransactionPoolJournal object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class TransactionPoolJournalTest {
+
+	private static ConnectionManager connectionManager;
+	private static SQLselect select;
+	private static TransactionPoolJournal testJournal;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		connectionManager = new ConnectionManager(new File("Database3072.db"), 1);
+		connectionManager.getWriter().getConnection().createStatement()
+				.execute("CREATE TABLE IF NOT EXISTS transactionPool (transactionId varchar(100) primary key,"
+						+ "timeStamp varchar(100), fromAdress varchar(100), toAdress varchar(100), amount REAL,"
+						+ "signature varchar(200), fee REAL DEFAULT 0)");
+		connectionManager.getWriter().getConnection().createStatement().execute("DELETE FROM transactionPool");
+
+		select = new SQLselect(connectionManager);
+		testJournal = new TransactionPoolJournal(connectionManager, new SQLinsert(connectionManager),
+				new SQLdelete(connectionManager), new Object());
+	}
+
+	/**
+	 * Closing the journal and the connections after all tests were run.
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+
+		testJournal.close();
+		connectionManager.close();
+	}
+
+	/**
+	 * Testing the TransactionPoolJournal object by queueing the insertion of two
+	 * transactions and the deletion of one of them. After the flush only the
+	 * transaction which was not deleted must be in the transactionPool table.
+	 */
+	@Test
+	public void journalInsertAndDelete_Flush_TableContainsRemainingTransaction() {
+
+		Transaction firstTestTransaction = new Transaction("xy", "to1", 1);
+		Transaction secondTestTransaction = new Transaction("xy", "to2", 2);
+
+		testJournal.journalInsert(firstTestTransaction);
+		testJournal.journalInsert(secondTestTransaction);
+
+		ArrayList<Transaction> deletedTransactions = new ArrayList<Transaction>();
+		deletedTransactions.add(firstTestTransaction);
+		testJournal.journalDelete(deletedTransactions);
+
+		testJournal.flush();
+
+		ArrayList<Transaction> tableTransactions = select.getAllTransactionsFromTransactionPool();
+
+		assertTrue(testJournal.getPendingEntryCount() == 0);
+		assertTrue(tableTransactions.size() == 1);
+		assertTrue(tableTransactions.get(0).getTransactionID().equals(secondTestTransaction.getTransactionID()));
+	}
+
+	/**
+	 * Testing the TransactionPoolJournal object by queueing the insertion of a
+	 * transaction with a fee. After the flush the transaction read from the
+	 * transactionPool table must have the same fee, so that its transaction ID
+	 * can be calculated again.
+	 */
+	@Test
+	public void journalInsertTransactionWithFee_Flush_FeeAndTransactionIdRead() {
+
+		Transaction feeTestTransaction = new Transaction("fee", "to3", 3, 0.25);
+
+		testJournal.journalInsert(feeTestTransaction);
+		testJournal.flush();
+
+		Transaction tableTransaction = null;
+
+		for (Transaction transaction : select.getAllTransactionsFromTransactionPool()) {
+
+			if (transaction.getTransactionID().equals(feeTestTransaction.getTransactionID()))
+				tableTransaction = transaction;
+		}
+
+		assertTrue(tableTransaction.getFee() == 0.25);
+		assertTrue(tableTransaction.calculateTransactionID().equals(feeTestTransaction.getTransactionID()));
+	}
+
+}
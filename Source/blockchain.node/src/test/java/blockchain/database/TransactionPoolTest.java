@@ -0,0 +1,101 @@
+package blockchain.database;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import blockchain.block.Transaction;
+
+/**
+ * Testing the functionalities of the TransactionPool object.
+ *
+ * @author Nemanja Srdanovic
+ * @version 1.0
+ * @since 17 Oct 2026
+ */
+public class TransactionPoolTest {
+
+	private static Transaction firstTestTransaction;
+	private static Transaction secondTestTransaction;
+	private static Transaction otherSenderTestTransaction;
+
+	/**
+	 * Running exactly once during the test run - at the very beginning before
+	 * anything else is run to set up the dependencies needed for proper test
+	 * execution.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		firstTestTransaction = new Transaction("sender", "to1", 1);
+		firstTestTransaction.setTimeStamp("2026.10.17.10:00:00");
+		secondTestTransaction = new Transaction("sender", "to2", 2);
+		secondTestTransaction.setTimeStamp("2026.10.17.10:00:01");
+		otherSenderTestTransaction = new Transaction("otherSender", "to3", 3);
+	}
+
+	/**
+	 * Testing the TransactionPool object by adding three transactions, one of
+	 * them twice, and removing one. The transactions must be returned in the
+	 * order they were added and selectable by their ID, and the duplicate
+	 * and removed transaction must not be in the pool.
+	 */
+	@Test
+	public void addAndRemoveTransactions_DuplicateAdded_IndexesConsistent() {
+
+		TransactionPool testPool = new TransactionPool();
+
+		assertTrue(testPool.addTransaction(firstTestTransaction).isEmpty());
+		assertTrue(testPool.addTransaction(otherSenderTestTransaction).isEmpty());
+		assertTrue(testPool.addTransaction(secondTestTransaction).isEmpty());
+		assertTrue(testPool.addTransaction(firstTestTransaction) == null);
+
+		assertTrue(testPool.size() == 3);
+		assertTrue(testPool.getAllTransactions().get(1) == otherSenderTestTransaction);
+		assertTrue(testPool.getTransaction(secondTestTransaction.getTransactionID()) == secondTestTransaction);
+		assertTrue(testPool.getAllTransactionsWhereTimestampBefore(secondTestTransaction.getTimeStamp())
+				.contains(firstTestTransaction));
+
+		ArrayList<Transaction> removedTransactions = new ArrayList<Transaction>();
+		removedTransactions.add(otherSenderTestTransaction);
+
+		assertTrue(testPool.removeTransactions(removedTransactions).size() == 1);
+		assertTrue(testPool.removeTransactions(removedTransactions).isEmpty());
+		assertTrue(!testPool.containsTransaction(otherSenderTestTransaction.getTransactionID()));
+		assertTrue(testPool.getAllTransactions().get(1) == secondTestTransaction);
+	}
+
+	/**
+	 * Testing the TransactionPool object by adding transactions with different
+	 * fees into a full pool. A transaction with a fee not higher than the lowest
+	 * fee must be rejected and a transaction with a higher fee must evict the
+	 * transaction with the lowest fee.
+	 */
+	@Test
+	public void addTransactions_PoolFull_LowestFeeEvicted() {
+
+		TransactionPool testPool = new TransactionPool(2);
+		Transaction lowFeeTransaction = new Transaction("sender", "to1", 1, 0.1);
+		Transaction highFeeTransaction = new Transaction("sender", "to2", 1, 0.5);
+		Transaction equalFeeTransaction = new Transaction("sender", "to3", 1, 0.1);
+		Transaction highestFeeTransaction = new Transaction("sender", "to4", 1, 0.9);
+
+		testPool.addTransaction(lowFeeTransaction);
+		testPool.addTransaction(highFeeTransaction);
+
+		assertTrue(testPool.addTransaction(equalFeeTransaction) == null);
+
+		ArrayList<Transaction> evictedTransactions = testPool.addTransaction(highestFeeTransaction);
+
+		assertTrue(evictedTransactions.size() == 1 && evictedTransactions.get(0) == lowFeeTransaction);
+		assertTrue(testPool.size() == 2);
+		assertTrue(!testPool.containsTransaction(lowFeeTransaction.getTransactionID()));
+		assertTrue(testPool.containsTransaction(highFeeTransaction.getTransactionID()));
+	}
+
+}
@@ -3,6 +3,7 @@ package blockchain.wallet.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import blockchain.block.MerkleProof;
 import messages.Message;
 import node.NodeData;
 
@@ -63,6 +64,17 @@ public class MessageWorker implements Runnable {
 
 			break;
 
+		case MerkleProofResponse:
+
+			if (receivedMessage.getReceiverNode()
+					.equalsIgnoreCase(walletController.getWallet().getWalletAddress())
+					&& receivedMessage.getData() instanceof MerkleProof) {
+
+				walletController.insertResponseMerkleProof((MerkleProof) receivedMessage.getData());
+			}
+
+			break;
+
 		default:
 			break;
 		}
@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import blockchain.block.Block;
+import blockchain.block.MerkleProof;
 import blockchain.block.Transaction;
 import blockchain.chain.Blockchain;
 import blockchain.wallet.model.Wallet;
@@ -241,6 +242,66 @@ public class WalletController implements MessageProcessor {
 
 	}
 
+	/**
+	 * Requests the merkle proof for the transaction with the input ID from all
+	 * nodes in the network, so that its inclusion in a block can be verified
+	 * without downloading the whole block.
+	 * 
+	 * @param transactionID
+	 */
+	public synchronized void requestMerkleProof(String transactionID) {
+
+		if (transactionID == null)
+			throw new IllegalArgumentException("Transaction ID for merkle proof request can´t be null");
+
+		Message proofMessage = new Message("broadcast", getWallet().getWalletAddress(),
+				EMessageEndpoint.MerkleProofRequest, transactionID);
+
+		try {
+			getConnection().getClient().addMessage(proofMessage);
+
+			getReceivedMessages().add(proofMessage.getMessageId());
+
+		} catch (InterruptedException e) {
+
+			logger.error("Merkle proof requesting exception in wallet controller.", e);
+
+		}
+
+	}
+
+	/**
+	 * Verifies the received merkle proof against the merkle root of the block
+	 * header with the same index in the blockchain of this wallet. If the proof is
+	 * valid for a pending transaction of this wallet, the transaction is no longer
+	 * pending.
+	 * 
+	 * @param merkleProof
+	 */
+	public synchronized void insertResponseMerkleProof(MerkleProof merkleProof) {
+
+		Transaction transaction = getWallet().getWalletPendingTransaction().get(merkleProof.getTransactionID());
+
+		if (transaction == null || getBlockchain() == null || merkleProof.getBlockIndex() < 0
+				|| merkleProof.getBlockIndex() >= getBlockchain().getChain().size())
+			return;
+
+		Block block = getBlockchain().getChain().get(merkleProof.getBlockIndex());
+
+		if (block.getIndex() == merkleProof.getBlockIndex() && MerkleProof.verifyMerkleProof(transaction,
+				merkleProof, block.getBlockHeader().getMerkleRootHash())) {
+
+			getWallet().getWalletPendingTransaction().remove(transaction.getTransactionID());
+
+			getWallet().setPendingTransactionsAmount(
+					getWallet().getPendingTransactionsAmount() - transaction.getAmount());
+
+			logger.info("Transaction " + transaction.getTransactionID() + " verified in block with index "
+					+ block.getIndex() + ".");
+		}
+
+	}
+
 	/**
 	 * Updates the Blockchain object with the network data received.
 	 * 